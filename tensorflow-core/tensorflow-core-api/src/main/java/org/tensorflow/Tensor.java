@@ -287,8 +287,18 @@ public final class Tensor<T extends TType> implements AutoCloseable {
    * used with care since there is no guard on the element boundaries. For regular input or output
    * operations, use {@link #data()}.
    *
+   * <p>The raw data can also be used to validate or fingerprint the content of a tensor, reading
+   * directly its native memory. For example:
+   *
+   * <pre>{@code
+   * long crc = DataBuffers.checksum(t.rawData(), new CRC32());
+   * long hash = DataBuffers.hash64(t.rawData());
+   * }</pre>
+   *
    * @return the tensor raw data mapped to a read-only byte buffer
    * @throws IllegalStateException if the tensor has been closed
+   * @see org.tensorflow.tools.buffer.DataBuffers#checksum(ByteDataBuffer, java.util.zip.Checksum)
+   * @see org.tensorflow.tools.buffer.DataBuffers#hash64(ByteDataBuffer)
    */
   public ByteDataBuffer rawData() {
     return TensorBuffers.toBytes(nativeHandle(), true);
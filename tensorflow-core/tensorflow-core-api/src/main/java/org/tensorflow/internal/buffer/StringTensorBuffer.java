@@ -18,6 +18,7 @@
 package org.tensorflow.internal.buffer;
 
 import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
 import java.util.function.Function;
 import org.tensorflow.tools.buffer.ByteDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
@@ -97,23 +98,52 @@ public class StringTensorBuffer extends AbstractDataBuffer<byte[]> {
   @Override
   public byte[] getObject(long index) {
     Validator.getArgs(this, index);
-    long offset = offsets.getLong(index);
-
-    // Read string length as a varint from the given offset
-    byte b;
-    int pos = 0;
-    int length = 0;
-    do {
-      b = data.getByte(offset++);
-      length |= (b & 0x7F) << pos++;
-    } while ((b & 0x80) != 0);
+    return readBytes(offsets.getLong(index));
+  }
 
-    // Read string of the given length
-    byte[] bytes = new byte[length];
-    if (length > 0) {
-      data.offset(offset).read(bytes);
+  @Override
+  public DataBuffer<byte[]> read(byte[][] dst, int offset, int length) {
+    Validator.readArgs(this, dst.length, offset, length);
+    long[] chunkOffsets = new long[Math.min(length, READ_CHUNK_SIZE)];
+    int[] chunkLengths = new int[chunkOffsets.length];
+    for (int i = 0; i < length; i += chunkOffsets.length) {
+      int n = Math.min(chunkOffsets.length, length - i);
+      offsets.slice(i, n).read(chunkOffsets, 0, n);
+
+      // Decode the length of each string and find the region of data covering all of them
+      long start = Long.MAX_VALUE;
+      long end = 0L;
+      for (int j = 0; j < n; ++j) {
+        long position = chunkOffsets[j];
+        int stringLength = 0;
+        int shift = 0;
+        byte b;
+        do {
+          b = data.getByte(position++);
+          stringLength |= (b & 0x7F) << shift;
+          shift += 7;
+        } while ((b & 0x80) != 0);
+        chunkOffsets[j] = position;
+        chunkLengths[j] = stringLength;
+        start = Math.min(start, position);
+        end = Math.max(end, position + stringLength);
+      }
+      if (end - start <= MAX_READ_WINDOW_SIZE) {
+        // Strings are usually stored close to each other, read all of them at once
+        byte[] window = new byte[(int)(end - start)];
+        data.slice(start, window.length).read(window);
+        for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+          int windowPosition = (int)(chunkOffsets[j] - start);
+          dst[k] = Arrays.copyOfRange(window, windowPosition, windowPosition + chunkLengths[j]);
+        }
+      } else {
+        for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+          dst[k] = new byte[chunkLengths[j]];
+          data.slice(chunkOffsets[j], chunkLengths[j]).read(dst[k]);
+        }
+      }
     }
-    return bytes;
+    return this;
   }
 
   @Override
@@ -183,6 +213,25 @@ public class StringTensorBuffer extends AbstractDataBuffer<byte[]> {
     }
   }
 
+  private byte[] readBytes(long offset) {
+    // Read string length as a varint from the given offset
+    byte b;
+    int shift = 0;
+    int length = 0;
+    do {
+      b = data.getByte(offset++);
+      length |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+
+    // Read string of the given length
+    byte[] bytes = new byte[length];
+    if (length > 0) {
+      data.offset(offset).read(bytes);
+    }
+    return bytes;
+  }
+
   private static int varintLength(int length) {
     int len = 1;
     while (length >= 0x80) {
@@ -192,6 +241,12 @@ public class StringTensorBuffer extends AbstractDataBuffer<byte[]> {
     return len;
   }
 
+  // number of strings read at once by bulk operations
+  private static final int READ_CHUNK_SIZE = 1024;
+
+  // maximum number of bytes read at once when reading multiple strings in bulk
+  private static final int MAX_READ_WINDOW_SIZE = 1 << 20;
+
   private final LongDataBuffer offsets;
   private final ByteDataBuffer data;
 }
@@ -27,6 +27,7 @@ import org.tensorflow.internal.buffer.TensorBuffers;
 import org.tensorflow.internal.c_api.TF_Tensor;
 import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.impl.layout.StringLayout;
 import org.tensorflow.tools.buffer.layout.DataLayout;
 import org.tensorflow.tools.buffer.layout.DataLayouts;
 import org.tensorflow.tools.ndarray.NdArray;
@@ -112,7 +113,7 @@ public interface TString extends NdArray<String>, TType {
    * @return the new tensor
    */
   static Tensor<TString> tensorOf(Charset charset, NdArray<String> src) {
-    return TStringImpl.createTensor(src, s -> s.getBytes(charset));
+    return TStringImpl.createTensor(src, StringLayout.of(charset)::encode);
   }
 
   /**
@@ -9,13 +9,16 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.Tensor;
 import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffers;
 import org.tensorflow.tools.buffer.IntDataBuffer;
 import org.tensorflow.tools.ndarray.StdArrays;
+import org.tensorflow.types.TFloat32;
 import org.tensorflow.types.TInt32;
 
 @Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
@@ -68,6 +71,27 @@ public class TensorBenchmark {
     TInt32.tensorOf(StdArrays.shapeOf(data), d -> StdArrays.copyTo(d, data));
   }
 
+  @Setup
+  public void setUp() {
+    imageBatch = new float[32][224][224][3];
+    for (float[][][] image : imageBatch) {
+      for (float[][] row : image) {
+        for (float[] pixel : row) {
+          pixel[0] = 0.1f;
+          pixel[1] = 0.2f;
+          pixel[2] = 0.3f;
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void initTensorByLargeStdArrays() {
+    try (Tensor<TFloat32> tensor = TFloat32.tensorOf(StdArrays.shapeOf(imageBatch), d -> StdArrays.copyTo(d, imageBatch))) {
+      // tensor is released right away, we only measure its initialization
+    }
+  }
+
   @Benchmark
   @Measurement(batchSize = 1000)
   public void initTensorByVectors() {
@@ -136,4 +160,6 @@ public class TensorBenchmark {
     );
     TInt32.tensorOf(Shape.of(3, 3, 3, 3), data);
   }
+
+  private float[][][][] imageBatch;
 }
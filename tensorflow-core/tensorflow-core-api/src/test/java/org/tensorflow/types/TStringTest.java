@@ -22,9 +22,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import org.junit.Test;
 import org.tensorflow.Tensor;
 import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.buffer.DataBuffers;
 import org.tensorflow.tools.ndarray.NdArray;
 import org.tensorflow.tools.ndarray.NdArrays;
 
@@ -104,5 +106,25 @@ public class TStringTest {
     }
   }
 
+  @Test
+  public void readLongStrings() {
+    // lengths of 128 bytes or more are encoded on several bytes
+    String[] strings = new String[4];
+    int[] lengths = new int[] { 127, 128, 300, 20000 };
+    for (int i = 0; i < strings.length; ++i) {
+      char[] chars = new char[lengths[i]];
+      Arrays.fill(chars, (char)('a' + i));
+      strings[i] = new String(chars);
+    }
+    Tensor<TString> tensor = TString.vectorOf(strings);
+    TString data = tensor.data();
+    for (int i = 0; i < strings.length; ++i) {
+      assertEquals(strings[i], data.getObject(i));
+    }
+    String[] read = new String[strings.length];
+    data.read(DataBuffers.of(read, false, false));
+    assertArrayEquals(strings, read);
+  }
+
   private static final String BABY_CHICK = "\uD83D\uDC25";	  
 }
@@ -19,6 +19,7 @@ package org.tensorflow.tools.buffer;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ReadOnlyBufferException;
+import org.tensorflow.tools.buffer.impl.Validator;
 
 /**
  * A {@link DataBuffer} of booleans.
@@ -132,6 +133,157 @@ public interface BooleanDataBuffer extends DataBuffer<Boolean> {
    */
   BooleanDataBuffer write(boolean[] src, int offset, int length);
 
+  /**
+   * Returns the number of values of this buffer that are {@code true}.
+   *
+   * @return number of {@code true} values
+   */
+  default long cardinality() {
+    long count = 0L;
+    for (long idx = 0L; idx < size(); ++idx) {
+      if (getBoolean(idx)) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Packs all values of this buffer as bits into an array of 64-bit words.
+   *
+   * <p>The value at index {@code i} of this buffer is stored in the bit {@code i % 64} of the
+   * word {@code dst[i / 64]}, following the same convention as {@link java.util.BitSet#toLongArray()}.
+   * Bits of the last word that are beyond the size of this buffer are cleared.
+   *
+   * @param dst the array of words receiving the bits, of length {@code (size() + 63) / 64} or more
+   * @return this buffer
+   * @throws IndexOutOfBoundsException if the array is too small to receive all values of this buffer
+   */
+  default BooleanDataBuffer readBits(long[] dst) {
+    Validator.readBitsArgs(this, dst.length);
+    for (int wordIdx = 0; ((long)wordIdx << 6) < size(); ++wordIdx) {
+      long word = 0L;
+      long base = (long)wordIdx << 6;
+      int numBits = (int)Math.min(Long.SIZE, size() - base);
+      for (int bit = 0; bit < numBits; ++bit) {
+        if (getBoolean(base + bit)) {
+          word |= 1L << bit;
+        }
+      }
+      dst[wordIdx] = word;
+    }
+    return this;
+  }
+
+  /**
+   * Unpacks bits from an array of 64-bit words into all values of this buffer.
+   *
+   * <p>This is the reverse operation of {@link #readBits(long[])}.
+   *
+   * @param src the array of words providing the bits, of length {@code (size() + 63) / 64} or more
+   * @return this buffer
+   * @throws IndexOutOfBoundsException if the array is too small to provide all values of this buffer
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default BooleanDataBuffer writeBits(long[] src) {
+    Validator.writeBitsArgs(this, src.length);
+    for (long idx = 0L; idx < size(); ++idx) {
+      setBoolean((src[(int)(idx >>> 6)] & (1L << idx)) != 0L, idx);
+    }
+    return this;
+  }
+
+  /**
+   * Performs a logical <i>AND</i> between the values of this buffer and those of another buffer,
+   * storing the result in this buffer.
+   *
+   * @param other the other operand, which must be at least as large as this buffer
+   * @return this buffer
+   * @throws BufferUnderflowException if {@code other} is smaller than this buffer
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default BooleanDataBuffer and(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    for (long idx = 0L; idx < size(); ++idx) {
+      setBoolean(getBoolean(idx) & other.getBoolean(idx), idx);
+    }
+    return this;
+  }
+
+  /**
+   * Performs a logical <i>OR</i> between the values of this buffer and those of another buffer,
+   * storing the result in this buffer.
+   *
+   * @param other the other operand, which must be at least as large as this buffer
+   * @return this buffer
+   * @throws BufferUnderflowException if {@code other} is smaller than this buffer
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default BooleanDataBuffer or(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    for (long idx = 0L; idx < size(); ++idx) {
+      setBoolean(getBoolean(idx) | other.getBoolean(idx), idx);
+    }
+    return this;
+  }
+
+  /**
+   * Performs a logical <i>XOR</i> between the values of this buffer and those of another buffer,
+   * storing the result in this buffer.
+   *
+   * @param other the other operand, which must be at least as large as this buffer
+   * @return this buffer
+   * @throws BufferUnderflowException if {@code other} is smaller than this buffer
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default BooleanDataBuffer xor(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    for (long idx = 0L; idx < size(); ++idx) {
+      setBoolean(getBoolean(idx) ^ other.getBoolean(idx), idx);
+    }
+    return this;
+  }
+
+  /**
+   * Assigns the given boolean to all values of this buffer.
+   *
+   * @param value the boolean to assign
+   * @return this buffer
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default BooleanDataBuffer fill(boolean value) {
+    return fill(value, 0, size());
+  }
+
+  /**
+   * Assigns the given boolean to all values of this buffer in the range {@code [from, to)}.
+   *
+   * @param value the boolean to assign
+   * @param from index of the first value to assign, inclusive
+   * @param to index of the last value to assign, exclusive
+   * @return this buffer
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than the
+   *                                   buffer size or {@code from} is greater than {@code to}
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default BooleanDataBuffer fill(boolean value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    for (long idx = from; idx < to; ++idx) {
+      setBoolean(value, idx);
+    }
+    return this;
+  }
+
+  @Override
+  default BooleanDataBuffer fill(Boolean value) {
+    return fill(value.booleanValue());
+  }
+
+  @Override
+  default BooleanDataBuffer fill(Boolean value, long from, long to) {
+    return fill(value.booleanValue(), from, to);
+  }
+
   @Override
   default Boolean getObject(long index) {
     return getBoolean(index);
@@ -16,9 +16,21 @@
  */
 package org.tensorflow.tools.buffer;
 
+import java.io.IOException;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
+import java.nio.ByteOrder;
 import java.nio.ReadOnlyBufferException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import org.tensorflow.tools.buffer.impl.ChannelTransfers;
+import org.tensorflow.tools.buffer.impl.Validator;
+import org.tensorflow.tools.buffer.impl.adapter.DataBufferAdapterFactory;
+import org.tensorflow.tools.buffer.impl.layout.OrderedDoubleLayout;
+import org.tensorflow.tools.buffer.impl.layout.OrderedFloatLayout;
+import org.tensorflow.tools.buffer.impl.layout.OrderedIntLayout;
+import org.tensorflow.tools.buffer.impl.layout.OrderedLongLayout;
+import org.tensorflow.tools.buffer.impl.layout.OrderedShortLayout;
 
 /**
  * A {@link DataBuffer} of bytes.
@@ -132,6 +144,38 @@ public interface ByteDataBuffer extends DataBuffer<Byte> {
    */
   ByteDataBuffer write(byte[] src, int offset, int length);
 
+  /**
+   * Writes all bytes of this buffer to the given channel.
+   *
+   * <p>When possible, bytes are transferred directly from the memory backing this buffer, without
+   * copying them first to an intermediate array on the Java heap.
+   *
+   * @param channel a blocking channel to write to
+   * @return the number of bytes written, i.e. {@code size()}
+   * @throws IOException if an I/O error occurs while writing to the channel
+   */
+  default long writeTo(WritableByteChannel channel) throws IOException {
+    return ChannelTransfers.writeThroughHeap(this, channel);
+  }
+
+  /**
+   * Reads bytes from the given channel into this buffer.
+   *
+   * <p>Bytes are read until this buffer is full or until the channel reaches its end of stream.
+   * When possible, bytes are transferred directly to the memory backing this buffer, without
+   * copying them first to an intermediate array on the Java heap.
+   *
+   * @param channel a blocking channel to read from
+   * @return the number of bytes read, which is smaller than {@code size()} only if the end of
+   *         stream has been reached
+   * @throws IOException if an I/O error occurs while reading from the channel
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default long readFrom(ReadableByteChannel channel) throws IOException {
+    Validator.readFromArgs(this);
+    return ChannelTransfers.readThroughHeap(this, channel);
+  }
+
   /**
    * Return this byte buffer as a buffer of ints.
    *
@@ -198,6 +242,116 @@ public interface ByteDataBuffer extends DataBuffer<Byte> {
    */
   BooleanDataBuffer asBooleans();
 
+  /**
+   * Return this byte buffer as a buffer of shorts, reading and writing values in the given byte order.
+   *
+   * <p>The returned buffer provides a different view on the same memory as the original byte buffer,
+   * meaning that changing a value in one will affect the other. If {@code order} is not the native
+   * byte order of the platform, the bytes of each value are swapped when they are accessed.
+   *
+   * @param order byte order of the values stored in this buffer
+   * @return this buffer as a {@link ShortDataBuffer}
+   */
+  default ShortDataBuffer asShorts(ByteOrder order) {
+    return DataBufferAdapterFactory.create(this, new OrderedShortLayout(order));
+  }
+
+  /**
+   * Return this byte buffer as a buffer of ints, reading and writing values in the given byte order.
+   *
+   * <p>The returned buffer provides a different view on the same memory as the original byte buffer,
+   * meaning that changing a value in one will affect the other. If {@code order} is not the native
+   * byte order of the platform, the bytes of each value are swapped when they are accessed.
+   *
+   * @param order byte order of the values stored in this buffer
+   * @return this buffer as a {@link IntDataBuffer}
+   */
+  default IntDataBuffer asInts(ByteOrder order) {
+    return DataBufferAdapterFactory.create(this, new OrderedIntLayout(order));
+  }
+
+  /**
+   * Return this byte buffer as a buffer of longs, reading and writing values in the given byte order.
+   *
+   * <p>The returned buffer provides a different view on the same memory as the original byte buffer,
+   * meaning that changing a value in one will affect the other. If {@code order} is not the native
+   * byte order of the platform, the bytes of each value are swapped when they are accessed.
+   *
+   * @param order byte order of the values stored in this buffer
+   * @return this buffer as a {@link LongDataBuffer}
+   */
+  default LongDataBuffer asLongs(ByteOrder order) {
+    return DataBufferAdapterFactory.create(this, new OrderedLongLayout(order));
+  }
+
+  /**
+   * Return this byte buffer as a buffer of floats, reading and writing values in the given byte order.
+   *
+   * <p>The returned buffer provides a different view on the same memory as the original byte buffer,
+   * meaning that changing a value in one will affect the other. If {@code order} is not the native
+   * byte order of the platform, the bytes of each value are swapped when they are accessed.
+   *
+   * @param order byte order of the values stored in this buffer
+   * @return this buffer as a {@link FloatDataBuffer}
+   */
+  default FloatDataBuffer asFloats(ByteOrder order) {
+    return DataBufferAdapterFactory.create(this, new OrderedFloatLayout(order));
+  }
+
+  /**
+   * Return this byte buffer as a buffer of doubles, reading and writing values in the given byte order.
+   *
+   * <p>The returned buffer provides a different view on the same memory as the original byte buffer,
+   * meaning that changing a value in one will affect the other. If {@code order} is not the native
+   * byte order of the platform, the bytes of each value are swapped when they are accessed.
+   *
+   * @param order byte order of the values stored in this buffer
+   * @return this buffer as a {@link DoubleDataBuffer}
+   */
+  default DoubleDataBuffer asDoubles(ByteOrder order) {
+    return DataBufferAdapterFactory.create(this, new OrderedDoubleLayout(order));
+  }
+
+  /**
+   * Assigns the given byte to all values of this buffer.
+   *
+   * @param value the byte to assign
+   * @return this buffer
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default ByteDataBuffer fill(byte value) {
+    return fill(value, 0, size());
+  }
+
+  /**
+   * Assigns the given byte to all values of this buffer in the range {@code [from, to)}.
+   *
+   * @param value the byte to assign
+   * @param from index of the first value to assign, inclusive
+   * @param to index of the last value to assign, exclusive
+   * @return this buffer
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than the
+   *                                   buffer size or {@code from} is greater than {@code to}
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default ByteDataBuffer fill(byte value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    for (long idx = from; idx < to; ++idx) {
+      setByte(value, idx);
+    }
+    return this;
+  }
+
+  @Override
+  default ByteDataBuffer fill(Byte value) {
+    return fill(value.byteValue());
+  }
+
+  @Override
+  default ByteDataBuffer fill(Byte value, long from, long to) {
+    return fill(value.byteValue(), from, to);
+  }
+
   @Override
   default Byte getObject(long index) {
     return getByte(index);
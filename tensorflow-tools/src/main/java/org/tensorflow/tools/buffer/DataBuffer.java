@@ -20,6 +20,7 @@ package org.tensorflow.tools.buffer;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ReadOnlyBufferException;
+import org.tensorflow.tools.buffer.impl.Validator;
 
 /**
  * A container of data of a specific type.
@@ -129,6 +130,39 @@ public interface DataBuffer<T> {
    */
   DataBuffer<T> read(T[] dst, int offset, int length);
 
+  /**
+   * Assigns the given value to all values of this buffer.
+   *
+   * @param value the value to assign
+   * @return this buffer
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default DataBuffer<T> fill(T value) {
+    return fill(value, 0, size());
+  }
+
+  /**
+   * Assigns the given value to all values of this buffer in the range {@code [from, to)}.
+   *
+   * <p>Implementations are encouraged to override this method with a bulk operation more efficient
+   * than setting each value individually, which is what the default implementation does.
+   *
+   * @param value the value to assign
+   * @param from index of the first value to assign, inclusive
+   * @param to index of the last value to assign, exclusive
+   * @return this buffer
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than the
+   *                                   buffer size or {@code from} is greater than {@code to}
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default DataBuffer<T> fill(T value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    for (long idx = from; idx < to; ++idx) {
+      setObject(value, idx);
+    }
+    return this;
+  }
+
   /**
    * Write the references of the objects in the source array into this buffer.
    * <p>
@@ -0,0 +1,125 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+
+package org.tensorflow.tools.buffer;
+
+/**
+ * A pool of native memory from which data buffers can be leased and returned.
+ *
+ * <p>Allocating and discarding a large number of short-lived buffers puts pressure on the garbage
+ * collector and on the native memory allocator. A pool retains the memory of the buffers returned
+ * to it, classified by size, and reuses it to serve further requests of a similar size.
+ *
+ * <p>Buffers leased from a pool are not initialized: their content is undefined until written.
+ *
+ * <p>Instances of this interface are thread-safe.
+ *
+ * @see DataBuffers#newPool(long)
+ */
+public interface DataBufferPool extends AutoCloseable {
+
+  /**
+   * Leases a buffer of bytes that can store up to {@code size} values
+   *
+   * @param size size of the buffer to lease
+   * @return a pooled buffer
+   * @throws IllegalStateException if the pool has been closed
+   */
+  PooledDataBuffer<ByteDataBuffer> ofBytes(long size);
+
+  /**
+   * Leases a buffer of longs that can store up to {@code size} values
+   *
+   * @param size size of the buffer to lease
+   * @return a pooled buffer
+   * @throws IllegalStateException if the pool has been closed
+   */
+  PooledDataBuffer<LongDataBuffer> ofLongs(long size);
+
+  /**
+   * Leases a buffer of integers that can store up to {@code size} values
+   *
+   * @param size size of the buffer to lease
+   * @return a pooled buffer
+   * @throws IllegalStateException if the pool has been closed
+   */
+  PooledDataBuffer<IntDataBuffer> ofInts(long size);
+
+  /**
+   * Leases a buffer of shorts that can store up to {@code size} values
+   *
+   * @param size size of the buffer to lease
+   * @return a pooled buffer
+   * @throws IllegalStateException if the pool has been closed
+   */
+  PooledDataBuffer<ShortDataBuffer> ofShorts(long size);
+
+  /**
+   * Leases a buffer of doubles that can store up to {@code size} values
+   *
+   * @param size size of the buffer to lease
+   * @return a pooled buffer
+   * @throws IllegalStateException if the pool has been closed
+   */
+  PooledDataBuffer<DoubleDataBuffer> ofDoubles(long size);
+
+  /**
+   * Leases a buffer of floats that can store up to {@code size} values
+   *
+   * @param size size of the buffer to lease
+   * @return a pooled buffer
+   * @throws IllegalStateException if the pool has been closed
+   */
+  PooledDataBuffer<FloatDataBuffer> ofFloats(long size);
+
+  /**
+   * Leases a buffer of booleans that can store up to {@code size} values
+   *
+   * @param size size of the buffer to lease
+   * @return a pooled buffer
+   * @throws IllegalStateException if the pool has been closed
+   */
+  PooledDataBuffer<BooleanDataBuffer> ofBooleans(long size);
+
+  /**
+   * Returns the number of leases that have been served by reusing memory retained by this pool.
+   */
+  long hitCount();
+
+  /**
+   * Returns the number of leases that required a new native allocation.
+   */
+  long missCount();
+
+  /**
+   * Returns the number of bytes currently retained by this pool and available for reuse.
+   */
+  long bytesHeld();
+
+  /**
+   * Returns the number of bytes currently leased and not yet returned to this pool.
+   */
+  long bytesInUse();
+
+  /**
+   * Releases all memory retained by this pool.
+   *
+   * <p>Buffers still leased when the pool is closed are released as soon as they are returned.
+   */
+  @Override
+  void close();
+}
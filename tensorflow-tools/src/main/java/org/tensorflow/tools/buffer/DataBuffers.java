@@ -16,19 +16,30 @@
  */
 package org.tensorflow.tools.buffer;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.zip.Checksum;
+import org.tensorflow.tools.buffer.impl.Checksums;
 import org.tensorflow.tools.buffer.impl.Validator;
+import org.tensorflow.tools.buffer.impl.chunked.ChunkedDataBufferFactory;
+import org.tensorflow.tools.buffer.impl.compressed.CompressedDataBufferFactory;
 import org.tensorflow.tools.buffer.impl.misc.MiscDataBufferFactory;
 import org.tensorflow.tools.buffer.impl.nio.NioDataBufferFactory;
 import org.tensorflow.tools.buffer.impl.raw.RawDataBufferFactory;
+import org.tensorflow.tools.buffer.impl.striped.StripedDataBufferFactory;
 
 /**
  * Helper class for creating {@code DataBuffer} instances.
@@ -38,11 +49,17 @@ public final class DataBuffers {
   /**
    * Creates a buffer of bytes that can store up to {@code size} values
    *
+   * <p>Buffers larger than what a single Java array can hold are split into multiple chunks
+   * allocated on the heap.
+   *
    * @param size size of the buffer to allocate
    * @return a new buffer
    */
   public static ByteDataBuffer ofBytes(long size) {
-    Validator.createArgs(size, MAX_32BITS);
+    Validator.createArgs(size, MAX_64BITS);
+    if (size > MAX_32BITS) {
+      return ChunkedDataBufferFactory.createBytes(size);
+    }
     if (RawDataBufferFactory.canBeUsed()) {
       return RawDataBufferFactory.create(new byte[(int)size], false);
     }
@@ -52,11 +69,17 @@ public final class DataBuffers {
   /**
    * Creates a buffer of longs that can store up to {@code size} values
    *
+   * <p>Buffers larger than what a single Java array can hold are split into multiple chunks
+   * allocated on the heap.
+   *
    * @param size size of the buffer to allocate
    * @return a new buffer
    */
   public static LongDataBuffer ofLongs(long size) {
-    Validator.createArgs(size, MAX_32BITS);
+    Validator.createArgs(size, MAX_64BITS);
+    if (size > MAX_32BITS) {
+      return ChunkedDataBufferFactory.createLongs(size);
+    }
     if (RawDataBufferFactory.canBeUsed()) {
       return RawDataBufferFactory.create(new long[(int)size], false);
     }
@@ -66,11 +89,17 @@ public final class DataBuffers {
   /**
    * Creates a buffer of integers that can store up to {@code size} values
    *
+   * <p>Buffers larger than what a single Java array can hold are split into multiple chunks
+   * allocated on the heap.
+   *
    * @param size size of the buffer to allocate
    * @return a new buffer
    */
   public static IntDataBuffer ofInts(long size) {
-    Validator.createArgs(size, MAX_32BITS);
+    Validator.createArgs(size, MAX_64BITS);
+    if (size > MAX_32BITS) {
+      return ChunkedDataBufferFactory.createInts(size);
+    }
     if (RawDataBufferFactory.canBeUsed()) {
       return RawDataBufferFactory.create(new int[(int)size], false);
     }
@@ -80,11 +109,17 @@ public final class DataBuffers {
   /**
    * Creates a buffer of shorts that can store up to {@code size} values
    *
+   * <p>Buffers larger than what a single Java array can hold are split into multiple chunks
+   * allocated on the heap.
+   *
    * @param size size of the buffer to allocate
    * @return a new buffer
    */
   public static ShortDataBuffer ofShorts(long size) {
-    Validator.createArgs(size, MAX_32BITS);
+    Validator.createArgs(size, MAX_64BITS);
+    if (size > MAX_32BITS) {
+      return ChunkedDataBufferFactory.createShorts(size);
+    }
     if (RawDataBufferFactory.canBeUsed()) {
       return RawDataBufferFactory.create(new short[(int)size], false);
     }
@@ -94,11 +129,17 @@ public final class DataBuffers {
   /**
    * Creates a buffer of doubles that can store up to {@code size} values
    *
+   * <p>Buffers larger than what a single Java array can hold are split into multiple chunks
+   * allocated on the heap.
+   *
    * @param size size of the buffer to allocate
    * @return a new buffer
    */
   public static DoubleDataBuffer ofDoubles(long size) {
-    Validator.createArgs(size, MAX_32BITS);
+    Validator.createArgs(size, MAX_64BITS);
+    if (size > MAX_32BITS) {
+      return ChunkedDataBufferFactory.createDoubles(size);
+    }
     if (RawDataBufferFactory.canBeUsed()) {
       return RawDataBufferFactory.create(new double[(int)size], false);
     }
@@ -108,11 +149,17 @@ public final class DataBuffers {
   /**
    * Creates a buffer of floats that can store up to {@code size} values
    *
+   * <p>Buffers larger than what a single Java array can hold are split into multiple chunks
+   * allocated on the heap.
+   *
    * @param size size of the buffer to allocate
    * @return a new buffer
    */
   public static FloatDataBuffer ofFloats(long size) {
-    Validator.createArgs(size, MAX_32BITS);
+    Validator.createArgs(size, MAX_64BITS);
+    if (size > MAX_32BITS) {
+      return ChunkedDataBufferFactory.createFloats(size);
+    }
     if (RawDataBufferFactory.canBeUsed()) {
       return RawDataBufferFactory.create(new float[(int)size], false);
     }
@@ -122,11 +169,17 @@ public final class DataBuffers {
   /**
    * Creates a buffer of booleans that can store up to {@code size} values
    *
+   * <p>Buffers larger than what a single Java array can hold are split into multiple chunks
+   * allocated on the heap.
+   *
    * @param size size of the buffer to allocate
    * @return a new buffer
    */
   public static BooleanDataBuffer ofBooleans(long size) {
-    Validator.createArgs(size, MAX_32BITS);
+    Validator.createArgs(size, MAX_64BITS);
+    if (size > MAX_32BITS) {
+      return ChunkedDataBufferFactory.createBooleans(size);
+    }
     if (RawDataBufferFactory.canBeUsed()) {
       return RawDataBufferFactory.create(new boolean[(int)size], false);
     }
@@ -148,6 +201,86 @@ public final class DataBuffers {
     return MiscDataBufferFactory.create(array, false);
   }
 
+  /**
+   * Creates a buffer of floats optimized for concurrent accumulation.
+   *
+   * <p>Values are spread across multiple stripes, one per available processor, and each thread
+   * adds values to a different stripe using {@link FloatDataBuffer#addFloat(float, long)}. This
+   * reduces contention compared to a single buffer when many threads update the same values, at
+   * the cost of more memory and slower reads, since all stripes are summed up when a value is read.
+   *
+   * <p>Only additions are atomic: writing a value while other threads are adding to it may lose
+   * some of their updates. Also, {@code compareAndSet} and {@code getAndAdd} are not supported.
+   *
+   * @param size number of values in the buffer
+   * @return a new buffer
+   */
+  public static FloatDataBuffer stripedFloats(long size) {
+    return StripedDataBufferFactory.createFloats(size);
+  }
+
+  /**
+   * Creates a buffer of longs optimized for concurrent accumulation.
+   *
+   * @param size number of values in the buffer
+   * @return a new buffer
+   * @see #stripedFloats(long)
+   */
+  public static LongDataBuffer stripedLongs(long size) {
+    return StripedDataBufferFactory.createLongs(size);
+  }
+
+  /**
+   * Creates a buffer of floats compressed in memory, for values that are mostly zeros.
+   *
+   * <p>Values are split in blocks of fixed size, where blocks of zeros take no memory and blocks
+   * with only a few non-zero values only store those values. Any value can still be accessed
+   * randomly in constant time, while bulk operations decode the blocks on demand. As a block is
+   * encoded again each time it is modified, this buffer is best suited for values written once and
+   * read many times, like caches of sparse features.
+   *
+   * <p>Only positive zeros are suppressed, all other values (including negative zeros) are
+   * preserved as is. Atomic operations are not supported.
+   *
+   * <p>This buffer can be read by many threads while a single thread writes to it, and reads will
+   * always return either the previous or the new values. However, it is not safe to write to it
+   * from multiple threads without external synchronization, even at distinct indices, since values
+   * of a same block are encoded together.
+   *
+   * @param size number of values in the buffer
+   * @return a new buffer, initially filled with zeros
+   */
+  public static FloatDataBuffer compressedFloats(long size) {
+    return CompressedDataBufferFactory.createFloats(size);
+  }
+
+  /**
+   * Creates a buffer of ints compressed in memory, for values that are mostly zeros.
+   *
+   * @param size number of values in the buffer
+   * @return a new buffer, initially filled with zeros
+   * @see #compressedFloats(long)
+   */
+  public static IntDataBuffer compressedInts(long size) {
+    return CompressedDataBufferFactory.createInts(size);
+  }
+
+  /**
+   * Creates a pool of buffers allocated in native memory.
+   *
+   * <p>Buffers leased from the pool return their memory to it when closed, so it can be reused
+   * by subsequent leases instead of being allocated again. This is useful for workloads allocating
+   * and discarding a large number of temporary buffers.
+   *
+   * @param maxBytesHeld maximum number of bytes the pool can retain for reuse, memory returned
+   *                     beyond this limit is released immediately
+   * @return a new pool
+   * @throws IllegalStateException if native memory cannot be accessed on this platform
+   */
+  public static DataBufferPool newPool(long maxBytesHeld) {
+    return RawDataBufferFactory.createPool(maxBytesHeld);
+  }
+
   /**
    * Create a buffer from an array of floats into a data buffer.
    *
@@ -444,6 +577,129 @@ public final class DataBuffers {
     return NioDataBufferFactory.create(buf.duplicate());
   }
 
+  /**
+   * Maps a region of a file into memory and returns it as a buffer of bytes.
+   *
+   * <p>The content of the file is loaded lazily by the operating system, only when the pages of the
+   * mapped region are accessed, which makes this method a good fit for reading large datasets
+   * (such as embedding tables) that do not need to be fully loaded into the JVM heap.
+   *
+   * <p>The returned buffer can be converted to other primitive types using one of the
+   * {@code as*()} methods of {@link ByteDataBuffer}. For example:
+   * <pre>{@code
+   * FloatDataBuffer embeddings = DataBuffers.map(path, MapMode.READ_ONLY, 0L, numBytes).asFloats();
+   * }</pre>
+   * Values are accessed in the native byte order of the platform.
+   *
+   * <p>The position of the region in the file is not limited to 32-bits, allowing to map any part
+   * of files larger than 2<sup>31</sup> bytes. The size of a single region is limited though to
+   * what a {@link java.nio.MappedByteBuffer MappedByteBuffer} can hold, and larger regions are
+   * rejected: files bigger than this limit must be mapped in several regions, each returned in
+   * its own buffer (for example, one region per shard of an embedding table).
+   *
+   * <p>The region remains mapped as long as the returned buffer, or any other buffer derived from
+   * it, is reachable.
+   *
+   * @param file file to map
+   * @param mode mapping mode, {@link FileChannel.MapMode#READ_ONLY READ_ONLY} buffers cannot be
+   *             written to
+   * @param position position in the file where the mapped region starts, in bytes
+   * @param size size of the region to map, in bytes
+   * @return a new buffer
+   * @throws IllegalArgumentException if size is negative or larger than
+   *                                  {@code Integer.MAX_VALUE - 10} bytes
+   * @throws IOException if the file cannot be opened or mapped
+   * @see FileChannel#map(FileChannel.MapMode, long, long)
+   */
+  public static ByteDataBuffer map(Path file, FileChannel.MapMode mode, long position, long size) throws IOException {
+    StandardOpenOption[] options = mode == FileChannel.MapMode.READ_WRITE ?
+        new StandardOpenOption[] { StandardOpenOption.READ, StandardOpenOption.WRITE } :
+        new StandardOpenOption[] { StandardOpenOption.READ };
+    try (FileChannel channel = FileChannel.open(file, options)) {
+      return map(channel, mode, position, size);
+    }
+  }
+
+  /**
+   * Maps a region of a file channel into memory and returns it as a buffer of bytes.
+   *
+   * <p>The channel can be closed once this method returns, without affecting the validity of the
+   * returned buffer.
+   *
+   * @param channel channel of the file to map
+   * @param mode mapping mode, {@link FileChannel.MapMode#READ_ONLY READ_ONLY} buffers cannot be
+   *             written to
+   * @param position position in the file where the mapped region starts, in bytes
+   * @param size size of the region to map, in bytes
+   * @return a new buffer
+   * @throws IllegalArgumentException if size is negative or larger than
+   *                                  {@code Integer.MAX_VALUE - 10} bytes
+   * @throws IOException if the file cannot be mapped
+   * @see #map(Path, FileChannel.MapMode, long, long)
+   */
+  public static ByteDataBuffer map(FileChannel channel, FileChannel.MapMode mode, long position, long size) throws IOException {
+    if (size > MAX_32BITS) {
+      throw new IllegalArgumentException("Cannot map a region of " + size + " bytes, larger files must be " +
+          "mapped in several regions of at most " + MAX_32BITS + " bytes");
+    }
+    Validator.createArgs(size, MAX_32BITS);
+    MappedByteBuffer buf = channel.map(mode, position, size);
+    buf.order(ByteOrder.nativeOrder());
+    if (RawDataBufferFactory.canWrapDirectBuffers()) {
+      return RawDataBufferFactory.create(buf, mode == FileChannel.MapMode.READ_ONLY);
+    }
+    return NioDataBufferFactory.create(buf);
+  }
+
+  /**
+   * Updates a checksum with all bytes of a buffer and returns its value.
+   *
+   * <p>Bytes are read directly from the storage backing the buffer. When the buffer is mapped to a
+   * direct NIO buffer, implementations that accept {@link ByteBuffer} inputs, like
+   * {@link java.util.zip.CRC32 CRC32}, {@link java.util.zip.Adler32 Adler32} or
+   * {@code java.util.zip.CRC32C} on JDK 9+, consume the memory without copying it first to the
+   * heap, while other native memory is copied to the heap by chunks. For example, to validate the
+   * content of a tensor:
+   * <pre>{@code
+   * long crc = DataBuffers.checksum(tensor.rawData(), new CRC32());
+   * }</pre>
+   *
+   * @param buffer buffer to checksum
+   * @param checksum checksum to update
+   * @return the value of the checksum after all bytes of the buffer have been processed
+   */
+  public static long checksum(ByteDataBuffer buffer, Checksum checksum) {
+    return Checksums.checksum(buffer, checksum);
+  }
+
+  /**
+   * Computes a 64-bit non-cryptographic hash of all bytes of a buffer.
+   *
+   * <p>The hash is computed using the XXH64 algorithm with a seed of 0 and does not depend on the
+   * type of storage backing the buffer.
+   *
+   * @param buffer buffer to hash
+   * @return hash value
+   * @see #hash64(ByteDataBuffer, long)
+   */
+  public static long hash64(ByteDataBuffer buffer) {
+    return hash64(buffer, 0L);
+  }
+
+  /**
+   * Computes a 64-bit non-cryptographic hash of all bytes of a buffer, using the given seed.
+   *
+   * <p>The hash is computed using the XXH64 algorithm, so values are compatible with other
+   * implementations of this algorithm for the same sequence of bytes and the same seed.
+   *
+   * @param buffer buffer to hash
+   * @param seed hash seed
+   * @return hash value
+   */
+  public static long hash64(ByteDataBuffer buffer, long seed) {
+    return Checksums.hash64(buffer, seed);
+  }
+
   /*
    * The maximum size for a buffer of this type, i.e. the maximum number of bytes it can store.
    * <p>
@@ -451,4 +707,5 @@ public final class DataBuffers {
    * property returns a value that is safe for most of them.
    */
   static long MAX_32BITS = Integer.MAX_VALUE - 10;
+  static long MAX_64BITS = Long.MAX_VALUE - 10;
 }
@@ -19,6 +19,7 @@ package org.tensorflow.tools.buffer;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ReadOnlyBufferException;
+import org.tensorflow.tools.buffer.impl.Validator;
 
 /**
  * A {@link DataBuffer} of floats.
@@ -132,6 +133,126 @@ public interface FloatDataBuffer extends DataBuffer<Float> {
    */
   FloatDataBuffer write(float[] src, int offset, int length);
 
+  /**
+   * Atomically sets the float at the given index to {@code value} if its current value is equal
+   * to {@code expected}.
+   *
+   * <p>Values are compared by their bit representation (see {@link Float#floatToRawIntBits(float)}), so
+   * {@code NaN} matches itself but {@code 0.0} does not match {@code -0.0}.
+   *
+   * <p>Atomic operations are only supported by buffers whose storage allows it, like those
+   * allocated by {@link DataBuffers} or mapping tensor memory, which can be checked with
+   * {@link #supportsAtomicOperations()}. They are not guaranteed to be atomic with regard to
+   * non-atomic writes to the same value.
+   *
+   * @param expected the expected value
+   * @param value the new value
+   * @param index the index of the value to update
+   * @return true if the value was updated, false if the current value was not equal to the
+   *         expected one
+   * @throws IndexOutOfBoundsException if index is negative or not smaller than the buffer size
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   * @throws UnsupportedOperationException if this buffer does not support atomic operations
+   */
+  default boolean compareAndSet(float expected, float value, long index) {
+    throw new UnsupportedOperationException("Atomic operations are not supported by this buffer");
+  }
+
+  /**
+   * Checks if this buffer supports atomic operations, like {@link #compareAndSet(float, float, long)} and
+   * {@link #getAndAdd(float, long)}.
+   *
+   * <p>Read-only buffers may support atomic operations but will still reject them with a
+   * {@link ReadOnlyBufferException}.
+   *
+   * @return true if atomic operations are supported by the storage of this buffer
+   */
+  default boolean supportsAtomicOperations() {
+    return false;
+  }
+
+  /**
+   * Atomically adds the given delta to the float at the given index.
+   *
+   * @param delta the value to add
+   * @param index the index of the value to update
+   * @return the value before the update
+   * @throws IndexOutOfBoundsException if index is negative or not smaller than the buffer size
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   * @throws UnsupportedOperationException if this buffer does not support atomic operations
+   * @see #compareAndSet(float, float, long)
+   */
+  default float getAndAdd(float delta, long index) {
+    float current;
+    do {
+      current = getFloat(index);
+    } while (!compareAndSet(current, current + delta, index));
+    return current;
+  }
+
+  /**
+   * Atomically adds the given delta to the float at the given index.
+   *
+   * <p>This is equivalent to {@link #getAndAdd(float, long)} but returns this buffer, allowing
+   * lock-free accumulation of values from multiple threads, e.g.
+   * <pre>{@code
+   * FloatDataBuffer accumulator = DataBuffers.ofFloats(size);
+   * // from any thread
+   * accumulator.addFloat(delta, index);
+   * }</pre>
+   *
+   * @param delta the value to add
+   * @param index the index of the value to update
+   * @return this buffer
+   * @throws IndexOutOfBoundsException if index is negative or not smaller than the buffer size
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   * @throws UnsupportedOperationException if this buffer does not support atomic operations
+   */
+  default FloatDataBuffer addFloat(float delta, long index) {
+    getAndAdd(delta, index);
+    return this;
+  }
+
+  /**
+   * Assigns the given float to all values of this buffer.
+   *
+   * @param value the float to assign
+   * @return this buffer
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default FloatDataBuffer fill(float value) {
+    return fill(value, 0, size());
+  }
+
+  /**
+   * Assigns the given float to all values of this buffer in the range {@code [from, to)}.
+   *
+   * @param value the float to assign
+   * @param from index of the first value to assign, inclusive
+   * @param to index of the last value to assign, exclusive
+   * @return this buffer
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than the
+   *                                   buffer size or {@code from} is greater than {@code to}
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default FloatDataBuffer fill(float value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    for (long idx = from; idx < to; ++idx) {
+      setFloat(value, idx);
+    }
+    return this;
+  }
+
+  @Override
+  default FloatDataBuffer fill(Float value) {
+    return fill(value.floatValue());
+  }
+
+  @Override
+  default FloatDataBuffer fill(Float value, long from, long to) {
+    return fill(value.floatValue(), from, to);
+  }
+
   @Override
   default Float getObject(long index) {
     return getFloat(index);
@@ -19,6 +19,7 @@ package org.tensorflow.tools.buffer;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ReadOnlyBufferException;
+import org.tensorflow.tools.buffer.impl.Validator;
 
 /**
  * A {@link DataBuffer} of longs.
@@ -132,6 +133,123 @@ public interface LongDataBuffer extends DataBuffer<Long> {
    */
   LongDataBuffer write(long[] src, int offset, int length);
 
+  /**
+   * Atomically sets the long at the given index to {@code value} if its current value is equal
+   * to {@code expected}.
+   *
+   * <p>Atomic operations are only supported by buffers whose storage allows it, like those
+   * allocated by {@link DataBuffers} or mapping tensor memory, which can be checked with
+   * {@link #supportsAtomicOperations()}. They are not guaranteed to be atomic with regard to
+   * non-atomic writes to the same value.
+   *
+   * @param expected the expected value
+   * @param value the new value
+   * @param index the index of the value to update
+   * @return true if the value was updated, false if the current value was not equal to the
+   *         expected one
+   * @throws IndexOutOfBoundsException if index is negative or not smaller than the buffer size
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   * @throws UnsupportedOperationException if this buffer does not support atomic operations
+   */
+  default boolean compareAndSet(long expected, long value, long index) {
+    throw new UnsupportedOperationException("Atomic operations are not supported by this buffer");
+  }
+
+  /**
+   * Checks if this buffer supports atomic operations, like {@link #compareAndSet(long, long, long)} and
+   * {@link #getAndAdd(long, long)}.
+   *
+   * <p>Read-only buffers may support atomic operations but will still reject them with a
+   * {@link ReadOnlyBufferException}.
+   *
+   * @return true if atomic operations are supported by the storage of this buffer
+   */
+  default boolean supportsAtomicOperations() {
+    return false;
+  }
+
+  /**
+   * Atomically adds the given delta to the long at the given index.
+   *
+   * @param delta the value to add
+   * @param index the index of the value to update
+   * @return the value before the update
+   * @throws IndexOutOfBoundsException if index is negative or not smaller than the buffer size
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   * @throws UnsupportedOperationException if this buffer does not support atomic operations
+   * @see #compareAndSet(long, long, long)
+   */
+  default long getAndAdd(long delta, long index) {
+    long current;
+    do {
+      current = getLong(index);
+    } while (!compareAndSet(current, current + delta, index));
+    return current;
+  }
+
+  /**
+   * Atomically adds the given delta to the long at the given index.
+   *
+   * <p>This is equivalent to {@link #getAndAdd(long, long)} but returns this buffer, allowing
+   * lock-free accumulation of values from multiple threads, e.g.
+   * <pre>{@code
+   * LongDataBuffer accumulator = DataBuffers.ofLongs(size);
+   * // from any thread
+   * accumulator.addLong(delta, index);
+   * }</pre>
+   *
+   * @param delta the value to add
+   * @param index the index of the value to update
+   * @return this buffer
+   * @throws IndexOutOfBoundsException if index is negative or not smaller than the buffer size
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   * @throws UnsupportedOperationException if this buffer does not support atomic operations
+   */
+  default LongDataBuffer addLong(long delta, long index) {
+    getAndAdd(delta, index);
+    return this;
+  }
+
+  /**
+   * Assigns the given long to all values of this buffer.
+   *
+   * @param value the long to assign
+   * @return this buffer
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default LongDataBuffer fill(long value) {
+    return fill(value, 0, size());
+  }
+
+  /**
+   * Assigns the given long to all values of this buffer in the range {@code [from, to)}.
+   *
+   * @param value the long to assign
+   * @param from index of the first value to assign, inclusive
+   * @param to index of the last value to assign, exclusive
+   * @return this buffer
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than the
+   *                                   buffer size or {@code from} is greater than {@code to}
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default LongDataBuffer fill(long value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    for (long idx = from; idx < to; ++idx) {
+      setLong(value, idx);
+    }
+    return this;
+  }
+
+  @Override
+  default LongDataBuffer fill(Long value) {
+    return fill(value.longValue());
+  }
+
+  @Override
+  default LongDataBuffer fill(Long value, long from, long to) {
+    return fill(value.longValue(), from, to);
+  }
+
   @Override
   default Long getObject(long index) {
     return getLong(index);
@@ -0,0 +1,55 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+
+package org.tensorflow.tools.buffer;
+
+/**
+ * A data buffer leased from a {@link DataBufferPool}.
+ *
+ * <p>Closing this object returns the memory of the buffer to the pool it has been leased from,
+ * so it can be reused by subsequent allocations. Once closed, the buffer and all views derived
+ * from it throw {@link IllegalStateException} when accessed. Closing the lease while other threads
+ * are still accessing the buffer is not safe and must be prevented by the caller. A lease that is
+ * never closed returns its memory to the pool only after it has been garbage collected. Typical
+ * usage is:
+ * <pre>{@code
+ * try (PooledDataBuffer<FloatDataBuffer> pooled = pool.ofFloats(1024)) {
+ *   FloatDataBuffer buffer = pooled.buffer();
+ *   ...
+ * }
+ * }</pre>
+ *
+ * @param <B> type of the leased buffer
+ */
+public interface PooledDataBuffer<B extends DataBuffer<?>> extends AutoCloseable {
+
+  /**
+   * Returns the leased buffer.
+   *
+   * @return data buffer
+   * @throws IllegalStateException if this buffer has already been returned to its pool
+   */
+  B buffer();
+
+  /**
+   * Returns the memory of the buffer to its pool.
+   *
+   * <p>Invoking this method more than once has no effect.
+   */
+  @Override
+  void close();
+}
@@ -19,6 +19,7 @@ package org.tensorflow.tools.buffer;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ReadOnlyBufferException;
+import org.tensorflow.tools.buffer.impl.Validator;
 
 /**
  * A {@link DataBuffer} of shorts.
@@ -132,6 +133,46 @@ public interface ShortDataBuffer extends DataBuffer<Short> {
    */
   ShortDataBuffer write(short[] src, int offset, int length);
 
+  /**
+   * Assigns the given short to all values of this buffer.
+   *
+   * @param value the short to assign
+   * @return this buffer
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default ShortDataBuffer fill(short value) {
+    return fill(value, 0, size());
+  }
+
+  /**
+   * Assigns the given short to all values of this buffer in the range {@code [from, to)}.
+   *
+   * @param value the short to assign
+   * @param from index of the first value to assign, inclusive
+   * @param to index of the last value to assign, exclusive
+   * @return this buffer
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than the
+   *                                   buffer size or {@code from} is greater than {@code to}
+   * @throws ReadOnlyBufferException if this buffer is read-only
+   */
+  default ShortDataBuffer fill(short value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    for (long idx = from; idx < to; ++idx) {
+      setShort(value, idx);
+    }
+    return this;
+  }
+
+  @Override
+  default ShortDataBuffer fill(Short value) {
+    return fill(value.shortValue());
+  }
+
+  @Override
+  default ShortDataBuffer fill(Short value, long from, long to) {
+    return fill(value.shortValue(), from, to);
+  }
+
   @Override
   default Short getObject(long index) {
     return getShort(index);
@@ -0,0 +1,134 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+
+/**
+ * Transfers bytes between buffers and NIO channels.
+ *
+ * <p>Buffers backed by an array or a direct NIO buffer are transferred by passing a view of their
+ * storage to the channel. Other buffers are transferred by chunks copied through the heap.
+ */
+public final class ChannelTransfers {
+
+  /**
+   * Writes all bytes of a buffer to a channel, by chunks copied to the heap.
+   *
+   * @param buffer buffer to write
+   * @param channel a blocking channel to write to
+   * @return the number of bytes written
+   * @throws IOException if an I/O error occurs while writing to the channel
+   */
+  public static long writeThroughHeap(ByteDataBuffer buffer, WritableByteChannel channel) throws IOException {
+    byte[] chunk = new byte[(int)Math.min(buffer.size(), HEAP_CHUNK_SIZE)];
+    long written = 0L;
+    for (long index = 0L; index < buffer.size(); index += chunk.length) {
+      int length = (int)Math.min(buffer.size() - index, chunk.length);
+      buffer.slice(index, length).read(chunk, 0, length);
+      written += writeFully(channel, ByteBuffer.wrap(chunk, 0, length));
+    }
+    return written;
+  }
+
+  /**
+   * Reads bytes from a channel into a buffer, by chunks copied from the heap.
+   *
+   * @param buffer buffer to fill
+   * @param channel a blocking channel to read from
+   * @return the number of bytes read, which is smaller than the size of the buffer only if the end
+   *         of stream has been reached
+   * @throws IOException if an I/O error occurs while reading from the channel
+   */
+  public static long readThroughHeap(ByteDataBuffer buffer, ReadableByteChannel channel) throws IOException {
+    byte[] chunk = new byte[(int)Math.min(buffer.size(), HEAP_CHUNK_SIZE)];
+    long read = 0L;
+    for (long index = 0L; index < buffer.size(); index += chunk.length) {
+      int length = (int)Math.min(buffer.size() - index, chunk.length);
+      int n = (int)readFully(channel, ByteBuffer.wrap(chunk, 0, length));
+      buffer.slice(index, n).write(chunk, 0, n);
+      read += n;
+      if (n < length) {
+        break;  // end of stream
+      }
+    }
+    return read;
+  }
+
+  /**
+   * Writes all remaining bytes of a NIO buffer to a channel.
+   *
+   * @param channel a blocking channel to write to
+   * @param buffer buffer to write
+   * @return the number of bytes written
+   * @throws IOException if an I/O error occurs while writing to the channel
+   */
+  public static long writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+    long written = 0L;
+    if (buffer.isDirect()) {
+      while (buffer.hasRemaining()) {
+        written += channel.write(buffer);
+      }
+    } else {
+      // Channels copy heap buffers into a temporary direct buffer of the same size before writing
+      // them, so limit the size of each transfer to avoid allocating large chunks of native memory
+      ByteBuffer window = buffer.duplicate();
+      while (buffer.hasRemaining()) {
+        window.limit(Math.min(buffer.limit(), buffer.position() + MAX_HEAP_TRANSFER_SIZE));
+        int n = channel.write(window);
+        buffer.position(window.position());
+        written += n;
+      }
+    }
+    return written;
+  }
+
+  /**
+   * Reads bytes from a channel until a NIO buffer is full or the end of stream is reached.
+   *
+   * @param channel a blocking channel to read from
+   * @param buffer buffer to fill
+   * @return the number of bytes read
+   * @throws IOException if an I/O error occurs while reading from the channel
+   */
+  public static long readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+    long read = 0L;
+    ByteBuffer window = buffer.duplicate();
+    while (buffer.hasRemaining()) {
+      window.limit(buffer.isDirect() ? buffer.limit() : Math.min(buffer.limit(), buffer.position() + MAX_HEAP_TRANSFER_SIZE));
+      int n = channel.read(window);
+      if (n <= 0) {
+        break;
+      }
+      buffer.position(window.position());
+      read += n;
+    }
+    return read;
+  }
+
+  // maximum number of bytes passed at once to a channel from a heap buffer
+  private static final int MAX_HEAP_TRANSFER_SIZE = 1 << 20;
+
+  // size of the chunks copied through the heap
+  private static final int HEAP_CHUNK_SIZE = 1 << 16;
+
+  private ChannelTransfers() {}
+}
@@ -0,0 +1,252 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.Checksum;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+
+/**
+ * Computes checksums and hashes of buffers of bytes.
+ *
+ * <p>Bytes are streamed from the storage of the buffer using {@link ByteDataBuffer#writeTo(WritableByteChannel)},
+ * so direct NIO buffers are processed through direct {@link ByteBuffer} views and heap storage
+ * through its backing array, without intermediate copies. Other storages, like native memory
+ * allocated outside of a direct buffer, are copied through the heap by chunks.
+ */
+public final class Checksums {
+
+  /**
+   * Updates a checksum with all bytes of a buffer.
+   *
+   * @param buffer buffer to checksum
+   * @param checksum checksum to update
+   * @return the value of the checksum after the update
+   */
+  public static long checksum(ByteDataBuffer buffer, Checksum checksum) {
+    transfer(buffer, new ChecksumChannel(checksum));
+    return checksum.getValue();
+  }
+
+  /**
+   * Computes the 64-bit XXH64 hash of all bytes of a buffer.
+   *
+   * @param buffer buffer to hash
+   * @param seed hash seed
+   * @return hash value
+   */
+  public static long hash64(ByteDataBuffer buffer, long seed) {
+    Hash64Channel channel = new Hash64Channel(seed);
+    transfer(buffer, channel);
+    return channel.digest();
+  }
+
+  private static void transfer(ByteDataBuffer buffer, WritableByteChannel channel) {
+    try {
+      buffer.writeTo(channel);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);  // should never happen, channels are in-memory
+    }
+  }
+
+  private abstract static class UpdateChannel implements WritableByteChannel {
+
+    @Override
+    public int write(ByteBuffer src) {
+      int length = src.remaining();
+      update(src);
+      src.position(src.limit());
+      return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    abstract void update(ByteBuffer src);
+  }
+
+  private static final class ChecksumChannel extends UpdateChannel {
+
+    @Override
+    void update(ByteBuffer src) {
+      if (src.hasArray()) {
+        checksum.update(src.array(), src.arrayOffset() + src.position(), src.remaining());
+        return;
+      }
+      MethodHandle bufferUpdate = BUFFER_UPDATES.get(checksum.getClass());
+      if (bufferUpdate != null) {
+        try {
+          bufferUpdate.invokeExact(checksum, src.duplicate());
+          return;
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable t) {
+          throw new IllegalStateException(t);
+        }
+      }
+      byte[] chunk = CHUNK.get();
+      ByteBuffer window = src.duplicate();
+      while (window.hasRemaining()) {
+        int length = Math.min(window.remaining(), chunk.length);
+        window.get(chunk, 0, length);
+        checksum.update(chunk, 0, length);
+      }
+    }
+
+    ChecksumChannel(Checksum checksum) {
+      this.checksum = checksum;
+    }
+
+    private final Checksum checksum;
+  }
+
+  private static final class Hash64Channel extends UpdateChannel {
+
+    @Override
+    void update(ByteBuffer src) {
+      ByteBuffer in = src.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+      totalLength += in.remaining();
+      if (pendingLength > 0) {
+        int length = Math.min(in.remaining(), STRIPE_SIZE - pendingLength);
+        in.get(pending.array(), pendingLength, length);
+        pendingLength += length;
+        if (pendingLength < STRIPE_SIZE) {
+          return;
+        }
+        pending.clear();
+        consumeStripe(pending);
+        pendingLength = 0;
+      }
+      while (in.remaining() >= STRIPE_SIZE) {
+        consumeStripe(in);
+      }
+      pendingLength = in.remaining();
+      in.get(pending.array(), 0, pendingLength);
+    }
+
+    long digest() {
+      long hash;
+      if (totalLength >= STRIPE_SIZE) {
+        hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+        hash = merge(hash, v1);
+        hash = merge(hash, v2);
+        hash = merge(hash, v3);
+        hash = merge(hash, v4);
+      } else {
+        hash = seed + PRIME5;
+      }
+      hash += totalLength;
+
+      ByteBuffer in = pending.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+      in.limit(pendingLength).position(0);
+      while (in.remaining() >= 8) {
+        hash ^= round(0L, in.getLong());
+        hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+      }
+      if (in.remaining() >= 4) {
+        hash ^= (in.getInt() & 0xFFFFFFFFL) * PRIME1;
+        hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+      }
+      while (in.hasRemaining()) {
+        hash ^= (in.get() & 0xFFL) * PRIME5;
+        hash = Long.rotateLeft(hash, 11) * PRIME1;
+      }
+      hash ^= hash >>> 33;
+      hash *= PRIME2;
+      hash ^= hash >>> 29;
+      hash *= PRIME3;
+      hash ^= hash >>> 32;
+      return hash;
+    }
+
+    Hash64Channel(long seed) {
+      this.seed = seed;
+      v1 = seed + PRIME1 + PRIME2;
+      v2 = seed + PRIME2;
+      v3 = seed;
+      v4 = seed - PRIME1;
+    }
+
+    private static final int STRIPE_SIZE = 32;
+
+    private final long seed;
+    private final ByteBuffer pending = ByteBuffer.allocate(STRIPE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private int pendingLength = 0;
+    private long totalLength = 0L;
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+
+    private void consumeStripe(ByteBuffer in) {
+      v1 = round(v1, in.getLong());
+      v2 = round(v2, in.getLong());
+      v3 = round(v3, in.getLong());
+      v4 = round(v4, in.getLong());
+    }
+
+    private static long round(long acc, long input) {
+      return Long.rotateLeft(acc + input * PRIME2, 31) * PRIME1;
+    }
+
+    private static long merge(long hash, long acc) {
+      return (hash ^ round(0L, acc)) * PRIME1 + PRIME4;
+    }
+  }
+
+  private static final long PRIME1 = 0x9E3779B185EBCA87L;
+  private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+  private static final long PRIME3 = 0x165667B19E3779F9L;
+  private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+  private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+  private static final int CHUNK_SIZE = 8192;
+  private static final ThreadLocal<byte[]> CHUNK = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+
+  /*
+   * Checksum implementations that can consume direct buffers without copying them, like CRC32 and
+   * Adler32 or any implementation on JDK 9+ (e.g. CRC32C), expose a public update(ByteBuffer) method
+   */
+  private static final ClassValue<MethodHandle> BUFFER_UPDATES = new ClassValue<MethodHandle>() {
+
+    @Override
+    protected MethodHandle computeValue(Class<?> type) {
+      try {
+        return MethodHandles.publicLookup()
+            .findVirtual(type, "update", MethodType.methodType(void.class, ByteBuffer.class))
+            .asType(MethodType.methodType(void.class, Checksum.class, ByteBuffer.class));
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        return null;
+      }
+    }
+  };
+
+  private Checksums() {}
+}
@@ -0,0 +1,102 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataStorageVisitor;
+
+/**
+ * Tells if values of a buffer can be written concurrently by multiple threads.
+ *
+ * <p>Concurrent writes at distinct indices are safe in arrays, NIO buffers and native memory, where
+ * each value has its own memory location. They are not in other storages, like bit sets where
+ * values share the same memory word or compressed buffers whose internal state is updated on
+ * writes, which are then written by a single thread.
+ */
+public final class ConcurrentWrites {
+
+  /**
+   * Checks if distinct values of a buffer can be written concurrently without synchronization.
+   *
+   * @param buffer buffer to check
+   * @return true if concurrent writes at distinct indices are safe
+   */
+  public static boolean isSupportedBy(DataBuffer<?> buffer) {
+    return buffer.accept(VISITOR);
+  }
+
+  private static final DataStorageVisitor<Boolean> VISITOR = new DataStorageVisitor<Boolean>() {
+
+    @Override
+    public Boolean visit(ByteBuffer buffer) {
+      return true;
+    }
+
+    @Override
+    public Boolean visit(ShortBuffer buffer) {
+      return true;
+    }
+
+    @Override
+    public Boolean visit(IntBuffer buffer) {
+      return true;
+    }
+
+    @Override
+    public Boolean visit(LongBuffer buffer) {
+      return true;
+    }
+
+    @Override
+    public Boolean visit(FloatBuffer buffer) {
+      return true;
+    }
+
+    @Override
+    public Boolean visit(DoubleBuffer buffer) {
+      return true;
+    }
+
+    @Override
+    public Boolean visit(boolean[] array, int offset, int length) {
+      return true;
+    }
+
+    @Override
+    public Boolean visit(Object[] array, int offset, int length) {
+      return true;
+    }
+
+    @Override
+    public Boolean visit(long address, long length, long scale) {
+      return true;
+    }
+
+    @Override
+    public Boolean fallback() {
+      return false;
+    }
+  };
+
+  private ConcurrentWrites() {}
+}
@@ -0,0 +1,145 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.util.BitSet;
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataStorageVisitor;
+
+/**
+ * Tells if two buffers may share the same memory.
+ *
+ * <p>Overlaps are detected between buffers backed by the same array, bit set or native memory. As
+ * the memory of direct NIO buffers and of other storages cannot be located, such buffers are
+ * conservatively assumed to overlap with any other buffer.
+ */
+public final class SharedStorage {
+
+  /**
+   * Checks if writing to one of the given buffers may change the values of the other.
+   *
+   * @param buffer first buffer
+   * @param other second buffer
+   * @return false only if the buffers are known to be backed by distinct memory
+   */
+  public static boolean mayOverlap(DataBuffer<?> buffer, DataBuffer<?> other) {
+    if (buffer == other) {
+      return true;
+    }
+    Region region = buffer.accept(VISITOR);
+    Region otherRegion = other.accept(VISITOR);
+    if (region == null || otherRegion == null) {
+      return true;
+    }
+    return region.storage == otherRegion.storage
+        && region.start < otherRegion.end
+        && otherRegion.start < region.end;
+  }
+
+  /**
+   * Range of memory locations in a storage, in elements for arrays and bit sets or in bytes for
+   * native memory.
+   */
+  private static final class Region {
+
+    Region(Object storage, long start, long length) {
+      this.storage = storage;
+      this.start = start;
+      this.end = start + length;
+    }
+
+    final Object storage;
+    final long start;
+    final long end;
+  }
+
+  private static Region regionOf(Buffer buffer, Object array, int arrayOffset) {
+    if (array == null) {
+      return null;
+    }
+    return new Region(array, arrayOffset + buffer.position(), buffer.remaining());
+  }
+
+  private static final DataStorageVisitor<Region> VISITOR = new DataStorageVisitor<Region>() {
+
+    @Override
+    public Region visit(ByteBuffer buffer) {
+      return buffer.hasArray() ? regionOf(buffer, buffer.array(), buffer.arrayOffset()) : null;
+    }
+
+    @Override
+    public Region visit(ShortBuffer buffer) {
+      return buffer.hasArray() ? regionOf(buffer, buffer.array(), buffer.arrayOffset()) : null;
+    }
+
+    @Override
+    public Region visit(IntBuffer buffer) {
+      return buffer.hasArray() ? regionOf(buffer, buffer.array(), buffer.arrayOffset()) : null;
+    }
+
+    @Override
+    public Region visit(LongBuffer buffer) {
+      return buffer.hasArray() ? regionOf(buffer, buffer.array(), buffer.arrayOffset()) : null;
+    }
+
+    @Override
+    public Region visit(FloatBuffer buffer) {
+      return buffer.hasArray() ? regionOf(buffer, buffer.array(), buffer.arrayOffset()) : null;
+    }
+
+    @Override
+    public Region visit(DoubleBuffer buffer) {
+      return buffer.hasArray() ? regionOf(buffer, buffer.array(), buffer.arrayOffset()) : null;
+    }
+
+    @Override
+    public Region visit(boolean[] array, int offset, int length) {
+      return new Region(array, offset, length);
+    }
+
+    @Override
+    public Region visit(BitSet bitSet, int offset, long numBits) {
+      return new Region(bitSet, offset, numBits);
+    }
+
+    @Override
+    public Region visit(Object[] array, int offset, int length) {
+      return new Region(array, offset, length);
+    }
+
+    @Override
+    public Region visit(long address, long length, long scale) {
+      return new Region(NATIVE_MEMORY, address, length * scale);
+    }
+
+    @Override
+    public Region fallback() {
+      return null;
+    }
+  };
+
+  private static final Object NATIVE_MEMORY = new Object();
+
+  private SharedStorage() {}
+}
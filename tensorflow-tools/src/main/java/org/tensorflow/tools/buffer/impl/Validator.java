@@ -85,6 +85,51 @@ public class Validator {
     arrayArgs(arrayLength, offset, length);
   }
 
+  public static <T> void readBitsArgs(DataBuffer<T> buffer, int wordsLength) {
+    if (wordsLength < (buffer.size() + Long.SIZE - 1) / Long.SIZE) {
+      throw new IndexOutOfBoundsException("Array of words is too small to hold all values of the buffer");
+    }
+  }
+
+  public static <T> void writeBitsArgs(DataBuffer<T> buffer, int wordsLength) {
+    if (wordsLength < (buffer.size() + Long.SIZE - 1) / Long.SIZE) {
+      throw new IndexOutOfBoundsException("Array of words is too small to provide all values of the buffer");
+    }
+    if (buffer.isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+  }
+
+  public static <T> void bitwiseArgs(DataBuffer<T> buffer, DataBuffer<T> other) {
+    if (other.size() < buffer.size()) {
+      throw new BufferUnderflowException();
+    }
+    if (buffer.isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+  }
+
+  public static <T> void fillArgs(DataBuffer<T> buffer, long from, long to) {
+    if (from < 0) {
+      throw new IndexOutOfBoundsException("Index must be non-negative");
+    }
+    if (to > buffer.size()) {
+      throw new IndexOutOfBoundsException("Index must not exceed buffer size");
+    }
+    if (from > to) {
+      throw new IndexOutOfBoundsException("Start index must not exceed end index");
+    }
+    if (buffer.isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+  }
+
+  public static <T> void readFromArgs(DataBuffer<T> buffer) {
+    if (buffer.isReadOnly()) {
+      throw new ReadOnlyBufferException();
+    }
+  }
+
   public static <T> void offsetArgs(DataBuffer<T> buffer, long index) {
     if (index < 0) {
       throw new IllegalArgumentException("Index must be non-negative");
@@ -49,6 +49,20 @@ abstract class AbstractDataBufferAdapter<S extends DataBuffer<?>, T, U extends D
     return (U)this;
   }
 
+  @Override
+  public U read(T[] dst, int offset, int length) {
+    Validator.readArgs(this, dst.length, offset, length);
+    layout.readObjects(buffer, dst, offset, length);
+    return (U)this;
+  }
+
+  @Override
+  public U write(T[] src, int offset, int length) {
+    Validator.writeArgs(this, src.length, offset, length);
+    layout.writeObjects(buffer, src, offset, length);
+    return (U)this;
+  }
+
   @Override
   public <R> R accept(DataStorageVisitor<R> visitor) {
     return buffer().accept(visitor);
@@ -1,5 +1,6 @@
 package org.tensorflow.tools.buffer.impl.adapter;
 
+import java.nio.ByteOrder;
 import org.tensorflow.tools.buffer.BooleanDataBuffer;
 import org.tensorflow.tools.buffer.ByteDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
@@ -60,27 +61,27 @@ class ByteDataBufferAdapter<S extends DataBuffer<?>> extends AbstractDataBufferA
 
   @Override
   public IntDataBuffer asInts() {
-    throw new IllegalStateException("Byte buffers with layout cannot be converted");
+    return asInts(ByteOrder.nativeOrder());
   }
 
   @Override
   public ShortDataBuffer asShorts() {
-    throw new IllegalStateException("Byte buffers with layout cannot be converted");
+    return asShorts(ByteOrder.nativeOrder());
   }
 
   @Override
   public LongDataBuffer asLongs() {
-    throw new IllegalStateException("Byte buffers with layout cannot be converted");
+    return asLongs(ByteOrder.nativeOrder());
   }
 
   @Override
   public FloatDataBuffer asFloats() {
-    throw new IllegalStateException("Byte buffers with layout cannot be converted");
+    return asFloats(ByteOrder.nativeOrder());
   }
 
   @Override
   public DoubleDataBuffer asDoubles() {
-    throw new IllegalStateException("Byte buffers with layout cannot be converted");
+    return asDoubles(ByteOrder.nativeOrder());
   }
 
   @Override
@@ -132,4 +133,6 @@ class ByteDataBufferAdapter<S extends DataBuffer<?>> extends AbstractDataBufferA
   }
 
   private ByteDataLayout<S> layout;
+
+  // number of bytes transferred at once between a channel and this buffer
 }
@@ -17,7 +17,9 @@
 
 package org.tensorflow.tools.buffer.impl.adapter;
 
+import java.nio.FloatBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataStorageVisitor;
 import org.tensorflow.tools.buffer.FloatDataBuffer;
 import org.tensorflow.tools.buffer.impl.Validator;
 import org.tensorflow.tools.buffer.layout.FloatDataLayout;
@@ -41,18 +43,14 @@ class FloatDataBufferAdapter<S extends DataBuffer<?>> extends AbstractDataBuffer
   @Override
   public FloatDataBuffer read(float[] dst, int offset, int length) {
     Validator.readArgs(this, dst.length, offset, length);
-    for (int i = 0, j = offset; i < length; ++i, ++j) {
-      dst[j] = layout.readFloat(buffer(), i * layout.scale());
-    }
+    layout.readFloats(buffer(), dst, offset, length);
     return this;
   }
 
   @Override
   public FloatDataBuffer write(float[] src, int offset, int length) {
     Validator.writeArgs(this, src.length, offset, length);
-    for (int i = 0, j = offset; i < length; ++i, ++j) {
-      layout.writeFloat(buffer(), src[j], i * layout.scale());
-    }
+    layout.writeFloats(buffer(), src, offset, length);
     return this;
   }
 
@@ -61,10 +59,25 @@ class FloatDataBufferAdapter<S extends DataBuffer<?>> extends AbstractDataBuffer
     Validator.copyToArgs(this, dst, size);
     if (dst instanceof FloatDataBuffer) {
       FloatDataBuffer floatDst = (FloatDataBuffer)dst;
-      for (long idx = 0L; idx < size; ++idx) {
-        floatDst.setFloat(getFloat(idx), idx);
-      }
-      return this;
+      return floatDst.accept(new DataStorageVisitor<FloatDataBuffer>() {
+
+        @Override
+        public FloatDataBuffer visit(FloatBuffer buffer) {
+          if (buffer.hasArray()) {
+            layout.readFloats(buffer(), buffer.array(), buffer.arrayOffset() + buffer.position(), (int)size);
+            return FloatDataBufferAdapter.this;
+          }
+          return fallback();
+        }
+
+        @Override
+        public FloatDataBuffer fallback() {
+          for (long idx = 0L; idx < size; ++idx) {
+            floatDst.setFloat(getFloat(idx), idx);
+          }
+          return FloatDataBufferAdapter.this;
+        }
+      });
     }
     return slowCopyTo(dst, size);
   }
@@ -72,7 +85,7 @@ class FloatDataBufferAdapter<S extends DataBuffer<?>> extends AbstractDataBuffer
   @Override
   @SuppressWarnings("unchecked")
   public FloatDataBuffer offset(long index) {
-    return new FloatDataBufferAdapter<>((S)buffer().offset(index * layout.scale()), layout);
+    return new FloatDataBufferAdapter<>((S)buffer().offset(index * layout.scale()), layout.offset(index));
   }
 
   @Override
@@ -84,7 +97,7 @@ class FloatDataBufferAdapter<S extends DataBuffer<?>> extends AbstractDataBuffer
   @Override
   @SuppressWarnings("unchecked")
   public FloatDataBuffer slice(long index, long size) {
-    return new FloatDataBufferAdapter<>((S)buffer().slice(index * layout.scale(), size * layout.scale()), layout);
+    return new FloatDataBufferAdapter<>((S)buffer().slice(index * layout.scale(), size * layout.scale()), layout.offset(index));
   }
 
   @Override
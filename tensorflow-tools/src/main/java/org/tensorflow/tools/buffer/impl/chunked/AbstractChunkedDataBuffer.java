@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.chunked;
+
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.impl.AbstractDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * Base class for data buffers whose storage is split across multiple Java arrays of the same size
+ * (the <i>chunks</i>), allowing to store more than 2<sup>31</sup> values on the heap.
+ *
+ * <p>The size of each chunk is a power of 2 so the chunk and the position of a value within it are
+ * computed in constant time by simple bit operations.
+ *
+ * @param <T> type of elements (or values) stored in this buffer
+ * @param <B> type of buffer
+ */
+@SuppressWarnings("unchecked")
+abstract class AbstractChunkedDataBuffer<T, B extends DataBuffer<T>> extends AbstractDataBuffer<T> {
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  public B read(Object dst, int dstLength, int offset, int length) {
+    Validator.readArgs(this, dstLength, offset, length);
+    for (long index = 0L; index < length;) {
+      int chunkPosition = chunkPosition(index);
+      int n = (int)Math.min(length - index, chunkSize() - chunkPosition);
+      System.arraycopy(chunks[chunkIndex(index)], chunkPosition, dst, offset + (int)index, n);
+      index += n;
+    }
+    return (B)this;
+  }
+
+  public B write(Object src, int srcLength, int offset, int length) {
+    Validator.writeArgs(this, srcLength, offset, length);
+    for (long index = 0L; index < length;) {
+      int chunkPosition = chunkPosition(index);
+      int n = (int)Math.min(length - index, chunkSize() - chunkPosition);
+      System.arraycopy(src, offset + (int)index, chunks[chunkIndex(index)], chunkPosition, n);
+      index += n;
+    }
+    return (B)this;
+  }
+
+  @Override
+  public B copyTo(DataBuffer<T> dst, long size) {
+    Validator.copyToArgs(this, dst, size);
+    if (dst.getClass() == getClass()) {
+      AbstractChunkedDataBuffer<T, B> chunkedDst = (AbstractChunkedDataBuffer<T, B>)dst;
+      for (long index = 0L; index < size;) {
+        int srcPosition = chunkPosition(index);
+        int dstPosition = chunkedDst.chunkPosition(index);
+        int n = (int)Math.min(size - index, Math.min(chunkSize() - srcPosition, chunkedDst.chunkSize() - dstPosition));
+        System.arraycopy(chunks[chunkIndex(index)], srcPosition, chunkedDst.chunks[chunkedDst.chunkIndex(index)], dstPosition, n);
+        index += n;
+      }
+    } else {
+      // Copy each chunk segment using the most efficient transfer available between a single array
+      // and the destination buffer
+      for (long index = 0L; index < size;) {
+        int chunkPosition = chunkPosition(index);
+        int n = (int)Math.min(size - index, chunkSize() - chunkPosition);
+        wrapChunk(chunks[chunkIndex(index)], chunkPosition, n).copyTo(dst.slice(index, n), n);
+        index += n;
+      }
+    }
+    return (B)this;
+  }
+
+  @Override
+  public B slice(long index, long size) {
+    Validator.sliceArgs(this, index, size);
+    return instantiate(offset + index, size);
+  }
+
+  protected final boolean readOnly;
+  protected final long offset;
+
+  /**
+   * Wraps a segment of a single chunk into a data buffer.
+   */
+  protected abstract B wrapChunk(Object chunk, int offset, int length);
+
+  protected abstract B instantiate(long offset, long size);
+
+  protected int chunkIndex(long index) {
+    return (int)((offset + index) >>> chunkBits);
+  }
+
+  protected int chunkPosition(long index) {
+    return (int)((offset + index) & (chunkSize() - 1));
+  }
+
+  protected int chunkSize() {
+    return 1 << chunkBits;
+  }
+
+  AbstractChunkedDataBuffer(Object[] chunks, int chunkBits, boolean readOnly, long offset, long size) {
+    this.chunks = chunks;
+    this.chunkBits = chunkBits;
+    this.readOnly = readOnly;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  final int chunkBits;
+
+  private final Object[] chunks;
+  private final long size;
+}
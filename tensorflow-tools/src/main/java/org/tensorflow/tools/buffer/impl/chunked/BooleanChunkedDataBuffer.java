@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.chunked;
+
+import java.util.Arrays;
+import org.tensorflow.tools.buffer.BooleanDataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * A buffer of booleans split into multiple {@code boolean[]} chunks.
+ */
+final class BooleanChunkedDataBuffer extends AbstractChunkedDataBuffer<Boolean, BooleanDataBuffer>
+    implements BooleanDataBuffer {
+
+  @Override
+  public boolean getBoolean(long index) {
+    Validator.getArgs(this, index);
+    return chunks[chunkIndex(index)][chunkPosition(index)];
+  }
+
+  @Override
+  public BooleanDataBuffer setBoolean(boolean value, long index) {
+    Validator.setArgs(this, index);
+    chunks[chunkIndex(index)][chunkPosition(index)] = value;
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer fill(boolean value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    for (long index = from; index < to; ) {
+      int chunkPosition = chunkPosition(index);
+      int n = (int)Math.min(to - index, chunkSize() - chunkPosition);
+      Arrays.fill(chunks[chunkIndex(index)], chunkPosition, chunkPosition + n, value);
+      index += n;
+    }
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer read(boolean[] dst, int offset, int length) {
+    return read(dst, dst.length, offset, length);
+  }
+
+  @Override
+  public BooleanDataBuffer write(boolean[] src, int offset, int length) {
+    return write(src, src.length, offset, length);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof BooleanDataBuffer)) {
+      return super.equals(obj);
+    }
+    BooleanDataBuffer other = (BooleanDataBuffer)obj;
+    if (size() != other.size()) {
+      return false;
+    }
+    for (long idx = 0L; idx < size(); ++idx) {
+      if (other.getBoolean(idx) != getBoolean(idx)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected BooleanDataBuffer wrapChunk(Object chunk, int offset, int length) {
+    return DataBuffers.of((boolean[])chunk, readOnly, false).slice(offset, length);
+  }
+
+  @Override
+  protected BooleanDataBuffer instantiate(long offset, long size) {
+    return new BooleanChunkedDataBuffer(chunks, chunkBits, readOnly, offset, size);
+  }
+
+  BooleanChunkedDataBuffer(boolean[][] chunks, int chunkBits, boolean readOnly, long offset, long size) {
+    super(chunks, chunkBits, readOnly, offset, size);
+    this.chunks = chunks;
+  }
+
+  private final boolean[][] chunks;
+}
@@ -0,0 +1,175 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.chunked;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import org.tensorflow.tools.buffer.BooleanDataBuffer;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.DoubleDataBuffer;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.IntDataBuffer;
+import org.tensorflow.tools.buffer.LongDataBuffer;
+import org.tensorflow.tools.buffer.ShortDataBuffer;
+import org.tensorflow.tools.buffer.impl.ChannelTransfers;
+import org.tensorflow.tools.buffer.impl.Validator;
+import org.tensorflow.tools.buffer.impl.adapter.DataBufferAdapterFactory;
+import org.tensorflow.tools.buffer.layout.DataLayouts;
+
+/**
+ * A buffer of bytes split into multiple {@code byte[]} chunks.
+ */
+final class ByteChunkedDataBuffer extends AbstractChunkedDataBuffer<Byte, ByteDataBuffer>
+    implements ByteDataBuffer {
+
+  @Override
+  public byte getByte(long index) {
+    Validator.getArgs(this, index);
+    return chunks[chunkIndex(index)][chunkPosition(index)];
+  }
+
+  @Override
+  public ByteDataBuffer setByte(byte value, long index) {
+    Validator.setArgs(this, index);
+    chunks[chunkIndex(index)][chunkPosition(index)] = value;
+    return this;
+  }
+
+  @Override
+  public ByteDataBuffer fill(byte value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    for (long index = from; index < to; ) {
+      int chunkPosition = chunkPosition(index);
+      int n = (int)Math.min(to - index, chunkSize() - chunkPosition);
+      Arrays.fill(chunks[chunkIndex(index)], chunkPosition, chunkPosition + n, value);
+      index += n;
+    }
+    return this;
+  }
+
+  @Override
+  public ByteDataBuffer read(byte[] dst, int offset, int length) {
+    return read(dst, dst.length, offset, length);
+  }
+
+  @Override
+  public ByteDataBuffer write(byte[] src, int offset, int length) {
+    return write(src, src.length, offset, length);
+  }
+
+  @Override
+  public long writeTo(WritableByteChannel channel) throws IOException {
+    long written = 0L;
+    for (long index = 0L; index < size();) {
+      int chunkPosition = chunkPosition(index);
+      int n = (int)Math.min(size() - index, chunkSize() - chunkPosition);
+      written += ChannelTransfers.writeFully(channel, ByteBuffer.wrap(chunks[chunkIndex(index)], chunkPosition, n));
+      index += n;
+    }
+    return written;
+  }
+
+  @Override
+  public long readFrom(ReadableByteChannel channel) throws IOException {
+    Validator.readFromArgs(this);
+    long read = 0L;
+    for (long index = 0L; index < size();) {
+      int chunkPosition = chunkPosition(index);
+      int n = (int)Math.min(size() - index, chunkSize() - chunkPosition);
+      long chunkRead = ChannelTransfers.readFully(channel, ByteBuffer.wrap(chunks[chunkIndex(index)], chunkPosition, n));
+      read += chunkRead;
+      if (chunkRead < n) {
+        break;  // end of stream
+      }
+      index += n;
+    }
+    return read;
+  }
+
+  @Override
+  public IntDataBuffer asInts() {
+    return asInts(ByteOrder.nativeOrder());
+  }
+
+  @Override
+  public ShortDataBuffer asShorts() {
+    return asShorts(ByteOrder.nativeOrder());
+  }
+
+  @Override
+  public LongDataBuffer asLongs() {
+    return asLongs(ByteOrder.nativeOrder());
+  }
+
+  @Override
+  public FloatDataBuffer asFloats() {
+    return asFloats(ByteOrder.nativeOrder());
+  }
+
+  @Override
+  public DoubleDataBuffer asDoubles() {
+    return asDoubles(ByteOrder.nativeOrder());
+  }
+
+  @Override
+  public BooleanDataBuffer asBooleans() {
+    return DataBufferAdapterFactory.create(this, DataLayouts.BOOL);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteDataBuffer)) {
+      return super.equals(obj);
+    }
+    ByteDataBuffer other = (ByteDataBuffer)obj;
+    if (size() != other.size()) {
+      return false;
+    }
+    for (long idx = 0L; idx < size(); ++idx) {
+      if (other.getByte(idx) != getByte(idx)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected ByteDataBuffer wrapChunk(Object chunk, int offset, int length) {
+    return DataBuffers.of((byte[])chunk, readOnly, false).slice(offset, length);
+  }
+
+  @Override
+  protected ByteDataBuffer instantiate(long offset, long size) {
+    return new ByteChunkedDataBuffer(chunks, chunkBits, readOnly, offset, size);
+  }
+
+  ByteChunkedDataBuffer(byte[][] chunks, int chunkBits, boolean readOnly, long offset, long size) {
+    super(chunks, chunkBits, readOnly, offset, size);
+    this.chunks = chunks;
+  }
+
+  private final byte[][] chunks;
+}
@@ -0,0 +1,148 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.chunked;
+
+import org.tensorflow.tools.buffer.BooleanDataBuffer;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+import org.tensorflow.tools.buffer.DoubleDataBuffer;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.IntDataBuffer;
+import org.tensorflow.tools.buffer.LongDataBuffer;
+import org.tensorflow.tools.buffer.ShortDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * Factory of chunked data buffers, which can store up to 2<sup>63</sup> values on the heap by
+ * splitting them across multiple arrays.
+ */
+public class ChunkedDataBufferFactory {
+
+  public static BooleanDataBuffer createBooleans(long size) {
+    return createBooleans(size, DEFAULT_CHUNK_BITS);
+  }
+
+  public static BooleanDataBuffer createBooleans(long size, int chunkBits) {
+    Validator.createArgs(size, MAX_64BITS);
+    boolean[][] chunks = new boolean[numChunks(size, chunkBits)][];
+    for (int i = 0; i < chunks.length; ++i) {
+      chunks[i] = new boolean[chunkLength(size, chunkBits, i)];
+    }
+    return new BooleanChunkedDataBuffer(chunks, chunkBits, false, 0L, size);
+  }
+
+  public static ByteDataBuffer createBytes(long size) {
+    return createBytes(size, DEFAULT_CHUNK_BITS);
+  }
+
+  public static ByteDataBuffer createBytes(long size, int chunkBits) {
+    Validator.createArgs(size, MAX_64BITS);
+    byte[][] chunks = new byte[numChunks(size, chunkBits)][];
+    for (int i = 0; i < chunks.length; ++i) {
+      chunks[i] = new byte[chunkLength(size, chunkBits, i)];
+    }
+    return new ByteChunkedDataBuffer(chunks, chunkBits, false, 0L, size);
+  }
+
+  public static DoubleDataBuffer createDoubles(long size) {
+    return createDoubles(size, DEFAULT_CHUNK_BITS);
+  }
+
+  public static DoubleDataBuffer createDoubles(long size, int chunkBits) {
+    Validator.createArgs(size, MAX_64BITS);
+    double[][] chunks = new double[numChunks(size, chunkBits)][];
+    for (int i = 0; i < chunks.length; ++i) {
+      chunks[i] = new double[chunkLength(size, chunkBits, i)];
+    }
+    return new DoubleChunkedDataBuffer(chunks, chunkBits, false, 0L, size);
+  }
+
+  public static FloatDataBuffer createFloats(long size) {
+    return createFloats(size, DEFAULT_CHUNK_BITS);
+  }
+
+  public static FloatDataBuffer createFloats(long size, int chunkBits) {
+    Validator.createArgs(size, MAX_64BITS);
+    float[][] chunks = new float[numChunks(size, chunkBits)][];
+    for (int i = 0; i < chunks.length; ++i) {
+      chunks[i] = new float[chunkLength(size, chunkBits, i)];
+    }
+    return new FloatChunkedDataBuffer(chunks, chunkBits, false, 0L, size);
+  }
+
+  public static IntDataBuffer createInts(long size) {
+    return createInts(size, DEFAULT_CHUNK_BITS);
+  }
+
+  public static IntDataBuffer createInts(long size, int chunkBits) {
+    Validator.createArgs(size, MAX_64BITS);
+    int[][] chunks = new int[numChunks(size, chunkBits)][];
+    for (int i = 0; i < chunks.length; ++i) {
+      chunks[i] = new int[chunkLength(size, chunkBits, i)];
+    }
+    return new IntChunkedDataBuffer(chunks, chunkBits, false, 0L, size);
+  }
+
+  public static LongDataBuffer createLongs(long size) {
+    return createLongs(size, DEFAULT_CHUNK_BITS);
+  }
+
+  public static LongDataBuffer createLongs(long size, int chunkBits) {
+    Validator.createArgs(size, MAX_64BITS);
+    long[][] chunks = new long[numChunks(size, chunkBits)][];
+    for (int i = 0; i < chunks.length; ++i) {
+      chunks[i] = new long[chunkLength(size, chunkBits, i)];
+    }
+    return new LongChunkedDataBuffer(chunks, chunkBits, false, 0L, size);
+  }
+
+  public static ShortDataBuffer createShorts(long size) {
+    return createShorts(size, DEFAULT_CHUNK_BITS);
+  }
+
+  public static ShortDataBuffer createShorts(long size, int chunkBits) {
+    Validator.createArgs(size, MAX_64BITS);
+    short[][] chunks = new short[numChunks(size, chunkBits)][];
+    for (int i = 0; i < chunks.length; ++i) {
+      chunks[i] = new short[chunkLength(size, chunkBits, i)];
+    }
+    return new ShortChunkedDataBuffer(chunks, chunkBits, false, 0L, size);
+  }
+
+  /*
+   * Default number of bits used to index a value within a chunk, i.e. each chunk holds up to
+   * 2<sup>27</sup> values, which keeps single arrays reasonably small for the garbage collector.
+   */
+  static final int DEFAULT_CHUNK_BITS = 27;
+
+  static long MAX_64BITS = Long.MAX_VALUE - 10;
+
+  private static int numChunks(long size, int chunkBits) {
+    if (chunkBits <= 0 || chunkBits > 30) {
+      throw new IllegalArgumentException("Chunk bits must be between 1 and 30");
+    }
+    long numChunks = (size + (1L << chunkBits) - 1) >>> chunkBits;
+    if (numChunks > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Cannot split " + size + " values in chunks of 2^" + chunkBits);
+    }
+    return (int)numChunks;
+  }
+
+  private static int chunkLength(long size, int chunkBits, int chunkIdx) {
+    return (int)Math.min(1L << chunkBits, size - ((long)chunkIdx << chunkBits));
+  }
+}
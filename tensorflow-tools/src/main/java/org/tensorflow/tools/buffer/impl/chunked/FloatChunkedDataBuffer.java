@@ -0,0 +1,135 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.chunked;
+
+import java.util.Arrays;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * A buffer of floats split into multiple {@code float[]} chunks.
+ */
+final class FloatChunkedDataBuffer extends AbstractChunkedDataBuffer<Float, FloatDataBuffer>
+    implements FloatDataBuffer {
+
+  @Override
+  public float getFloat(long index) {
+    Validator.getArgs(this, index);
+    return chunks[chunkIndex(index)][chunkPosition(index)];
+  }
+
+  @Override
+  public FloatDataBuffer setFloat(float value, long index) {
+    Validator.setArgs(this, index);
+    chunks[chunkIndex(index)][chunkPosition(index)] = value;
+    return this;
+  }
+
+  @Override
+  public boolean compareAndSet(float expected, float value, long index) {
+    Validator.setArgs(this, index);
+    return chunkBuffers[chunkIndex(index)].compareAndSet(expected, value, chunkPosition(index));
+  }
+
+  @Override
+  public boolean supportsAtomicOperations() {
+    return true;
+  }
+
+  @Override
+  public float getAndAdd(float delta, long index) {
+    Validator.setArgs(this, index);
+    return chunkBuffers[chunkIndex(index)].getAndAdd(delta, chunkPosition(index));
+  }
+
+  @Override
+  public FloatDataBuffer fill(float value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    for (long index = from; index < to; ) {
+      int chunkPosition = chunkPosition(index);
+      int n = (int)Math.min(to - index, chunkSize() - chunkPosition);
+      Arrays.fill(chunks[chunkIndex(index)], chunkPosition, chunkPosition + n, value);
+      index += n;
+    }
+    return this;
+  }
+
+  @Override
+  public FloatDataBuffer read(float[] dst, int offset, int length) {
+    return read(dst, dst.length, offset, length);
+  }
+
+  @Override
+  public FloatDataBuffer write(float[] src, int offset, int length) {
+    return write(src, src.length, offset, length);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof FloatDataBuffer)) {
+      return super.equals(obj);
+    }
+    FloatDataBuffer other = (FloatDataBuffer)obj;
+    if (size() != other.size()) {
+      return false;
+    }
+    for (long idx = 0L; idx < size(); ++idx) {
+      if (other.getFloat(idx) != getFloat(idx)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected FloatDataBuffer wrapChunk(Object chunk, int offset, int length) {
+    return DataBuffers.of((float[])chunk, readOnly, false).slice(offset, length);
+  }
+
+  @Override
+  protected FloatDataBuffer instantiate(long offset, long size) {
+    return new FloatChunkedDataBuffer(chunks, chunkBuffers, chunkBits, readOnly, offset, size);
+  }
+
+  FloatChunkedDataBuffer(float[][] chunks, int chunkBits, boolean readOnly, long offset, long size) {
+    this(chunks, wrapChunks(chunks), chunkBits, readOnly, offset, size);
+  }
+
+  private FloatChunkedDataBuffer(float[][] chunks, FloatDataBuffer[] chunkBuffers, int chunkBits, boolean readOnly, long offset, long size) {
+    super(chunks, chunkBits, readOnly, offset, size);
+    this.chunks = chunks;
+    this.chunkBuffers = chunkBuffers;
+  }
+
+  private static FloatDataBuffer[] wrapChunks(float[][] chunks) {
+    // Atomic operations are delegated to a buffer over each chunk, which is created once and
+    // shared by all views of this buffer so these operations do not allocate
+    FloatDataBuffer[] chunkBuffers = new FloatDataBuffer[chunks.length];
+    for (int i = 0; i < chunks.length; ++i) {
+      chunkBuffers[i] = DataBuffers.of(chunks[i], false, false);
+    }
+    return chunkBuffers;
+  }
+
+  private final float[][] chunks;
+  private final FloatDataBuffer[] chunkBuffers;
+}
@@ -0,0 +1,135 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.chunked;
+
+import java.util.Arrays;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.LongDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * A buffer of longs split into multiple {@code long[]} chunks.
+ */
+final class LongChunkedDataBuffer extends AbstractChunkedDataBuffer<Long, LongDataBuffer>
+    implements LongDataBuffer {
+
+  @Override
+  public long getLong(long index) {
+    Validator.getArgs(this, index);
+    return chunks[chunkIndex(index)][chunkPosition(index)];
+  }
+
+  @Override
+  public LongDataBuffer setLong(long value, long index) {
+    Validator.setArgs(this, index);
+    chunks[chunkIndex(index)][chunkPosition(index)] = value;
+    return this;
+  }
+
+  @Override
+  public boolean compareAndSet(long expected, long value, long index) {
+    Validator.setArgs(this, index);
+    return chunkBuffers[chunkIndex(index)].compareAndSet(expected, value, chunkPosition(index));
+  }
+
+  @Override
+  public boolean supportsAtomicOperations() {
+    return true;
+  }
+
+  @Override
+  public long getAndAdd(long delta, long index) {
+    Validator.setArgs(this, index);
+    return chunkBuffers[chunkIndex(index)].getAndAdd(delta, chunkPosition(index));
+  }
+
+  @Override
+  public LongDataBuffer fill(long value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    for (long index = from; index < to; ) {
+      int chunkPosition = chunkPosition(index);
+      int n = (int)Math.min(to - index, chunkSize() - chunkPosition);
+      Arrays.fill(chunks[chunkIndex(index)], chunkPosition, chunkPosition + n, value);
+      index += n;
+    }
+    return this;
+  }
+
+  @Override
+  public LongDataBuffer read(long[] dst, int offset, int length) {
+    return read(dst, dst.length, offset, length);
+  }
+
+  @Override
+  public LongDataBuffer write(long[] src, int offset, int length) {
+    return write(src, src.length, offset, length);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof LongDataBuffer)) {
+      return super.equals(obj);
+    }
+    LongDataBuffer other = (LongDataBuffer)obj;
+    if (size() != other.size()) {
+      return false;
+    }
+    for (long idx = 0L; idx < size(); ++idx) {
+      if (other.getLong(idx) != getLong(idx)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected LongDataBuffer wrapChunk(Object chunk, int offset, int length) {
+    return DataBuffers.of((long[])chunk, readOnly, false).slice(offset, length);
+  }
+
+  @Override
+  protected LongDataBuffer instantiate(long offset, long size) {
+    return new LongChunkedDataBuffer(chunks, chunkBuffers, chunkBits, readOnly, offset, size);
+  }
+
+  LongChunkedDataBuffer(long[][] chunks, int chunkBits, boolean readOnly, long offset, long size) {
+    this(chunks, wrapChunks(chunks), chunkBits, readOnly, offset, size);
+  }
+
+  private LongChunkedDataBuffer(long[][] chunks, LongDataBuffer[] chunkBuffers, int chunkBits, boolean readOnly, long offset, long size) {
+    super(chunks, chunkBits, readOnly, offset, size);
+    this.chunks = chunks;
+    this.chunkBuffers = chunkBuffers;
+  }
+
+  private static LongDataBuffer[] wrapChunks(long[][] chunks) {
+    // Atomic operations are delegated to a buffer over each chunk, which is created once and
+    // shared by all views of this buffer so these operations do not allocate
+    LongDataBuffer[] chunkBuffers = new LongDataBuffer[chunks.length];
+    for (int i = 0; i < chunks.length; ++i) {
+      chunkBuffers[i] = DataBuffers.of(chunks[i], false, false);
+    }
+    return chunkBuffers;
+  }
+
+  private final long[][] chunks;
+  private final LongDataBuffer[] chunkBuffers;
+}
@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.chunked;
+
+import java.util.Arrays;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.ShortDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * A buffer of shorts split into multiple {@code short[]} chunks.
+ */
+final class ShortChunkedDataBuffer extends AbstractChunkedDataBuffer<Short, ShortDataBuffer>
+    implements ShortDataBuffer {
+
+  @Override
+  public short getShort(long index) {
+    Validator.getArgs(this, index);
+    return chunks[chunkIndex(index)][chunkPosition(index)];
+  }
+
+  @Override
+  public ShortDataBuffer setShort(short value, long index) {
+    Validator.setArgs(this, index);
+    chunks[chunkIndex(index)][chunkPosition(index)] = value;
+    return this;
+  }
+
+  @Override
+  public ShortDataBuffer fill(short value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    for (long index = from; index < to; ) {
+      int chunkPosition = chunkPosition(index);
+      int n = (int)Math.min(to - index, chunkSize() - chunkPosition);
+      Arrays.fill(chunks[chunkIndex(index)], chunkPosition, chunkPosition + n, value);
+      index += n;
+    }
+    return this;
+  }
+
+  @Override
+  public ShortDataBuffer read(short[] dst, int offset, int length) {
+    return read(dst, dst.length, offset, length);
+  }
+
+  @Override
+  public ShortDataBuffer write(short[] src, int offset, int length) {
+    return write(src, src.length, offset, length);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ShortDataBuffer)) {
+      return super.equals(obj);
+    }
+    ShortDataBuffer other = (ShortDataBuffer)obj;
+    if (size() != other.size()) {
+      return false;
+    }
+    for (long idx = 0L; idx < size(); ++idx) {
+      if (other.getShort(idx) != getShort(idx)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected ShortDataBuffer wrapChunk(Object chunk, int offset, int length) {
+    return DataBuffers.of((short[])chunk, readOnly, false).slice(offset, length);
+  }
+
+  @Override
+  protected ShortDataBuffer instantiate(long offset, long size) {
+    return new ShortChunkedDataBuffer(chunks, chunkBits, readOnly, offset, size);
+  }
+
+  ShortChunkedDataBuffer(short[][] chunks, int chunkBits, boolean readOnly, long offset, long size) {
+    super(chunks, chunkBits, readOnly, offset, size);
+    this.chunks = chunks;
+  }
+
+  private final short[][] chunks;
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.compressed;
+
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataStorageVisitor;
+import org.tensorflow.tools.buffer.impl.AbstractDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * Base class of buffers storing their values in {@link CompressedBlocks}.
+ *
+ * @param <T> type of values in this buffer
+ * @param <B> type of buffer
+ */
+abstract class AbstractCompressedDataBuffer<T, B extends DataBuffer<T>> extends AbstractDataBuffer<T> {
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return false;
+  }
+
+  @Override
+  public B slice(long index, long size) {
+    Validator.sliceArgs(this, index, size);
+    return instantiate(offset + index, size);
+  }
+
+  @Override
+  public <R> R accept(DataStorageVisitor<R> visitor) {
+    // values are encoded in blocks, there is no storage that can be visited directly
+    return visitor.fallback();
+  }
+
+  protected abstract B instantiate(long offset, long size);
+
+  protected final CompressedBlocks blocks;
+  protected final long offset;
+
+  AbstractCompressedDataBuffer(CompressedBlocks blocks, long offset, long size) {
+    this.blocks = blocks;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  // number of values decoded at once by bulk operations
+  static final int CHUNK_SIZE = CompressedBlocks.BLOCK_SIZE * 4;
+
+  private final long size;
+}
@@ -0,0 +1,268 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.compressed;
+
+import java.util.Arrays;
+
+/**
+ * Storage of 32-bit values compressed in fixed-size blocks.
+ *
+ * <p>Each block is encoded in one of the following forms, whichever uses the less memory:
+ * <ul>
+ *   <li>no storage at all, if all values of the block are zero</li>
+ *   <li>zero-suppressed: a bitmap of the positions of non-zero values in the block, followed by
+ *       the non-zero values packed in an array</li>
+ *   <li>dense: all values of the block stored in an array</li>
+ * </ul>
+ * Random access to a single value is done in constant time, by counting the bits preceding its
+ * position in the bitmap of its block. Blocks are decoded on demand by bulk operations and
+ * re-encoded each time they are modified, which makes this storage better suited for values that
+ * are written once and read many times.
+ *
+ * <p>The values and the bitmap of a block are published together in a single object, whose bitmap
+ * never changes once published. Reads therefore never observe a block half encoded, even while
+ * another thread is writing to it. Concurrent writes to the same block are not supported, as each
+ * of them would encode the block again from its own copy of the values.
+ */
+final class CompressedBlocks {
+
+  static final int BLOCK_BITS = 8;
+  static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+  static final long MAX_SIZE = ((long)Integer.MAX_VALUE) << BLOCK_BITS;
+
+  long size() {
+    return size;
+  }
+
+  int get(long index) {
+    Block block = blocks[blockIndex(index)];
+    if (block == null) {
+      return 0;
+    }
+    int position = blockPosition(index);
+    long[] mask = block.mask;
+    if (mask == null) {
+      return block.values[position];
+    }
+    if ((mask[position >>> 6] & (1L << position)) == 0) {
+      return 0;
+    }
+    return block.values[rank(mask, position)];
+  }
+
+  void set(int value, long index) {
+    int blockIndex = blockIndex(index);
+    int position = blockPosition(index);
+    Block current = blocks[blockIndex];
+    if (current == null) {
+      if (value == 0) {
+        return;
+      }
+    } else {
+      long[] mask = current.mask;
+      if (mask == null) {
+        current.values[position] = value;
+        return;
+      }
+      boolean present = (mask[position >>> 6] & (1L << position)) != 0;
+      if (present && value != 0) {
+        current.values[rank(mask, position)] = value;
+        return;
+      }
+      if (!present && value == 0) {
+        return;
+      }
+    }
+    // the set of non-zero values is changing, the block needs to be encoded again
+    int[] block = BLOCK.get();
+    int blockLength = blockLength(blockIndex);
+    decode(blockIndex, 0, block, 0, blockLength);
+    block[position] = value;
+    encode(blockIndex, block, 0, blockLength);
+  }
+
+  void read(long index, int[] dst, int offset, int length) {
+    for (int i = 0; i < length;) {
+      int blockIndex = blockIndex(index + i);
+      int position = blockPosition(index + i);
+      int n = Math.min(length - i, blockLength(blockIndex) - position);
+      decode(blockIndex, position, dst, offset + i, n);
+      i += n;
+    }
+  }
+
+  void write(long index, int[] src, int offset, int length) {
+    for (int i = 0; i < length;) {
+      int blockIndex = blockIndex(index + i);
+      int position = blockPosition(index + i);
+      int blockLength = blockLength(blockIndex);
+      int n = Math.min(length - i, blockLength - position);
+      if (n == blockLength) {
+        encode(blockIndex, src, offset + i, n);
+      } else {
+        int[] block = BLOCK.get();
+        decode(blockIndex, 0, block, 0, blockLength);
+        System.arraycopy(src, offset + i, block, position, n);
+        encode(blockIndex, block, 0, blockLength);
+      }
+      i += n;
+    }
+  }
+
+  void fill(int value, long from, long to) {
+    for (long index = from; index < to;) {
+      int blockIndex = blockIndex(index);
+      int position = blockPosition(index);
+      int blockLength = blockLength(blockIndex);
+      int n = (int)Math.min(to - index, blockLength - position);
+      if (n == blockLength) {
+        if (value == 0) {
+          blocks[blockIndex] = null;
+        } else {
+          int[] blockValues = new int[blockLength];
+          Arrays.fill(blockValues, value);
+          blocks[blockIndex] = new Block(blockValues, null);
+        }
+      } else {
+        int[] block = BLOCK.get();
+        decode(blockIndex, 0, block, 0, blockLength);
+        Arrays.fill(block, position, position + n, value);
+        encode(blockIndex, block, 0, blockLength);
+      }
+      index += n;
+    }
+  }
+
+  CompressedBlocks(long size) {
+    this.size = size;
+    int numBlocks = (int)((size + BLOCK_SIZE - 1) >>> BLOCK_BITS);
+    blocks = new Block[numBlocks];
+  }
+
+  /**
+   * Encoded values of a block, either all of them or only the non-zero ones with the bitmap of
+   * their positions.
+   */
+  private static final class Block {
+
+    Block(int[] values, long[] mask) {
+      this.values = values;
+      this.mask = mask;
+    }
+
+    final int[] values;
+    final long[] mask;  // null if all values of the block are stored
+  }
+
+  private static final int MASK_LENGTH = BLOCK_SIZE / Long.SIZE;
+  private static final ThreadLocal<int[]> BLOCK = ThreadLocal.withInitial(() -> new int[BLOCK_SIZE]);
+
+  private final long size;
+  private final Block[] blocks;
+
+  private static int blockIndex(long index) {
+    return (int)(index >>> BLOCK_BITS);
+  }
+
+  private static int blockPosition(long index) {
+    return (int)(index & (BLOCK_SIZE - 1));
+  }
+
+  private static int rank(long[] mask, int position) {
+    int wordIndex = position >>> 6;
+    int rank = Long.bitCount(mask[wordIndex] & ((1L << position) - 1));
+    for (int i = 0; i < wordIndex; ++i) {
+      rank += Long.bitCount(mask[i]);
+    }
+    return rank;
+  }
+
+  private int blockLength(int blockIndex) {
+    return (int)Math.min(BLOCK_SIZE, size - ((long)blockIndex << BLOCK_BITS));
+  }
+
+  /**
+   * Decodes {@code length} values of a block, starting at {@code position}, into an array.
+   */
+  private void decode(int blockIndex, int position, int[] dst, int offset, int length) {
+    Block block = blocks[blockIndex];
+    if (block == null) {
+      Arrays.fill(dst, offset, offset + length, 0);
+      return;
+    }
+    int[] blockValues = block.values;
+    long[] mask = block.mask;
+    if (mask == null) {
+      System.arraycopy(blockValues, position, dst, offset, length);
+      return;
+    }
+    Arrays.fill(dst, offset, offset + length, 0);
+    int end = position + length;
+    int rank = 0;
+    for (int wordIndex = 0; wordIndex < MASK_LENGTH; ++wordIndex) {
+      int base = wordIndex << 6;
+      if (base >= end) {
+        break;
+      }
+      long word = mask[wordIndex];
+      if (base + Long.SIZE <= position) {
+        rank += Long.bitCount(word);
+        continue;
+      }
+      while (word != 0) {
+        int valuePosition = base + Long.numberOfTrailingZeros(word);
+        if (valuePosition >= position && valuePosition < end) {
+          dst[offset + valuePosition - position] = blockValues[rank];
+        }
+        ++rank;
+        word &= word - 1;
+      }
+    }
+  }
+
+  /**
+   * Encodes all {@code length} values of a block, read from an array.
+   */
+  private void encode(int blockIndex, int[] src, int offset, int length) {
+    int numNonZeros = 0;
+    for (int i = offset; i < offset + length; ++i) {
+      if (src[i] != 0) {
+        ++numNonZeros;
+      }
+    }
+    if (numNonZeros == 0) {
+      blocks[blockIndex] = null;
+
+    } else if ((numNonZeros + MASK_LENGTH * 2) < length) {
+      // zero-suppressed encoding is smaller than the dense one, bitmap included
+      int[] blockValues = new int[numNonZeros];
+      long[] mask = new long[MASK_LENGTH];
+      for (int i = 0, rank = 0; i < length; ++i) {
+        int value = src[offset + i];
+        if (value != 0) {
+          mask[i >>> 6] |= 1L << i;
+          blockValues[rank++] = value;
+        }
+      }
+      blocks[blockIndex] = new Block(blockValues, mask);
+
+    } else {
+      blocks[blockIndex] = new Block(Arrays.copyOfRange(src, offset, offset + length), null);
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.compressed;
+
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.IntDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * Factory of compressed data buffers, which reduce the memory used by values that are mostly
+ * zeros by suppressing them in blocks decoded on demand.
+ */
+public class CompressedDataBufferFactory {
+
+  public static FloatDataBuffer createFloats(long size) {
+    Validator.createArgs(size, CompressedBlocks.MAX_SIZE);
+    return new FloatCompressedDataBuffer(new CompressedBlocks(size), 0L, size);
+  }
+
+  public static IntDataBuffer createInts(long size) {
+    Validator.createArgs(size, CompressedBlocks.MAX_SIZE);
+    return new IntCompressedDataBuffer(new CompressedBlocks(size), 0L, size);
+  }
+}
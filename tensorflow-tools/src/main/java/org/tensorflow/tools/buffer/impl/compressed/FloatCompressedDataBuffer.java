@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.compressed;
+
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * A buffer of floats compressed in zero-suppressed blocks.
+ *
+ * <p>Floats are stored as their raw 32-bit representation, so only positive zeros are suppressed
+ * and all other values, including negative zeros and NaNs, are preserved as is.
+ */
+final class FloatCompressedDataBuffer extends AbstractCompressedDataBuffer<Float, FloatDataBuffer>
+    implements FloatDataBuffer {
+
+  @Override
+  public float getFloat(long index) {
+    Validator.getArgs(this, index);
+    return Float.intBitsToFloat(blocks.get(offset + index));
+  }
+
+  @Override
+  public FloatDataBuffer setFloat(float value, long index) {
+    Validator.setArgs(this, index);
+    blocks.set(Float.floatToRawIntBits(value), offset + index);
+    return this;
+  }
+
+  @Override
+  public FloatDataBuffer read(float[] dst, int offset, int length) {
+    Validator.readArgs(this, dst.length, offset, length);
+    int[] chunk = new int[Math.min(length, CHUNK_SIZE)];
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      blocks.read(this.offset + i, chunk, 0, n);
+      for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+        dst[k] = Float.intBitsToFloat(chunk[j]);
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public FloatDataBuffer write(float[] src, int offset, int length) {
+    Validator.writeArgs(this, src.length, offset, length);
+    int[] chunk = new int[Math.min(length, CHUNK_SIZE)];
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+        chunk[j] = Float.floatToRawIntBits(src[k]);
+      }
+      blocks.write(this.offset + i, chunk, 0, n);
+    }
+    return this;
+  }
+
+  @Override
+  public FloatDataBuffer fill(float value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    blocks.fill(Float.floatToRawIntBits(value), offset + from, offset + to);
+    return this;
+  }
+
+  @Override
+  public FloatDataBuffer copyTo(DataBuffer<Float> dst, long size) {
+    Validator.copyToArgs(this, dst, size);
+    if (dst instanceof FloatDataBuffer) {
+      FloatDataBuffer floatDst = (FloatDataBuffer)dst;
+      float[] chunk = new float[(int)Math.min(size, CHUNK_SIZE)];
+      for (long i = 0; i < size; i += chunk.length) {
+        int n = (int)Math.min(chunk.length, size - i);
+        slice(i, n).read(chunk, 0, n);
+        floatDst.offset(i).write(chunk, 0, n);
+      }
+      return this;
+    }
+    return slowCopyTo(dst, size);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof FloatDataBuffer)) {
+      return super.equals(obj);
+    }
+    FloatDataBuffer other = (FloatDataBuffer)obj;
+    if (size() != other.size()) {
+      return false;
+    }
+    for (long idx = 0L; idx < size(); ++idx) {
+      if (other.getFloat(idx) != getFloat(idx)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected FloatDataBuffer instantiate(long offset, long size) {
+    return new FloatCompressedDataBuffer(blocks, offset, size);
+  }
+
+  FloatCompressedDataBuffer(CompressedBlocks blocks, long offset, long size) {
+    super(blocks, offset, size);
+  }
+}
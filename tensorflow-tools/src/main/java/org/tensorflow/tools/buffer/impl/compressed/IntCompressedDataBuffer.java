@@ -0,0 +1,108 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.compressed;
+
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.IntDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * A buffer of ints compressed in zero-suppressed blocks.
+ */
+final class IntCompressedDataBuffer extends AbstractCompressedDataBuffer<Integer, IntDataBuffer>
+    implements IntDataBuffer {
+
+  @Override
+  public int getInt(long index) {
+    Validator.getArgs(this, index);
+    return blocks.get(offset + index);
+  }
+
+  @Override
+  public IntDataBuffer setInt(int value, long index) {
+    Validator.setArgs(this, index);
+    blocks.set(value, offset + index);
+    return this;
+  }
+
+  @Override
+  public IntDataBuffer read(int[] dst, int offset, int length) {
+    Validator.readArgs(this, dst.length, offset, length);
+    blocks.read(this.offset, dst, offset, length);
+    return this;
+  }
+
+  @Override
+  public IntDataBuffer write(int[] src, int offset, int length) {
+    Validator.writeArgs(this, src.length, offset, length);
+    blocks.write(this.offset, src, offset, length);
+    return this;
+  }
+
+  @Override
+  public IntDataBuffer fill(int value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    blocks.fill(value, offset + from, offset + to);
+    return this;
+  }
+
+  @Override
+  public IntDataBuffer copyTo(DataBuffer<Integer> dst, long size) {
+    Validator.copyToArgs(this, dst, size);
+    if (dst instanceof IntDataBuffer) {
+      IntDataBuffer intDst = (IntDataBuffer)dst;
+      int[] chunk = new int[(int)Math.min(size, CHUNK_SIZE)];
+      for (long i = 0; i < size; i += chunk.length) {
+        int n = (int)Math.min(chunk.length, size - i);
+        blocks.read(offset + i, chunk, 0, n);
+        intDst.offset(i).write(chunk, 0, n);
+      }
+      return this;
+    }
+    return slowCopyTo(dst, size);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof IntDataBuffer)) {
+      return super.equals(obj);
+    }
+    IntDataBuffer other = (IntDataBuffer)obj;
+    if (size() != other.size()) {
+      return false;
+    }
+    for (long idx = 0L; idx < size(); ++idx) {
+      if (other.getInt(idx) != getInt(idx)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected IntDataBuffer instantiate(long offset, long size) {
+    return new IntCompressedDataBuffer(blocks, offset, size);
+  }
+
+  IntCompressedDataBuffer(CompressedBlocks blocks, long offset, long size) {
+    super(blocks, offset, size);
+  }
+}
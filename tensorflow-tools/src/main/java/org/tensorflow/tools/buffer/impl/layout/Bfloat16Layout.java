@@ -36,6 +36,30 @@ public final class Bfloat16Layout implements FloatDataLayout<ShortDataBuffer> {
     return float16to32(buffer.getShort(index));
   }
 
+  @Override
+  public void writeFloats(ShortDataBuffer buffer, float[] src, int offset, int length) {
+    short[] chunk = CHUNK.get();
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+        chunk[j] = float32to16(src[k]);
+      }
+      buffer.offset(i).write(chunk, 0, n);
+    }
+  }
+
+  @Override
+  public void readFloats(ShortDataBuffer buffer, float[] dst, int offset, int length) {
+    short[] chunk = CHUNK.get();
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      buffer.offset(i).read(chunk, 0, n);
+      for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+        dst[k] = float16to32(chunk[j]);
+      }
+    }
+  }
+
   //
   // FLOAT 32-bit to/from BFLOAT 16-bit conversions
   //
@@ -51,4 +75,10 @@ public final class Bfloat16Layout implements FloatDataLayout<ShortDataBuffer> {
   static float float16to32(short i16) {
     return Float.intBitsToFloat((int)i16 << 16);
   }
+
+  // number of values converted at once by bulk operations
+  private static final int CHUNK_SIZE = 1024;
+
+  // buffers of 16-bit values reused by bulk operations
+  private static final ThreadLocal<short[]> CHUNK = ThreadLocal.withInitial(() -> new short[CHUNK_SIZE]);
 }
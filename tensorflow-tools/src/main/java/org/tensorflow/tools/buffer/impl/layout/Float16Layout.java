@@ -36,6 +36,31 @@ public final class Float16Layout implements FloatDataLayout<ShortDataBuffer> {
     return float16to32(buffer.getShort(index));
   }
 
+  @Override
+  public void writeFloats(ShortDataBuffer buffer, float[] src, int offset, int length) {
+    short[] chunk = CHUNK.get();
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+        chunk[j] = float32to16(src[k]);
+      }
+      buffer.offset(i).write(chunk, 0, n);
+    }
+  }
+
+  @Override
+  public void readFloats(ShortDataBuffer buffer, float[] dst, int offset, int length) {
+    short[] chunk = CHUNK.get();
+    float[] values = Float16Table.VALUES;
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      buffer.offset(i).read(chunk, 0, n);
+      for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+        dst[k] = values[chunk[j] & 0xFFFF];
+      }
+    }
+  }
+
   //
   // FLOAT 32-bit to/from 16-bit conversions
   //
@@ -111,6 +136,24 @@ public final class Float16Layout implements FloatDataLayout<ShortDataBuffer> {
   private static final int E16MIN = -14;  // min value for float16 exponent
   private static final int S16BITS = 10;  // number of bits in float16 significand
 
+  // number of values converted at once by bulk operations
+  private static final int CHUNK_SIZE = 1024;
+
+  // buffers of 16-bit values reused by bulk operations
+  private static final ThreadLocal<short[]> CHUNK = ThreadLocal.withInitial(() -> new short[CHUNK_SIZE]);
+
+  /*
+   * Lookup table of the 32-bit value of every 16-bit float, lazily initialized on the first bulk read.
+   */
+  private static final class Float16Table {
+    static final float[] VALUES = new float[1 << 16];
+    static {
+      for (int i = 0; i < VALUES.length; ++i) {
+        VALUES[i] = float16to32((short)i);
+      }
+    }
+  }
+
   // magic numbers used when converting denormalized values
   private static final int MAGIC_32_16 = ((E32BIAS - E16BIAS) + (S32BITS - S16BITS) + 1) << E32SHIFT;
   private static final float MAGIC_32_16_FLOAT = Float.intBitsToFloat(MAGIC_32_16);
@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl.layout;
+
+import java.nio.ByteOrder;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+
+/**
+ * Reads and writes multi-byte values one byte at a time, in a given byte order.
+ */
+final class OrderedBytes {
+
+  static long read(ByteDataBuffer buffer, long index, int numBytes, ByteOrder order) {
+    boolean bigEndian = order == ByteOrder.BIG_ENDIAN;
+    long value = 0L;
+    for (int i = 0; i < numBytes; ++i) {
+      value = (value << 8) | (buffer.getByte(index + (bigEndian ? i : numBytes - 1 - i)) & 0xFFL);
+    }
+    return value;
+  }
+
+  static void write(ByteDataBuffer buffer, long value, long index, int numBytes, ByteOrder order) {
+    boolean bigEndian = order == ByteOrder.BIG_ENDIAN;
+    for (int i = numBytes - 1; i >= 0; --i, value >>>= 8) {
+      buffer.setByte((byte)value, index + (bigEndian ? i : numBytes - 1 - i));
+    }
+  }
+
+  private OrderedBytes() {}
+}
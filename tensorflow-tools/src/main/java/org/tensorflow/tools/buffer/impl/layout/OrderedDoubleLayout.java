@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl.layout;
+
+import java.nio.ByteOrder;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+import org.tensorflow.tools.buffer.layout.DoubleDataLayout;
+
+/**
+ * Data layout that reads and writes doubles as a sequence of bytes in a given order, for byte buffers
+ * that cannot be viewed directly as a buffer of doubles.
+ */
+public final class OrderedDoubleLayout implements DoubleDataLayout<ByteDataBuffer> {
+
+  public OrderedDoubleLayout(ByteOrder order) {
+    this.order = order;
+  }
+
+  @Override
+  public void writeDouble(ByteDataBuffer buffer, double value, long index) {
+    OrderedBytes.write(buffer, Double.doubleToRawLongBits(value), index, Double.BYTES, order);
+  }
+
+  @Override
+  public double readDouble(ByteDataBuffer buffer, long index) {
+    return Double.longBitsToDouble(OrderedBytes.read(buffer, index, Double.BYTES, order));
+  }
+
+  @Override
+  public int scale() {
+    return Double.BYTES;
+  }
+
+  private final ByteOrder order;
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl.layout;
+
+import java.nio.ByteOrder;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+import org.tensorflow.tools.buffer.layout.FloatDataLayout;
+
+/**
+ * Data layout that reads and writes floats as a sequence of bytes in a given order, for byte buffers
+ * that cannot be viewed directly as a buffer of floats.
+ */
+public final class OrderedFloatLayout implements FloatDataLayout<ByteDataBuffer> {
+
+  public OrderedFloatLayout(ByteOrder order) {
+    this.order = order;
+  }
+
+  @Override
+  public void writeFloat(ByteDataBuffer buffer, float value, long index) {
+    OrderedBytes.write(buffer, Float.floatToRawIntBits(value), index, Float.BYTES, order);
+  }
+
+  @Override
+  public float readFloat(ByteDataBuffer buffer, long index) {
+    return Float.intBitsToFloat((int)OrderedBytes.read(buffer, index, Float.BYTES, order));
+  }
+
+  @Override
+  public int scale() {
+    return Float.BYTES;
+  }
+
+  private final ByteOrder order;
+}
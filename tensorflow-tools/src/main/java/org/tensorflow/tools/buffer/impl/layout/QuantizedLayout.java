@@ -0,0 +1,245 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl.layout;
+
+import java.util.Arrays;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+import org.tensorflow.tools.buffer.layout.FloatDataLayout;
+
+/**
+ * Data layout that converts floats from/to 8-bit quantized values, using an affine mapping
+ * {@code real = (quantized - zeroPoint) * scale}.
+ *
+ * <p>Quantization parameters can be shared by all values (per-tensor quantization) or vary along
+ * a given axis (per-axis quantization), in which case the parameters of a value are selected by
+ * its position in the original buffer.
+ */
+public final class QuantizedLayout implements FloatDataLayout<ByteDataBuffer> {
+
+  /**
+   * Creates a layout where all values are quantized with the same parameters.
+   *
+   * @param scale quantization step, must be finite and strictly positive
+   * @param zeroPoint quantized value representing the real value 0
+   * @param unsigned true if quantized values are stored as unsigned bytes
+   * @return a new layout
+   * @throws IllegalArgumentException if the parameters are invalid
+   */
+  public static QuantizedLayout create(float scale, int zeroPoint, boolean unsigned) {
+    return create(new float[] { scale }, new int[] { zeroPoint }, 1L, unsigned);
+  }
+
+  /**
+   * Creates a layout where values are quantized with parameters that vary along an axis.
+   *
+   * <p>The parameters at index {@code i} of {@code scales} and {@code zeroPoints} are applied to
+   * the {@code i}-th element of the quantized axis. The {@code axisStride} is the number of
+   * consecutive values sharing the same parameters, i.e. the product of the dimensions following
+   * the quantized axis.
+   *
+   * @param scales quantization steps, must all be finite and strictly positive
+   * @param zeroPoints quantized values representing the real value 0
+   * @param axisStride number of consecutive values sharing the same parameters
+   * @param unsigned true if quantized values are stored as unsigned bytes
+   * @return a new layout
+   * @throws IllegalArgumentException if the parameters are invalid
+   */
+  public static QuantizedLayout create(float[] scales, int[] zeroPoints, long axisStride, boolean unsigned) {
+    if (scales.length == 0 || scales.length != zeroPoints.length) {
+      throw new IllegalArgumentException("Scales and zero points must be non-empty arrays of the same length");
+    }
+    if (axisStride <= 0) {
+      throw new IllegalArgumentException("Axis stride must be positive, got " + axisStride);
+    }
+    int min = unsigned ? 0 : Byte.MIN_VALUE;
+    int max = unsigned ? 0xFF : Byte.MAX_VALUE;
+    float[] inverseScales = new float[scales.length];
+    for (int i = 0; i < scales.length; ++i) {
+      if (!(scales[i] > 0.0f) || Float.isInfinite(scales[i])) {
+        throw new IllegalArgumentException("Invalid quantization scale " + scales[i]);
+      }
+      if (zeroPoints[i] < min || zeroPoints[i] > max) {
+        throw new IllegalArgumentException("Zero point " + zeroPoints[i] + " is out of range [" + min + ", " + max + "]");
+      }
+      inverseScales[i] = 1.0f / scales[i];
+    }
+    return new QuantizedLayout(
+        scales.clone(), inverseScales, zeroPoints.clone(), axisStride, unsigned ? 0xFF : -1, min, max, 0L
+    );
+  }
+
+  @Override
+  public void writeFloat(ByteDataBuffer buffer, float value, long index) {
+    int axisIndex = axisIndex(index);
+    buffer.setByte(quantize(value, inverseScales[axisIndex], zeroPoints[axisIndex]), index);
+  }
+
+  @Override
+  public float readFloat(ByteDataBuffer buffer, long index) {
+    int axisIndex = axisIndex(index);
+    return ((buffer.getByte(index) & mask) - zeroPoints[axisIndex]) * scales[axisIndex];
+  }
+
+  @Override
+  public void writeFloats(ByteDataBuffer buffer, float[] src, int offset, int length) {
+    byte[] chunk = CHUNK.get();
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      for (int j = 0; j < n; ) {
+        int axisIndex = axisIndex(i + j);
+        int runLength = runLength(i + j, n - j);
+        float inverseScale = inverseScales[axisIndex];
+        int zeroPoint = zeroPoints[axisIndex];
+        for (int end = j + runLength, k = offset + i + j; j < end; ++j, ++k) {
+          chunk[j] = quantize(src[k], inverseScale, zeroPoint);
+        }
+      }
+      buffer.offset(i).write(chunk, 0, n);
+    }
+  }
+
+  @Override
+  public void readFloats(ByteDataBuffer buffer, float[] dst, int offset, int length) {
+    byte[] chunk = CHUNK.get();
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      buffer.offset(i).read(chunk, 0, n);
+      for (int j = 0; j < n; ) {
+        int axisIndex = axisIndex(i + j);
+        int runLength = runLength(i + j, n - j);
+        float scale = scales[axisIndex];
+        int zeroPoint = zeroPoints[axisIndex];
+        for (int end = j + runLength, k = offset + i + j; j < end; ++j, ++k) {
+          dst[k] = ((chunk[j] & mask) - zeroPoint) * scale;
+        }
+      }
+    }
+  }
+
+  @Override
+  public QuantizedLayout offset(long index) {
+    if (scales.length == 1 || index == 0) {
+      return this;
+    }
+    return new QuantizedLayout(scales, inverseScales, zeroPoints, axisStride, mask, min, max, origin + index);
+  }
+
+  /**
+   * @return true if quantized values are stored as unsigned bytes
+   */
+  public boolean isUnsigned() {
+    return mask == 0xFF;
+  }
+
+  /**
+   * @return number of consecutive values sharing the same quantization parameters
+   */
+  public long axisStride() {
+    return axisStride;
+  }
+
+  /**
+   * @return a copy of the quantization steps of this layout
+   */
+  public float[] scales() {
+    return scales.clone();
+  }
+
+  /**
+   * @return a copy of the zero points of this layout
+   */
+  public int[] zeroPoints() {
+    return zeroPoints.clone();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof QuantizedLayout)) {
+      return false;
+    }
+    QuantizedLayout other = (QuantizedLayout)obj;
+    return mask == other.mask
+        && axisStride == other.axisStride
+        && origin == other.origin
+        && Arrays.equals(scales, other.scales)
+        && Arrays.equals(zeroPoints, other.zeroPoints);
+  }
+
+  @Override
+  public int hashCode() {
+    int h = Arrays.hashCode(scales);
+    h = 31 * h + Arrays.hashCode(zeroPoints);
+    h = 31 * h + Long.hashCode(axisStride);
+    h = 31 * h + Long.hashCode(origin);
+    return 31 * h + mask;
+  }
+
+  // number of values converted at once by bulk operations
+  private static final int CHUNK_SIZE = 1024;
+
+  // buffers of 8-bit values reused by bulk operations
+  private static final ThreadLocal<byte[]> CHUNK = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+
+  private final float[] scales;
+  private final float[] inverseScales;
+  private final int[] zeroPoints;
+  private final long axisStride;
+  private final int mask;
+  private final int min;
+  private final int max;
+  private final long origin;
+
+  private QuantizedLayout(float[] scales, float[] inverseScales, int[] zeroPoints, long axisStride, int mask, int min, int max, long origin) {
+    this.scales = scales;
+    this.inverseScales = inverseScales;
+    this.zeroPoints = zeroPoints;
+    this.axisStride = axisStride;
+    this.mask = mask;
+    this.min = min;
+    this.max = max;
+    this.origin = origin;
+  }
+
+  private byte quantize(float value, float inverseScale, int zeroPoint) {
+    // Saturate before adding the zero point, since rounding large values returns an int bound
+    // (and NaN is rounded to 0)
+    int q = Math.round(value * inverseScale);
+    return (byte)(q < min - zeroPoint ? min : (q > max - zeroPoint ? max : q + zeroPoint));
+  }
+
+  private int axisIndex(long index) {
+    if (scales.length == 1) {
+      return 0;
+    }
+    return (int)(((origin + index) / axisStride) % scales.length);
+  }
+
+  /*
+   * Returns how many values, starting at the given index and up to maxLength, share the same
+   * quantization parameters.
+   */
+  private int runLength(long index, int maxLength) {
+    if (scales.length == 1) {
+      return maxLength;
+    }
+    long remaining = axisStride - ((origin + index) % axisStride);
+    return (int)Math.min(remaining, maxLength);
+  }
+}
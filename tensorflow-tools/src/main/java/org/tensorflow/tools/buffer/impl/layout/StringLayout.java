@@ -14,35 +14,221 @@
  *  limitations under the License.
  *  =======================================================================
  */
-
 package org.tensorflow.tools.buffer.impl.layout;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.layout.DataLayout;
 
 /**
  * Data layout that converts a String to/from a sequence of bytes applying a given charset.
+ *
+ * <p>Strings are encoded and decoded using a {@link CharsetEncoder} and a {@link CharsetDecoder}
+ * reused by all conversions made by the same thread, along with their scratch buffers. When the
+ * charset is a superset of US-ASCII, strings made only of ASCII characters are converted directly
+ * without invoking the coders at all.
+ *
+ * <p>Malformed inputs and unmappable characters are replaced by the default replacement of the
+ * charset, like {@link String#getBytes(Charset)} and {@link String#String(byte[], Charset)} do.
+ *
+ * <p>Only one instance of this layout exists per charset, so its coders are shared by all buffers
+ * converting strings with this charset.
  */
 public final class StringLayout implements DataLayout<DataBuffer<byte[]>, String> {
 
   public static StringLayout of(Charset charset) {
-    return new StringLayout(charset);
+    if (charset.equals(StandardCharsets.UTF_8)) {
+      return UTF_8;
+    }
+    return INSTANCES.computeIfAbsent(charset, StringLayout::new);
   }
 
   @Override
   public void writeObject(DataBuffer<byte[]> buffer, String value, long index) {
-    buffer.setObject(value.getBytes(charset), index);
+    buffer.setObject(coders.get().encode(value), index);
   }
 
   @Override
   public String readObject(DataBuffer<byte[]> buffer, long index) {
-    return new String(buffer.getObject(index), charset);
+    return coders.get().decode(buffer.getObject(index));
+  }
+
+  @Override
+  public void writeObjects(DataBuffer<byte[]> buffer, String[] src, int offset, int length) {
+    Coders coders = this.coders.get();
+    byte[][] chunk = new byte[Math.min(length, CHUNK_SIZE)][];
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+        chunk[j] = coders.encode(src[k]);
+      }
+      buffer.slice(i, n).write(chunk, 0, n);
+    }
+  }
+
+  @Override
+  public void readObjects(DataBuffer<byte[]> buffer, String[] dst, int offset, int length) {
+    Coders coders = this.coders.get();
+    byte[][] chunk = new byte[Math.min(length, CHUNK_SIZE)][];
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      buffer.slice(i, n).read(chunk, 0, n);
+      for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+        dst[k] = coders.decode(chunk[j]);
+      }
+    }
+  }
+
+  /**
+   * Encodes a string into a sequence of bytes using the charset of this layout.
+   *
+   * @param value string to encode
+   * @return encoded bytes
+   */
+  public byte[] encode(String value) {
+    return coders.get().encode(value);
+  }
+
+  /**
+   * Decodes a sequence of bytes into a string using the charset of this layout.
+   *
+   * @param bytes bytes to decode
+   * @return decoded string
+   */
+  public String decode(byte[] bytes) {
+    return coders.get().decode(bytes);
   }
 
   private StringLayout(Charset charset) {
     this.charset = charset;
+    asciiCompatible = charset.equals(StandardCharsets.UTF_8)
+        || charset.equals(StandardCharsets.US_ASCII)
+        || charset.equals(StandardCharsets.ISO_8859_1);
+    coders = ThreadLocal.withInitial(Coders::new);
   }
 
+  private static final StringLayout UTF_8 = new StringLayout(StandardCharsets.UTF_8);
+  private static final Map<Charset, StringLayout> INSTANCES = new ConcurrentHashMap<>();
+
+  // number of values converted at once by bulk operations
+  private static final int CHUNK_SIZE = 1024;
+
+  // size under which scratch buffers are kept between conversions
+  private static final int MAX_SCRATCH_SIZE = 1 << 16;
+
   private final Charset charset;
+  private final boolean asciiCompatible;
+  private final ThreadLocal<Coders> coders;
+
+  /**
+   * Encoder, decoder and scratch buffers used by a single thread.
+   */
+  private final class Coders {
+
+    byte[] encode(String value) {
+      int length = value.length();
+      char[] chars = chars(length);
+      value.getChars(0, length, chars, 0);
+      if (asciiCompatible && isAscii(chars, length)) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; ++i) {
+          bytes[i] = (byte)chars[i];
+        }
+        return bytes;
+      }
+      ByteBuffer out = bytes((int)Math.ceil(length * (double)encoder.maxBytesPerChar()));
+      encoder.reset();
+      CharBuffer in = CharBuffer.wrap(chars, 0, length);
+      CoderResult result = encoder.encode(in, out, true);
+      if (result.isUnderflow()) {
+        result = encoder.flush(out);
+      }
+      if (!result.isUnderflow()) {
+        // should not happen as the output buffer is sized for the worst case, use the slow path
+        return value.getBytes(charset);
+      }
+      return Arrays.copyOf(out.array(), out.position());
+    }
+
+    String decode(byte[] bytes) {
+      int length = bytes.length;
+      if (asciiCompatible && isAscii(bytes)) {
+        char[] chars = chars(length);
+        for (int i = 0; i < length; ++i) {
+          chars[i] = (char)bytes[i];
+        }
+        return new String(chars, 0, length);
+      }
+      CharBuffer out = CharBuffer.wrap(chars((int)Math.ceil(length * (double)decoder.maxCharsPerByte()) + 1));
+      decoder.reset();
+      CoderResult result = decoder.decode(ByteBuffer.wrap(bytes), out, true);
+      if (result.isUnderflow()) {
+        result = decoder.flush(out);
+      }
+      if (!result.isUnderflow()) {
+        // should not happen as the output buffer is sized for the worst case, use the slow path
+        return new String(bytes, charset);
+      }
+      return new String(out.array(), 0, out.position());
+    }
+
+    private final CharsetEncoder encoder = charset.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharsetDecoder decoder = charset.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private char[] chars = new char[64];
+    private byte[] bytes = new byte[64];
+
+    private char[] chars(int capacity) {
+      if (chars.length >= capacity) {
+        return chars;
+      }
+      char[] newChars = new char[capacity];
+      if (capacity <= MAX_SCRATCH_SIZE) {
+        chars = newChars;
+      }
+      return newChars;
+    }
+
+    private ByteBuffer bytes(int capacity) {
+      if (bytes.length >= capacity) {
+        return ByteBuffer.wrap(bytes);
+      }
+      byte[] newBytes = new byte[capacity];
+      if (capacity <= MAX_SCRATCH_SIZE) {
+        bytes = newBytes;
+      }
+      return ByteBuffer.wrap(newBytes);
+    }
+  }
+
+  private static boolean isAscii(char[] chars, int length) {
+    for (int i = 0; i < length; ++i) {
+      if (chars[i] >= 0x80) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isAscii(byte[] bytes) {
+    for (byte b : bytes) {
+      if (b < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
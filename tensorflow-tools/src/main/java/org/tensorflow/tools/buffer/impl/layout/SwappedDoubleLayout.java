@@ -0,0 +1,41 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.layout;
+
+import org.tensorflow.tools.buffer.LongDataBuffer;
+import org.tensorflow.tools.buffer.layout.DoubleDataLayout;
+
+/**
+ * Data layout that reverses the order of the bytes of doubles, to access values stored in the
+ * opposite of the native byte order.
+ *
+ * <p>The bits of each value are stored as {@code long}s so they are preserved exactly, including NaN
+ * payloads.
+ */
+public final class SwappedDoubleLayout implements DoubleDataLayout<LongDataBuffer> {
+
+  @Override
+  public void writeDouble(LongDataBuffer buffer, double value, long index) {
+    buffer.setLong(Long.reverseBytes(Double.doubleToRawLongBits(value)), index);
+  }
+
+  @Override
+  public double readDouble(LongDataBuffer buffer, long index) {
+    return Double.longBitsToDouble(Long.reverseBytes(buffer.getLong(index)));
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.layout;
+
+import org.tensorflow.tools.buffer.IntDataBuffer;
+import org.tensorflow.tools.buffer.layout.FloatDataLayout;
+
+/**
+ * Data layout that reverses the order of the bytes of floats, to access values stored in the
+ * opposite of the native byte order.
+ *
+ * <p>The bits of each value are stored as {@code int}s so they are preserved exactly, including NaN
+ * payloads.
+ */
+public final class SwappedFloatLayout implements FloatDataLayout<IntDataBuffer> {
+
+  @Override
+  public void writeFloat(IntDataBuffer buffer, float value, long index) {
+    buffer.setInt(Integer.reverseBytes(Float.floatToRawIntBits(value)), index);
+  }
+
+  @Override
+  public float readFloat(IntDataBuffer buffer, long index) {
+    return Float.intBitsToFloat(Integer.reverseBytes(buffer.getInt(index)));
+  }
+
+  @Override
+  public void writeFloats(IntDataBuffer buffer, float[] src, int offset, int length) {
+    int[] chunk = CHUNK.get();
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+        chunk[j] = Integer.reverseBytes(Float.floatToRawIntBits(src[k]));
+      }
+      buffer.offset(i).write(chunk, 0, n);
+    }
+  }
+
+  @Override
+  public void readFloats(IntDataBuffer buffer, float[] dst, int offset, int length) {
+    int[] chunk = CHUNK.get();
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      buffer.offset(i).read(chunk, 0, n);
+      for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+        dst[k] = Float.intBitsToFloat(Integer.reverseBytes(chunk[j]));
+      }
+    }
+  }
+
+  // number of values converted at once by bulk operations
+  private static final int CHUNK_SIZE = 1024;
+
+  // buffers of swapped values reused by bulk operations
+  private static final ThreadLocal<int[]> CHUNK = ThreadLocal.withInitial(() -> new int[CHUNK_SIZE]);
+}
@@ -0,0 +1,38 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.layout;
+
+import org.tensorflow.tools.buffer.IntDataBuffer;
+import org.tensorflow.tools.buffer.layout.IntDataLayout;
+
+/**
+ * Data layout that reverses the order of the bytes of integers, to access values stored in the
+ * opposite of the native byte order.
+ */
+public final class SwappedIntLayout implements IntDataLayout<IntDataBuffer> {
+
+  @Override
+  public void writeInt(IntDataBuffer buffer, int value, long index) {
+    buffer.setInt(Integer.reverseBytes(value), index);
+  }
+
+  @Override
+  public int readInt(IntDataBuffer buffer, long index) {
+    return Integer.reverseBytes(buffer.getInt(index));
+  }
+}
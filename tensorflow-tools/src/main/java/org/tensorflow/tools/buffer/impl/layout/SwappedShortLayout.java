@@ -0,0 +1,38 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.layout;
+
+import org.tensorflow.tools.buffer.ShortDataBuffer;
+import org.tensorflow.tools.buffer.layout.ShortDataLayout;
+
+/**
+ * Data layout that reverses the order of the bytes of shorts, to access values stored in the
+ * opposite of the native byte order.
+ */
+public final class SwappedShortLayout implements ShortDataLayout<ShortDataBuffer> {
+
+  @Override
+  public void writeShort(ShortDataBuffer buffer, short value, long index) {
+    buffer.setShort(Short.reverseBytes(value), index);
+  }
+
+  @Override
+  public short readShort(ShortDataBuffer buffer, long index) {
+    return Short.reverseBytes(buffer.getShort(index));
+  }
+}
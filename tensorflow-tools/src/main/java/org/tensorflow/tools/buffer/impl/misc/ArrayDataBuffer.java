@@ -47,6 +47,13 @@ class ArrayDataBuffer<T> extends AbstractDataBuffer<T> {
     return this;
   }
 
+  @Override
+  public DataBuffer<T> fill(T value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    Arrays.fill(values, offset + (int)from, offset + (int)to, value);
+    return this;
+  }
+
   @Override
   public DataBuffer<T> copyTo(DataBuffer<T> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -17,6 +17,8 @@
 
 package org.tensorflow.tools.buffer.impl.misc;
 
+import java.nio.LongBuffer;
+import java.util.Arrays;
 import java.util.BitSet;
 import org.tensorflow.tools.buffer.BooleanDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
@@ -52,18 +54,92 @@ class BitSetDataBuffer extends AbstractDataBuffer<Boolean> implements BooleanDat
   @Override
   public BooleanDataBuffer read(boolean[] dst, int offset, int length) {
     Validator.readArgs(this, dst.length, offset, length);
-    for (int i = this.offset, j = offset; i < this.offset + length; ++i, ++j) {
-      dst[j] = bitSet.get(i);
+    Arrays.fill(dst, offset, offset + length, false);
+    int end = this.offset + length;
+    for (int i = bitSet.nextSetBit(this.offset); i >= 0 && i < end; i = bitSet.nextSetBit(i + 1)) {
+      dst[offset + i - this.offset] = true;
     }
     return this;
   }
 
   @Override
   public BooleanDataBuffer write(boolean[] src, int offset, int length) {
-    Validator.readArgs(this, src.length, offset, length);
-    for (int i = this.offset, j = offset; i < this.offset + length; ++i, ++j) {
-      bitSet.set(i, src[j]);
+    Validator.writeArgs(this, src.length, offset, length);
+    bitSet.clear(this.offset, this.offset + length);
+    for (int j = 0; j < length;) {
+      if (src[offset + j]) {
+        // set a whole run of true values at once
+        int runStart = j;
+        do {
+          ++j;
+        } while (j < length && src[offset + j]);
+        bitSet.set(this.offset + runStart, this.offset + j);
+      } else {
+        ++j;
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public long cardinality() {
+    if (offset == 0 && numBits >= bitSet.length()) {
+      return bitSet.cardinality();
+    }
+    return bits(numBits).cardinality();
+  }
+
+  @Override
+  public BooleanDataBuffer readBits(long[] dst) {
+    Validator.readBitsArgs(this, dst.length);
+    long[] words = bits(numBits).toLongArray();
+    System.arraycopy(words, 0, dst, 0, words.length);
+    Arrays.fill(dst, words.length, numWords(numBits), 0L);
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer writeBits(long[] src) {
+    Validator.writeBitsArgs(this, src.length);
+    BitSet bits = BitSet.valueOf(LongBuffer.wrap(src, 0, numWords(numBits)));
+    if (bits.length() > numBits) {
+      bits.clear((int)numBits, bits.length());
     }
+    setBits(bits, bitSet, offset, numBits);
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer and(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    BitSet bits = bits(numBits);
+    bits.and(bitsOf(other));
+    setBits(bits, bitSet, offset, numBits);
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer or(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    BitSet bits = bits(numBits);
+    bits.or(bitsOf(other));
+    setBits(bits, bitSet, offset, numBits);
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer xor(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    BitSet bits = bits(numBits);
+    bits.xor(bitsOf(other));
+    setBits(bits, bitSet, offset, numBits);
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer fill(boolean value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    bitSet.set(offset + (int)from, offset + (int)to, value);
     return this;
   }
 
@@ -74,27 +150,20 @@ class BitSetDataBuffer extends AbstractDataBuffer<Boolean> implements BooleanDat
 
       @Override
       public BooleanDataBuffer visit(boolean[] array, int arrayOffset, int arrayLength) {
-        for (int idx = 0; idx < size; ++idx) {
-          array[idx + arrayOffset] = bitSet.get(idx + offset);
-        }
-        return BitSetDataBuffer.this;
+        return read(array, arrayOffset, (int)size);
       }
 
       @Override
       public BooleanDataBuffer visit(BitSet dstBitSet, int dstOffset, long numBits) {
-        for (int idx = 0; idx < size; ++idx) {
-          dstBitSet.set(idx + dstOffset, bitSet.get(idx + offset));
-        }
+        setBits(bits(size), dstBitSet, dstOffset, size);
         return BitSetDataBuffer.this;
       }
 
       @Override
       public BooleanDataBuffer fallback() {
         if (dst instanceof BooleanDataBuffer) {
-          BooleanDataBuffer booleanDst = (BooleanDataBuffer)dst;
-          for (int idx = 0; idx < size; ++idx) {
-            booleanDst.setBoolean(bitSet.get(idx + offset), idx);
-          }
+          long[] words = Arrays.copyOf(bits(size).toLongArray(), numWords(size));
+          ((BooleanDataBuffer)dst).narrow(size).writeBits(words);
         } else {
           for (int idx = 0; idx < size; ++idx) {
             dst.setObject(bitSet.get(idx + offset), idx);
@@ -180,4 +249,48 @@ class BitSetDataBuffer extends AbstractDataBuffer<Boolean> implements BooleanDat
   private final long numBits;
   private final boolean readOnly;
   private final int offset;
+
+  /*
+   * Returns a copy of the first bits of this buffer, starting at index 0.
+   */
+  private BitSet bits(long size) {
+    return bitSet.get(offset, offset + (int)size);
+  }
+
+  private BitSet bitsOf(BooleanDataBuffer other) {
+    return other.accept(new DataStorageVisitor<BitSet>() {
+
+      @Override
+      public BitSet visit(BitSet otherBitSet, int otherOffset, long otherNumBits) {
+        return otherBitSet.get(otherOffset, otherOffset + (int)numBits);
+      }
+
+      @Override
+      public BitSet fallback() {
+        long[] words = new long[numWords(numBits)];
+        other.narrow(numBits).readBits(words);
+        return BitSet.valueOf(words);
+      }
+    });
+  }
+
+  /*
+   * Replaces bits in range [dstOffset, dstOffset + size) of a bit set by the first bits of another.
+   */
+  private static void setBits(BitSet src, BitSet dst, int dstOffset, long size) {
+    dst.clear(dstOffset, dstOffset + (int)size);
+    if (dstOffset == 0) {
+      dst.or(src);
+    } else {
+      for (int i = src.nextSetBit(0); i >= 0; ) {
+        int runEnd = src.nextClearBit(i);
+        dst.set(dstOffset + i, dstOffset + runEnd);
+        i = src.nextSetBit(runEnd);
+      }
+    }
+  }
+
+  private static int numWords(long numBits) {
+    return (int)((numBits + Long.SIZE - 1) / Long.SIZE);
+  }
 }
@@ -52,14 +52,130 @@ class BooleanArrayDataBuffer extends AbstractDataBuffer<Boolean> implements
 
   @Override
   public BooleanDataBuffer read(boolean[] dst, int offset, int length) {
+    Validator.readArgs(this, dst.length, offset, length);
     System.arraycopy(values, this.offset, dst, offset, length);
     return this;
   }
 
   @Override
   public BooleanDataBuffer write(boolean[] src, int offset, int length) {
+    Validator.writeArgs(this, src.length, offset, length);
     System.arraycopy(src, offset, values, this.offset, length);
-    return null;
+    return this;
+  }
+
+  @Override
+  public long cardinality() {
+    long count = 0L;
+    for (int i = offset; i < offset + length; ++i) {
+      if (values[i]) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public BooleanDataBuffer readBits(long[] dst) {
+    Validator.readBitsArgs(this, dst.length);
+    for (int wordIdx = 0, base = 0; base < length; ++wordIdx, base += Long.SIZE) {
+      long word = 0L;
+      int numBits = Math.min(Long.SIZE, length - base);
+      for (int bit = 0, i = offset + base; bit < numBits; ++bit, ++i) {
+        word |= (values[i] ? 1L : 0L) << bit;
+      }
+      dst[wordIdx] = word;
+    }
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer writeBits(long[] src) {
+    Validator.writeBitsArgs(this, src.length);
+    for (int wordIdx = 0, base = 0; base < length; ++wordIdx, base += Long.SIZE) {
+      long word = src[wordIdx];
+      int numBits = Math.min(Long.SIZE, length - base);
+      for (int bit = 0, i = offset + base; bit < numBits; ++bit, ++i) {
+        values[i] = ((word >>> bit) & 1L) != 0L;
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer and(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    return other.accept(new DataStorageVisitor<BooleanDataBuffer>() {
+
+      @Override
+      public BooleanDataBuffer visit(boolean[] array, int arrayOffset, int arrayLength) {
+        for (int i = offset, j = arrayOffset; i < offset + length; ++i, ++j) {
+          values[i] &= array[j];
+        }
+        return BooleanArrayDataBuffer.this;
+      }
+
+      @Override
+      public BooleanDataBuffer fallback() {
+        for (int i = offset, j = 0; i < offset + length; ++i, ++j) {
+          values[i] &= other.getBoolean(j);
+        }
+        return BooleanArrayDataBuffer.this;
+      }
+    });
+  }
+
+  @Override
+  public BooleanDataBuffer or(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    return other.accept(new DataStorageVisitor<BooleanDataBuffer>() {
+
+      @Override
+      public BooleanDataBuffer visit(boolean[] array, int arrayOffset, int arrayLength) {
+        for (int i = offset, j = arrayOffset; i < offset + length; ++i, ++j) {
+          values[i] |= array[j];
+        }
+        return BooleanArrayDataBuffer.this;
+      }
+
+      @Override
+      public BooleanDataBuffer fallback() {
+        for (int i = offset, j = 0; i < offset + length; ++i, ++j) {
+          values[i] |= other.getBoolean(j);
+        }
+        return BooleanArrayDataBuffer.this;
+      }
+    });
+  }
+
+  @Override
+  public BooleanDataBuffer xor(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    return other.accept(new DataStorageVisitor<BooleanDataBuffer>() {
+
+      @Override
+      public BooleanDataBuffer visit(boolean[] array, int arrayOffset, int arrayLength) {
+        for (int i = offset, j = arrayOffset; i < offset + length; ++i, ++j) {
+          values[i] ^= array[j];
+        }
+        return BooleanArrayDataBuffer.this;
+      }
+
+      @Override
+      public BooleanDataBuffer fallback() {
+        for (int i = offset, j = 0; i < offset + length; ++i, ++j) {
+          values[i] ^= other.getBoolean(j);
+        }
+        return BooleanArrayDataBuffer.this;
+      }
+    });
+  }
+
+  @Override
+  public BooleanDataBuffer fill(boolean value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    Arrays.fill(values, offset + (int)from, offset + (int)to, value);
+    return this;
   }
 
   @Override
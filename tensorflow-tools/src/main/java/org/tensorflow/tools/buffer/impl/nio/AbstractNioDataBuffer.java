@@ -38,4 +38,7 @@ abstract class AbstractNioDataBuffer<T> extends AbstractDataBuffer<T> {
   }
 
   abstract Buffer buf();
+
+  // number of values written at once when filling buffers that are not backed by an array
+  static final int FILL_CHUNK_SIZE = 1024;
 }
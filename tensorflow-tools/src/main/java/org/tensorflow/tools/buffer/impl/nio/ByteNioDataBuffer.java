@@ -17,7 +17,12 @@
 
 package org.tensorflow.tools.buffer.impl.nio;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 import org.tensorflow.tools.buffer.BooleanDataBuffer;
 import org.tensorflow.tools.buffer.ByteDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
@@ -27,8 +32,10 @@ import org.tensorflow.tools.buffer.FloatDataBuffer;
 import org.tensorflow.tools.buffer.IntDataBuffer;
 import org.tensorflow.tools.buffer.LongDataBuffer;
 import org.tensorflow.tools.buffer.ShortDataBuffer;
+import org.tensorflow.tools.buffer.impl.ChannelTransfers;
 import org.tensorflow.tools.buffer.impl.Validator;
 import org.tensorflow.tools.buffer.impl.adapter.DataBufferAdapterFactory;
+import org.tensorflow.tools.buffer.impl.raw.RawDataBufferFactory;
 import org.tensorflow.tools.buffer.layout.DataLayouts;
 
 /**
@@ -60,6 +67,23 @@ final class ByteNioDataBuffer extends AbstractNioDataBuffer<Byte>
     return this;
   }
 
+  @Override
+  public ByteDataBuffer fill(byte value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    if (buf.hasArray()) {
+      int arrayOffset = buf.arrayOffset();
+      Arrays.fill(buf.array(), arrayOffset + (int)from, arrayOffset + (int)to, value);
+    } else {
+      byte[] chunk = new byte[(int)Math.min(to - from, FILL_CHUNK_SIZE)];
+      Arrays.fill(chunk, value);
+      ByteBuffer dst = (ByteBuffer)buf.duplicate().position((int)from);
+      for (long idx = from; idx < to; idx += chunk.length) {
+        dst.put(chunk, 0, (int)Math.min(chunk.length, to - idx));
+      }
+    }
+    return this;
+  }
+
   @Override
   public ByteDataBuffer copyTo(DataBuffer<Byte> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -75,8 +99,15 @@ final class ByteNioDataBuffer extends AbstractNioDataBuffer<Byte>
       public ByteDataBuffer fallback() {
         if (dst instanceof ByteDataBuffer) {
           ByteDataBuffer byteDst = (ByteDataBuffer)dst;
-          for (long idx = 0L; idx < size; ++idx) {
-            byteDst.setByte(getByte(idx), idx);
+          if (buf.hasArray()) {
+            byteDst.write(buf.array(), buf.arrayOffset(), (int)size);
+          } else if (buf.isDirect() && RawDataBufferFactory.canWrapDirectBuffers()) {
+            // let the raw buffer copy the native memory of this buffer directly to the destination
+            RawDataBufferFactory.create(buf, true).copyTo(byteDst, size);
+          } else {
+            for (long idx = 0L; idx < size; ++idx) {
+              byteDst.setByte(getByte(idx), idx);
+            }
           }
           return ByteNioDataBuffer.this;
         }
@@ -85,6 +116,17 @@ final class ByteNioDataBuffer extends AbstractNioDataBuffer<Byte>
     });
   }
 
+  @Override
+  public long writeTo(WritableByteChannel channel) throws IOException {
+    return ChannelTransfers.writeFully(channel, buf.duplicate());
+  }
+
+  @Override
+  public long readFrom(ReadableByteChannel channel) throws IOException {
+    Validator.readFromArgs(this);
+    return ChannelTransfers.readFully(channel, buf.duplicate());
+  }
+
   @Override
   public IntDataBuffer asInts() {
     return new IntNioDataBuffer(buf.asIntBuffer());
@@ -110,6 +152,31 @@ final class ByteNioDataBuffer extends AbstractNioDataBuffer<Byte>
     return new DoubleNioDataBuffer(buf.asDoubleBuffer());
   }
 
+  @Override
+  public ShortDataBuffer asShorts(ByteOrder order) {
+    return new ShortNioDataBuffer(buf.duplicate().order(order).asShortBuffer());
+  }
+
+  @Override
+  public IntDataBuffer asInts(ByteOrder order) {
+    return new IntNioDataBuffer(buf.duplicate().order(order).asIntBuffer());
+  }
+
+  @Override
+  public LongDataBuffer asLongs(ByteOrder order) {
+    return new LongNioDataBuffer(buf.duplicate().order(order).asLongBuffer());
+  }
+
+  @Override
+  public FloatDataBuffer asFloats(ByteOrder order) {
+    return new FloatNioDataBuffer(buf.duplicate().order(order).asFloatBuffer());
+  }
+
+  @Override
+  public DoubleDataBuffer asDoubles(ByteOrder order) {
+    return new DoubleNioDataBuffer(buf.duplicate().order(order).asDoubleBuffer());
+  }
+
   @Override
   public BooleanDataBuffer asBooleans() {
     return DataBufferAdapterFactory.create(this, DataLayouts.BOOL);
@@ -17,11 +17,14 @@
 
 package org.tensorflow.tools.buffer.impl.nio;
 
+import java.nio.ByteOrder;
 import java.nio.DoubleBuffer;
+import java.util.Arrays;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DataStorageVisitor;
 import org.tensorflow.tools.buffer.DoubleDataBuffer;
 import org.tensorflow.tools.buffer.impl.Validator;
+import org.tensorflow.tools.buffer.impl.raw.RawDataBufferFactory;
 
 /**
  * A buffer of bytes using a JDK {@link DoubleBuffer} for storage.
@@ -40,6 +43,35 @@ final class DoubleNioDataBuffer extends AbstractNioDataBuffer<Double>
     return this;
   }
 
+  @Override
+  public boolean compareAndSet(double expected, double value, long index) {
+    Validator.setArgs(this, index);
+    int i = (int)index;
+    synchronized (lock) {
+      if (Double.doubleToRawLongBits(buf.get(i)) != Double.doubleToRawLongBits(expected)) {
+        return false;
+      }
+      buf.put(i, value);
+      return true;
+    }
+  }
+
+  @Override
+  public double getAndAdd(double delta, long index) {
+    Validator.setArgs(this, index);
+    int i = (int)index;
+    synchronized (lock) {
+      double current = buf.get(i);
+      buf.put(i, current + delta);
+      return current;
+    }
+  }
+
+  @Override
+  public boolean supportsAtomicOperations() {
+    return true;
+  }
+
   @Override
   public DoubleDataBuffer read(double[] dst, int offset, int length) {
     buf.duplicate().get(dst, offset, length);
@@ -52,6 +84,23 @@ final class DoubleNioDataBuffer extends AbstractNioDataBuffer<Double>
     return this;
   }
 
+  @Override
+  public DoubleDataBuffer fill(double value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    if (buf.hasArray()) {
+      int arrayOffset = buf.arrayOffset();
+      Arrays.fill(buf.array(), arrayOffset + (int)from, arrayOffset + (int)to, value);
+    } else {
+      double[] chunk = new double[(int)Math.min(to - from, FILL_CHUNK_SIZE)];
+      Arrays.fill(chunk, value);
+      DoubleBuffer dst = (DoubleBuffer)buf.duplicate().position((int)from);
+      for (long idx = from; idx < to; idx += chunk.length) {
+        dst.put(chunk, 0, (int)Math.min(chunk.length, to - idx));
+      }
+    }
+    return this;
+  }
+
   @Override
   public DoubleDataBuffer copyTo(DataBuffer<Double> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -67,8 +116,15 @@ final class DoubleNioDataBuffer extends AbstractNioDataBuffer<Double>
       public DoubleDataBuffer fallback() {
         if (dst instanceof DoubleDataBuffer) {
           DoubleDataBuffer doubleDst = (DoubleDataBuffer)dst;
-          for (long idx = 0L; idx < size; ++idx) {
-            doubleDst.setDouble(getDouble(idx), idx);
+          if (buf.hasArray()) {
+            doubleDst.write(buf.array(), buf.arrayOffset(), (int)size);
+          } else if (buf.isDirect() && buf.order() == ByteOrder.nativeOrder() && RawDataBufferFactory.canWrapDirectBuffers()) {
+            // let the raw buffer copy the native memory of this buffer directly to the destination
+            RawDataBufferFactory.create(buf, true).copyTo(doubleDst, size);
+          } else {
+            for (long idx = 0L; idx < size; ++idx) {
+              doubleDst.setDouble(getDouble(idx), idx);
+            }
           }
           return DoubleNioDataBuffer.this;
         }
@@ -80,13 +136,13 @@ final class DoubleNioDataBuffer extends AbstractNioDataBuffer<Double>
   @Override
   public DoubleDataBuffer offset(long index) {
     Validator.offsetArgs(this, index);
-    return new DoubleNioDataBuffer(((DoubleBuffer)buf.duplicate().position((int)index)).slice());
+    return new DoubleNioDataBuffer(((DoubleBuffer)buf.duplicate().position((int)index)).slice(), lock);
   }
 
   @Override
   public DoubleDataBuffer narrow(long size) {
     Validator.narrowArgs(this, size);
-    return new DoubleNioDataBuffer(((DoubleBuffer)buf.duplicate().limit((int)size)).slice());
+    return new DoubleNioDataBuffer(((DoubleBuffer)buf.duplicate().limit((int)size)).slice(), lock);
   }
 
   @Override
@@ -95,7 +151,7 @@ final class DoubleNioDataBuffer extends AbstractNioDataBuffer<Double>
     DoubleBuffer sliceBuf = buf.duplicate();
     sliceBuf.position((int)index);
     sliceBuf.limit((int)index + (int)size);
-    return new DoubleNioDataBuffer(sliceBuf.slice());
+    return new DoubleNioDataBuffer(sliceBuf.slice(), lock);
   }
 
   @Override
@@ -140,8 +196,16 @@ final class DoubleNioDataBuffer extends AbstractNioDataBuffer<Double>
   }
 
   DoubleNioDataBuffer(DoubleBuffer buf) {
+    this(buf, new Object());
+  }
+
+  private DoubleNioDataBuffer(DoubleBuffer buf, Object lock) {
     this.buf = buf;
+    this.lock = lock;
   }
-  
+
   private DoubleBuffer buf;
+
+  // guards atomic operations on this buffer and all views sharing its memory
+  private final Object lock;
 }
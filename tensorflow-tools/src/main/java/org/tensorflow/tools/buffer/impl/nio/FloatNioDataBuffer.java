@@ -17,11 +17,14 @@
 
 package org.tensorflow.tools.buffer.impl.nio;
 
+import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
+import java.util.Arrays;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DataStorageVisitor;
 import org.tensorflow.tools.buffer.FloatDataBuffer;
 import org.tensorflow.tools.buffer.impl.Validator;
+import org.tensorflow.tools.buffer.impl.raw.RawDataBufferFactory;
 
 /**
  * A buffer of bytes using a JDK {@link FloatBuffer} for storage.
@@ -40,6 +43,35 @@ final class FloatNioDataBuffer extends AbstractNioDataBuffer<Float>
     return this;
   }
 
+  @Override
+  public boolean compareAndSet(float expected, float value, long index) {
+    Validator.setArgs(this, index);
+    int i = (int)index;
+    synchronized (lock) {
+      if (Float.floatToRawIntBits(buf.get(i)) != Float.floatToRawIntBits(expected)) {
+        return false;
+      }
+      buf.put(i, value);
+      return true;
+    }
+  }
+
+  @Override
+  public float getAndAdd(float delta, long index) {
+    Validator.setArgs(this, index);
+    int i = (int)index;
+    synchronized (lock) {
+      float current = buf.get(i);
+      buf.put(i, current + delta);
+      return current;
+    }
+  }
+
+  @Override
+  public boolean supportsAtomicOperations() {
+    return true;
+  }
+
   @Override
   public FloatDataBuffer read(float[] dst, int offset, int length) {
     buf.duplicate().get(dst, offset, length);
@@ -52,6 +84,23 @@ final class FloatNioDataBuffer extends AbstractNioDataBuffer<Float>
     return this;
   }
 
+  @Override
+  public FloatDataBuffer fill(float value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    if (buf.hasArray()) {
+      int arrayOffset = buf.arrayOffset();
+      Arrays.fill(buf.array(), arrayOffset + (int)from, arrayOffset + (int)to, value);
+    } else {
+      float[] chunk = new float[(int)Math.min(to - from, FILL_CHUNK_SIZE)];
+      Arrays.fill(chunk, value);
+      FloatBuffer dst = (FloatBuffer)buf.duplicate().position((int)from);
+      for (long idx = from; idx < to; idx += chunk.length) {
+        dst.put(chunk, 0, (int)Math.min(chunk.length, to - idx));
+      }
+    }
+    return this;
+  }
+
   @Override
   public FloatDataBuffer copyTo(DataBuffer<Float> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -67,8 +116,15 @@ final class FloatNioDataBuffer extends AbstractNioDataBuffer<Float>
       public FloatDataBuffer fallback() {
         if (dst instanceof FloatDataBuffer) {
           FloatDataBuffer floatDst = (FloatDataBuffer)dst;
-          for (long idx = 0L; idx < size; ++idx) {
-            floatDst.setFloat(getFloat(idx), idx);
+          if (buf.hasArray()) {
+            floatDst.write(buf.array(), buf.arrayOffset(), (int)size);
+          } else if (buf.isDirect() && buf.order() == ByteOrder.nativeOrder() && RawDataBufferFactory.canWrapDirectBuffers()) {
+            // let the raw buffer copy the native memory of this buffer directly to the destination
+            RawDataBufferFactory.create(buf, true).copyTo(floatDst, size);
+          } else {
+            for (long idx = 0L; idx < size; ++idx) {
+              floatDst.setFloat(getFloat(idx), idx);
+            }
           }
           return FloatNioDataBuffer.this;
         }
@@ -80,13 +136,13 @@ final class FloatNioDataBuffer extends AbstractNioDataBuffer<Float>
   @Override
   public FloatDataBuffer offset(long index) {
     Validator.offsetArgs(this, index);
-    return new FloatNioDataBuffer(((FloatBuffer)buf.duplicate().position((int)index)).slice());
+    return new FloatNioDataBuffer(((FloatBuffer)buf.duplicate().position((int)index)).slice(), lock);
   }
 
   @Override
   public FloatDataBuffer narrow(long size) {
     Validator.narrowArgs(this, size);
-    return new FloatNioDataBuffer(((FloatBuffer)buf.duplicate().limit((int)size)).slice());
+    return new FloatNioDataBuffer(((FloatBuffer)buf.duplicate().limit((int)size)).slice(), lock);
   }
 
   @Override
@@ -95,7 +151,7 @@ final class FloatNioDataBuffer extends AbstractNioDataBuffer<Float>
     FloatBuffer sliceBuf = buf.duplicate();
     sliceBuf.position((int)index);
     sliceBuf.limit((int)index + (int)size);
-    return new FloatNioDataBuffer(sliceBuf.slice());
+    return new FloatNioDataBuffer(sliceBuf.slice(), lock);
   }
 
   @Override
@@ -140,8 +196,16 @@ final class FloatNioDataBuffer extends AbstractNioDataBuffer<Float>
   }
 
   FloatNioDataBuffer(FloatBuffer buf) {
+    this(buf, new Object());
+  }
+
+  private FloatNioDataBuffer(FloatBuffer buf, Object lock) {
     this.buf = buf;
+    this.lock = lock;
   }
 
   private FloatBuffer buf;
+
+  // guards atomic operations on this buffer and all views sharing its memory
+  private final Object lock;
 }
@@ -17,11 +17,14 @@
 
 package org.tensorflow.tools.buffer.impl.nio;
 
+import java.nio.ByteOrder;
 import java.nio.IntBuffer;
+import java.util.Arrays;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DataStorageVisitor;
 import org.tensorflow.tools.buffer.IntDataBuffer;
 import org.tensorflow.tools.buffer.impl.Validator;
+import org.tensorflow.tools.buffer.impl.raw.RawDataBufferFactory;
 
 /**
  * A buffer of bytes using a JDK {@link IntBuffer} for storage.
@@ -40,6 +43,35 @@ final class IntNioDataBuffer extends AbstractNioDataBuffer<Integer>
     return this;
   }
 
+  @Override
+  public boolean compareAndSet(int expected, int value, long index) {
+    Validator.setArgs(this, index);
+    int i = (int)index;
+    synchronized (lock) {
+      if (buf.get(i) != expected) {
+        return false;
+      }
+      buf.put(i, value);
+      return true;
+    }
+  }
+
+  @Override
+  public int getAndAdd(int delta, long index) {
+    Validator.setArgs(this, index);
+    int i = (int)index;
+    synchronized (lock) {
+      int current = buf.get(i);
+      buf.put(i, current + delta);
+      return current;
+    }
+  }
+
+  @Override
+  public boolean supportsAtomicOperations() {
+    return true;
+  }
+
   @Override
   public IntDataBuffer read(int[] dst, int offset, int length) {
     buf.duplicate().get(dst, offset, length);
@@ -52,6 +84,23 @@ final class IntNioDataBuffer extends AbstractNioDataBuffer<Integer>
     return this;
   }
 
+  @Override
+  public IntDataBuffer fill(int value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    if (buf.hasArray()) {
+      int arrayOffset = buf.arrayOffset();
+      Arrays.fill(buf.array(), arrayOffset + (int)from, arrayOffset + (int)to, value);
+    } else {
+      int[] chunk = new int[(int)Math.min(to - from, FILL_CHUNK_SIZE)];
+      Arrays.fill(chunk, value);
+      IntBuffer dst = (IntBuffer)buf.duplicate().position((int)from);
+      for (long idx = from; idx < to; idx += chunk.length) {
+        dst.put(chunk, 0, (int)Math.min(chunk.length, to - idx));
+      }
+    }
+    return this;
+  }
+
   @Override
   public IntDataBuffer copyTo(DataBuffer<Integer> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -67,8 +116,15 @@ final class IntNioDataBuffer extends AbstractNioDataBuffer<Integer>
       public IntDataBuffer fallback() {
         if (dst instanceof IntDataBuffer) {
           IntDataBuffer intDst = (IntDataBuffer)dst;
-          for (long idx = 0L; idx < size; ++idx) {
-            intDst.setInt(getInt(idx), idx);
+          if (buf.hasArray()) {
+            intDst.write(buf.array(), buf.arrayOffset(), (int)size);
+          } else if (buf.isDirect() && buf.order() == ByteOrder.nativeOrder() && RawDataBufferFactory.canWrapDirectBuffers()) {
+            // let the raw buffer copy the native memory of this buffer directly to the destination
+            RawDataBufferFactory.create(buf, true).copyTo(intDst, size);
+          } else {
+            for (long idx = 0L; idx < size; ++idx) {
+              intDst.setInt(getInt(idx), idx);
+            }
           }
           return IntNioDataBuffer.this;
         }
@@ -80,13 +136,13 @@ final class IntNioDataBuffer extends AbstractNioDataBuffer<Integer>
   @Override
   public IntDataBuffer offset(long index) {
     Validator.offsetArgs(this, index);
-    return new IntNioDataBuffer(((IntBuffer)buf.duplicate().position((int)index)).slice());
+    return new IntNioDataBuffer(((IntBuffer)buf.duplicate().position((int)index)).slice(), lock);
   }
 
   @Override
   public IntDataBuffer narrow(long size) {
     Validator.narrowArgs(this, size);
-    return new IntNioDataBuffer(((IntBuffer)buf.duplicate().limit((int)size)).slice());
+    return new IntNioDataBuffer(((IntBuffer)buf.duplicate().limit((int)size)).slice(), lock);
   }
 
   @Override
@@ -95,7 +151,7 @@ final class IntNioDataBuffer extends AbstractNioDataBuffer<Integer>
     IntBuffer sliceBuf = buf.duplicate();
     sliceBuf.position((int)index);
     sliceBuf.limit((int)index + (int)size);
-    return new IntNioDataBuffer(sliceBuf.slice());
+    return new IntNioDataBuffer(sliceBuf.slice(), lock);
   }
 
   @Override
@@ -140,8 +196,16 @@ final class IntNioDataBuffer extends AbstractNioDataBuffer<Integer>
   }
 
   IntNioDataBuffer(IntBuffer buf) {
+    this(buf, new Object());
+  }
+
+  private IntNioDataBuffer(IntBuffer buf, Object lock) {
     this.buf = buf;
+    this.lock = lock;
   }
 
   private IntBuffer buf;
+
+  // guards atomic operations on this buffer and all views sharing its memory
+  private final Object lock;
 }
@@ -17,11 +17,14 @@
 
 package org.tensorflow.tools.buffer.impl.nio;
 
+import java.nio.ByteOrder;
 import java.nio.LongBuffer;
+import java.util.Arrays;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DataStorageVisitor;
 import org.tensorflow.tools.buffer.LongDataBuffer;
 import org.tensorflow.tools.buffer.impl.Validator;
+import org.tensorflow.tools.buffer.impl.raw.RawDataBufferFactory;
 
 /**
  * A buffer of bytes using a JDK {@link LongBuffer} for storage.
@@ -40,6 +43,35 @@ final class LongNioDataBuffer extends AbstractNioDataBuffer<Long>
     return this;
   }
 
+  @Override
+  public boolean compareAndSet(long expected, long value, long index) {
+    Validator.setArgs(this, index);
+    int i = (int)index;
+    synchronized (lock) {
+      if (buf.get(i) != expected) {
+        return false;
+      }
+      buf.put(i, value);
+      return true;
+    }
+  }
+
+  @Override
+  public long getAndAdd(long delta, long index) {
+    Validator.setArgs(this, index);
+    int i = (int)index;
+    synchronized (lock) {
+      long current = buf.get(i);
+      buf.put(i, current + delta);
+      return current;
+    }
+  }
+
+  @Override
+  public boolean supportsAtomicOperations() {
+    return true;
+  }
+
   @Override
   public LongDataBuffer read(long[] dst, int offset, int length) {
     buf.duplicate().get(dst, offset, length);
@@ -52,6 +84,23 @@ final class LongNioDataBuffer extends AbstractNioDataBuffer<Long>
     return this;
   }
 
+  @Override
+  public LongDataBuffer fill(long value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    if (buf.hasArray()) {
+      int arrayOffset = buf.arrayOffset();
+      Arrays.fill(buf.array(), arrayOffset + (int)from, arrayOffset + (int)to, value);
+    } else {
+      long[] chunk = new long[(int)Math.min(to - from, FILL_CHUNK_SIZE)];
+      Arrays.fill(chunk, value);
+      LongBuffer dst = (LongBuffer)buf.duplicate().position((int)from);
+      for (long idx = from; idx < to; idx += chunk.length) {
+        dst.put(chunk, 0, (int)Math.min(chunk.length, to - idx));
+      }
+    }
+    return this;
+  }
+
   @Override
   public LongDataBuffer copyTo(DataBuffer<Long> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -67,8 +116,15 @@ final class LongNioDataBuffer extends AbstractNioDataBuffer<Long>
       public LongDataBuffer fallback() {
         if (dst instanceof LongDataBuffer) {
           LongDataBuffer longDst = (LongDataBuffer)dst;
-          for (long idx = 0L; idx < size; ++idx) {
-            longDst.setLong(getLong(idx), idx);
+          if (buf.hasArray()) {
+            longDst.write(buf.array(), buf.arrayOffset(), (int)size);
+          } else if (buf.isDirect() && buf.order() == ByteOrder.nativeOrder() && RawDataBufferFactory.canWrapDirectBuffers()) {
+            // let the raw buffer copy the native memory of this buffer directly to the destination
+            RawDataBufferFactory.create(buf, true).copyTo(longDst, size);
+          } else {
+            for (long idx = 0L; idx < size; ++idx) {
+              longDst.setLong(getLong(idx), idx);
+            }
           }
           return LongNioDataBuffer.this;
         }
@@ -80,13 +136,13 @@ final class LongNioDataBuffer extends AbstractNioDataBuffer<Long>
   @Override
   public LongDataBuffer offset(long index) {
     Validator.offsetArgs(this, index);
-    return new LongNioDataBuffer(((LongBuffer)buf.duplicate().position((int)index)).slice());
+    return new LongNioDataBuffer(((LongBuffer)buf.duplicate().position((int)index)).slice(), lock);
   }
 
   @Override
   public LongDataBuffer narrow(long size) {
     Validator.narrowArgs(this, size);
-    return new LongNioDataBuffer(((LongBuffer)buf.duplicate().limit((int)size)).slice());
+    return new LongNioDataBuffer(((LongBuffer)buf.duplicate().limit((int)size)).slice(), lock);
   }
 
   @Override
@@ -95,7 +151,7 @@ final class LongNioDataBuffer extends AbstractNioDataBuffer<Long>
     LongBuffer sliceBuf = buf.duplicate();
     sliceBuf.position((int)index);
     sliceBuf.limit((int)index + (int)size);
-    return new LongNioDataBuffer(sliceBuf.slice());
+    return new LongNioDataBuffer(sliceBuf.slice(), lock);
   }
 
   @Override
@@ -140,8 +196,16 @@ final class LongNioDataBuffer extends AbstractNioDataBuffer<Long>
   }
 
   LongNioDataBuffer(LongBuffer buf) {
+    this(buf, new Object());
+  }
+
+  private LongNioDataBuffer(LongBuffer buf, Object lock) {
     this.buf = buf;
+    this.lock = lock;
   }
 
   private LongBuffer buf;
+
+  // guards atomic operations on this buffer and all views sharing its memory
+  private final Object lock;
 }
@@ -17,11 +17,14 @@
 
 package org.tensorflow.tools.buffer.impl.nio;
 
+import java.nio.ByteOrder;
 import java.nio.ShortBuffer;
+import java.util.Arrays;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DataStorageVisitor;
 import org.tensorflow.tools.buffer.ShortDataBuffer;
 import org.tensorflow.tools.buffer.impl.Validator;
+import org.tensorflow.tools.buffer.impl.raw.RawDataBufferFactory;
 
 /**
  * A buffer of bytes using a JDK {@link ShortBuffer} for storage.
@@ -52,6 +55,23 @@ final class ShortNioDataBuffer extends AbstractNioDataBuffer<Short>
     return this;
   }
 
+  @Override
+  public ShortDataBuffer fill(short value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    if (buf.hasArray()) {
+      int arrayOffset = buf.arrayOffset();
+      Arrays.fill(buf.array(), arrayOffset + (int)from, arrayOffset + (int)to, value);
+    } else {
+      short[] chunk = new short[(int)Math.min(to - from, FILL_CHUNK_SIZE)];
+      Arrays.fill(chunk, value);
+      ShortBuffer dst = (ShortBuffer)buf.duplicate().position((int)from);
+      for (long idx = from; idx < to; idx += chunk.length) {
+        dst.put(chunk, 0, (int)Math.min(chunk.length, to - idx));
+      }
+    }
+    return this;
+  }
+
   @Override
   public ShortDataBuffer copyTo(DataBuffer<Short> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -67,8 +87,15 @@ final class ShortNioDataBuffer extends AbstractNioDataBuffer<Short>
       public ShortDataBuffer fallback() {
         if (dst instanceof ShortDataBuffer) {
           ShortDataBuffer shortDst = (ShortDataBuffer)dst;
-          for (long idx = 0L; idx < size; ++idx) {
-            shortDst.setShort(getShort(idx), idx);
+          if (buf.hasArray()) {
+            shortDst.write(buf.array(), buf.arrayOffset(), (int)size);
+          } else if (buf.isDirect() && buf.order() == ByteOrder.nativeOrder() && RawDataBufferFactory.canWrapDirectBuffers()) {
+            // let the raw buffer copy the native memory of this buffer directly to the destination
+            RawDataBufferFactory.create(buf, true).copyTo(shortDst, size);
+          } else {
+            for (long idx = 0L; idx < size; ++idx) {
+              shortDst.setShort(getShort(idx), idx);
+            }
           }
           return ShortNioDataBuffer.this;
         }
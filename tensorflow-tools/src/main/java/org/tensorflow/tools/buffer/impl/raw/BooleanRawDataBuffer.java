@@ -17,7 +17,9 @@
 
 package org.tensorflow.tools.buffer.impl.raw;
 
+import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.BitSet;
 import org.tensorflow.tools.buffer.BooleanDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DataStorageVisitor;
@@ -59,6 +61,99 @@ final class BooleanRawDataBuffer extends AbstractRawDataBuffer<Boolean, BooleanD
     return write(src, src.length, offset, length);
   }
 
+  @Override
+  public long cardinality() {
+    long count = 0L;
+    long idx = 0L;
+    for (; idx + Long.BYTES <= size(); idx += Long.BYTES) {
+      count += Long.bitCount(normalize(memory.getLong(idx)));
+    }
+    for (; idx < size(); ++idx) {
+      if (memory.getBoolean(idx)) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public BooleanDataBuffer readBits(long[] dst) {
+    Validator.readBitsArgs(this, dst.length);
+    Arrays.fill(dst, 0, numWords(size()), 0L);
+    long idx = 0L;
+    for (; idx + Long.BYTES <= size(); idx += Long.BYTES) {
+      dst[(int)(idx >>> 6)] |= pack(memory.getLong(idx)) << (idx & 63);
+    }
+    for (; idx < size(); ++idx) {
+      if (memory.getBoolean(idx)) {
+        dst[(int)(idx >>> 6)] |= 1L << (idx & 63);
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer writeBits(long[] src) {
+    Validator.writeBitsArgs(this, src.length);
+    long idx = 0L;
+    for (; idx + Long.BYTES <= size(); idx += Long.BYTES) {
+      memory.setLong(unpack(src[(int)(idx >>> 6)] >>> (idx & 63)), idx);
+    }
+    for (; idx < size(); ++idx) {
+      memory.setBoolean((src[(int)(idx >>> 6)] & (1L << (idx & 63))) != 0L, idx);
+    }
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer and(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    long[] otherBits = bitsOf(other);
+    long idx = 0L;
+    for (; idx + Long.BYTES <= size(); idx += Long.BYTES) {
+      memory.setLong(normalize(memory.getLong(idx)) & unpack(otherBits[(int)(idx >>> 6)] >>> (idx & 63)), idx);
+    }
+    for (; idx < size(); ++idx) {
+      memory.setBoolean(memory.getBoolean(idx) & bitAt(otherBits, idx), idx);
+    }
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer or(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    long[] otherBits = bitsOf(other);
+    long idx = 0L;
+    for (; idx + Long.BYTES <= size(); idx += Long.BYTES) {
+      memory.setLong(normalize(memory.getLong(idx)) | unpack(otherBits[(int)(idx >>> 6)] >>> (idx & 63)), idx);
+    }
+    for (; idx < size(); ++idx) {
+      memory.setBoolean(memory.getBoolean(idx) | bitAt(otherBits, idx), idx);
+    }
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer xor(BooleanDataBuffer other) {
+    Validator.bitwiseArgs(this, other);
+    long[] otherBits = bitsOf(other);
+    long idx = 0L;
+    for (; idx + Long.BYTES <= size(); idx += Long.BYTES) {
+      memory.setLong(normalize(memory.getLong(idx)) ^ unpack(otherBits[(int)(idx >>> 6)] >>> (idx & 63)), idx);
+    }
+    for (; idx < size(); ++idx) {
+      memory.setBoolean(memory.getBoolean(idx) ^ bitAt(otherBits, idx), idx);
+    }
+    return this;
+  }
+
+  @Override
+  public BooleanDataBuffer fill(boolean value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    memory.setMemory((byte)(value ? 1 : 0), from, to);
+    return this;
+  }
+
   @Override
   public BooleanDataBuffer copyTo(DataBuffer<Boolean> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -76,6 +171,18 @@ final class BooleanRawDataBuffer extends AbstractRawDataBuffer<Boolean, BooleanD
         return BooleanRawDataBuffer.this;
       }
 
+      @Override
+      public BooleanDataBuffer visit(BitSet bitSet, int offset, long numBits) {
+        long[] words = new long[numWords(size)];
+        narrow(size).readBits(words);
+        bitSet.clear(offset, offset + (int)size);
+        BitSet bits = BitSet.valueOf(words);
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+          bitSet.set(offset + i);
+        }
+        return BooleanRawDataBuffer.this;
+      }
+
       @Override
       public BooleanDataBuffer fallback() {
         if (dst instanceof BooleanDataBuffer) {
@@ -143,4 +250,63 @@ final class BooleanRawDataBuffer extends AbstractRawDataBuffer<Boolean, BooleanD
   BooleanRawDataBuffer(UnsafeMemoryHandle memory, boolean readOnly) {
     super(memory, readOnly);
   }
+
+  //
+  // Word-level conversions between 8 booleans, stored as one byte each in memory, and 8 bits.
+  //
+  // Values are processed 8 at a time by reading or writing them as a single long. Since the JVM
+  // and TensorFlow store booleans as 0 or 1, any non-zero byte is nevertheless considered true.
+  //
+
+  private static final boolean BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+  private static final long LOW_7_BITS = 0x7F7F7F7F7F7F7F7FL;
+  private static final long LOW_BIT = 0x0101010101010101L;
+
+  // bytes of the booleans to write in memory for each possible combination of 8 bits
+  private static final long[] UNPACKED_BITS = new long[256];
+  static {
+    for (int bits = 0; bits < UNPACKED_BITS.length; ++bits) {
+      long bytes = 0L;
+      for (int bit = 0; bit < Byte.SIZE; ++bit) {
+        bytes |= (long)((bits >>> bit) & 1) << (bit * Byte.SIZE);
+      }
+      UNPACKED_BITS[bits] = BIG_ENDIAN ? Long.reverseBytes(bytes) : bytes;
+    }
+  }
+
+  /*
+   * Sets each byte of a word to 1 if it is non-zero, 0 otherwise.
+   */
+  private static long normalize(long bytes) {
+    return ((((bytes & LOW_7_BITS) + LOW_7_BITS) | bytes) >>> 7) & LOW_BIT;
+  }
+
+  /*
+   * Packs 8 booleans read from memory into the 8 lowest bits of a word.
+   */
+  private static long pack(long bytes) {
+    long values = normalize(BIG_ENDIAN ? Long.reverseBytes(bytes) : bytes);
+    return (values * 0x0102040810204080L) >>> 56;
+  }
+
+  /*
+   * Unpacks the 8 lowest bits of a word into 8 booleans to write in memory.
+   */
+  private static long unpack(long bits) {
+    return UNPACKED_BITS[(int)(bits & 0xFF)];
+  }
+
+  private static boolean bitAt(long[] words, long index) {
+    return (words[(int)(index >>> 6)] & (1L << (index & 63))) != 0L;
+  }
+
+  private static int numWords(long numBits) {
+    return (int)((numBits + Long.SIZE - 1) / Long.SIZE);
+  }
+
+  private long[] bitsOf(BooleanDataBuffer other) {
+    long[] words = new long[numWords(size())];
+    other.narrow(size()).readBits(words);
+    return words;
+  }
 }
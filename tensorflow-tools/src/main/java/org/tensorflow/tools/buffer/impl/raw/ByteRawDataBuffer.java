@@ -17,7 +17,11 @@
 
 package org.tensorflow.tools.buffer.impl.raw;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import org.tensorflow.tools.buffer.BooleanDataBuffer;
 import org.tensorflow.tools.buffer.ByteDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
@@ -27,7 +31,14 @@ import org.tensorflow.tools.buffer.FloatDataBuffer;
 import org.tensorflow.tools.buffer.IntDataBuffer;
 import org.tensorflow.tools.buffer.LongDataBuffer;
 import org.tensorflow.tools.buffer.ShortDataBuffer;
+import org.tensorflow.tools.buffer.impl.ChannelTransfers;
 import org.tensorflow.tools.buffer.impl.Validator;
+import org.tensorflow.tools.buffer.impl.adapter.DataBufferAdapterFactory;
+import org.tensorflow.tools.buffer.impl.layout.SwappedDoubleLayout;
+import org.tensorflow.tools.buffer.impl.layout.SwappedFloatLayout;
+import org.tensorflow.tools.buffer.impl.layout.SwappedIntLayout;
+import org.tensorflow.tools.buffer.impl.layout.SwappedLongLayout;
+import org.tensorflow.tools.buffer.impl.layout.SwappedShortLayout;
 
 final class ByteRawDataBuffer extends AbstractRawDataBuffer<Byte, ByteDataBuffer>
     implements ByteDataBuffer {
@@ -65,6 +76,13 @@ final class ByteRawDataBuffer extends AbstractRawDataBuffer<Byte, ByteDataBuffer
     return write(src, src.length, offset, length);
   }
 
+  @Override
+  public ByteDataBuffer fill(byte value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    memory.setMemory(value, from, to);
+    return this;
+  }
+
   @Override
   public ByteDataBuffer copyTo(DataBuffer<Byte> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -73,9 +91,13 @@ final class ByteRawDataBuffer extends AbstractRawDataBuffer<Byte, ByteDataBuffer
       @Override
       public ByteDataBuffer visit(ByteBuffer buffer) {
         if (buffer.hasArray()) {
-          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.position(), buffer.capacity()), size);
+          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()), size);
+        } else if (buffer.isDirect() && UnsafeMemoryHandle.canAccessDirectBuffers()) {
+          memory.copyTo(UnsafeMemoryHandle.fromDirectBuffer(buffer, Byte.BYTES), size);
         } else if (memory.isArray()) {
-          buffer.put(memory.toArrayByteBuffer());
+          ByteBuffer src = memory.toArrayByteBuffer();
+          src.limit(src.position() + (int)size);
+          buffer.duplicate().put(src);
         } else {
           slowCopyTo(dst, size);
         }
@@ -102,31 +124,131 @@ final class ByteRawDataBuffer extends AbstractRawDataBuffer<Byte, ByteDataBuffer
     });
   }
 
+  @Override
+  public long writeTo(WritableByteChannel channel) throws IOException {
+    if (memory.isArray()) {
+      return ChannelTransfers.writeFully(channel, memory.toArrayByteBuffer());
+    }
+    ByteBuffer directBuffer = memory.toDirectByteBuffer();
+    if (directBuffer != null) {
+      return ChannelTransfers.writeFully(channel, directBuffer);
+    }
+    return ChannelTransfers.writeThroughHeap(this, channel);
+  }
+
+  @Override
+  public long readFrom(ReadableByteChannel channel) throws IOException {
+    Validator.readFromArgs(this);
+    if (memory.isArray()) {
+      return ChannelTransfers.readFully(channel, memory.toArrayByteBuffer());
+    }
+    ByteBuffer directBuffer = memory.toDirectByteBuffer();
+    if (directBuffer != null) {
+      return ChannelTransfers.readFully(channel, directBuffer);
+    }
+    return ChannelTransfers.readThroughHeap(this, channel);
+  }
+
   @Override
   public IntDataBuffer asInts() {
+    if (memory.isArray()) {
+      return asInts(ByteOrder.nativeOrder());
+    }
     return new IntRawDataBuffer(memory.rescale(Integer.BYTES), readOnly);
   }
 
   @Override
   public ShortDataBuffer asShorts() {
+    if (memory.isArray()) {
+      return asShorts(ByteOrder.nativeOrder());
+    }
     return new ShortRawDataBuffer(memory.rescale(Short.BYTES), readOnly);
   }
 
   @Override
   public LongDataBuffer asLongs() {
+    if (memory.isArray()) {
+      return asLongs(ByteOrder.nativeOrder());
+    }
     return new LongRawDataBuffer(memory.rescale(Long.BYTES), readOnly);
   }
 
   @Override
   public FloatDataBuffer asFloats() {
+    if (memory.isArray()) {
+      return asFloats(ByteOrder.nativeOrder());
+    }
     return new FloatRawDataBuffer(memory.rescale(Float.BYTES), readOnly);
   }
 
   @Override
   public DoubleDataBuffer asDoubles() {
+    if (memory.isArray()) {
+      return asDoubles(ByteOrder.nativeOrder());
+    }
     return new DoubleRawDataBuffer(memory.rescale(Double.BYTES), readOnly);
   }
 
+  @Override
+  public ShortDataBuffer asShorts(ByteOrder order) {
+    if (memory.isArray()) {
+      // heap memory cannot be rescaled, values are read and written byte per byte
+      return ByteDataBuffer.super.asShorts(order);
+    }
+    if (order == ByteOrder.nativeOrder()) {
+      return asShorts();
+    }
+    return DataBufferAdapterFactory.create(asShorts(), SWAPPED_SHORT_LAYOUT);
+  }
+
+  @Override
+  public IntDataBuffer asInts(ByteOrder order) {
+    if (memory.isArray()) {
+      // heap memory cannot be rescaled, values are read and written byte per byte
+      return ByteDataBuffer.super.asInts(order);
+    }
+    if (order == ByteOrder.nativeOrder()) {
+      return asInts();
+    }
+    return DataBufferAdapterFactory.create(asInts(), SWAPPED_INT_LAYOUT);
+  }
+
+  @Override
+  public LongDataBuffer asLongs(ByteOrder order) {
+    if (memory.isArray()) {
+      // heap memory cannot be rescaled, values are read and written byte per byte
+      return ByteDataBuffer.super.asLongs(order);
+    }
+    if (order == ByteOrder.nativeOrder()) {
+      return asLongs();
+    }
+    return DataBufferAdapterFactory.create(asLongs(), SWAPPED_LONG_LAYOUT);
+  }
+
+  @Override
+  public FloatDataBuffer asFloats(ByteOrder order) {
+    if (memory.isArray()) {
+      // heap memory cannot be rescaled, values are read and written byte per byte
+      return ByteDataBuffer.super.asFloats(order);
+    }
+    if (order == ByteOrder.nativeOrder()) {
+      return asFloats();
+    }
+    return DataBufferAdapterFactory.create(asInts(), SWAPPED_FLOAT_LAYOUT);
+  }
+
+  @Override
+  public DoubleDataBuffer asDoubles(ByteOrder order) {
+    if (memory.isArray()) {
+      // heap memory cannot be rescaled, values are read and written byte per byte
+      return ByteDataBuffer.super.asDoubles(order);
+    }
+    if (order == ByteOrder.nativeOrder()) {
+      return asDoubles();
+    }
+    return DataBufferAdapterFactory.create(asLongs(), SWAPPED_DOUBLE_LAYOUT);
+  }
+
   @Override
   public BooleanDataBuffer asBooleans() {
     return new BooleanRawDataBuffer(memory.rescale(Byte.BYTES), readOnly);
@@ -182,4 +304,10 @@ final class ByteRawDataBuffer extends AbstractRawDataBuffer<Byte, ByteDataBuffer
   ByteRawDataBuffer(UnsafeMemoryHandle memory, boolean readOnly) {
     super(memory, readOnly);
   }
+
+  private static final SwappedShortLayout SWAPPED_SHORT_LAYOUT = new SwappedShortLayout();
+  private static final SwappedIntLayout SWAPPED_INT_LAYOUT = new SwappedIntLayout();
+  private static final SwappedLongLayout SWAPPED_LONG_LAYOUT = new SwappedLongLayout();
+  private static final SwappedFloatLayout SWAPPED_FLOAT_LAYOUT = new SwappedFloatLayout();
+  private static final SwappedDoubleLayout SWAPPED_DOUBLE_LAYOUT = new SwappedDoubleLayout();
 }
@@ -17,7 +17,9 @@
 
 package org.tensorflow.tools.buffer.impl.raw;
 
+import java.nio.ByteOrder;
 import java.nio.DoubleBuffer;
+import java.util.Arrays;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DataStorageVisitor;
 import org.tensorflow.tools.buffer.DoubleDataBuffer;
@@ -39,6 +41,23 @@ final class DoubleRawDataBuffer extends AbstractRawDataBuffer<Double, DoubleData
     return this;
   }
 
+  @Override
+  public boolean compareAndSet(double expected, double value, long index) {
+    Validator.setArgs(this, index);
+    return memory.compareAndSwapLong(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(value), index);
+  }
+
+  @Override
+  public boolean supportsAtomicOperations() {
+    return true;
+  }
+
+  @Override
+  public double getAndAdd(double delta, long index) {
+    Validator.setArgs(this, index);
+    return memory.getAndAddDouble(delta, index);
+  }
+
   @Override
   public DoubleDataBuffer read(double[] dst) {
     return read(dst, dst.length);
@@ -59,6 +78,21 @@ final class DoubleRawDataBuffer extends AbstractRawDataBuffer<Double, DoubleData
     return write(src, src.length, offset, length);
   }
 
+  @Override
+  public DoubleDataBuffer fill(double value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    if (memory.isArray()) {
+      int arrayOffset = memory.arrayOffset(double[].class);
+      Arrays.fill(memory.<double[]>array(), arrayOffset + (int)from, arrayOffset + (int)to, value);
+    } else if (Double.doubleToRawLongBits(value) == 0L) {
+      memory.setMemory((byte)0, from, to);
+    } else if (from < to) {
+      memory.setDouble(value, from);
+      memory.replicate(from, to);
+    }
+    return this;
+  }
+
   @Override
   public DoubleDataBuffer copyTo(DataBuffer<Double> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -67,9 +101,13 @@ final class DoubleRawDataBuffer extends AbstractRawDataBuffer<Double, DoubleData
       @Override
       public DoubleDataBuffer visit(DoubleBuffer buffer) {
         if (buffer.hasArray()) {
-          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.position(), buffer.capacity()), size);
+          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()), size);
+        } else if (buffer.isDirect() && buffer.order() == ByteOrder.nativeOrder() && UnsafeMemoryHandle.canAccessDirectBuffers()) {
+          memory.copyTo(UnsafeMemoryHandle.fromDirectBuffer(buffer, Double.BYTES), size);
         } else if (memory.isArray()) {
-          buffer.put(memory.toArrayDoubleBuffer());
+          DoubleBuffer src = memory.toArrayDoubleBuffer();
+          src.limit(src.position() + (int)size);
+          buffer.duplicate().put(src);
         } else {
           slowCopyTo(dst, size);
         }
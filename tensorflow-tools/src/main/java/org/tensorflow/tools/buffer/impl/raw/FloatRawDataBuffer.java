@@ -17,7 +17,9 @@
 
 package org.tensorflow.tools.buffer.impl.raw;
 
+import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
+import java.util.Arrays;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DataStorageVisitor;
 import org.tensorflow.tools.buffer.FloatDataBuffer;
@@ -39,6 +41,23 @@ final class FloatRawDataBuffer extends AbstractRawDataBuffer<Float, FloatDataBuf
     return this;
   }
 
+  @Override
+  public boolean compareAndSet(float expected, float value, long index) {
+    Validator.setArgs(this, index);
+    return memory.compareAndSwapInt(Float.floatToRawIntBits(expected), Float.floatToRawIntBits(value), index);
+  }
+
+  @Override
+  public boolean supportsAtomicOperations() {
+    return true;
+  }
+
+  @Override
+  public float getAndAdd(float delta, long index) {
+    Validator.setArgs(this, index);
+    return memory.getAndAddFloat(delta, index);
+  }
+
   @Override
   public FloatDataBuffer read(float[] dst) {
     return read(dst, dst.length);
@@ -59,6 +78,21 @@ final class FloatRawDataBuffer extends AbstractRawDataBuffer<Float, FloatDataBuf
     return write(src, src.length, offset, length);
   }
 
+  @Override
+  public FloatDataBuffer fill(float value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    if (memory.isArray()) {
+      int arrayOffset = memory.arrayOffset(float[].class);
+      Arrays.fill(memory.<float[]>array(), arrayOffset + (int)from, arrayOffset + (int)to, value);
+    } else if (Float.floatToRawIntBits(value) == 0) {
+      memory.setMemory((byte)0, from, to);
+    } else if (from < to) {
+      memory.setFloat(value, from);
+      memory.replicate(from, to);
+    }
+    return this;
+  }
+
   @Override
   public FloatDataBuffer copyTo(DataBuffer<Float> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -67,9 +101,13 @@ final class FloatRawDataBuffer extends AbstractRawDataBuffer<Float, FloatDataBuf
       @Override
       public FloatDataBuffer visit(FloatBuffer buffer) {
         if (buffer.hasArray()) {
-          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.position(), buffer.capacity()), size);
+          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()), size);
+        } else if (buffer.isDirect() && buffer.order() == ByteOrder.nativeOrder() && UnsafeMemoryHandle.canAccessDirectBuffers()) {
+          memory.copyTo(UnsafeMemoryHandle.fromDirectBuffer(buffer, Float.BYTES), size);
         } else if (memory.isArray()) {
-          buffer.put(memory.toArrayFloatBuffer());
+          FloatBuffer src = memory.toArrayFloatBuffer();
+          src.limit(src.position() + (int)size);
+          buffer.duplicate().put(src);
         } else {
           slowCopyTo(dst, size);
         }
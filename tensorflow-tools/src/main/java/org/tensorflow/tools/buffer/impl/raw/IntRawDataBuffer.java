@@ -17,7 +17,9 @@
 
 package org.tensorflow.tools.buffer.impl.raw;
 
+import java.nio.ByteOrder;
 import java.nio.IntBuffer;
+import java.util.Arrays;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DataStorageVisitor;
 import org.tensorflow.tools.buffer.IntDataBuffer;
@@ -39,6 +41,23 @@ final class IntRawDataBuffer extends AbstractRawDataBuffer<Integer, IntDataBuffe
     return this;
   }
 
+  @Override
+  public boolean compareAndSet(int expected, int value, long index) {
+    Validator.setArgs(this, index);
+    return memory.compareAndSwapInt(expected, value, index);
+  }
+
+  @Override
+  public boolean supportsAtomicOperations() {
+    return true;
+  }
+
+  @Override
+  public int getAndAdd(int delta, long index) {
+    Validator.setArgs(this, index);
+    return memory.getAndAddInt(delta, index);
+  }
+
   @Override
   public IntDataBuffer read(int[] dst) {
     return read(dst, dst.length);
@@ -59,6 +78,21 @@ final class IntRawDataBuffer extends AbstractRawDataBuffer<Integer, IntDataBuffe
     return write(src, src.length, offset, length);
   }
 
+  @Override
+  public IntDataBuffer fill(int value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    if (memory.isArray()) {
+      int arrayOffset = memory.arrayOffset(int[].class);
+      Arrays.fill(memory.<int[]>array(), arrayOffset + (int)from, arrayOffset + (int)to, value);
+    } else if (value == 0) {
+      memory.setMemory((byte)0, from, to);
+    } else if (from < to) {
+      memory.setInt(value, from);
+      memory.replicate(from, to);
+    }
+    return this;
+  }
+
   @Override
   public IntDataBuffer copyTo(DataBuffer<Integer> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -67,9 +101,13 @@ final class IntRawDataBuffer extends AbstractRawDataBuffer<Integer, IntDataBuffe
       @Override
       public IntDataBuffer visit(IntBuffer buffer) {
         if (buffer.hasArray()) {
-          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.position(), buffer.capacity()), size);
+          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()), size);
+        } else if (buffer.isDirect() && buffer.order() == ByteOrder.nativeOrder() && UnsafeMemoryHandle.canAccessDirectBuffers()) {
+          memory.copyTo(UnsafeMemoryHandle.fromDirectBuffer(buffer, Integer.BYTES), size);
         } else if (memory.isArray()) {
-          buffer.put(memory.toArrayIntBuffer());
+          IntBuffer src = memory.toArrayIntBuffer();
+          src.limit(src.position() + (int)size);
+          buffer.duplicate().put(src);
         } else {
           slowCopyTo(dst, size);
         }
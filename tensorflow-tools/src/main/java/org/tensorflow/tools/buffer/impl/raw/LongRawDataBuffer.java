@@ -17,7 +17,9 @@
 
 package org.tensorflow.tools.buffer.impl.raw;
 
+import java.nio.ByteOrder;
 import java.nio.LongBuffer;
+import java.util.Arrays;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DataStorageVisitor;
 import org.tensorflow.tools.buffer.LongDataBuffer;
@@ -39,6 +41,23 @@ final class LongRawDataBuffer extends AbstractRawDataBuffer<Long, LongDataBuffer
     return this;
   }
 
+  @Override
+  public boolean compareAndSet(long expected, long value, long index) {
+    Validator.setArgs(this, index);
+    return memory.compareAndSwapLong(expected, value, index);
+  }
+
+  @Override
+  public boolean supportsAtomicOperations() {
+    return true;
+  }
+
+  @Override
+  public long getAndAdd(long delta, long index) {
+    Validator.setArgs(this, index);
+    return memory.getAndAddLong(delta, index);
+  }
+
   @Override
   public LongDataBuffer read(long[] dst) {
     return read(dst, dst.length);
@@ -59,6 +78,21 @@ final class LongRawDataBuffer extends AbstractRawDataBuffer<Long, LongDataBuffer
     return write(src, src.length, offset, length);
   }
 
+  @Override
+  public LongDataBuffer fill(long value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    if (memory.isArray()) {
+      int arrayOffset = memory.arrayOffset(long[].class);
+      Arrays.fill(memory.<long[]>array(), arrayOffset + (int)from, arrayOffset + (int)to, value);
+    } else if (value == 0L) {
+      memory.setMemory((byte)0, from, to);
+    } else if (from < to) {
+      memory.setLong(value, from);
+      memory.replicate(from, to);
+    }
+    return this;
+  }
+
   @Override
   public LongDataBuffer copyTo(DataBuffer<Long> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -67,9 +101,13 @@ final class LongRawDataBuffer extends AbstractRawDataBuffer<Long, LongDataBuffer
       @Override
       public LongDataBuffer visit(LongBuffer buffer) {
         if (buffer.hasArray()) {
-          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.position(), buffer.capacity()), size);
+          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()), size);
+        } else if (buffer.isDirect() && buffer.order() == ByteOrder.nativeOrder() && UnsafeMemoryHandle.canAccessDirectBuffers()) {
+          memory.copyTo(UnsafeMemoryHandle.fromDirectBuffer(buffer, Long.BYTES), size);
         } else if (memory.isArray()) {
-          buffer.put(memory.toArrayLongBuffer());
+          LongBuffer src = memory.toArrayLongBuffer();
+          src.limit(src.position() + (int)size);
+          buffer.duplicate().put(src);
         } else {
           slowCopyTo(dst, size);
         }
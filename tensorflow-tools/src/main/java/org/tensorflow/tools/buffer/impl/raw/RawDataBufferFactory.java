@@ -17,8 +17,16 @@
 
 package org.tensorflow.tools.buffer.impl.raw;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 import org.tensorflow.tools.buffer.BooleanDataBuffer;
 import org.tensorflow.tools.buffer.ByteDataBuffer;
+import org.tensorflow.tools.buffer.DataBufferPool;
 import org.tensorflow.tools.buffer.DoubleDataBuffer;
 import org.tensorflow.tools.buffer.FloatDataBuffer;
 import org.tensorflow.tools.buffer.IntDataBuffer;
@@ -35,6 +43,16 @@ public class RawDataBufferFactory {
     return UnsafeReference.isAvailable();
   }
 
+  /**
+   * Returns true if raw buffers can wrap the memory of direct NIO buffers on this JVM.
+   *
+   * <p>This requires reading the native address held by direct buffers, which is only possible on
+   * JVMs where it is stored in the private field {@code java.nio.Buffer.address}.
+   */
+  public static boolean canWrapDirectBuffers() {
+    return canBeUsed() && UnsafeMemoryHandle.canAccessDirectBuffers();
+  }
+
   public static BooleanDataBuffer create(boolean[] array, boolean readOnly) {
     return new BooleanRawDataBuffer(UnsafeMemoryHandle.fromArray(array, array.length), readOnly);
   }
@@ -81,6 +99,60 @@ public class RawDataBufferFactory {
     return new ShortRawDataBuffer(UnsafeMemoryHandle.fromArray(array, array.length), readOnly);
   }
 
+  public static ByteDataBuffer create(ByteBuffer directBuffer, boolean readOnly) {
+    if (!canBeUsed()) {
+      throw new IllegalStateException("Raw data buffers are not available");
+    }
+    return new ByteRawDataBuffer(UnsafeMemoryHandle.fromDirectBuffer(directBuffer), readOnly);
+  }
+
+  public static ShortDataBuffer create(ShortBuffer directBuffer, boolean readOnly) {
+    if (!canBeUsed()) {
+      throw new IllegalStateException("Raw data buffers are not available");
+    }
+    nativeOrderArgs(directBuffer.order());
+    return new ShortRawDataBuffer(UnsafeMemoryHandle.fromDirectBuffer(directBuffer, Short.BYTES), readOnly);
+  }
+
+  public static IntDataBuffer create(IntBuffer directBuffer, boolean readOnly) {
+    if (!canBeUsed()) {
+      throw new IllegalStateException("Raw data buffers are not available");
+    }
+    nativeOrderArgs(directBuffer.order());
+    return new IntRawDataBuffer(UnsafeMemoryHandle.fromDirectBuffer(directBuffer, Integer.BYTES), readOnly);
+  }
+
+  public static LongDataBuffer create(LongBuffer directBuffer, boolean readOnly) {
+    if (!canBeUsed()) {
+      throw new IllegalStateException("Raw data buffers are not available");
+    }
+    nativeOrderArgs(directBuffer.order());
+    return new LongRawDataBuffer(UnsafeMemoryHandle.fromDirectBuffer(directBuffer, Long.BYTES), readOnly);
+  }
+
+  public static FloatDataBuffer create(FloatBuffer directBuffer, boolean readOnly) {
+    if (!canBeUsed()) {
+      throw new IllegalStateException("Raw data buffers are not available");
+    }
+    nativeOrderArgs(directBuffer.order());
+    return new FloatRawDataBuffer(UnsafeMemoryHandle.fromDirectBuffer(directBuffer, Float.BYTES), readOnly);
+  }
+
+  public static DoubleDataBuffer create(DoubleBuffer directBuffer, boolean readOnly) {
+    if (!canBeUsed()) {
+      throw new IllegalStateException("Raw data buffers are not available");
+    }
+    nativeOrderArgs(directBuffer.order());
+    return new DoubleRawDataBuffer(UnsafeMemoryHandle.fromDirectBuffer(directBuffer, Double.BYTES), readOnly);
+  }
+
+  public static DataBufferPool createPool(long maxBytesHeld) {
+    if (!canBeUsed()) {
+      throw new IllegalStateException("Raw data buffers are not available");
+    }
+    return new RawDataBufferPool(maxBytesHeld);
+  }
+
   protected static BooleanDataBuffer mapNativeBooleans(long address, long size, boolean readOnly) {
     if (!canBeUsed()) {
       throw new IllegalStateException("Raw data buffers are not available");
@@ -137,6 +209,12 @@ public class RawDataBufferFactory {
     return new ShortRawDataBuffer(UnsafeMemoryHandle.fromAddress(address, size, Short.BYTES), readOnly);
   }
 
+  private static void nativeOrderArgs(ByteOrder order) {
+    if (order != ByteOrder.nativeOrder()) {
+      throw new IllegalArgumentException("Buffer must use the native byte order to be accessed as raw memory");
+    }
+  }
+
   /*
    * The maximum size for a buffer of this type, i.e. the maximum number of bytes it can store.
    * <p>
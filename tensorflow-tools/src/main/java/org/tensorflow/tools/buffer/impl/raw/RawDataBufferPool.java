@@ -0,0 +1,262 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.raw;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.tensorflow.tools.buffer.BooleanDataBuffer;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataBufferPool;
+import org.tensorflow.tools.buffer.DoubleDataBuffer;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.IntDataBuffer;
+import org.tensorflow.tools.buffer.LongDataBuffer;
+import org.tensorflow.tools.buffer.PooledDataBuffer;
+import org.tensorflow.tools.buffer.ShortDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * A pool of raw buffers backed by native memory.
+ *
+ * <p>Memory is allocated in blocks whose size is a power of 2, from 2<sup>6</sup> to
+ * 2<sup>30</sup> bytes. Each size class has its own arena of free blocks, from which a lease of
+ * a given size is served in constant time. Blocks returned to the pool are kept in their arena,
+ * unless it would exceed the maximum number of bytes the pool is allowed to hold. Requests larger
+ * than the largest size class are allocated and freed directly.
+ *
+ * <p>Leased buffers, and any view derived from them, check on each access that their lease is not
+ * closed, so a buffer that escapes its lease cannot read or write memory that has been reused. A
+ * lease that is never closed returns its block to the pool once the lease and all buffers accessing
+ * its memory are garbage collected, which is detected on subsequent leases.
+ */
+final class RawDataBufferPool implements DataBufferPool {
+
+  @Override
+  public PooledDataBuffer<ByteDataBuffer> ofBytes(long size) {
+    return lease(size, Byte.BYTES, m -> new ByteRawDataBuffer(m, false));
+  }
+
+  @Override
+  public PooledDataBuffer<LongDataBuffer> ofLongs(long size) {
+    return lease(size, Long.BYTES, m -> new LongRawDataBuffer(m, false));
+  }
+
+  @Override
+  public PooledDataBuffer<IntDataBuffer> ofInts(long size) {
+    return lease(size, Integer.BYTES, m -> new IntRawDataBuffer(m, false));
+  }
+
+  @Override
+  public PooledDataBuffer<ShortDataBuffer> ofShorts(long size) {
+    return lease(size, Short.BYTES, m -> new ShortRawDataBuffer(m, false));
+  }
+
+  @Override
+  public PooledDataBuffer<DoubleDataBuffer> ofDoubles(long size) {
+    return lease(size, Double.BYTES, m -> new DoubleRawDataBuffer(m, false));
+  }
+
+  @Override
+  public PooledDataBuffer<FloatDataBuffer> ofFloats(long size) {
+    return lease(size, Float.BYTES, m -> new FloatRawDataBuffer(m, false));
+  }
+
+  @Override
+  public PooledDataBuffer<BooleanDataBuffer> ofBooleans(long size) {
+    return lease(size, Byte.BYTES, m -> new BooleanRawDataBuffer(m, false));
+  }
+
+  @Override
+  public long hitCount() {
+    return hitCount.get();
+  }
+
+  @Override
+  public long missCount() {
+    return missCount.get();
+  }
+
+  @Override
+  public long bytesHeld() {
+    return bytesHeld.get();
+  }
+
+  @Override
+  public long bytesInUse() {
+    return bytesInUse.get();
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    reclaimAbandonedLeases();
+    for (ConcurrentLinkedDeque<UnsafeMemoryHandle> arena : arenas) {
+      drain(arena);
+    }
+  }
+
+  RawDataBufferPool(long maxBytesHeld) {
+    if (maxBytesHeld < 0) {
+      throw new IllegalArgumentException("Maximum number of bytes held must be non-negative");
+    }
+    this.maxBytesHeld = maxBytesHeld;
+    int numClasses = MAX_CLASS_BITS - MIN_CLASS_BITS + 1;
+    arenas = new ArrayList<>(numClasses);
+    for (int i = 0; i < numClasses; ++i) {
+      arenas.add(new ConcurrentLinkedDeque<>());
+    }
+  }
+
+  private final class Lease<B extends DataBuffer<?>> implements PooledDataBuffer<B> {
+
+    @Override
+    public B buffer() {
+      if (released.get()) {
+        throw new IllegalStateException("Buffer has been returned to the pool");
+      }
+      return buffer;
+    }
+
+    @Override
+    public void close() {
+      if (released.compareAndSet(false, true)) {
+        reclaim(reference);
+      }
+    }
+
+    Lease(UnsafeMemoryHandle block, Function<UnsafeMemoryHandle, B> bufferFactory) {
+      this.buffer = bufferFactory.apply(block.guardedBy(released));
+      this.reference = new BlockReference(released, block);
+    }
+
+    private final AtomicBoolean released = new AtomicBoolean();
+    private final B buffer;
+    private final BlockReference reference;
+  }
+
+  /**
+   * Tracks the flag shared by a lease and all buffers accessing its block, which becomes phantom
+   * reachable only once none of them can access the block anymore.
+   */
+  private final class BlockReference extends PhantomReference<AtomicBoolean> {
+
+    BlockReference(AtomicBoolean released, UnsafeMemoryHandle block) {
+      super(released, abandonedLeases);
+      this.block = block;
+      leasedBlocks.add(this);
+    }
+
+    private final UnsafeMemoryHandle block;
+  }
+
+  private static final int MIN_CLASS_BITS = 6;
+  private static final int MAX_CLASS_BITS = 30;
+
+  private final long maxBytesHeld;
+  private final List<ConcurrentLinkedDeque<UnsafeMemoryHandle>> arenas;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong bytesHeld = new AtomicLong();
+  private final AtomicLong bytesInUse = new AtomicLong();
+  private final Set<BlockReference> leasedBlocks = ConcurrentHashMap.newKeySet();
+  private final ReferenceQueue<AtomicBoolean> abandonedLeases = new ReferenceQueue<>();
+  private volatile boolean closed = false;
+
+  private <B extends DataBuffer<?>> PooledDataBuffer<B> lease(long size, int scale, Function<UnsafeMemoryHandle, B> bufferFactory) {
+    Validator.createArgs(size, RawDataBufferFactory.MAX_64BITS / scale);
+    if (closed) {
+      throw new IllegalStateException("Pool has been closed");
+    }
+    reclaimAbandonedLeases();
+    long byteSize = size * scale;
+    int sizeClass = sizeClassOf(byteSize);
+    UnsafeMemoryHandle block = null;
+    if (sizeClass < arenas.size()) {
+      block = arenas.get(sizeClass).pollFirst();
+    }
+    if (block != null) {
+      bytesHeld.addAndGet(-block.byteSize);
+      hitCount.incrementAndGet();
+    } else {
+      block = UnsafeMemoryHandle.allocate(sizeClass < arenas.size() ? 1L << (sizeClass + MIN_CLASS_BITS) : byteSize);
+      missCount.incrementAndGet();
+    }
+    bytesInUse.addAndGet(block.byteSize);
+    return new Lease<>(block, m -> bufferFactory.apply(m.rescale(scale).narrow(size)));
+  }
+
+  private void reclaimAbandonedLeases() {
+    Reference<? extends AtomicBoolean> reference;
+    while ((reference = abandonedLeases.poll()) != null) {
+      reclaim((BlockReference)reference);
+    }
+  }
+
+  private void reclaim(BlockReference reference) {
+    // A block is released only once, either when its lease is closed or when it is abandoned
+    if (leasedBlocks.remove(reference)) {
+      reference.clear();
+      release(reference.block);
+    }
+  }
+
+  private void release(UnsafeMemoryHandle block) {
+    bytesInUse.addAndGet(-block.byteSize);
+    int sizeClass = sizeClassOf(block.byteSize);
+    if (closed || sizeClass >= arenas.size()) {
+      block.free();
+      return;
+    }
+    if (bytesHeld.addAndGet(block.byteSize) > maxBytesHeld) {
+      bytesHeld.addAndGet(-block.byteSize);
+      block.free();
+      return;
+    }
+    ConcurrentLinkedDeque<UnsafeMemoryHandle> arena = arenas.get(sizeClass);
+    arena.offerFirst(block);  // LIFO, so recently used memory is reused first
+    if (closed) {
+      // The pool has been closed concurrently, make sure this block is not leaked
+      drain(arena);
+    }
+  }
+
+  private void drain(ConcurrentLinkedDeque<UnsafeMemoryHandle> arena) {
+    UnsafeMemoryHandle block;
+    while ((block = arena.pollFirst()) != null) {
+      bytesHeld.addAndGet(-block.byteSize);
+      block.free();
+    }
+  }
+
+  private static int sizeClassOf(long byteSize) {
+    if (byteSize <= 1L << MIN_CLASS_BITS) {
+      return 0;
+    }
+    return (Long.SIZE - Long.numberOfLeadingZeros(byteSize - 1)) - MIN_CLASS_BITS;
+  }
+}
@@ -17,7 +17,9 @@
 
 package org.tensorflow.tools.buffer.impl.raw;
 
+import java.nio.ByteOrder;
 import java.nio.ShortBuffer;
+import java.util.Arrays;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DataStorageVisitor;
 import org.tensorflow.tools.buffer.ShortDataBuffer;
@@ -59,6 +61,21 @@ final class ShortRawDataBuffer extends AbstractRawDataBuffer<Short, ShortDataBuf
     return write(src, src.length, offset, length);
   }
 
+  @Override
+  public ShortDataBuffer fill(short value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    if (memory.isArray()) {
+      int arrayOffset = memory.arrayOffset(short[].class);
+      Arrays.fill(memory.<short[]>array(), arrayOffset + (int)from, arrayOffset + (int)to, value);
+    } else if (value == 0) {
+      memory.setMemory((byte)0, from, to);
+    } else if (from < to) {
+      memory.setShort(value, from);
+      memory.replicate(from, to);
+    }
+    return this;
+  }
+
   @Override
   public ShortDataBuffer copyTo(DataBuffer<Short> dst, long size) {
     Validator.copyToArgs(this, dst, size);
@@ -67,9 +84,13 @@ final class ShortRawDataBuffer extends AbstractRawDataBuffer<Short, ShortDataBuf
       @Override
       public ShortDataBuffer visit(ShortBuffer buffer) {
         if (buffer.hasArray()) {
-          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.position(), buffer.capacity()), size);
+          memory.copyTo(UnsafeMemoryHandle.fromArray(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()), size);
+        } else if (buffer.isDirect() && buffer.order() == ByteOrder.nativeOrder() && UnsafeMemoryHandle.canAccessDirectBuffers()) {
+          memory.copyTo(UnsafeMemoryHandle.fromDirectBuffer(buffer, Short.BYTES), size);
         } else if (memory.isArray()) {
-          buffer.put(memory.toArrayShortBuffer());
+          ShortBuffer src = memory.toArrayShortBuffer();
+          src.limit(src.position() + (int)size);
+          buffer.duplicate().put(src);
         } else {
           slowCopyTo(dst, size);
         }
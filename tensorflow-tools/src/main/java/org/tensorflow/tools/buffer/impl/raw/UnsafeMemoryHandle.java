@@ -17,12 +17,14 @@
 
 package org.tensorflow.tools.buffer.impl.raw;
 
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
 import java.nio.ShortBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 final class UnsafeMemoryHandle {
 
@@ -40,10 +42,42 @@ final class UnsafeMemoryHandle {
     return new UnsafeMemoryHandle(null, address, byteSize, scale);
   }
 
+  static UnsafeMemoryHandle allocate(long byteSize) {
+    long address = UnsafeReference.UNSAFE.allocateMemory(byteSize);
+    return new UnsafeMemoryHandle(null, address, byteSize, Byte.BYTES);
+  }
+
+  static UnsafeMemoryHandle fromDirectBuffer(ByteBuffer buffer) {
+    return fromDirectBuffer(buffer, Byte.BYTES);
+  }
+
+  static boolean canAccessDirectBuffers() {
+    return BUFFER_ADDRESS_OFFSET >= 0;
+  }
+
+  static UnsafeMemoryHandle fromDirectBuffer(Buffer buffer, long scale) {
+    if (!buffer.isDirect()) {
+      throw new IllegalArgumentException("Buffer must be direct");
+    }
+    if (!canAccessDirectBuffers()) {
+      throw new IllegalStateException("Native address of direct buffers cannot be accessed on this JVM");
+    }
+    long address = bufferAddress(buffer) + buffer.position() * scale;
+    // Keep a reference to the buffer so the memory it owns is not released while still in use
+    return new UnsafeMemoryHandle(null, address, buffer.remaining() * scale, scale, buffer);
+  }
+
   long size() {
     return byteSize / scale;
   }
 
+  void free() {
+    if (object != null || owner != null) {
+      throw new IllegalStateException("Only memory allocated natively can be freed");
+    }
+    UnsafeReference.UNSAFE.freeMemory(byteOffset);
+  }
+
   byte getByte(long index) {
     return UnsafeReference.UNSAFE.getByte(object, align(index));
   }
@@ -100,28 +134,87 @@ final class UnsafeMemoryHandle {
     UnsafeReference.UNSAFE.putLong(object, align(index), value);
   }
 
+  boolean compareAndSwapInt(int expected, int value, long index) {
+    return UnsafeReference.UNSAFE.compareAndSwapInt(object, align(index), expected, value);
+  }
+
+  boolean compareAndSwapLong(long expected, long value, long index) {
+    return UnsafeReference.UNSAFE.compareAndSwapLong(object, align(index), expected, value);
+  }
+
+  int getAndAddInt(int delta, long index) {
+    return UnsafeReference.UNSAFE.getAndAddInt(object, align(index), delta);
+  }
+
+  long getAndAddLong(long delta, long index) {
+    return UnsafeReference.UNSAFE.getAndAddLong(object, align(index), delta);
+  }
+
+  float getAndAddFloat(float delta, long index) {
+    long address = align(index);
+    int current;
+    do {
+      current = UnsafeReference.UNSAFE.getIntVolatile(object, address);
+    } while (!UnsafeReference.UNSAFE.compareAndSwapInt(object, address, current,
+        Float.floatToRawIntBits(Float.intBitsToFloat(current) + delta)));
+    return Float.intBitsToFloat(current);
+  }
+
+  double getAndAddDouble(double delta, long index) {
+    long address = align(index);
+    long current;
+    do {
+      current = UnsafeReference.UNSAFE.getLongVolatile(object, address);
+    } while (!UnsafeReference.UNSAFE.compareAndSwapLong(object, address, current,
+        Double.doubleToRawLongBits(Double.longBitsToDouble(current) + delta)));
+    return Double.longBitsToDouble(current);
+  }
+
+  void setMemory(byte value, long from, long to) {
+    UnsafeReference.UNSAFE.setMemory(object, align(from), scale(to - from), value);
+  }
+
+  void replicate(long from, long to) {
+    // Copy the value found at the first index to the rest of the range, doubling the size of the
+    // initialized segment on each iteration
+    long count = to - from;
+    for (long filled = 1; filled < count; ) {
+      long n = Math.min(filled, count - filled);
+      UnsafeReference.UNSAFE.copyMemory(object, align(from), object, align(from + filled), scale(n));
+      filled += n;
+    }
+  }
+
   void copyTo(UnsafeMemoryHandle memory, long length) {
-    UnsafeReference.UNSAFE.copyMemory(object, byteOffset, memory.object, memory.byteOffset, length * scale);
+    UnsafeReference.UNSAFE.copyMemory(object, align(0), memory.object, memory.align(0), length * scale);
   }
 
   UnsafeMemoryHandle offset(long index) {
     long offset = scale(index);
-    return new UnsafeMemoryHandle(object, this.byteOffset + offset, byteSize - offset, scale);
+    return new UnsafeMemoryHandle(object, this.byteOffset + offset, byteSize - offset, scale, owner, released);
   }
 
   UnsafeMemoryHandle narrow(long size) {
-    return new UnsafeMemoryHandle(object, byteOffset, scale(size), scale);
+    return new UnsafeMemoryHandle(object, byteOffset, scale(size), scale, owner, released);
   }
 
   UnsafeMemoryHandle slice(long index, long size) {
-    return new UnsafeMemoryHandle(object, this.byteOffset + scale(index), scale(size), scale);
+    return new UnsafeMemoryHandle(object, this.byteOffset + scale(index), scale(size), scale, owner, released);
   }
 
   UnsafeMemoryHandle rescale(long scale) {
     if (object != null) {
       throw new IllegalStateException("Raw heap memory cannot be rescaled");
     }
-    return new UnsafeMemoryHandle(null, byteOffset, byteSize, scale);
+    return new UnsafeMemoryHandle(null, byteOffset, byteSize, scale, owner, released);
+  }
+
+  /**
+   * Returns a handle to the same memory that cannot be accessed anymore once {@code released} is
+   * set, like all handles derived from it.
+   */
+  UnsafeMemoryHandle guardedBy(AtomicBoolean released) {
+    return new UnsafeMemoryHandle(object, byteOffset, byteSize, scale, owner, released);
   }
 
   boolean isArray() {
@@ -161,19 +254,74 @@ final class UnsafeMemoryHandle {
     return DoubleBuffer.wrap((double[])object, (int)((byteOffset - UnsafeReference.UNSAFE.arrayBaseOffset(double[].class)) / scale), (int)size());
   }
 
+  /**
+   * Returns a view of this memory as a slice of the direct buffer that owns it, or null if this
+   * memory is not owned by a direct buffer of bytes.
+   */
+  ByteBuffer toDirectByteBuffer() {
+    if (!(owner instanceof ByteBuffer)) {
+      return null;
+    }
+    ByteBuffer buffer = ((ByteBuffer)owner).duplicate();
+    int position = (int)(align(0) - bufferAddress(buffer));
+    buffer.clear();
+    buffer.position(position).limit(position + (int)byteSize);
+    return buffer.slice();
+  }
+
   final Object object;
   final long byteOffset;
   final long byteSize;
   final long scale;
+  private final Object owner;
+  private final AtomicBoolean released;
 
   private UnsafeMemoryHandle(Object object, long byteOffset, long byteSize, long scale) {
+    this(object, byteOffset, byteSize, scale, null);
+  }
+
+  private UnsafeMemoryHandle(Object object, long byteOffset, long byteSize, long scale, Object owner) {
+    this(object, byteOffset, byteSize, scale, owner, null);
+  }
+
+  private UnsafeMemoryHandle(Object object, long byteOffset, long byteSize, long scale, Object owner, AtomicBoolean released) {
     this.object = object;
     this.byteOffset = byteOffset;
     this.byteSize = byteSize;
     this.scale = scale;
+    this.owner = owner;
+    this.released = released;
+  }
+
+  /*
+   * The native address of direct buffers is read from the private "address" field of
+   * java.nio.Buffer, which the JDK does not expose in any other way. Its offset is resolved only
+   * once and is negative if this field does not exist on this JVM, in which case direct buffers are
+   * not wrapped by raw buffers.
+   */
+  private static final long BUFFER_ADDRESS_OFFSET = fieldOffset("address");
+
+  private static long bufferAddress(Buffer buffer) {
+    return UnsafeReference.UNSAFE.getLong(buffer, BUFFER_ADDRESS_OFFSET);
+  }
+
+  private static long fieldOffset(String bufferFieldName) {
+    if (!UnsafeReference.isAvailable()) {
+      return -1L;
+    }
+    try {
+      return UnsafeReference.UNSAFE.objectFieldOffset(Buffer.class.getDeclaredField(bufferFieldName));
+    } catch (NoSuchFieldException | SecurityException | UnsupportedOperationException e) {
+      return -1L;
+    }
   }
 
   private long align(long index) {
+    // All accesses to the memory go through this method, so it is the only place where a released
+    // block of a pool needs to be checked
+    if (released != null && released.get()) {
+      throw new IllegalStateException("Buffer has been returned to the pool");
+    }
     return byteOffset + index * scale;
   }
 
@@ -51,9 +51,19 @@ final class UnsafeReference {
         clazz.getDeclaredMethod("putDouble", Object.class, long.class, double.class);
         clazz.getDeclaredMethod("getBoolean", Object.class, long.class);
         clazz.getDeclaredMethod("putBoolean", Object.class, long.class, boolean.class);
+        clazz.getDeclaredMethod("getIntVolatile", Object.class, long.class);
+        clazz.getDeclaredMethod("getLongVolatile", Object.class, long.class);
+        clazz.getDeclaredMethod("compareAndSwapInt", Object.class, long.class, int.class, int.class);
+        clazz.getDeclaredMethod("compareAndSwapLong", Object.class, long.class, long.class, long.class);
+        clazz.getDeclaredMethod("getAndAddInt", Object.class, long.class, int.class);
+        clazz.getDeclaredMethod("getAndAddLong", Object.class, long.class, long.class);
+        clazz.getDeclaredMethod("setMemory", Object.class, long.class, long.class, byte.class);
         clazz.getDeclaredMethod("copyMemory", Object.class, long.class, Object.class, long.class, long.class);
         clazz.getDeclaredMethod("arrayBaseOffset", Class.class);
         clazz.getDeclaredMethod("arrayIndexScale", Class.class);
+        clazz.getDeclaredMethod("objectFieldOffset", Field.class);
+        clazz.getDeclaredMethod("allocateMemory", long.class);
+        clazz.getDeclaredMethod("freeMemory", long.class);
         unsafe = (Unsafe) instance;
       }
     } catch (ClassNotFoundException | NoSuchMethodException | NoSuchFieldException | SecurityException | IllegalAccessException | ClassCastException ex) {
@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.striped;
+
+import java.lang.reflect.Array;
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataStorageVisitor;
+import org.tensorflow.tools.buffer.impl.AbstractDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * Base class of buffers accumulating values in multiple stripes, where the actual value at a given
+ * index is the sum of the values found at this index in each stripe.
+ *
+ * <p>Each thread adds values to a stripe selected by its identity, reducing contention between
+ * threads updating the same indices concurrently. Stripes are merged on each read.
+ *
+ * @param <T> type of values in this buffer
+ * @param <B> type of the buffers used as stripes
+ */
+abstract class AbstractStripedDataBuffer<T, B extends DataBuffer<T>> extends AbstractDataBuffer<T> {
+
+  @Override
+  public long size() {
+    return stripes[0].size();
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return false;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public B slice(long index, long size) {
+    Validator.sliceArgs(this, index, size);
+    B[] slices = (B[])Array.newInstance(stripes.getClass().getComponentType(), stripes.length);
+    for (int i = 0; i < stripes.length; ++i) {
+      slices[i] = (B)stripes[i].slice(index, size);
+    }
+    return instantiate(slices);
+  }
+
+  @Override
+  public <R> R accept(DataStorageVisitor<R> visitor) {
+    // values are spread across multiple stripes, there is no single storage to visit
+    return visitor.fallback();
+  }
+
+  /**
+   * @return number of stripes used by this buffer
+   */
+  int numStripes() {
+    return stripes.length;
+  }
+
+  protected abstract B instantiate(B[] stripes);
+
+  /**
+   * Returns the stripe receiving the updates of the current thread.
+   */
+  protected B stripe() {
+    long threadId = Thread.currentThread().getId();
+    return stripes[(int)((threadId * 0x9E3779B97F4A7C15L) >>> 32) & (stripes.length - 1)];
+  }
+
+  protected final B[] stripes;
+
+  AbstractStripedDataBuffer(B[] stripes) {
+    this.stripes = stripes;
+  }
+
+  // number of values merged at once by bulk operations
+  static final int CHUNK_SIZE = 1024;
+}
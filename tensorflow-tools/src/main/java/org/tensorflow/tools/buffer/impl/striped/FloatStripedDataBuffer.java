@@ -0,0 +1,140 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.striped;
+
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * A buffer of floats accumulated in multiple stripes.
+ */
+final class FloatStripedDataBuffer extends AbstractStripedDataBuffer<Float, FloatDataBuffer>
+    implements FloatDataBuffer {
+
+  @Override
+  public float getFloat(long index) {
+    Validator.getArgs(this, index);
+    float value = stripes[0].getFloat(index);
+    for (int i = 1; i < stripes.length; ++i) {
+      value += stripes[i].getFloat(index);
+    }
+    return value;
+  }
+
+  @Override
+  public FloatDataBuffer setFloat(float value, long index) {
+    Validator.setArgs(this, index);
+    stripes[0].setFloat(value, index);
+    for (int i = 1; i < stripes.length; ++i) {
+      stripes[i].setFloat(0.0f, index);
+    }
+    return this;
+  }
+
+  @Override
+  public FloatDataBuffer addFloat(float delta, long index) {
+    Validator.setArgs(this, index);
+    stripe().addFloat(delta, index);
+    return this;
+  }
+
+  @Override
+  public FloatDataBuffer read(float[] dst, int offset, int length) {
+    Validator.readArgs(this, dst.length, offset, length);
+    stripes[0].read(dst, offset, length);
+    if (stripes.length > 1) {
+      float[] chunk = new float[Math.min(length, CHUNK_SIZE)];
+      for (int i = 0; i < length; i += chunk.length) {
+        int n = Math.min(chunk.length, length - i);
+        for (int s = 1; s < stripes.length; ++s) {
+          stripes[s].offset(i).read(chunk, 0, n);
+          for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+            dst[k] += chunk[j];
+          }
+        }
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public FloatDataBuffer write(float[] src, int offset, int length) {
+    Validator.writeArgs(this, src.length, offset, length);
+    stripes[0].write(src, offset, length);
+    for (int i = 1; i < stripes.length; ++i) {
+      stripes[i].fill(0.0f, 0, length);
+    }
+    return this;
+  }
+
+  @Override
+  public FloatDataBuffer fill(float value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    stripes[0].fill(value, from, to);
+    for (int i = 1; i < stripes.length; ++i) {
+      stripes[i].fill(0.0f, from, to);
+    }
+    return this;
+  }
+
+  @Override
+  public FloatDataBuffer copyTo(DataBuffer<Float> dst, long size) {
+    Validator.copyToArgs(this, dst, size);
+    if (dst instanceof FloatDataBuffer) {
+      FloatDataBuffer floatDst = (FloatDataBuffer)dst;
+      float[] chunk = new float[(int)Math.min(size, CHUNK_SIZE)];
+      for (long i = 0; i < size; i += chunk.length) {
+        int n = (int)Math.min(chunk.length, size - i);
+        slice(i, n).read(chunk, 0, n);
+        floatDst.offset(i).write(chunk, 0, n);
+      }
+      return this;
+    }
+    return slowCopyTo(dst, size);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof FloatDataBuffer)) {
+      return super.equals(obj);
+    }
+    FloatDataBuffer other = (FloatDataBuffer)obj;
+    if (size() != other.size()) {
+      return false;
+    }
+    for (long idx = 0L; idx < size(); ++idx) {
+      if (other.getFloat(idx) != getFloat(idx)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected FloatDataBuffer instantiate(FloatDataBuffer[] stripes) {
+    return new FloatStripedDataBuffer(stripes);
+  }
+
+  FloatStripedDataBuffer(FloatDataBuffer[] stripes) {
+    super(stripes);
+  }
+}
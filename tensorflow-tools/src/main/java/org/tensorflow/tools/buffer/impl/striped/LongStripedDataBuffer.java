@@ -0,0 +1,140 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.striped;
+
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.LongDataBuffer;
+import org.tensorflow.tools.buffer.impl.Validator;
+
+/**
+ * A buffer of longs accumulated in multiple stripes.
+ */
+final class LongStripedDataBuffer extends AbstractStripedDataBuffer<Long, LongDataBuffer>
+    implements LongDataBuffer {
+
+  @Override
+  public long getLong(long index) {
+    Validator.getArgs(this, index);
+    long value = stripes[0].getLong(index);
+    for (int i = 1; i < stripes.length; ++i) {
+      value += stripes[i].getLong(index);
+    }
+    return value;
+  }
+
+  @Override
+  public LongDataBuffer setLong(long value, long index) {
+    Validator.setArgs(this, index);
+    stripes[0].setLong(value, index);
+    for (int i = 1; i < stripes.length; ++i) {
+      stripes[i].setLong(0L, index);
+    }
+    return this;
+  }
+
+  @Override
+  public LongDataBuffer addLong(long delta, long index) {
+    Validator.setArgs(this, index);
+    stripe().addLong(delta, index);
+    return this;
+  }
+
+  @Override
+  public LongDataBuffer read(long[] dst, int offset, int length) {
+    Validator.readArgs(this, dst.length, offset, length);
+    stripes[0].read(dst, offset, length);
+    if (stripes.length > 1) {
+      long[] chunk = new long[Math.min(length, CHUNK_SIZE)];
+      for (int i = 0; i < length; i += chunk.length) {
+        int n = Math.min(chunk.length, length - i);
+        for (int s = 1; s < stripes.length; ++s) {
+          stripes[s].offset(i).read(chunk, 0, n);
+          for (int j = 0, k = offset + i; j < n; ++j, ++k) {
+            dst[k] += chunk[j];
+          }
+        }
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public LongDataBuffer write(long[] src, int offset, int length) {
+    Validator.writeArgs(this, src.length, offset, length);
+    stripes[0].write(src, offset, length);
+    for (int i = 1; i < stripes.length; ++i) {
+      stripes[i].fill(0L, 0, length);
+    }
+    return this;
+  }
+
+  @Override
+  public LongDataBuffer fill(long value, long from, long to) {
+    Validator.fillArgs(this, from, to);
+    stripes[0].fill(value, from, to);
+    for (int i = 1; i < stripes.length; ++i) {
+      stripes[i].fill(0L, from, to);
+    }
+    return this;
+  }
+
+  @Override
+  public LongDataBuffer copyTo(DataBuffer<Long> dst, long size) {
+    Validator.copyToArgs(this, dst, size);
+    if (dst instanceof LongDataBuffer) {
+      LongDataBuffer longDst = (LongDataBuffer)dst;
+      long[] chunk = new long[(int)Math.min(size, CHUNK_SIZE)];
+      for (long i = 0; i < size; i += chunk.length) {
+        int n = (int)Math.min(chunk.length, size - i);
+        slice(i, n).read(chunk, 0, n);
+        longDst.offset(i).write(chunk, 0, n);
+      }
+      return this;
+    }
+    return slowCopyTo(dst, size);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof LongDataBuffer)) {
+      return super.equals(obj);
+    }
+    LongDataBuffer other = (LongDataBuffer)obj;
+    if (size() != other.size()) {
+      return false;
+    }
+    for (long idx = 0L; idx < size(); ++idx) {
+      if (other.getLong(idx) != getLong(idx)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected LongDataBuffer instantiate(LongDataBuffer[] stripes) {
+    return new LongStripedDataBuffer(stripes);
+  }
+
+  LongStripedDataBuffer(LongDataBuffer[] stripes) {
+    super(stripes);
+  }
+}
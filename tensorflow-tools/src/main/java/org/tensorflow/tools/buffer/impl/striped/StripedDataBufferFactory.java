@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.striped;
+
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.LongDataBuffer;
+
+/**
+ * Factory of striped data buffers, which spread concurrent atomic additions across multiple
+ * copies of their values to reduce contention between threads.
+ */
+public class StripedDataBufferFactory {
+
+  public static FloatDataBuffer createFloats(long size) {
+    return createFloats(size, defaultNumStripes());
+  }
+
+  public static FloatDataBuffer createFloats(long size, int numStripes) {
+    FloatDataBuffer[] stripes = new FloatDataBuffer[stripesLength(numStripes)];
+    for (int i = 0; i < stripes.length; ++i) {
+      stripes[i] = DataBuffers.ofFloats(size);
+    }
+    return new FloatStripedDataBuffer(stripes);
+  }
+
+  public static LongDataBuffer createLongs(long size) {
+    return createLongs(size, defaultNumStripes());
+  }
+
+  public static LongDataBuffer createLongs(long size, int numStripes) {
+    LongDataBuffer[] stripes = new LongDataBuffer[stripesLength(numStripes)];
+    for (int i = 0; i < stripes.length; ++i) {
+      stripes[i] = DataBuffers.ofLongs(size);
+    }
+    return new LongStripedDataBuffer(stripes);
+  }
+
+  private static int defaultNumStripes() {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  private static int stripesLength(int numStripes) {
+    if (numStripes < 1 || numStripes > MAX_STRIPES) {
+      throw new IllegalArgumentException("Number of stripes must be between 1 and " + MAX_STRIPES + ", got " + numStripes);
+    }
+    // round up to a power of two so a stripe can be selected by masking a hash
+    return numStripes == 1 ? 1 : Integer.highestOneBit(numStripes - 1) << 1;
+  }
+
+  private static final int MAX_STRIPES = 1 << 16;
+}
@@ -117,6 +117,42 @@ public interface DataLayout<S extends DataBuffer<?>, T> {
    */
   T readObject(S buffer, long index);
 
+  /**
+   * Converts and writes a sequence of user values into the buffer, starting at its first position.
+   *
+   * <p>The default implementation simply invokes {@link #writeObject(DataBuffer, Object, long)}
+   * for each value, but layouts are encouraged to override it when the conversion of multiple
+   * values can share some resources or be done in bulk.
+   *
+   * @param buffer the buffer to write to
+   * @param src the array of values to convert and write
+   * @param offset offset of the first value to write in the source array
+   * @param length number of values to write
+   */
+  default void writeObjects(S buffer, T[] src, int offset, int length) {
+    for (int i = 0, j = offset; i < length; ++i, ++j) {
+      writeObject(buffer, src[j], i * scale());
+    }
+  }
+
+  /**
+   * Reads and converts a sequence of user values from the buffer, starting at its first position.
+   *
+   * <p>The default implementation simply invokes {@link #readObject(DataBuffer, long)} for each
+   * value, but layouts are encouraged to override it when the conversion of multiple values can
+   * share some resources or be done in bulk.
+   *
+   * @param buffer the buffer to read from
+   * @param dst the array receiving the converted values
+   * @param offset offset of the first value to read in the destination array
+   * @param length number of values to read
+   */
+  default void readObjects(S buffer, T[] dst, int offset, int length) {
+    for (int i = 0, j = offset; i < length; ++i, ++j) {
+      dst[j] = readObject(buffer, i * scale());
+    }
+  }
+
   /**
    * Indicates the number of buffer values are required to represent a single user value, default is 1.
    *
@@ -24,6 +24,7 @@ import org.tensorflow.tools.buffer.ShortDataBuffer;
 import org.tensorflow.tools.buffer.impl.layout.Bfloat16Layout;
 import org.tensorflow.tools.buffer.impl.layout.BoolLayout;
 import org.tensorflow.tools.buffer.impl.layout.Float16Layout;
+import org.tensorflow.tools.buffer.impl.layout.QuantizedLayout;
 import org.tensorflow.tools.buffer.impl.layout.StringLayout;
 
 /**
@@ -84,12 +85,87 @@ public final class DataLayouts {
    * Creates a data layout for converting strings to/from byte sequences.
    *
    * <p>This layout requires a {@code charset} in parameter to specify how the strings must be
-   * encoded/decoded as byte sequences. So a new layout instance is always returned.
+   * encoded/decoded as byte sequences. The same layout instance is returned for a given charset.
    *
    * @param charset charset to use
-   * @return a new string layout
+   * @return a string layout
    */
   public static DataLayout<DataBuffer<byte[]>, String> ofStrings(Charset charset) {
     return StringLayout.of(charset);
   }
+
+  /**
+   * Creates a data layout for converting floats to/from signed 8-bit quantized values.
+   *
+   * <p>Quantized values {@code q} are mapped to real values {@code r} using the affine relation
+   * {@code r = (q - zeroPoint) * scale}. When writing, real values are rounded to the nearest
+   * quantized value and saturated to the range [-128, 127], including infinite values, while
+   * {@code NaN} is written as {@code zeroPoint}.
+   *
+   * <p>This is the format used by TensorFlow {@code qint8} and TensorFlow Lite {@code int8}
+   * tensors, allowing a quantized tensor to be read and written as floats while keeping its 4x
+   * smaller storage:
+   * <pre>{@code
+   * FloatDataBuffer weights = DataLayouts.quantized(0.05f, 0).applyTo(quantizedBytes);
+   * FloatNdArray array = NdArrays.wrap(Shape.of(64, 64), weights);
+   * }</pre>
+   *
+   * @param scale quantization step, must be finite and strictly positive
+   * @param zeroPoint quantized value representing the real value 0, in the range [-128, 127]
+   * @return a new quantized layout
+   * @throws IllegalArgumentException if the quantization parameters are invalid
+   */
+  public static FloatDataLayout<ByteDataBuffer> quantized(float scale, int zeroPoint) {
+    return QuantizedLayout.create(scale, zeroPoint, false);
+  }
+
+  /**
+   * Creates a data layout for converting floats to/from signed 8-bit values quantized along an axis.
+   *
+   * <p>The quantization parameters at index {@code i} of {@code scales} and {@code zeroPoints} apply
+   * to all values found at the {@code i}-th element of the quantized axis. The {@code axisStride}
+   * is the number of consecutive values sharing the same parameters, i.e. the product of the
+   * dimensions following the quantized axis (1 if it is the last one).
+   *
+   * @param scales quantization steps of each element of the axis
+   * @param zeroPoints zero points of each element of the axis, in the range [-128, 127]
+   * @param axisStride number of consecutive values sharing the same parameters
+   * @return a new quantized layout
+   * @throws IllegalArgumentException if the quantization parameters are invalid
+   * @see #quantized(float, int)
+   */
+  public static FloatDataLayout<ByteDataBuffer> quantized(float[] scales, int[] zeroPoints, long axisStride) {
+    return QuantizedLayout.create(scales, zeroPoints, axisStride, false);
+  }
+
+  /**
+   * Creates a data layout for converting floats to/from unsigned 8-bit quantized values.
+   *
+   * <p>Same as {@link #quantized(float, int)}, except that quantized values are stored as unsigned
+   * bytes in the range [0, 255], like TensorFlow {@code quint8} and TensorFlow Lite {@code uint8}
+   * tensors.
+   *
+   * @param scale quantization step, must be finite and strictly positive
+   * @param zeroPoint quantized value representing the real value 0, in the range [0, 255]
+   * @return a new quantized layout
+   * @throws IllegalArgumentException if the quantization parameters are invalid
+   */
+  public static FloatDataLayout<ByteDataBuffer> quantizedUnsigned(float scale, int zeroPoint) {
+    return QuantizedLayout.create(scale, zeroPoint, true);
+  }
+
+  /**
+   * Creates a data layout for converting floats to/from unsigned 8-bit values quantized along an
+   * axis.
+   *
+   * @param scales quantization steps of each element of the axis
+   * @param zeroPoints zero points of each element of the axis, in the range [0, 255]
+   * @param axisStride number of consecutive values sharing the same parameters
+   * @return a new quantized layout
+   * @throws IllegalArgumentException if the quantization parameters are invalid
+   * @see #quantized(float[], int[], long)
+   */
+  public static FloatDataLayout<ByteDataBuffer> quantizedUnsigned(float[] scales, int[] zeroPoints, long axisStride) {
+    return QuantizedLayout.create(scales, zeroPoints, axisStride, true);
+  }
 }
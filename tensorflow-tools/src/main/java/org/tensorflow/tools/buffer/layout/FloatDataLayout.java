@@ -53,6 +53,56 @@ public interface FloatDataLayout<S extends DataBuffer<?>> extends DataLayout<S,
    */
   float readFloat(S buffer, long index);
 
+  /**
+   * Converts and writes a sequence of floats into the buffer, starting at its first position.
+   *
+   * <p>The default implementation simply invokes {@link #writeFloat(DataBuffer, float, long)} for
+   * each value, but layouts are encouraged to override it with a more efficient bulk conversion.
+   *
+   * @param buffer the buffer to write to
+   * @param src the array of floats to convert and write
+   * @param offset offset of the first value to write in the source array
+   * @param length number of floats to write
+   */
+  default void writeFloats(S buffer, float[] src, int offset, int length) {
+    for (int i = 0, j = offset; i < length; ++i, ++j) {
+      writeFloat(buffer, src[j], i * scale());
+    }
+  }
+
+  /**
+   * Reads and converts a sequence of floats from the buffer, starting at its first position.
+   *
+   * <p>The default implementation simply invokes {@link #readFloat(DataBuffer, long)} for each
+   * value, but layouts are encouraged to override it with a more efficient bulk conversion.
+   *
+   * @param buffer the buffer to read from
+   * @param dst the array receiving the converted floats
+   * @param offset offset of the first value to read in the destination array
+   * @param length number of floats to read
+   */
+  default void readFloats(S buffer, float[] dst, int offset, int length) {
+    for (int i = 0, j = offset; i < length; ++i, ++j) {
+      dst[j] = readFloat(buffer, i * scale());
+    }
+  }
+
+  /**
+   * Returns a layout converting the values of a buffer starting at the given index of the buffers
+   * this layout applies to.
+   *
+   * <p>Most layouts convert each value independently of its position and can simply return
+   * themselves, which is what the default implementation does. Layouts whose conversion depends on
+   * the position of a value in the original buffer (e.g. per-axis quantization) must override this
+   * method so that offset or sliced views of a buffer remain consistent with the original one.
+   *
+   * @param index index of the first value, in this layout units, of the new origin
+   * @return a layout relative to the new origin
+   */
+  default FloatDataLayout<S> offset(long index) {
+    return this;
+  }
+
   @Override
   default void writeObject(S buffer, Float value, long index) {
     writeFloat(buffer, value, index);
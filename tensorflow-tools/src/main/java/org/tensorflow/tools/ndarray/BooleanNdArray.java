@@ -16,6 +16,7 @@
  */
 package org.tensorflow.tools.ndarray;
 
+import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.BooleanDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.ndarray.index.Index;
@@ -70,6 +71,21 @@ public interface BooleanNdArray extends NdArray<Boolean> {
   @Override
   BooleanNdArray slice(Index... indices);
 
+  @Override
+  BooleanNdArray transpose(int... axes);
+
+  @Override
+  BooleanNdArray broadcastTo(Shape shape);
+
+  @Override
+  BooleanNdArray reshape(Shape shape);
+
+  @Override
+  BooleanNdArray squeeze();
+
+  @Override
+  BooleanNdArray expandDims(int axis);
+
   @Override
   BooleanNdArray get(long... coordinates);
 
@@ -86,6 +102,9 @@ public interface BooleanNdArray extends NdArray<Boolean> {
     return setBoolean(value, coordinates);
   }
 
+  @Override
+  BooleanNdArray fill(Boolean value);
+
   @Override
   NdArraySequence<BooleanNdArray> elements(int dimensionIdx);
 
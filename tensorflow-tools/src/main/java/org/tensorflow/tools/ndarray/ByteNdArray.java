@@ -16,6 +16,7 @@
  */
 package org.tensorflow.tools.ndarray;
 
+import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.ByteDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.ndarray.index.Index;
@@ -70,6 +71,21 @@ public interface ByteNdArray extends NdArray<Byte> {
   @Override
   ByteNdArray slice(Index... indices);
 
+  @Override
+  ByteNdArray transpose(int... axes);
+
+  @Override
+  ByteNdArray broadcastTo(Shape shape);
+
+  @Override
+  ByteNdArray reshape(Shape shape);
+
+  @Override
+  ByteNdArray squeeze();
+
+  @Override
+  ByteNdArray expandDims(int axis);
+
   @Override
   ByteNdArray get(long... coordinates);
 
@@ -86,6 +102,9 @@ public interface ByteNdArray extends NdArray<Byte> {
     return setByte(value, coordinates);
   }
 
+  @Override
+  ByteNdArray fill(Byte value);
+
   @Override
   NdArraySequence<ByteNdArray> elements(int dimensionIdx);
 
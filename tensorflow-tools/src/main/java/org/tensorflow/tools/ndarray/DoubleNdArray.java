@@ -16,6 +16,8 @@
  */
 package org.tensorflow.tools.ndarray;
 
+import java.util.stream.DoubleStream;
+import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.DoubleDataBuffer;
 import org.tensorflow.tools.ndarray.index.Index;
@@ -70,6 +72,21 @@ public interface DoubleNdArray extends NdArray<Double> {
   @Override
   DoubleNdArray slice(Index... indices);
 
+  @Override
+  DoubleNdArray transpose(int... axes);
+
+  @Override
+  DoubleNdArray broadcastTo(Shape shape);
+
+  @Override
+  DoubleNdArray reshape(Shape shape);
+
+  @Override
+  DoubleNdArray squeeze();
+
+  @Override
+  DoubleNdArray expandDims(int axis);
+
   @Override
   DoubleNdArray get(long... coordinates);
 
@@ -86,12 +103,27 @@ public interface DoubleNdArray extends NdArray<Double> {
     return setDouble(value, coordinates);
   }
 
+  @Override
+  DoubleNdArray fill(Double value);
+
   @Override
   NdArraySequence<DoubleNdArray> elements(int dimensionIdx);
 
   @Override
   NdArraySequence<DoubleNdArray> scalars();
 
+  /**
+   * Returns a stream of the values of the scalars of this array.
+   *
+   * <p>Scalars are streamed in the same order as {@link #scalars()} and can be processed in
+   * parallel by calling {@link DoubleStream#parallel()}, without copying any data.
+   *
+   * @return stream of values
+   */
+  default DoubleStream doubleStream() {
+    return scalars().stream().mapToDouble(DoubleNdArray::getDouble);
+  }
+
   @Override
   DoubleNdArray copyTo(NdArray<Double> dst);
 
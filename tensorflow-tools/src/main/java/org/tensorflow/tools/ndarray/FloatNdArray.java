@@ -16,6 +16,8 @@
  */
 package org.tensorflow.tools.ndarray;
 
+import java.util.stream.DoubleStream;
+import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.FloatDataBuffer;
 import org.tensorflow.tools.ndarray.index.Index;
@@ -25,6 +27,38 @@ import org.tensorflow.tools.ndarray.index.Index;
  */
 public interface FloatNdArray extends NdArray<Float> {
 
+  /**
+   * Operation accepting a float value.
+   */
+  @FunctionalInterface
+  interface FloatConsumer {
+    void accept(float value);
+  }
+
+  /**
+   * Operation accepting a float value and its coordinates.
+   */
+  @FunctionalInterface
+  interface IndexedFloatConsumer {
+    void accept(long[] coordinates, float value);
+  }
+
+  /**
+   * Operation computing a new float value from an existing one.
+   */
+  @FunctionalInterface
+  interface FloatUnaryOperator {
+    float applyAsFloat(float value);
+  }
+
+  /**
+   * Operation computing a new float value from an existing one and its coordinates.
+   */
+  @FunctionalInterface
+  interface IndexedFloatUnaryOperator {
+    float applyAsFloat(long[] coordinates, float value);
+  }
+
   /**
    * Returns the float value of the scalar found at the given coordinates.
    *
@@ -70,6 +104,21 @@ public interface FloatNdArray extends NdArray<Float> {
   @Override
   FloatNdArray slice(Index... coordinates);
 
+  @Override
+  FloatNdArray transpose(int... axes);
+
+  @Override
+  FloatNdArray broadcastTo(Shape shape);
+
+  @Override
+  FloatNdArray reshape(Shape shape);
+
+  @Override
+  FloatNdArray squeeze();
+
+  @Override
+  FloatNdArray expandDims(int axis);
+
   @Override
   FloatNdArray get(long... coordinates);
 
@@ -86,12 +135,96 @@ public interface FloatNdArray extends NdArray<Float> {
     return setFloat(value, coordinates);
   }
 
+  @Override
+  FloatNdArray fill(Float value);
+
   @Override
   NdArraySequence<FloatNdArray> elements(int dimensionIdx);
 
   @Override
   NdArraySequence<FloatNdArray> scalars();
 
+  /**
+   * Visits the value of each scalar of this array.
+   *
+   * <p>Scalars are visited in the same order as {@link #scalars()}, but without creating a view
+   * for each of them. For example:
+   * <pre>{@code
+   *  FloatNdArray matrix = NdArrays.ofFloats(shape(1000, 1000));
+   *  double[] sum = { 0.0 };
+   *  matrix.forEachFloat(v -> sum[0] += v);
+   * }</pre>
+   *
+   * @param consumer method to invoke for each value
+   * @return this array
+   */
+  default FloatNdArray forEachFloat(FloatConsumer consumer) {
+    scalars().forEach(s -> consumer.accept(s.getFloat()));
+    return this;
+  }
+
+  /**
+   * Visits the value of each scalar of this array and their respective coordinates.
+   *
+   * <p><i>Important: the consumer method should not keep a reference to the coordinates
+   * as they are reused during the iteration to avoid allocations.</i>
+   *
+   * @param consumer method to invoke for each value
+   * @return this array
+   * @see #forEachFloat(FloatConsumer)
+   */
+  default FloatNdArray forEachFloatIndexed(IndexedFloatConsumer consumer) {
+    scalars().forEachIndexed((coords, s) -> consumer.accept(coords, s.getFloat()));
+    return this;
+  }
+
+  /**
+   * Replaces the value of each scalar of this array by the result of an operation on that value.
+   *
+   * <p>Scalars are visited in the same order as {@link #scalars()}, but without creating a view
+   * for each of them. For example:
+   * <pre>{@code
+   *  FloatNdArray matrix = NdArrays.ofFloats(shape(1000, 1000));
+   *  matrix.updateFloats(v -> Math.max(v, 0.0f));  // ReLU
+   * }</pre>
+   *
+   * @param operator operation computing the new value of a scalar
+   * @return this array
+   */
+  default FloatNdArray updateFloats(FloatUnaryOperator operator) {
+    scalars().forEach(s -> s.setFloat(operator.applyAsFloat(s.getFloat())));
+    return this;
+  }
+
+  /**
+   * Replaces the value of each scalar of this array by the result of an operation on that value
+   * and its coordinates.
+   *
+   * <p><i>Important: the operator should not keep a reference to the coordinates as they are
+   * reused during the iteration to avoid allocations.</i>
+   *
+   * @param operator operation computing the new value of a scalar
+   * @return this array
+   * @see #updateFloats(FloatUnaryOperator)
+   */
+  default FloatNdArray updateFloatsIndexed(IndexedFloatUnaryOperator operator) {
+    scalars().forEachIndexed((coords, s) -> s.setFloat(operator.applyAsFloat(coords, s.getFloat())));
+    return this;
+  }
+
+  /**
+   * Returns a stream of the values of the scalars of this array.
+   *
+   * <p>Since Java does not provide a stream of floats, values are widened to doubles. Scalars are
+   * streamed in the same order as {@link #scalars()} and can be processed in parallel by calling
+   * {@link DoubleStream#parallel()}, without copying any data.
+   *
+   * @return stream of values
+   */
+  default DoubleStream floatStream() {
+    return scalars().stream().mapToDouble(FloatNdArray::getFloat);
+  }
+
   @Override
   FloatNdArray copyTo(NdArray<Float> dst);
 
@@ -16,6 +16,7 @@
  */
 package org.tensorflow.tools.ndarray;
 
+import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.IntDataBuffer;
 import org.tensorflow.tools.ndarray.index.Index;
@@ -70,6 +71,21 @@ public interface IntNdArray extends NdArray<Integer> {
   @Override
   IntNdArray slice(Index... indices);
 
+  @Override
+  IntNdArray transpose(int... axes);
+
+  @Override
+  IntNdArray broadcastTo(Shape shape);
+
+  @Override
+  IntNdArray reshape(Shape shape);
+
+  @Override
+  IntNdArray squeeze();
+
+  @Override
+  IntNdArray expandDims(int axis);
+
   @Override
   IntNdArray get(long... coordinates);
 
@@ -86,6 +102,9 @@ public interface IntNdArray extends NdArray<Integer> {
     return setInt(value, coordinates);
   }
 
+  @Override
+  IntNdArray fill(Integer value);
+
   @Override
   NdArraySequence<IntNdArray> elements(int dimensionIdx);
 
@@ -16,6 +16,7 @@
  */
 package org.tensorflow.tools.ndarray;
 
+import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.LongDataBuffer;
 import org.tensorflow.tools.ndarray.index.Index;
@@ -70,6 +71,21 @@ public interface LongNdArray extends NdArray<Long> {
   @Override
   LongNdArray slice(Index... indices);
 
+  @Override
+  LongNdArray transpose(int... axes);
+
+  @Override
+  LongNdArray broadcastTo(Shape shape);
+
+  @Override
+  LongNdArray reshape(Shape shape);
+
+  @Override
+  LongNdArray squeeze();
+
+  @Override
+  LongNdArray expandDims(int axis);
+
   @Override
   LongNdArray get(long... coordinates);
 
@@ -86,6 +102,9 @@ public interface LongNdArray extends NdArray<Long> {
     return setLong(value, coordinates);
   }
 
+  @Override
+  LongNdArray fill(Long value);
+
   @Override
   NdArraySequence<LongNdArray> elements(int dimensionIdx);
 
@@ -159,6 +159,107 @@ public interface NdArray<T> {
    */
   NdArray<T> slice(Index... indices);
 
+  /**
+   * Creates a view of this array with its dimensions permuted.
+   *
+   * <p>The dimension {@code i} of the returned view is the dimension {@code axes[i]} of this array.
+   * No data is copied or moved: the view simply accesses the values of this array in a different
+   * order, so any changes applied to it affect the data of this array as well. For example:
+   * <pre>{@code
+   *    FloatNdArray nhwc = NdArrays.ofFloats(shape(32, 28, 28, 3));
+   *    FloatNdArray nchw = nhwc.transpose(0, 3, 1, 2);
+   *    assertEquals(shape(32, 3, 28, 28), nchw.shape());
+   *    assertEquals(nhwc.getFloat(1, 2, 3, 0), nchw.getFloat(1, 0, 2, 3), 0.0f);
+   * }</pre>
+   *
+   * <p>Since the values of the view are not contiguous in memory, copying it to an array whose
+   * storage is contiguous, for example before feeding its data to a tensor, is done by traversing
+   * it in small blocks that fit into the cache:
+   * <pre>{@code
+   *    FloatNdArray contiguous = NdArrays.ofFloats(nchw.shape());
+   *    nchw.copyTo(contiguous);
+   * }</pre>
+   *
+   * @param axes permutation of the dimensions of this array
+   * @return a transposed view of this array
+   * @throws IllegalArgumentException if {@code axes} is not a permutation of {@code [0, rank)}
+   */
+  NdArray<T> transpose(int... axes);
+
+  /**
+   * Returns a view of this array broadcasted to the given shape.
+   *
+   * <p>Broadcasting follows the same rules as NumPy: the dimensions of this array are aligned with
+   * the last dimensions of {@code shape}, and each of them must either be of the same size or of
+   * size 1. Dimensions of size 1 and those prepended to this array are repeated by mapping all their
+   * elements to the same values, without copying any data. For example, a vector of biases can be
+   * applied to each channel of a batch of images like this:
+   * <pre>{@code
+   *    FloatNdArray biases = NdArrays.vectorOf(0.1f, 0.2f, 0.3f);
+   *    FloatNdArray batchBiases = biases.broadcastTo(shape(32, 28, 28, 3));
+   *    assertEquals(0.2f, batchBiases.getFloat(10, 5, 7, 1), 0.0f);
+   * }</pre>
+   *
+   * <p>Since many elements of the view share the same values, it should be used for reading only:
+   * any value written to it is visible in all the elements that are repeating it. Bulk copies to
+   * such a view are always made by a single thread, so the last value written to a shared
+   * position wins instead of racing with the others.
+   *
+   * @param shape shape of the view
+   * @return a view of this array with the given shape
+   * @throws IllegalArgumentException if this array cannot be broadcasted to {@code shape}
+   */
+  NdArray<T> broadcastTo(Shape shape);
+
+  /**
+   * Returns an array with the same values as this array but with a different shape.
+   *
+   * <p>Values are read in row-major order, so the number of values in both shapes must be the same.
+   * If the values of this array are contiguous in memory, then the returned array is a view over
+   * the same data, without copy:
+   * <pre>{@code
+   *    FloatNdArray images = NdArrays.ofFloats(shape(32, 28, 28));
+   *    FloatNdArray features = images.reshape(shape(32, 784));
+   *    features.setFloat(10.0f, 1, 30);
+   *    assertEquals(10.0f, images.getFloat(1, 1, 2), 0.0f);
+   * }</pre>
+   *
+   * <p>Otherwise, like for some slices of another array, the values are first copied to a new
+   * contiguous array and changes applied to the returned array do not affect this one.
+   *
+   * @param shape the new shape
+   * @return an array of the given shape with the same values
+   * @throws IllegalArgumentException if {@code shape} is unknown or does not have the same size
+   *                                  as the shape of this array
+   */
+  NdArray<T> reshape(Shape shape);
+
+  /**
+   * Returns an array with the same values as this array but without any of its dimensions of size
+   * 1.
+   *
+   * <p>This is equivalent to {@link #reshape(Shape)} with the shape of this array without those
+   * dimensions, hence the returned array is a view over this array only if its values are
+   * contiguous in memory.
+   *
+   * @return an array with all dimensions of size 1 removed
+   */
+  NdArray<T> squeeze();
+
+  /**
+   * Returns an array with the same values as this array but with a new dimension of size 1
+   * inserted at the given axis.
+   *
+   * <p>This is equivalent to {@link #reshape(Shape)} with the shape of this array with an extra
+   * dimension, hence the returned array is a view over this array only if its values are
+   * contiguous in memory.
+   *
+   * @param axis index of the new dimension, between 0 and the rank of this array inclusively
+   * @return an array with a new dimension of size 1
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  NdArray<T> expandDims(int axis);
+
   /**
    * Returns the N-dimensional element of this array at the given coordinates.
    *
@@ -249,6 +350,21 @@ public interface NdArray<T> {
    */
   NdArray<T> setObject(T value, long... coordinates);
 
+  /**
+   * Assigns the given value to all scalars of this array.
+   *
+   * <p>This is usually much faster than setting each scalar individually, as contiguous segments
+   * of the array are filled using bulk operations on its data buffer. For example:
+   * <pre>{@code
+   *  FloatNdArray batch = NdArrays.ofFloats(shape(32, 128));
+   *  batch.slice(all(), range(100, 128)).fill(0.0f);  // pads the last 28 values of each row
+   * }</pre>
+   *
+   * @param value the value to assign
+   * @return this array
+   */
+  NdArray<T> fill(T value);
+
   /**
    * Copy the content of this array to the destination array.
    *
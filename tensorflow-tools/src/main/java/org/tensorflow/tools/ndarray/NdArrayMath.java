@@ -0,0 +1,1954 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.ndarray;
+
+import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.ndarray.impl.math.DoubleMatMul;
+import org.tensorflow.tools.ndarray.impl.math.DoubleMath;
+import org.tensorflow.tools.ndarray.impl.math.FloatMatMul;
+import org.tensorflow.tools.ndarray.impl.math.FloatMath;
+import org.tensorflow.tools.ndarray.impl.math.IntMath;
+
+/**
+ * Utility class for computing element-wise operations, reductions and matrix products on {@link NdArray} objects.
+ *
+ * <p>Each operation exists in two forms: one returning a new array and one writing its results to
+ * a given array, which can be one of the operands for computing the operation in place:
+ * <pre>{@code
+ *    FloatNdArray images = ...;  // pixel values in [0, 255]
+ *    NdArrayMath.scale(images, 1.0f / 255.0f, 0.0f, images);  // normalize in place
+ *    FloatNdArray clipped = NdArrayMath.clip(images, 0.1f, 0.9f);  // new array
+ * }</pre>
+ *
+ * <p>For operations with two array operands, the second operand is broadcasted to the shape of the
+ * first one if required. When it is only repeated along leading dimensions, like a vector of
+ * biases added to each row of a batch, its values are read in place; other broadcasts first copy
+ * the broadcasted operand to a temporary buffer of the size of the first one.
+ *
+ * <p>Reductions collapse one dimension of an array, like {@code sum}, {@code max} or
+ * {@code argMax}, or select the largest values along its last dimension, like {@code topK}.
+ *
+ * <p>Matrices, and batches of matrices, can also be multiplied with {@code matMul}.
+ *
+ * <p>Operations are computed in tight loops over chunks of primitive values copied in bulk from
+ * the storage of the arrays, and large arrays are processed concurrently by the threads of the
+ * common {@link java.util.concurrent.ForkJoinPool}.
+ */
+public final class NdArrayMath {
+
+  // FLOAT OPERATIONS
+
+  /**
+   * Adds two arrays of floats, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the sums
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static FloatNdArray add(FloatNdArray a, FloatNdArray b) {
+    return add(a, b, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Adds two arrays of floats, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the sums, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray add(FloatNdArray a, FloatNdArray b, FloatNdArray result) {
+    return FloatMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] + y[i];
+      }
+    });
+  }
+
+  /**
+   * Adds a scalar to all values of an array of floats.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the sums
+   */
+  public static FloatNdArray add(FloatNdArray a, float b) {
+    return add(a, b, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Adds a scalar to all values of an array of floats.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the sums, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray add(FloatNdArray a, float b, FloatNdArray result) {
+    return FloatMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] + b;
+      }
+    });
+  }
+
+  /**
+   * Subtracts an array of floats from another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the differences
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static FloatNdArray sub(FloatNdArray a, FloatNdArray b) {
+    return sub(a, b, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Subtracts an array of floats from another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the differences, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray sub(FloatNdArray a, FloatNdArray b, FloatNdArray result) {
+    return FloatMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] - y[i];
+      }
+    });
+  }
+
+  /**
+   * Subtracts a scalar from all values of an array of floats.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the differences
+   */
+  public static FloatNdArray sub(FloatNdArray a, float b) {
+    return sub(a, b, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Subtracts a scalar from all values of an array of floats.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the differences, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray sub(FloatNdArray a, float b, FloatNdArray result) {
+    return FloatMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] - b;
+      }
+    });
+  }
+
+  /**
+   * Multiplies two arrays of floats, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the products
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static FloatNdArray mul(FloatNdArray a, FloatNdArray b) {
+    return mul(a, b, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Multiplies two arrays of floats, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the products, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray mul(FloatNdArray a, FloatNdArray b, FloatNdArray result) {
+    return FloatMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] * y[i];
+      }
+    });
+  }
+
+  /**
+   * Multiplies all values of an array of floats by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the products
+   */
+  public static FloatNdArray mul(FloatNdArray a, float b) {
+    return mul(a, b, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Multiplies all values of an array of floats by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the products, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray mul(FloatNdArray a, float b, FloatNdArray result) {
+    return FloatMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] * b;
+      }
+    });
+  }
+
+  /**
+   * Divides an array of floats by another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the quotients
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static FloatNdArray div(FloatNdArray a, FloatNdArray b) {
+    return div(a, b, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Divides an array of floats by another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the quotients, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray div(FloatNdArray a, FloatNdArray b, FloatNdArray result) {
+    return FloatMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] / y[i];
+      }
+    });
+  }
+
+  /**
+   * Divides all values of an array of floats by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the quotients
+   */
+  public static FloatNdArray div(FloatNdArray a, float b) {
+    return div(a, b, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Divides all values of an array of floats by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the quotients, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray div(FloatNdArray a, float b, FloatNdArray result) {
+    return FloatMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] / b;
+      }
+    });
+  }
+
+  /**
+   * Scales and shifts all values of an array of floats, i.e. computes {@code a * alpha + beta}.
+   *
+   * @param a array operand
+   * @param alpha scale factor
+   * @param beta shift
+   * @return a new array with the scaled values
+   */
+  public static FloatNdArray scale(FloatNdArray a, float alpha, float beta) {
+    return scale(a, alpha, beta, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Scales and shifts all values of an array of floats, i.e. computes {@code a * alpha + beta}.
+   *
+   * @param a array operand
+   * @param alpha scale factor
+   * @param beta shift
+   * @param result array receiving the scaled values, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray scale(FloatNdArray a, float alpha, float beta, FloatNdArray result) {
+    return FloatMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] * alpha + beta;
+      }
+    });
+  }
+
+  /**
+   * Limits all values of an array of floats to the range {@code [min, max]}.
+   *
+   * @param a array operand
+   * @param min lower bound
+   * @param max upper bound
+   * @return a new array with the clipped values
+   * @throws IllegalArgumentException if {@code min} is greater than {@code max}
+   */
+  public static FloatNdArray clip(FloatNdArray a, float min, float max) {
+    return clip(a, min, max, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Limits all values of an array of floats to the range {@code [min, max]}.
+   *
+   * @param a array operand
+   * @param min lower bound
+   * @param max upper bound
+   * @param result array receiving the clipped values, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code min} is greater than {@code max} or if
+   *                                  {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray clip(FloatNdArray a, float min, float max, FloatNdArray result) {
+    if (min > max) {
+      throw new IllegalArgumentException("Lower bound " + min + " is greater than upper bound " + max);
+    }
+    return FloatMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = Math.min(Math.max(x[i], min), max);
+      }
+    });
+  }
+
+  /**
+   * Negates all values of an array of floats.
+   *
+   * @param a array operand
+   * @return a new array with the negated values
+   */
+  public static FloatNdArray neg(FloatNdArray a) {
+    return neg(a, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Negates all values of an array of floats.
+   *
+   * @param a array operand
+   * @param result array receiving the negated values, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray neg(FloatNdArray a, FloatNdArray result) {
+    return FloatMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = -x[i];
+      }
+    });
+  }
+
+  /**
+   * Computes the absolute value of all values of an array of floats.
+   *
+   * @param a array operand
+   * @return a new array with the absolute values
+   */
+  public static FloatNdArray abs(FloatNdArray a) {
+    return abs(a, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Computes the absolute value of all values of an array of floats.
+   *
+   * @param a array operand
+   * @param result array receiving the absolute values, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray abs(FloatNdArray a, FloatNdArray result) {
+    return FloatMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = Math.abs(x[i]);
+      }
+    });
+  }
+
+  /**
+   * Computes the square root of all values of an array of floats.
+   *
+   * @param a array operand
+   * @return a new array with the square roots
+   */
+  public static FloatNdArray sqrt(FloatNdArray a) {
+    return sqrt(a, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Computes the square root of all values of an array of floats.
+   *
+   * @param a array operand
+   * @param result array receiving the square roots, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray sqrt(FloatNdArray a, FloatNdArray result) {
+    return FloatMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = (float)Math.sqrt(x[i]);
+      }
+    });
+  }
+
+  /**
+   * Computes the exponential of all values of an array of floats.
+   *
+   * @param a array operand
+   * @return a new array with the exponentials
+   */
+  public static FloatNdArray exp(FloatNdArray a) {
+    return exp(a, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Computes the exponential of all values of an array of floats.
+   *
+   * @param a array operand
+   * @param result array receiving the exponentials, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray exp(FloatNdArray a, FloatNdArray result) {
+    return FloatMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = (float)Math.exp(x[i]);
+      }
+    });
+  }
+
+  /**
+   * Computes the natural logarithm of all values of an array of floats.
+   *
+   * @param a array operand
+   * @return a new array with the logarithms
+   */
+  public static FloatNdArray log(FloatNdArray a) {
+    return log(a, NdArrays.ofFloats(a.shape()));
+  }
+
+  /**
+   * Computes the natural logarithm of all values of an array of floats.
+   *
+   * @param a array operand
+   * @param result array receiving the logarithms, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static FloatNdArray log(FloatNdArray a, FloatNdArray result) {
+    return FloatMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = (float)Math.log(x[i]);
+      }
+    });
+  }
+
+  /**
+   * Computes the softmax of an array of floats along its last dimension.
+   *
+   * <p>For example, if {@code logits} has the shape {@code [batch, classes]}, then each row of the
+   * returned array contains the probabilities of each class for a given item of the batch.
+   *
+   * @param logits array operand, of rank 1 or more
+   * @return a new array with the probabilities
+   * @throws IllegalRankException if {@code logits} is a scalar
+   */
+  public static FloatNdArray softmax(FloatNdArray logits) {
+    return softmax(logits, NdArrays.ofFloats(logits.shape()));
+  }
+
+  /**
+   * Computes the softmax of an array of floats along its last dimension.
+   *
+   * @param logits array operand, of rank 1 or more
+   * @param result array receiving the probabilities, which may be {@code logits}
+   * @return {@code result}
+   * @throws IllegalRankException if {@code logits} is a scalar
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as
+   *                                  {@code logits}
+   */
+  public static FloatNdArray softmax(FloatNdArray logits, FloatNdArray result) {
+    return FloatMath.softmax(logits, result);
+  }
+
+  /**
+   * Computes the sum of the values of an array of floats along one of its dimensions.
+   *
+   * <p>For example, {@code sum(array, -1)} on an array of shape {@code [batch, classes]} returns
+   * a vector of shape {@code [batch]}.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the sums, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  public static FloatNdArray sum(FloatNdArray a, int axis) {
+    return sum(a, axis, NdArrays.ofFloats(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the sum of the values of an array of floats along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the sums, of the shape of {@code a} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static FloatNdArray sum(FloatNdArray a, int axis, FloatNdArray result) {
+    return FloatMath.reduce(a, axis, 0.0f, (accumulators, values, offset, length) -> {
+      for (int j = 0; j < length; ++j) {
+        accumulators[j] += values[offset + j];
+      }
+    }, result);
+  }
+
+  /**
+   * Computes the mean of the values of an array of floats along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the means, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  public static FloatNdArray mean(FloatNdArray a, int axis) {
+    return mean(a, axis, NdArrays.ofFloats(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the mean of the values of an array of floats along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the means, of the shape of {@code a} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static FloatNdArray mean(FloatNdArray a, int axis, FloatNdArray result) {
+    sum(a, axis, result);
+    long numElements = a.shape().size(axis < 0 ? axis + a.rank() : axis);
+    return scale(result, 1.0f / numElements, 0.0f, result);
+  }
+
+  /**
+   * Computes the minimum of the values of an array of floats along one of its dimensions.
+   *
+   * <p>For example, {@code min(array, -1)} on an array of shape {@code [batch, classes]} returns
+   * a vector of shape {@code [batch]}.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the minimums, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  public static FloatNdArray min(FloatNdArray a, int axis) {
+    return min(a, axis, NdArrays.ofFloats(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the minimum of the values of an array of floats along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the minimums, of the shape of {@code a} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static FloatNdArray min(FloatNdArray a, int axis, FloatNdArray result) {
+    return FloatMath.reduce(a, axis, Float.POSITIVE_INFINITY, (accumulators, values, offset, length) -> {
+      for (int j = 0; j < length; ++j) {
+        accumulators[j] = Math.min(accumulators[j], values[offset + j]);
+      }
+    }, result);
+  }
+
+  /**
+   * Computes the maximum of the values of an array of floats along one of its dimensions.
+   *
+   * <p>For example, {@code max(array, -1)} on an array of shape {@code [batch, classes]} returns
+   * a vector of shape {@code [batch]}.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the maximums, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  public static FloatNdArray max(FloatNdArray a, int axis) {
+    return max(a, axis, NdArrays.ofFloats(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the maximum of the values of an array of floats along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the maximums, of the shape of {@code a} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static FloatNdArray max(FloatNdArray a, int axis, FloatNdArray result) {
+    return FloatMath.reduce(a, axis, Float.NEGATIVE_INFINITY, (accumulators, values, offset, length) -> {
+      for (int j = 0; j < length; ++j) {
+        accumulators[j] = Math.max(accumulators[j], values[offset + j]);
+      }
+    }, result);
+  }
+
+  /**
+   * Computes the indices of the maximum values of an array of floats along one of its
+   * dimensions.
+   *
+   * <p>If the maximum value is repeated, the smallest index is returned. For example,
+   * {@code argMax(scores, -1)} on an array of shape {@code [batch, classes]} returns the most
+   * probable class of each item of the batch.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the indices, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the reduced dimension
+   *                                  is empty
+   */
+  public static LongNdArray argMax(FloatNdArray a, int axis) {
+    return argMax(a, axis, NdArrays.ofLongs(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the indices of the maximum values of an array of floats along one of its
+   * dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the indices, of the shape of {@code a} without the reduced
+   *               dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range, if the reduced dimension is
+   *                                  empty or if {@code result} does not have the expected shape
+   */
+  public static LongNdArray argMax(FloatNdArray a, int axis, LongNdArray result) {
+    return FloatMath.argMax(a, axis, result);
+  }
+
+  /**
+   * Finds the indices of the {@code k} largest values of an array of floats along its last
+   * dimension.
+   *
+   * <p>Indices are sorted by decreasing values. If some values are equal, the smallest indices
+   * come first.
+   *
+   * @param a array to search, of rank 1 or more
+   * @param k number of values to find
+   * @return a new array with the indices, of the shape of {@code a} with {@code k} elements in its
+   *         last dimension
+   * @throws IllegalArgumentException if {@code k} is negative or greater than the size of the last
+   *                                  dimension
+   * @throws IllegalRankException if {@code a} is a scalar
+   */
+  public static LongNdArray topK(FloatNdArray a, int k) {
+    return topK(a, k, null, NdArrays.ofLongs(topKShape(a, k)));
+  }
+
+  /**
+   * Finds the {@code k} largest values of an array of floats along its last dimension, and
+   * their indices.
+   *
+   * @param a array to search, of rank 1 or more
+   * @param k number of values to find
+   * @param values array receiving the values sorted in decreasing order, of the shape of {@code a}
+   *               with {@code k} elements in its last dimension, or null if not required
+   * @param indices array receiving the indices of the values, of the same shape as {@code values}
+   * @return {@code indices}
+   * @throws IllegalArgumentException if {@code k} is negative or greater than the size of the last
+   *                                  dimension, or if the results do not have the expected shape
+   * @throws IllegalRankException if {@code a} is a scalar
+   */
+  public static LongNdArray topK(FloatNdArray a, int k, FloatNdArray values, LongNdArray indices) {
+    return FloatMath.topK(a, k, values, indices);
+  }
+
+  /**
+   * Multiplies two matrices of floats, or two batches of matrices.
+   *
+   * <p>If {@code a} has the shape {@code [M, K]} and {@code b} the shape {@code [K, N]}, the
+   * result is a matrix of shape {@code [M, N]}. If they are batches of matrices of shapes
+   * {@code [B, M, K]} and {@code [B, K, N]}, each pair of matrices is multiplied and the result is
+   * a batch of shape {@code [B, M, N]}. Operands can be any view, like a slice or a transposition
+   * of another array.
+   *
+   * @param a first operand, of rank 2 or 3
+   * @param b second operand, of the same rank as {@code a}
+   * @return a new array with the product
+   * @throws IllegalArgumentException if the shapes of the operands do not match
+   * @throws IllegalRankException if the operands are not both matrices or both batches of matrices
+   */
+  public static FloatNdArray matMul(FloatNdArray a, FloatNdArray b) {
+    long[] dimensionSizes = a.shape().asArray().clone();
+    if (b.rank() == a.rank() && a.rank() >= 2) {
+      dimensionSizes[a.rank() - 1] = b.shape().size(b.rank() - 1);
+    }
+    return matMul(a, b, NdArrays.ofFloats(Shape.of(dimensionSizes)));
+  }
+
+  /**
+   * Multiplies two matrices of floats, or two batches of matrices.
+   *
+   * @param a first operand, of rank 2 or 3
+   * @param b second operand, of the same rank as {@code a}
+   * @param result array receiving the product, which may be one of the operands or a view of them
+   * @return {@code result}
+   * @throws IllegalArgumentException if the shapes of the operands and the result do not match
+   * @throws IllegalRankException if the operands are not both matrices or both batches of matrices
+   * @see #matMul(FloatNdArray, FloatNdArray)
+   */
+  public static FloatNdArray matMul(FloatNdArray a, FloatNdArray b, FloatNdArray result) {
+    return FloatMatMul.apply(a, b, result);
+  }
+
+  // DOUBLE OPERATIONS
+
+  /**
+   * Adds two arrays of doubles, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the sums
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static DoubleNdArray add(DoubleNdArray a, DoubleNdArray b) {
+    return add(a, b, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Adds two arrays of doubles, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the sums, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray add(DoubleNdArray a, DoubleNdArray b, DoubleNdArray result) {
+    return DoubleMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] + y[i];
+      }
+    });
+  }
+
+  /**
+   * Adds a scalar to all values of an array of doubles.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the sums
+   */
+  public static DoubleNdArray add(DoubleNdArray a, double b) {
+    return add(a, b, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Adds a scalar to all values of an array of doubles.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the sums, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray add(DoubleNdArray a, double b, DoubleNdArray result) {
+    return DoubleMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] + b;
+      }
+    });
+  }
+
+  /**
+   * Subtracts an array of doubles from another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the differences
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static DoubleNdArray sub(DoubleNdArray a, DoubleNdArray b) {
+    return sub(a, b, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Subtracts an array of doubles from another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the differences, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray sub(DoubleNdArray a, DoubleNdArray b, DoubleNdArray result) {
+    return DoubleMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] - y[i];
+      }
+    });
+  }
+
+  /**
+   * Subtracts a scalar from all values of an array of doubles.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the differences
+   */
+  public static DoubleNdArray sub(DoubleNdArray a, double b) {
+    return sub(a, b, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Subtracts a scalar from all values of an array of doubles.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the differences, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray sub(DoubleNdArray a, double b, DoubleNdArray result) {
+    return DoubleMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] - b;
+      }
+    });
+  }
+
+  /**
+   * Multiplies two arrays of doubles, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the products
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static DoubleNdArray mul(DoubleNdArray a, DoubleNdArray b) {
+    return mul(a, b, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Multiplies two arrays of doubles, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the products, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray mul(DoubleNdArray a, DoubleNdArray b, DoubleNdArray result) {
+    return DoubleMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] * y[i];
+      }
+    });
+  }
+
+  /**
+   * Multiplies all values of an array of doubles by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the products
+   */
+  public static DoubleNdArray mul(DoubleNdArray a, double b) {
+    return mul(a, b, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Multiplies all values of an array of doubles by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the products, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray mul(DoubleNdArray a, double b, DoubleNdArray result) {
+    return DoubleMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] * b;
+      }
+    });
+  }
+
+  /**
+   * Divides an array of doubles by another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the quotients
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static DoubleNdArray div(DoubleNdArray a, DoubleNdArray b) {
+    return div(a, b, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Divides an array of doubles by another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the quotients, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray div(DoubleNdArray a, DoubleNdArray b, DoubleNdArray result) {
+    return DoubleMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] / y[i];
+      }
+    });
+  }
+
+  /**
+   * Divides all values of an array of doubles by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the quotients
+   */
+  public static DoubleNdArray div(DoubleNdArray a, double b) {
+    return div(a, b, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Divides all values of an array of doubles by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the quotients, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray div(DoubleNdArray a, double b, DoubleNdArray result) {
+    return DoubleMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] / b;
+      }
+    });
+  }
+
+  /**
+   * Scales and shifts all values of an array of doubles, i.e. computes {@code a * alpha + beta}.
+   *
+   * @param a array operand
+   * @param alpha scale factor
+   * @param beta shift
+   * @return a new array with the scaled values
+   */
+  public static DoubleNdArray scale(DoubleNdArray a, double alpha, double beta) {
+    return scale(a, alpha, beta, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Scales and shifts all values of an array of doubles, i.e. computes {@code a * alpha + beta}.
+   *
+   * @param a array operand
+   * @param alpha scale factor
+   * @param beta shift
+   * @param result array receiving the scaled values, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray scale(DoubleNdArray a, double alpha, double beta, DoubleNdArray result) {
+    return DoubleMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] * alpha + beta;
+      }
+    });
+  }
+
+  /**
+   * Limits all values of an array of doubles to the range {@code [min, max]}.
+   *
+   * @param a array operand
+   * @param min lower bound
+   * @param max upper bound
+   * @return a new array with the clipped values
+   * @throws IllegalArgumentException if {@code min} is greater than {@code max}
+   */
+  public static DoubleNdArray clip(DoubleNdArray a, double min, double max) {
+    return clip(a, min, max, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Limits all values of an array of doubles to the range {@code [min, max]}.
+   *
+   * @param a array operand
+   * @param min lower bound
+   * @param max upper bound
+   * @param result array receiving the clipped values, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code min} is greater than {@code max} or if
+   *                                  {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray clip(DoubleNdArray a, double min, double max, DoubleNdArray result) {
+    if (min > max) {
+      throw new IllegalArgumentException("Lower bound " + min + " is greater than upper bound " + max);
+    }
+    return DoubleMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = Math.min(Math.max(x[i], min), max);
+      }
+    });
+  }
+
+  /**
+   * Negates all values of an array of doubles.
+   *
+   * @param a array operand
+   * @return a new array with the negated values
+   */
+  public static DoubleNdArray neg(DoubleNdArray a) {
+    return neg(a, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Negates all values of an array of doubles.
+   *
+   * @param a array operand
+   * @param result array receiving the negated values, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray neg(DoubleNdArray a, DoubleNdArray result) {
+    return DoubleMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = -x[i];
+      }
+    });
+  }
+
+  /**
+   * Computes the absolute value of all values of an array of doubles.
+   *
+   * @param a array operand
+   * @return a new array with the absolute values
+   */
+  public static DoubleNdArray abs(DoubleNdArray a) {
+    return abs(a, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Computes the absolute value of all values of an array of doubles.
+   *
+   * @param a array operand
+   * @param result array receiving the absolute values, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray abs(DoubleNdArray a, DoubleNdArray result) {
+    return DoubleMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = Math.abs(x[i]);
+      }
+    });
+  }
+
+  /**
+   * Computes the square root of all values of an array of doubles.
+   *
+   * @param a array operand
+   * @return a new array with the square roots
+   */
+  public static DoubleNdArray sqrt(DoubleNdArray a) {
+    return sqrt(a, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Computes the square root of all values of an array of doubles.
+   *
+   * @param a array operand
+   * @param result array receiving the square roots, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray sqrt(DoubleNdArray a, DoubleNdArray result) {
+    return DoubleMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = Math.sqrt(x[i]);
+      }
+    });
+  }
+
+  /**
+   * Computes the exponential of all values of an array of doubles.
+   *
+   * @param a array operand
+   * @return a new array with the exponentials
+   */
+  public static DoubleNdArray exp(DoubleNdArray a) {
+    return exp(a, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Computes the exponential of all values of an array of doubles.
+   *
+   * @param a array operand
+   * @param result array receiving the exponentials, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray exp(DoubleNdArray a, DoubleNdArray result) {
+    return DoubleMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = Math.exp(x[i]);
+      }
+    });
+  }
+
+  /**
+   * Computes the natural logarithm of all values of an array of doubles.
+   *
+   * @param a array operand
+   * @return a new array with the logarithms
+   */
+  public static DoubleNdArray log(DoubleNdArray a) {
+    return log(a, NdArrays.ofDoubles(a.shape()));
+  }
+
+  /**
+   * Computes the natural logarithm of all values of an array of doubles.
+   *
+   * @param a array operand
+   * @param result array receiving the logarithms, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static DoubleNdArray log(DoubleNdArray a, DoubleNdArray result) {
+    return DoubleMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = Math.log(x[i]);
+      }
+    });
+  }
+
+  /**
+   * Computes the softmax of an array of doubles along its last dimension.
+   *
+   * <p>For example, if {@code logits} has the shape {@code [batch, classes]}, then each row of the
+   * returned array contains the probabilities of each class for a given item of the batch.
+   *
+   * @param logits array operand, of rank 1 or more
+   * @return a new array with the probabilities
+   * @throws IllegalRankException if {@code logits} is a scalar
+   */
+  public static DoubleNdArray softmax(DoubleNdArray logits) {
+    return softmax(logits, NdArrays.ofDoubles(logits.shape()));
+  }
+
+  /**
+   * Computes the softmax of an array of doubles along its last dimension.
+   *
+   * @param logits array operand, of rank 1 or more
+   * @param result array receiving the probabilities, which may be {@code logits}
+   * @return {@code result}
+   * @throws IllegalRankException if {@code logits} is a scalar
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as
+   *                                  {@code logits}
+   */
+  public static DoubleNdArray softmax(DoubleNdArray logits, DoubleNdArray result) {
+    return DoubleMath.softmax(logits, result);
+  }
+
+  /**
+   * Computes the sum of the values of an array of doubles along one of its dimensions.
+   *
+   * <p>For example, {@code sum(array, -1)} on an array of shape {@code [batch, classes]} returns
+   * a vector of shape {@code [batch]}.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the sums, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  public static DoubleNdArray sum(DoubleNdArray a, int axis) {
+    return sum(a, axis, NdArrays.ofDoubles(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the sum of the values of an array of doubles along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the sums, of the shape of {@code a} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static DoubleNdArray sum(DoubleNdArray a, int axis, DoubleNdArray result) {
+    return DoubleMath.reduce(a, axis, 0.0, (accumulators, values, offset, length) -> {
+      for (int j = 0; j < length; ++j) {
+        accumulators[j] += values[offset + j];
+      }
+    }, result);
+  }
+
+  /**
+   * Computes the mean of the values of an array of doubles along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the means, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  public static DoubleNdArray mean(DoubleNdArray a, int axis) {
+    return mean(a, axis, NdArrays.ofDoubles(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the mean of the values of an array of doubles along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the means, of the shape of {@code a} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static DoubleNdArray mean(DoubleNdArray a, int axis, DoubleNdArray result) {
+    sum(a, axis, result);
+    long numElements = a.shape().size(axis < 0 ? axis + a.rank() : axis);
+    return scale(result, 1.0 / numElements, 0.0, result);
+  }
+
+  /**
+   * Computes the minimum of the values of an array of doubles along one of its dimensions.
+   *
+   * <p>For example, {@code min(array, -1)} on an array of shape {@code [batch, classes]} returns
+   * a vector of shape {@code [batch]}.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the minimums, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  public static DoubleNdArray min(DoubleNdArray a, int axis) {
+    return min(a, axis, NdArrays.ofDoubles(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the minimum of the values of an array of doubles along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the minimums, of the shape of {@code a} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static DoubleNdArray min(DoubleNdArray a, int axis, DoubleNdArray result) {
+    return DoubleMath.reduce(a, axis, Double.POSITIVE_INFINITY, (accumulators, values, offset, length) -> {
+      for (int j = 0; j < length; ++j) {
+        accumulators[j] = Math.min(accumulators[j], values[offset + j]);
+      }
+    }, result);
+  }
+
+  /**
+   * Computes the maximum of the values of an array of doubles along one of its dimensions.
+   *
+   * <p>For example, {@code max(array, -1)} on an array of shape {@code [batch, classes]} returns
+   * a vector of shape {@code [batch]}.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the maximums, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  public static DoubleNdArray max(DoubleNdArray a, int axis) {
+    return max(a, axis, NdArrays.ofDoubles(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the maximum of the values of an array of doubles along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the maximums, of the shape of {@code a} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static DoubleNdArray max(DoubleNdArray a, int axis, DoubleNdArray result) {
+    return DoubleMath.reduce(a, axis, Double.NEGATIVE_INFINITY, (accumulators, values, offset, length) -> {
+      for (int j = 0; j < length; ++j) {
+        accumulators[j] = Math.max(accumulators[j], values[offset + j]);
+      }
+    }, result);
+  }
+
+  /**
+   * Computes the indices of the maximum values of an array of doubles along one of its
+   * dimensions.
+   *
+   * <p>If the maximum value is repeated, the smallest index is returned. For example,
+   * {@code argMax(scores, -1)} on an array of shape {@code [batch, classes]} returns the most
+   * probable class of each item of the batch.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the indices, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the reduced dimension
+   *                                  is empty
+   */
+  public static LongNdArray argMax(DoubleNdArray a, int axis) {
+    return argMax(a, axis, NdArrays.ofLongs(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the indices of the maximum values of an array of doubles along one of its
+   * dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the indices, of the shape of {@code a} without the reduced
+   *               dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range, if the reduced dimension is
+   *                                  empty or if {@code result} does not have the expected shape
+   */
+  public static LongNdArray argMax(DoubleNdArray a, int axis, LongNdArray result) {
+    return DoubleMath.argMax(a, axis, result);
+  }
+
+  /**
+   * Finds the indices of the {@code k} largest values of an array of doubles along its last
+   * dimension.
+   *
+   * <p>Indices are sorted by decreasing values. If some values are equal, the smallest indices
+   * come first.
+   *
+   * @param a array to search, of rank 1 or more
+   * @param k number of values to find
+   * @return a new array with the indices, of the shape of {@code a} with {@code k} elements in its
+   *         last dimension
+   * @throws IllegalArgumentException if {@code k} is negative or greater than the size of the last
+   *                                  dimension
+   * @throws IllegalRankException if {@code a} is a scalar
+   */
+  public static LongNdArray topK(DoubleNdArray a, int k) {
+    return topK(a, k, null, NdArrays.ofLongs(topKShape(a, k)));
+  }
+
+  /**
+   * Finds the {@code k} largest values of an array of doubles along its last dimension, and
+   * their indices.
+   *
+   * @param a array to search, of rank 1 or more
+   * @param k number of values to find
+   * @param values array receiving the values sorted in decreasing order, of the shape of {@code a}
+   *               with {@code k} elements in its last dimension, or null if not required
+   * @param indices array receiving the indices of the values, of the same shape as {@code values}
+   * @return {@code indices}
+   * @throws IllegalArgumentException if {@code k} is negative or greater than the size of the last
+   *                                  dimension, or if the results do not have the expected shape
+   * @throws IllegalRankException if {@code a} is a scalar
+   */
+  public static LongNdArray topK(DoubleNdArray a, int k, DoubleNdArray values, LongNdArray indices) {
+    return DoubleMath.topK(a, k, values, indices);
+  }
+
+  /**
+   * Multiplies two matrices of doubles, or two batches of matrices.
+   *
+   * <p>If {@code a} has the shape {@code [M, K]} and {@code b} the shape {@code [K, N]}, the
+   * result is a matrix of shape {@code [M, N]}. If they are batches of matrices of shapes
+   * {@code [B, M, K]} and {@code [B, K, N]}, each pair of matrices is multiplied and the result is
+   * a batch of shape {@code [B, M, N]}. Operands can be any view, like a slice or a transposition
+   * of another array.
+   *
+   * @param a first operand, of rank 2 or 3
+   * @param b second operand, of the same rank as {@code a}
+   * @return a new array with the product
+   * @throws IllegalArgumentException if the shapes of the operands do not match
+   * @throws IllegalRankException if the operands are not both matrices or both batches of matrices
+   */
+  public static DoubleNdArray matMul(DoubleNdArray a, DoubleNdArray b) {
+    long[] dimensionSizes = a.shape().asArray().clone();
+    if (b.rank() == a.rank() && a.rank() >= 2) {
+      dimensionSizes[a.rank() - 1] = b.shape().size(b.rank() - 1);
+    }
+    return matMul(a, b, NdArrays.ofDoubles(Shape.of(dimensionSizes)));
+  }
+
+  /**
+   * Multiplies two matrices of doubles, or two batches of matrices.
+   *
+   * @param a first operand, of rank 2 or 3
+   * @param b second operand, of the same rank as {@code a}
+   * @param result array receiving the product, which may be one of the operands or a view of them
+   * @return {@code result}
+   * @throws IllegalArgumentException if the shapes of the operands and the result do not match
+   * @throws IllegalRankException if the operands are not both matrices or both batches of matrices
+   * @see #matMul(DoubleNdArray, DoubleNdArray)
+   */
+  public static DoubleNdArray matMul(DoubleNdArray a, DoubleNdArray b, DoubleNdArray result) {
+    return DoubleMatMul.apply(a, b, result);
+  }
+
+  // INT OPERATIONS
+
+  /**
+   * Adds two arrays of integers, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the sums
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static IntNdArray add(IntNdArray a, IntNdArray b) {
+    return add(a, b, NdArrays.ofInts(a.shape()));
+  }
+
+  /**
+   * Adds two arrays of integers, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the sums, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static IntNdArray add(IntNdArray a, IntNdArray b, IntNdArray result) {
+    return IntMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] + y[i];
+      }
+    });
+  }
+
+  /**
+   * Adds a scalar to all values of an array of integers.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the sums
+   */
+  public static IntNdArray add(IntNdArray a, int b) {
+    return add(a, b, NdArrays.ofInts(a.shape()));
+  }
+
+  /**
+   * Adds a scalar to all values of an array of integers.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the sums, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static IntNdArray add(IntNdArray a, int b, IntNdArray result) {
+    return IntMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] + b;
+      }
+    });
+  }
+
+  /**
+   * Subtracts an array of integers from another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the differences
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static IntNdArray sub(IntNdArray a, IntNdArray b) {
+    return sub(a, b, NdArrays.ofInts(a.shape()));
+  }
+
+  /**
+   * Subtracts an array of integers from another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the differences, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static IntNdArray sub(IntNdArray a, IntNdArray b, IntNdArray result) {
+    return IntMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] - y[i];
+      }
+    });
+  }
+
+  /**
+   * Subtracts a scalar from all values of an array of integers.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the differences
+   */
+  public static IntNdArray sub(IntNdArray a, int b) {
+    return sub(a, b, NdArrays.ofInts(a.shape()));
+  }
+
+  /**
+   * Subtracts a scalar from all values of an array of integers.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the differences, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static IntNdArray sub(IntNdArray a, int b, IntNdArray result) {
+    return IntMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] - b;
+      }
+    });
+  }
+
+  /**
+   * Multiplies two arrays of integers, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the products
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static IntNdArray mul(IntNdArray a, IntNdArray b) {
+    return mul(a, b, NdArrays.ofInts(a.shape()));
+  }
+
+  /**
+   * Multiplies two arrays of integers, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the products, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static IntNdArray mul(IntNdArray a, IntNdArray b, IntNdArray result) {
+    return IntMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] * y[i];
+      }
+    });
+  }
+
+  /**
+   * Multiplies all values of an array of integers by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the products
+   */
+  public static IntNdArray mul(IntNdArray a, int b) {
+    return mul(a, b, NdArrays.ofInts(a.shape()));
+  }
+
+  /**
+   * Multiplies all values of an array of integers by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the products, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static IntNdArray mul(IntNdArray a, int b, IntNdArray result) {
+    return IntMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] * b;
+      }
+    });
+  }
+
+  /**
+   * Divides an array of integers by another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @return a new array with the quotients
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   */
+  public static IntNdArray div(IntNdArray a, IntNdArray b) {
+    return div(a, b, NdArrays.ofInts(a.shape()));
+  }
+
+  /**
+   * Divides an array of integers by another, element-wise.
+   *
+   * @param a first operand
+   * @param b second operand, broadcasted to the shape of {@code a} if required
+   * @param result array receiving the quotients, which may be one of the operands
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code b} cannot be broadcasted to the shape of {@code a}
+   *                                  or if {@code result} does not have the same shape as {@code a}
+   */
+  public static IntNdArray div(IntNdArray a, IntNdArray b, IntNdArray result) {
+    return IntMath.apply(a, b, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] / y[i];
+      }
+    });
+  }
+
+  /**
+   * Divides all values of an array of integers by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @return a new array with the quotients
+   */
+  public static IntNdArray div(IntNdArray a, int b) {
+    return div(a, b, NdArrays.ofInts(a.shape()));
+  }
+
+  /**
+   * Divides all values of an array of integers by a scalar.
+   *
+   * @param a array operand
+   * @param b scalar operand
+   * @param result array receiving the quotients, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static IntNdArray div(IntNdArray a, int b, IntNdArray result) {
+    return IntMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = x[i] / b;
+      }
+    });
+  }
+
+  /**
+   * Limits all values of an array of integers to the range {@code [min, max]}.
+   *
+   * @param a array operand
+   * @param min lower bound
+   * @param max upper bound
+   * @return a new array with the clipped values
+   * @throws IllegalArgumentException if {@code min} is greater than {@code max}
+   */
+  public static IntNdArray clip(IntNdArray a, int min, int max) {
+    return clip(a, min, max, NdArrays.ofInts(a.shape()));
+  }
+
+  /**
+   * Limits all values of an array of integers to the range {@code [min, max]}.
+   *
+   * @param a array operand
+   * @param min lower bound
+   * @param max upper bound
+   * @param result array receiving the clipped values, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code min} is greater than {@code max} or if
+   *                                  {@code result} does not have the same shape as {@code a}
+   */
+  public static IntNdArray clip(IntNdArray a, int min, int max, IntNdArray result) {
+    if (min > max) {
+      throw new IllegalArgumentException("Lower bound " + min + " is greater than upper bound " + max);
+    }
+    return IntMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = Math.min(Math.max(x[i], min), max);
+      }
+    });
+  }
+
+  /**
+   * Negates all values of an array of integers.
+   *
+   * @param a array operand
+   * @return a new array with the negated values
+   */
+  public static IntNdArray neg(IntNdArray a) {
+    return neg(a, NdArrays.ofInts(a.shape()));
+  }
+
+  /**
+   * Negates all values of an array of integers.
+   *
+   * @param a array operand
+   * @param result array receiving the negated values, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static IntNdArray neg(IntNdArray a, IntNdArray result) {
+    return IntMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = -x[i];
+      }
+    });
+  }
+
+  /**
+   * Computes the absolute value of all values of an array of integers.
+   *
+   * @param a array operand
+   * @return a new array with the absolute values
+   */
+  public static IntNdArray abs(IntNdArray a) {
+    return abs(a, NdArrays.ofInts(a.shape()));
+  }
+
+  /**
+   * Computes the absolute value of all values of an array of integers.
+   *
+   * @param a array operand
+   * @param result array receiving the absolute values, which may be {@code a}
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code result} does not have the same shape as {@code a}
+   */
+  public static IntNdArray abs(IntNdArray a, IntNdArray result) {
+    return IntMath.apply(a, null, result, (x, y, z, length) -> {
+      for (int i = 0; i < length; ++i) {
+        z[i] = Math.abs(x[i]);
+      }
+    });
+  }
+
+  /**
+   * Computes the sum of the values of an array of integers along one of its dimensions.
+   *
+   * <p>For example, {@code sum(array, -1)} on an array of shape {@code [batch, classes]} returns
+   * a vector of shape {@code [batch]}.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the sums, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  public static IntNdArray sum(IntNdArray a, int axis) {
+    return sum(a, axis, NdArrays.ofInts(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the sum of the values of an array of integers along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the sums, of the shape of {@code a} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static IntNdArray sum(IntNdArray a, int axis, IntNdArray result) {
+    return IntMath.reduce(a, axis, 0, (accumulators, values, offset, length) -> {
+      for (int j = 0; j < length; ++j) {
+        accumulators[j] += values[offset + j];
+      }
+    }, result);
+  }
+
+  /**
+   * Computes the minimum of the values of an array of integers along one of its dimensions.
+   *
+   * <p>For example, {@code min(array, -1)} on an array of shape {@code [batch, classes]} returns
+   * a vector of shape {@code [batch]}.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the minimums, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  public static IntNdArray min(IntNdArray a, int axis) {
+    return min(a, axis, NdArrays.ofInts(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the minimum of the values of an array of integers along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the minimums, of the shape of {@code a} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static IntNdArray min(IntNdArray a, int axis, IntNdArray result) {
+    return IntMath.reduce(a, axis, Integer.MAX_VALUE, (accumulators, values, offset, length) -> {
+      for (int j = 0; j < length; ++j) {
+        accumulators[j] = Math.min(accumulators[j], values[offset + j]);
+      }
+    }, result);
+  }
+
+  /**
+   * Computes the maximum of the values of an array of integers along one of its dimensions.
+   *
+   * <p>For example, {@code max(array, -1)} on an array of shape {@code [batch, classes]} returns
+   * a vector of shape {@code [batch]}.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the maximums, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range
+   */
+  public static IntNdArray max(IntNdArray a, int axis) {
+    return max(a, axis, NdArrays.ofInts(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the maximum of the values of an array of integers along one of its dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the maximums, of the shape of {@code a} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static IntNdArray max(IntNdArray a, int axis, IntNdArray result) {
+    return IntMath.reduce(a, axis, Integer.MIN_VALUE, (accumulators, values, offset, length) -> {
+      for (int j = 0; j < length; ++j) {
+        accumulators[j] = Math.max(accumulators[j], values[offset + j]);
+      }
+    }, result);
+  }
+
+  /**
+   * Computes the indices of the maximum values of an array of integers along one of its
+   * dimensions.
+   *
+   * <p>If the maximum value is repeated, the smallest index is returned. For example,
+   * {@code argMax(scores, -1)} on an array of shape {@code [batch, classes]} returns the most
+   * probable class of each item of the batch.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @return a new array with the indices, of the shape of {@code a} without the reduced dimension
+   * @throws IllegalArgumentException if {@code axis} is out of range or if the reduced dimension
+   *                                  is empty
+   */
+  public static LongNdArray argMax(IntNdArray a, int axis) {
+    return argMax(a, axis, NdArrays.ofLongs(reducedShape(a, axis)));
+  }
+
+  /**
+   * Computes the indices of the maximum values of an array of integers along one of its
+   * dimensions.
+   *
+   * @param a array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the indices, of the shape of {@code a} without the reduced
+   *               dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range, if the reduced dimension is
+   *                                  empty or if {@code result} does not have the expected shape
+   */
+  public static LongNdArray argMax(IntNdArray a, int axis, LongNdArray result) {
+    return IntMath.argMax(a, axis, result);
+  }
+
+  /**
+   * Finds the indices of the {@code k} largest values of an array of integers along its last
+   * dimension.
+   *
+   * <p>Indices are sorted by decreasing values. If some values are equal, the smallest indices
+   * come first.
+   *
+   * @param a array to search, of rank 1 or more
+   * @param k number of values to find
+   * @return a new array with the indices, of the shape of {@code a} with {@code k} elements in its
+   *         last dimension
+   * @throws IllegalArgumentException if {@code k} is negative or greater than the size of the last
+   *                                  dimension
+   * @throws IllegalRankException if {@code a} is a scalar
+   */
+  public static LongNdArray topK(IntNdArray a, int k) {
+    return topK(a, k, null, NdArrays.ofLongs(topKShape(a, k)));
+  }
+
+  /**
+   * Finds the {@code k} largest values of an array of integers along its last dimension, and
+   * their indices.
+   *
+   * @param a array to search, of rank 1 or more
+   * @param k number of values to find
+   * @param values array receiving the values sorted in decreasing order, of the shape of {@code a}
+   *               with {@code k} elements in its last dimension, or null if not required
+   * @param indices array receiving the indices of the values, of the same shape as {@code values}
+   * @return {@code indices}
+   * @throws IllegalArgumentException if {@code k} is negative or greater than the size of the last
+   *                                  dimension, or if the results do not have the expected shape
+   * @throws IllegalRankException if {@code a} is a scalar
+   */
+  public static LongNdArray topK(IntNdArray a, int k, IntNdArray values, LongNdArray indices) {
+    return IntMath.topK(a, k, values, indices);
+  }
+
+  private static Shape reducedShape(NdArray<?> array, int axis) {
+    int dimensionIdx = axis < 0 ? axis + array.rank() : axis;
+    if (dimensionIdx < 0 || dimensionIdx >= array.rank()) {
+      throw new IllegalArgumentException("Axis " + axis + " is out of range for an array of rank " + array.rank());
+    }
+    long[] dimensionSizes = new long[array.rank() - 1];
+    for (int i = 0, j = 0; i < array.rank(); ++i) {
+      if (i != dimensionIdx) {
+        dimensionSizes[j++] = array.shape().size(i);
+      }
+    }
+    return Shape.of(dimensionSizes);
+  }
+
+  private static Shape topKShape(NdArray<?> array, int k) {
+    if (array.rank() == 0) {
+      throw new IllegalRankException("Operation requires an array of at least one dimension");
+    }
+    long[] dimensionSizes = array.shape().asArray().clone();
+    dimensionSizes[dimensionSizes.length - 1] = k;
+    return Shape.of(dimensionSizes);
+  }
+
+  private NdArrayMath() {}
+}
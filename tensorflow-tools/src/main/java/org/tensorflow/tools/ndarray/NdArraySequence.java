@@ -18,6 +18,8 @@
 package org.tensorflow.tools.ndarray;
 
 import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Iterates through a sequence of elements of an N-dimensional array.
@@ -35,4 +37,29 @@ public interface NdArraySequence<T extends NdArray<?>> extends Iterable<T> {
    * @param consumer method to invoke for each elements
    */
   void forEachIndexed(BiConsumer<long[], T> consumer);
+
+  /**
+   * Returns a sequential stream of the elements of this sequence.
+   *
+   * @return stream of elements
+   */
+  default Stream<T> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel stream of the elements of this sequence.
+   *
+   * <p>Elements are split evenly between threads, without copying any data. For example, to
+   * preprocess each row of a batch concurrently:
+   * <pre>{@code
+   *  FloatNdArray batch = NdArrays.ofFloats(shape(64, 28, 28));
+   *  batch.elements(0).parallelStream().forEach(image -> normalize(image));
+   * }</pre>
+   *
+   * @return stream of elements, possibly parallel
+   */
+  default Stream<T> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
 }
@@ -34,6 +34,8 @@ import org.tensorflow.tools.ndarray.impl.dense.FloatDenseNdArray;
 import org.tensorflow.tools.ndarray.impl.dense.IntDenseNdArray;
 import org.tensorflow.tools.ndarray.impl.dense.LongDenseNdArray;
 import org.tensorflow.tools.ndarray.impl.dense.ShortDenseNdArray;
+import org.tensorflow.tools.ndarray.impl.sparse.FloatCooNdArray;
+import org.tensorflow.tools.ndarray.impl.sparse.FloatCsrNdArray;
 
 /**
  * Utility class for instantiating {@link NdArray} objects.
@@ -318,6 +320,56 @@ public final class NdArrays {
     return FloatDenseNdArray.create(buffer, shape);
   }
 
+  /**
+   * Creates a sparse array of floats from the coordinates and values of its non-zero scalars.
+   *
+   * <p>Components are the same as those of a {@code SparseTensor} in TensorFlow. The returned
+   * array stores its coordinates in coordinate list (COO) format and can be of any rank.
+   *
+   * <p>If the coordinates are already sorted in row-major order, modifying the data of the returned
+   * array will also impact the values in the arrays passed in parameter.
+   *
+   * @param indices coordinates of the values, as a matrix of shape {@code [N, rank]}
+   * @param values values, as a vector of shape {@code [N]}
+   * @param shape dense shape of the array
+   * @return new sparse float N-dimensional array
+   * @throws IllegalArgumentException if shape is null or has unknown dimensions, if components are
+   *                                  not compatible with each other or if some coordinates are out
+   *                                  of bounds or appear more than once
+   */
+  public static SparseFloatNdArray sparseOf(LongNdArray indices, FloatNdArray values, Shape shape) {
+    return FloatCooNdArray.create(indices, values, shape);
+  }
+
+  /**
+   * Creates a sparse matrix of floats from the coordinates and values of its non-zero scalars.
+   *
+   * <p>Unlike {@link #sparseOf(LongNdArray, FloatNdArray, Shape)}, the returned matrix stores its
+   * coordinates in compressed sparse row (CSR) format, which speeds up random access to its values.
+   *
+   * @param indices coordinates of the values, as a matrix of shape {@code [N, 2]}
+   * @param values values, as a vector of shape {@code [N]}
+   * @param shape dense shape of the matrix
+   * @return new sparse float matrix
+   * @throws IllegalRankException if shape is not of rank 2
+   * @throws IllegalArgumentException if components are not compatible with each other or if some
+   *                                  coordinates are out of bounds or appear more than once
+   */
+  public static SparseFloatNdArray sparseMatrixOf(LongNdArray indices, FloatNdArray values, Shape shape) {
+    return FloatCsrNdArray.create(indices, values, shape);
+  }
+
+  /**
+   * Creates a sparse array of floats from the non-zero scalars of another array.
+   *
+   * @param array array to copy
+   * @return new sparse float N-dimensional array, in coordinate list (COO) format
+   * @throws IllegalRankException if array is a scalar
+   */
+  public static SparseFloatNdArray sparseCopyOf(FloatNdArray array) {
+    return FloatCooNdArray.copyOf(array);
+  }
+
   // DOUBLE ARRAYS
 
   /**
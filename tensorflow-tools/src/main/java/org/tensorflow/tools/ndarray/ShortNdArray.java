@@ -16,6 +16,7 @@
  */
 package org.tensorflow.tools.ndarray;
 
+import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.buffer.ShortDataBuffer;
 import org.tensorflow.tools.ndarray.index.Index;
@@ -70,6 +71,21 @@ public interface ShortNdArray extends NdArray<Short> {
   @Override
   ShortNdArray slice(Index... coordinates);
 
+  @Override
+  ShortNdArray transpose(int... axes);
+
+  @Override
+  ShortNdArray broadcastTo(Shape shape);
+
+  @Override
+  ShortNdArray reshape(Shape shape);
+
+  @Override
+  ShortNdArray squeeze();
+
+  @Override
+  ShortNdArray expandDims(int axis);
+
   @Override
   ShortNdArray get(long... coordinates);
 
@@ -86,6 +102,9 @@ public interface ShortNdArray extends NdArray<Short> {
     return setShort(value, coordinates);
   }
 
+  @Override
+  ShortNdArray fill(Short value);
+
   @Override
   NdArraySequence<ShortNdArray> elements(int dimensionIdx);
 
@@ -0,0 +1,109 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.ndarray;
+
+/**
+ * A {@link FloatNdArray} that only stores its non-zero values.
+ *
+ * <p>Sparse arrays are described by three components, which are the same as the ones expected by
+ * the {@code SparseTensor} operations of TensorFlow (e.g. {@code tf.sparse}):
+ * <ul>
+ *   <li>{@link #indices()}: a matrix of shape {@code [N, rank]} holding the coordinates of the
+ *       {@code N} stored values, sorted in row-major order</li>
+ *   <li>{@link #values()}: a vector of shape {@code [N]} holding the stored values</li>
+ *   <li>{@link #denseShape()}: a vector of shape {@code [rank]} holding the dimension sizes of the
+ *       array</li>
+ * </ul>
+ * Any scalar that is not explicitly stored has the value {@code 0.0f}.
+ *
+ * <p>The set of stored values is fixed when the array is created, only their value can change.
+ * More specifically:
+ * <ul>
+ *   <li>{@link #scalars()} only visits the stored values, along with their coordinates</li>
+ *   <li>{@link #setFloat(float, long...)}, {@link #set}, {@link #write} and {@link #fill} update
+ *       the stored values, and throw an {@link UnsupportedOperationException} if a non-zero value
+ *       would be written to a scalar that is not stored, in which case the array is left
+ *       unchanged</li>
+ *   <li>operations returning views (like {@link #slice}, {@link #get}, {@link #elements} or
+ *       {@link #transpose}) return sparse arrays sharing the values stored in this array, without
+ *       copying them, except for scalars that are not stored, which are returned as read-only
+ *       zeros</li>
+ *   <li>arrays are equal to any other array having the same shape and scalar values, dense or
+ *       not, and have the same hash code</li>
+ * </ul>
+ *
+ * <p>Only arrays of floats can be sparse for now, since sparse features and embeddings fed to
+ * TensorFlow are mostly made of floats. Other types would share the same logic, applied to
+ * their own primitive values.
+ *
+ * <p>Sparse arrays are created by the factories of {@link NdArrays}. For example:
+ * <pre>{@code
+ *  // 3x4 matrix with values 1.0f at (0, 1) and 2.0f at (2, 3)
+ *  SparseFloatNdArray matrix = NdArrays.sparseOf(
+ *      StdArrays.ndCopyOf(new long[][] {{0, 1}, {2, 3}}),
+ *      NdArrays.vectorOf(1.0f, 2.0f),
+ *      Shape.of(3, 4)
+ *  );
+ *  matrix.getFloat(2, 3);  // 2.0f
+ *  matrix.getFloat(1, 1);  // 0.0f
+ *
+ *  // Feed the matrix to TensorFlow sparse operations
+ *  Tensor<TInt64> indices = TInt64.tensorOf(matrix.indices());
+ *  Tensor<TFloat32> values = TFloat32.tensorOf(matrix.values());
+ *  Tensor<TInt64> denseShape = TInt64.tensorOf(matrix.denseShape());
+ * }</pre>
+ */
+public interface SparseFloatNdArray extends FloatNdArray {
+
+  /**
+   * Returns the coordinates of the values stored in this array.
+   *
+   * @return matrix of shape {@code [numValues(), rank()]}, in row-major order
+   */
+  LongNdArray indices();
+
+  /**
+   * Returns the values stored in this array.
+   *
+   * <p>Values are returned in the same order as their coordinates in {@link #indices()}. Modifying
+   * the returned vector will also impact the values of this array.
+   *
+   * @return vector of shape {@code [numValues()]}
+   */
+  FloatNdArray values();
+
+  /**
+   * Returns the shape of this array as a vector, as expected by TensorFlow sparse operations.
+   *
+   * @return vector of shape {@code [rank()]}
+   */
+  LongNdArray denseShape();
+
+  /**
+   * Returns the number of values stored in this array.
+   *
+   * @return number of stored values
+   */
+  long numValues();
+
+  /**
+   * Copies this array into a new dense array.
+   *
+   * @return dense array of the same shape, initialized with the values of this array
+   */
+  FloatNdArray toDense();
+}
@@ -4,6 +4,7 @@ import static org.tensorflow.tools.ndarray.NdArrays.vectorOf;
 import static org.tensorflow.tools.ndarray.NdArrays.vectorOfObjects;
 
 import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.ndarray.impl.dense.StdArrayTransfer;
 
 /**
  * Utility class for working with {@link NdArray} instances mixed with standard Java arrays.
@@ -613,9 +614,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(IntNdArray dst, int[][] array) {
-    dst.elements(0).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 2, dst)) {
+      dst.elements(0).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -627,9 +630,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(IntNdArray dst, int[][][] array) {
-    dst.elements(1).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 3, dst)) {
+      dst.elements(1).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -641,9 +646,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(IntNdArray dst, int[][][][] array) {
-    dst.elements(2).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 4, dst)) {
+      dst.elements(2).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -655,9 +662,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(IntNdArray dst, int[][][][][] array) {
-    dst.elements(3).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 5, dst)) {
+      dst.elements(3).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -669,9 +678,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(IntNdArray dst, int[][][][][][] array) {
-    dst.elements(4).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 6, dst)) {
+      dst.elements(4).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -695,9 +706,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(LongNdArray dst, long[][] array) {
-    dst.elements(0).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 2, dst)) {
+      dst.elements(0).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -709,9 +722,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(LongNdArray dst, long[][][] array) {
-    dst.elements(1).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 3, dst)) {
+      dst.elements(1).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -723,9 +738,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(LongNdArray dst, long[][][][] array) {
-    dst.elements(2).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 4, dst)) {
+      dst.elements(2).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -737,9 +754,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(LongNdArray dst, long[][][][][] array) {
-    dst.elements(3).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 5, dst)) {
+      dst.elements(3).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -751,9 +770,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(LongNdArray dst, long[][][][][][] array) {
-    dst.elements(4).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 6, dst)) {
+      dst.elements(4).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -777,9 +798,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(FloatNdArray dst, float[][] array) {
-    dst.elements(0).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 2, dst)) {
+      dst.elements(0).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -791,9 +814,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(FloatNdArray dst, float[][][] array) {
-    dst.elements(1).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 3, dst)) {
+      dst.elements(1).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -805,9 +830,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(FloatNdArray dst, float[][][][] array) {
-    dst.elements(2).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 4, dst)) {
+      dst.elements(2).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -819,9 +846,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(FloatNdArray dst, float[][][][][] array) {
-    dst.elements(3).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 5, dst)) {
+      dst.elements(3).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -833,9 +862,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(FloatNdArray dst, float[][][][][][] array) {
-    dst.elements(4).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 6, dst)) {
+      dst.elements(4).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -859,9 +890,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(DoubleNdArray dst, double[][] array) {
-    dst.elements(0).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 2, dst)) {
+      dst.elements(0).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -873,9 +906,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(DoubleNdArray dst, double[][][] array) {
-    dst.elements(1).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 3, dst)) {
+      dst.elements(1).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -887,9 +922,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(DoubleNdArray dst, double[][][][] array) {
-    dst.elements(2).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 4, dst)) {
+      dst.elements(2).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -901,9 +938,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(DoubleNdArray dst, double[][][][][] array) {
-    dst.elements(3).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 5, dst)) {
+      dst.elements(3).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -915,9 +954,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(DoubleNdArray dst, double[][][][][][] array) {
-    dst.elements(4).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 6, dst)) {
+      dst.elements(4).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -941,9 +982,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(ByteNdArray dst, byte[][] array) {
-    dst.elements(0).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 2, dst)) {
+      dst.elements(0).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -955,9 +998,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(ByteNdArray dst, byte[][][] array) {
-    dst.elements(1).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 3, dst)) {
+      dst.elements(1).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -969,9 +1014,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(ByteNdArray dst, byte[][][][] array) {
-    dst.elements(2).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 4, dst)) {
+      dst.elements(2).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -983,9 +1030,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(ByteNdArray dst, byte[][][][][] array) {
-    dst.elements(3).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 5, dst)) {
+      dst.elements(3).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -997,9 +1046,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(ByteNdArray dst, byte[][][][][][] array) {
-    dst.elements(4).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 6, dst)) {
+      dst.elements(4).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -1023,9 +1074,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(ShortNdArray dst, short[][] array) {
-    dst.elements(0).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 2, dst)) {
+      dst.elements(0).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -1037,9 +1090,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(ShortNdArray dst, short[][][] array) {
-    dst.elements(1).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 3, dst)) {
+      dst.elements(1).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -1051,9 +1106,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(ShortNdArray dst, short[][][][] array) {
-    dst.elements(2).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 4, dst)) {
+      dst.elements(2).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -1065,9 +1122,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(ShortNdArray dst, short[][][][][] array) {
-    dst.elements(3).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 5, dst)) {
+      dst.elements(3).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -1079,9 +1138,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(ShortNdArray dst, short[][][][][][] array) {
-    dst.elements(4).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 6, dst)) {
+      dst.elements(4).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -1105,9 +1166,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(BooleanNdArray dst, boolean[][] array) {
-    dst.elements(0).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 2, dst)) {
+      dst.elements(0).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -1119,9 +1182,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(BooleanNdArray dst, boolean[][][] array) {
-    dst.elements(1).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 3, dst)) {
+      dst.elements(1).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -1133,9 +1198,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(BooleanNdArray dst, boolean[][][][] array) {
-    dst.elements(2).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 4, dst)) {
+      dst.elements(2).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -1147,9 +1214,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(BooleanNdArray dst, boolean[][][][][] array) {
-    dst.elements(3).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 5, dst)) {
+      dst.elements(3).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]]).copyTo(e)
+      );
+    }
   }
 
   /**
@@ -1161,9 +1230,11 @@ public final class StdArrays {
    *                                  with the source array
    */
   public static void copyTo(BooleanNdArray dst, boolean[][][][][][] array) {
-    dst.elements(4).forEachIndexed((idx, e) ->
-        vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
-    );
+    if (!StdArrayTransfer.execute(array, 6, dst)) {
+      dst.elements(4).forEachIndexed((idx, e) ->
+          vectorOf(array[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]][(int)idx[4]]).copyTo(e)
+      );
+    }
   }
 
   /**
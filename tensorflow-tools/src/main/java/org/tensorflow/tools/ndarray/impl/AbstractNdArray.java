@@ -76,11 +76,15 @@ public abstract class AbstractNdArray<T, U extends NdArray<T>> implements NdArra
   }
 
   protected int slowHashCode() {
+    // Scalars are hashed like the values of a buffer, so the result is the same as for arrays
+    // hashing their buffer directly
     final int prime = 31;
-    int result = 1;
+    int valuesHash = 1;
     for (NdArray<T> scalar : scalars()) {
-      result = prime * result + scalar.getObject().hashCode();
+      valuesHash = prime * valuesHash + scalar.getObject().hashCode();
     }
+    int result = 1;
+    result = prime * result + valuesHash;
     result = prime * result + shape().hashCode();
     return result;
   }
@@ -89,6 +93,17 @@ public abstract class AbstractNdArray<T, U extends NdArray<T>> implements NdArra
     if (!shape().equals(array.shape())) {  // this guarantees also that we have the same number of scalar values
       return false;
     }
+    if (!(array instanceof AbstractNdArray)) {
+      // Other implementations may not visit all their scalars, like sparse arrays, so compare the
+      // scalars of this array with the values found at the same coordinates
+      boolean[] equal = { true };
+      scalars().forEachIndexed((coords, scalar) -> {
+        if (equal[0] && !scalar.getObject().equals(array.getObject(coords))) {
+          equal[0] = false;
+        }
+      });
+      return equal[0];
+    }
     for (Iterator<? extends NdArray<?>> thisIter = scalars().iterator(), otherIter = array.scalars().iterator(); thisIter.hasNext();) {
       if (!thisIter.next().getObject().equals(otherIter.next().getObject())) {
         return false;
@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Executes an operation over a range of indices, splitting it across the threads of the common
+ * {@link ForkJoinPool} when it is large enough.
+ */
+public final class ParallelRanges {
+
+  /**
+   * An operation over a range of indices.
+   */
+  @FunctionalInterface
+  public interface RangeOp {
+
+    /**
+     * Applies the operation to the indices in {@code [from, to)}.
+     *
+     * @param from first index, inclusive
+     * @param to last index, exclusive
+     */
+    void apply(long from, long to);
+  }
+
+  /**
+   * Applies an operation to all indices in {@code [0, size)}.
+   *
+   * <p>The range is split in halves until each part has no more than {@code grainSize} indices,
+   * and these parts are then processed concurrently, but only if {@code parallel} is true and the
+   * common pool has more than one thread.
+   *
+   * @param size number of indices
+   * @param grainSize minimum number of indices processed by a single task
+   * @param parallel if false, the operation is applied to the whole range in the calling thread
+   * @param op operation to apply
+   */
+  public static void execute(long size, long grainSize, boolean parallel, RangeOp op) {
+    if (size <= 0) {
+      return;
+    }
+    if (parallel && size > grainSize && ForkJoinPool.getCommonPoolParallelism() > 1) {
+      ForkJoinPool.commonPool().invoke(new Task(0, size, Math.max(grainSize, 1), op));
+    } else {
+      op.apply(0, size);
+    }
+  }
+
+  private static final class Task extends RecursiveAction {
+
+    @Override
+    protected void compute() {
+      if (to - from > grainSize) {
+        long middle = from + (to - from) / 2;
+        invokeAll(new Task(from, middle, grainSize, op), new Task(middle, to, grainSize, op));
+      } else {
+        op.apply(from, to);
+      }
+    }
+
+    Task(long from, long to, long grainSize, RangeOp op) {
+      this.from = from;
+      this.to = to;
+      this.grainSize = grainSize;
+      this.op = op;
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private final long from;
+    private final long to;
+    private final long grainSize;
+    private final RangeOp op;
+  }
+
+  private ParallelRanges() {}
+}
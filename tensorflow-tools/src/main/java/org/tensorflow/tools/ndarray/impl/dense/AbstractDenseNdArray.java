@@ -16,12 +16,15 @@
  */
 package org.tensorflow.tools.ndarray.impl.dense;
 
+import java.util.Arrays;
+import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
 import org.tensorflow.tools.ndarray.IllegalRankException;
 import org.tensorflow.tools.ndarray.NdArray;
 import org.tensorflow.tools.ndarray.impl.AbstractNdArray;
 import org.tensorflow.tools.ndarray.impl.dimension.DimensionalSpace;
 import org.tensorflow.tools.ndarray.impl.dimension.RelativeDimensionalSpace;
+import org.tensorflow.tools.ndarray.impl.sequence.PositionIterator;
 import org.tensorflow.tools.ndarray.index.Index;
 
 @SuppressWarnings("unchecked")
@@ -42,6 +45,51 @@ public abstract class AbstractDenseNdArray<T, U extends NdArray<T>> extends Abst
     return slice(sliceDimensions.position(), sliceDimensions);
   }
 
+  @Override
+  public U transpose(int... axes) {
+    return instantiate(buffer(), dimensions().transpose(axes));
+  }
+
+  @Override
+  public U broadcastTo(Shape shape) {
+    return instantiate(buffer(), dimensions().broadcastTo(shape));
+  }
+
+  @Override
+  public U reshape(Shape shape) {
+    Validator.reshapeArgs(this, shape);
+    DataBuffer<T> buffer = buffer();
+    if (dimensions().isSegmented()) {
+      // values must be contiguous to be viewed with another shape, so copy them first
+      buffer = allocateBuffer(size());
+      copyTo(instantiate(buffer, DimensionalSpace.create(shape())));
+    }
+    return instantiate(buffer, DimensionalSpace.create(shape));
+  }
+
+  @Override
+  public U squeeze() {
+    long[] dimensionSizes = new long[rank()];
+    int numDimensions = 0;
+    for (int i = 0; i < dimensionSizes.length; ++i) {
+      long dimensionSize = shape().size(i);
+      if (dimensionSize != 1) {
+        dimensionSizes[numDimensions++] = dimensionSize;
+      }
+    }
+    return reshape(Shape.of(Arrays.copyOf(dimensionSizes, numDimensions)));
+  }
+
+  @Override
+  public U expandDims(int axis) {
+    Validator.expandDimsArgs(this, axis);
+    long[] dimensionSizes = new long[rank() + 1];
+    for (int i = 0, j = 0; i < dimensionSizes.length; ++i) {
+      dimensionSizes[i] = (i == axis) ? 1 : shape().size(j++);
+    }
+    return reshape(Shape.of(dimensionSizes));
+  }
+
   @Override
   public U get(long... coords) {
     return slice(positionOf(coords, false), dimensions().from(coords.length));
@@ -64,6 +112,22 @@ public abstract class AbstractDenseNdArray<T, U extends NdArray<T>> extends Abst
     return (U)this;
   }
 
+  @Override
+  public U fill(T value) {
+    if (dimensions().isSegmented()) {
+      int segmentationIdx = dimensions().segmentationIdx();
+      long segmentSize = dimensions().get(segmentationIdx).elementSize();
+      PositionIterator positions = PositionIterator.create(dimensions(), segmentationIdx);
+      while (positions.hasNext()) {
+        long position = positions.nextLong();
+        buffer().fill(value, position, position + segmentSize);
+      }
+    } else {
+      buffer().fill(value, 0, dimensions().physicalSize());
+    }
+    return (U)this;
+  }
+
   @Override
   public U read(DataBuffer<T> dst) {
     Validator.readToBufferArgs(this, dst);
@@ -116,6 +180,8 @@ public abstract class AbstractDenseNdArray<T, U extends NdArray<T>> extends Abst
 
   abstract U instantiate(DataBuffer<T> buffer, DimensionalSpace dimensions);
 
+  abstract DataBuffer<T> allocateBuffer(long size);
+
   long positionOf(long[] coords, boolean isValue) {
     if (coords == null || coords.length == 0) {
       return 0;
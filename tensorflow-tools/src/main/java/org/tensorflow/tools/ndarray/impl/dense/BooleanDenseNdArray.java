@@ -19,6 +19,7 @@ package org.tensorflow.tools.ndarray.impl.dense;
 import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.BooleanDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
 import org.tensorflow.tools.ndarray.BooleanNdArray;
 import org.tensorflow.tools.ndarray.NdArray;
 import org.tensorflow.tools.ndarray.impl.dimension.DimensionalSpace;
@@ -77,6 +78,11 @@ public class BooleanDenseNdArray extends AbstractDenseNdArray<Boolean, BooleanNd
     return new BooleanDenseNdArray((BooleanDataBuffer)buffer, dimensions);
   }
 
+  @Override
+  BooleanDataBuffer allocateBuffer(long size) {
+    return DataBuffers.ofBooleans(size);
+  }
+
   @Override
   protected BooleanDataBuffer buffer() {
     return buffer;
@@ -19,6 +19,7 @@ package org.tensorflow.tools.ndarray.impl.dense;
 import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.ByteDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
 import org.tensorflow.tools.ndarray.ByteNdArray;
 import org.tensorflow.tools.ndarray.NdArray;
 import org.tensorflow.tools.ndarray.impl.dimension.DimensionalSpace;
@@ -77,6 +78,11 @@ public class ByteDenseNdArray extends AbstractDenseNdArray<Byte, ByteNdArray>
     return new ByteDenseNdArray((ByteDataBuffer)buffer, dimensions);
   }
 
+  @Override
+  ByteDataBuffer allocateBuffer(long size) {
+    return DataBuffers.ofBytes(size);
+  }
+
   @Override
   protected ByteDataBuffer buffer() {
     return buffer;
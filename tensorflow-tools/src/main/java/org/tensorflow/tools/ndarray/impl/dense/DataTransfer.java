@@ -17,6 +17,9 @@
 
 package org.tensorflow.tools.ndarray.impl.dense;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.BooleanDataBuffer;
 import org.tensorflow.tools.buffer.ByteDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffer;
@@ -25,8 +28,9 @@ import org.tensorflow.tools.buffer.FloatDataBuffer;
 import org.tensorflow.tools.buffer.IntDataBuffer;
 import org.tensorflow.tools.buffer.LongDataBuffer;
 import org.tensorflow.tools.buffer.ShortDataBuffer;
+import org.tensorflow.tools.buffer.impl.ConcurrentWrites;
+import org.tensorflow.tools.ndarray.impl.dimension.Dimension;
 import org.tensorflow.tools.ndarray.impl.dimension.DimensionalSpace;
-import org.tensorflow.tools.ndarray.impl.sequence.PositionIterator;
 
 final class DataTransfer {
 
@@ -72,9 +76,10 @@ final class DataTransfer {
       int segmentationIdx = Math.max(srcDimensions.segmentationIdx(), dstDimensions.segmentationIdx());
       copyByElement(
           srcBuffer,
-          PositionIterator.create(srcDimensions, segmentationIdx),
+          srcDimensions,
           dstBuffer,
-          PositionIterator.create(dstDimensions, segmentationIdx),
+          dstDimensions,
+          segmentationIdx,
           srcDimensions.get(segmentationIdx).elementSize(),
           valueTransfer
       );
@@ -85,12 +90,14 @@ final class DataTransfer {
 
   static <T, B extends DataBuffer<T>> void execute(B srcBuffer, B dstBuffer, DimensionalSpace dstDimensions, OfValue<B> valueTransfer) {
     if (dstDimensions.isSegmented()) {
-      long elementSize = dstDimensions.get(dstDimensions.segmentationIdx()).elementSize();
+      int segmentationIdx = dstDimensions.segmentationIdx();
+      long elementSize = dstDimensions.get(segmentationIdx).elementSize();
       copyByElement(
           srcBuffer,
-          PositionIterator.sequence(elementSize, srcBuffer.size()),
+          sequence(dstDimensions, segmentationIdx, elementSize),
           dstBuffer,
-          PositionIterator.create(dstDimensions, dstDimensions.segmentationIdx()),
+          dstDimensions,
+          segmentationIdx,
           elementSize,
           valueTransfer
       );
@@ -101,12 +108,14 @@ final class DataTransfer {
 
   static <T, B extends DataBuffer<T>> void execute(B srcBuffer, DimensionalSpace srcDimensions, B dstBuffer, OfValue<B> valueTransfer) {
     if (srcDimensions.isSegmented()) {
-      long elementSize = srcDimensions.get(srcDimensions.segmentationIdx()).elementSize();
+      int segmentationIdx = srcDimensions.segmentationIdx();
+      long elementSize = srcDimensions.get(segmentationIdx).elementSize();
       copyByElement(
           srcBuffer,
-          PositionIterator.create(srcDimensions, srcDimensions.segmentationIdx()),
+          srcDimensions,
           dstBuffer,
-          PositionIterator.sequence(elementSize, dstBuffer.size()),
+          sequence(srcDimensions, segmentationIdx, elementSize),
+          segmentationIdx,
           elementSize,
           valueTransfer
       );
@@ -115,22 +124,350 @@ final class DataTransfer {
     }
   }
 
+  /**
+   * Copies all elements of a segmented space, where each element is a contiguous segment of
+   * {@code elementSize} values.
+   *
+   * <p>Elements are iterated over the dimensions up to {@code segmentationIdx}, which is the last
+   * dimension that is not contiguous in one of the spaces. Positions in this innermost dimension
+   * are computed once and added to the position of the outer dimensions, which are incremented
+   * only once per row.
+   *
+   * <p>When the values are scalars and the innermost dimension is not traversed in the same order
+   * in both spaces, like when copying a transposed view to a contiguous array, the last two
+   * dimensions are copied in square blocks that fit in the cache, so that the values of a row in
+   * one space are reused while the other space is traversed by columns.
+   *
+   * <p>Dimensions with a zero stride in the source space, like the ones of a broadcasted array,
+   * are not copied element by element. When they are the first dimensions of the source space and
+   * the destination space is contiguous, only the first element is copied and then replicated in
+   * bulk to the rest of the destination buffer. Innermost rows of a single repeated value are
+   * filled instead of being copied value by value.
+   *
+   * <p>Large copies are split across the threads of the common {@link ForkJoinPool} when the
+   * destination buffer supports concurrent writes at distinct indices.
+   */
+  @SuppressWarnings("unchecked")
   private static <T, B extends DataBuffer<T>> void copyByElement(
       B srcBuffer,
-      PositionIterator srcIterator,
+      DimensionalSpace srcDimensions,
       B dstBuffer,
-      PositionIterator dstIterator,
+      DimensionalSpace dstDimensions,
+      int segmentationIdx,
       long elementSize,
       OfValue<B> valueTransfer
   ) {
-    if (elementSize == 1) {
-      while (srcIterator.hasNext()) {
-        valueTransfer.copy(srcBuffer, srcIterator.nextLong(), dstBuffer, dstIterator.nextLong());
+    int numRepeatedDimensions = numRepeatedDimensions(srcDimensions, dstDimensions, segmentationIdx);
+    if (numRepeatedDimensions > 0) {
+      long srcPosition = 0L;
+      long numRepetitions = 1L;
+      for (int i = 0; i < numRepeatedDimensions; ++i) {
+        srcPosition += srcDimensions.get(i).positionOf(0);
+        numRepetitions *= srcDimensions.numElements(i);
       }
+      long repeatedSize = dstDimensions.get(numRepeatedDimensions - 1).elementSize();
+      B srcElement = (B)srcBuffer.offset(srcPosition);
+      if (numRepeatedDimensions > segmentationIdx) {
+        srcElement.copyTo(dstBuffer, repeatedSize);
+      } else {
+        copyByElement(
+            srcElement,
+            srcDimensions.from(numRepeatedDimensions),
+            dstBuffer,
+            dstDimensions.from(numRepeatedDimensions),
+            segmentationIdx - numRepeatedDimensions,
+            elementSize,
+            valueTransfer
+        );
+      }
+      // Double the number of copied elements at each iteration
+      long totalSize = repeatedSize * numRepetitions;
+      for (long copiedSize = repeatedSize; copiedSize < totalSize; ) {
+        long size = Math.min(copiedSize, totalSize - copiedSize);
+        dstBuffer.copyTo(dstBuffer.offset(copiedSize), size);
+        copiedSize += size;
+      }
+      return;
+    }
+    ElementCopy<T, B> copy = new ElementCopy<>(srcBuffer, srcDimensions, dstBuffer, dstDimensions, segmentationIdx, elementSize, valueTransfer);
+    long numUnits = copy.numUnits();
+    if (numUnits == 0) {
+      return;
+    }
+    if (numUnits > 1
+        && numUnits * copy.unitSize() >= PARALLEL_THRESHOLD
+        && ForkJoinPool.getCommonPoolParallelism() > 1
+        && ConcurrentWrites.isSupportedBy(dstBuffer)
+        && !dstDimensions.isBroadcasted()) {  // distinct elements of a broadcast share the same values
+      ForkJoinPool.commonPool().invoke(copy.new Task(0, numUnits));
     } else {
-      while (srcIterator.hasNext()) {
-        srcBuffer.offset(srcIterator.nextLong()).copyTo(dstBuffer.offset(dstIterator.nextLong()), elementSize);
+      copy.copyUnits(0, numUnits);
+    }
+  }
+
+  /**
+   * Returns the number of leading dimensions of the source space that repeat the same element and
+   * can be replicated in bulk in the destination space, or 0 if there is none.
+   */
+  private static int numRepeatedDimensions(DimensionalSpace srcDimensions, DimensionalSpace dstDimensions, int segmentationIdx) {
+    if (dstDimensions.isSegmented()) {
+      return 0;
+    }
+    int numRepeatedDimensions = 0;
+    boolean repeating = false;
+    while (numRepeatedDimensions <= segmentationIdx) {
+      Dimension dimension = srcDimensions.get(numRepeatedDimensions);
+      long numElements = dimension.numElements();
+      if (numElements == 0 || (numElements > 1 && dimension.positionOf(0) != dimension.positionOf(1))) {
+        break;
+      }
+      repeating |= numElements > 1;
+      ++numRepeatedDimensions;
+    }
+    return repeating ? numRepeatedDimensions : 0;
+  }
+
+  /**
+   * Returns a space iterating over a sequence of contiguous elements, with the same dimensions as
+   * the ones to iterate in {@code dimensions}.
+   */
+  private static DimensionalSpace sequence(DimensionalSpace dimensions, int segmentationIdx, long elementSize) {
+    long[] dimensionSizes = new long[segmentationIdx + 2];
+    for (int i = 0; i <= segmentationIdx; ++i) {
+      dimensionSizes[i] = dimensions.numElements(i);
+    }
+    dimensionSizes[segmentationIdx + 1] = elementSize;
+    return DimensionalSpace.create(Shape.of(dimensionSizes));
+  }
+
+  private static final class ElementCopy<T, B extends DataBuffer<T>> {
+
+    /**
+     * Returns the number of units of work of this copy, which are either single elements or blocks
+     * of rows when copying by blocks.
+     */
+    long numUnits() {
+      long numUnits = blocked ? numRowBlocks : innerSize;
+      for (int i = 0; i < (blocked ? innerIdx - 1 : innerIdx); ++i) {
+        numUnits *= srcDimensions.numElements(i);
+      }
+      return numUnits;
+    }
+
+    /**
+     * Returns the number of values copied per unit of work.
+     */
+    long unitSize() {
+      return blocked ? BLOCK_SIZE * innerSize : elementSize;
+    }
+
+    void copyUnits(long from, long to) {
+      if (blocked) {
+        copyBlocks(from, to);
+      } else {
+        copyRange(from, to);
+      }
+    }
+
+    void copyRange(long from, long to) {
+      long[] coords = new long[innerIdx];
+      long innerCoord = from % innerSize;
+      long outerIndex = from / innerSize;
+      for (int i = innerIdx - 1; i >= 0; --i) {
+        long numElements = srcDimensions.numElements(i);
+        coords[i] = outerIndex % numElements;
+        outerIndex /= numElements;
+      }
+      for (long remaining = to - from; remaining > 0; ) {
+        long srcBase = 0L;
+        long dstBase = 0L;
+        for (int i = 0; i < innerIdx; ++i) {
+          srcBase += srcDimensions.get(i).positionOf(coords[i]);
+          dstBase += dstDimensions.get(i).positionOf(coords[i]);
+        }
+        long n = Math.min(innerSize - innerCoord, remaining);
+        copyRow(srcBase, dstBase, innerCoord, innerCoord + n);
+        remaining -= n;
+        innerCoord = 0;
+        for (int i = innerIdx - 1; i >= 0 && ++coords[i] == srcDimensions.numElements(i); --i) {
+          coords[i] = 0;
+        }
+      }
+    }
+
+    void copyBlocks(long from, long to) {
+      int rowsIdx = innerIdx - 1;
+      long[] coords = new long[rowsIdx];
+      for (long unit = from; unit < to; ++unit) {
+        long planeIndex = unit / numRowBlocks;
+        for (int i = rowsIdx - 1; i >= 0; --i) {
+          long numElements = srcDimensions.numElements(i);
+          coords[i] = planeIndex % numElements;
+          planeIndex /= numElements;
+        }
+        long srcBase = 0L;
+        long dstBase = 0L;
+        for (int i = 0; i < rowsIdx; ++i) {
+          srcBase += srcDimensions.get(i).positionOf(coords[i]);
+          dstBase += dstDimensions.get(i).positionOf(coords[i]);
+        }
+        int rowStart = (int)(unit % numRowBlocks) * BLOCK_SIZE;
+        int rowEnd = Math.min(rowStart + BLOCK_SIZE, srcRowPositions.length);
+        for (int columnStart = 0; columnStart < innerSize; columnStart += BLOCK_SIZE) {
+          int columnEnd = (int)Math.min(columnStart + BLOCK_SIZE, innerSize);
+          for (int row = rowStart; row < rowEnd; ++row) {
+            long srcRowBase = srcBase + srcRowPositions[row];
+            long dstRowBase = dstBase + dstRowPositions[row];
+            for (int column = columnStart; column < columnEnd; ++column) {
+              valueTransfer.copy(srcBuffer, srcRowBase + srcInnerPositions[column], dstBuffer, dstRowBase + dstInnerPositions[column]);
+            }
+          }
+        }
+      }
+    }
+
+    final class Task extends RecursiveAction {
+
+      @Override
+      protected void compute() {
+        if ((to - from) * unitSize() > PARALLEL_THRESHOLD / 2 && to - from > 1) {
+          long middle = from + (to - from) / 2;
+          invokeAll(new Task(from, middle), new Task(middle, to));
+        } else {
+          copyUnits(from, to);
+        }
+      }
+
+      Task(long from, long to) {
+        this.from = from;
+        this.to = to;
+      }
+
+      private static final long serialVersionUID = 1L;
+
+      private final long from;
+      private final long to;
+    }
+
+    ElementCopy(B srcBuffer, DimensionalSpace srcDimensions, B dstBuffer, DimensionalSpace dstDimensions, int innerIdx, long elementSize, OfValue<B> valueTransfer) {
+      this.srcBuffer = srcBuffer;
+      this.srcDimensions = srcDimensions;
+      this.dstBuffer = dstBuffer;
+      this.dstDimensions = dstDimensions;
+      this.innerIdx = innerIdx;
+      this.elementSize = elementSize;
+      this.valueTransfer = valueTransfer;
+      innerSize = srcDimensions.numElements(innerIdx);
+      if (innerSize <= MAX_PRECOMPUTED_POSITIONS) {
+        srcInnerPositions = positionsOf(srcDimensions.get(innerIdx), (int)innerSize);
+        dstInnerPositions = positionsOf(dstDimensions.get(innerIdx), (int)innerSize);
+      } else {
+        srcInnerPositions = null;
+        dstInnerPositions = null;
+      }
+      long numRows = innerIdx > 0 ? srcDimensions.numElements(innerIdx - 1) : 0L;
+      blocked = elementSize == 1
+          && srcInnerPositions != null
+          && innerSize > 1
+          && numRows > 1
+          && numRows <= MAX_PRECOMPUTED_POSITIONS
+          && srcInnerPositions[1] != srcInnerPositions[0]
+          && dstInnerPositions[1] != dstInnerPositions[0]
+          && srcInnerPositions[1] - srcInnerPositions[0] != dstInnerPositions[1] - dstInnerPositions[0];
+      filled = elementSize == 1
+          && srcInnerPositions != null
+          && innerSize > 1
+          && isRepeated(srcInnerPositions)
+          && isContiguous(dstInnerPositions);
+      if (blocked) {
+        srcRowPositions = positionsOf(srcDimensions.get(innerIdx - 1), (int)numRows);
+        dstRowPositions = positionsOf(dstDimensions.get(innerIdx - 1), (int)numRows);
+        numRowBlocks = (numRows + BLOCK_SIZE - 1) / BLOCK_SIZE;
+      } else {
+        srcRowPositions = null;
+        dstRowPositions = null;
+        numRowBlocks = 0L;
+      }
+    }
+
+    private final B srcBuffer;
+    private final DimensionalSpace srcDimensions;
+    private final B dstBuffer;
+    private final DimensionalSpace dstDimensions;
+    private final int innerIdx;
+    private final long innerSize;
+    private final long elementSize;
+    private final OfValue<B> valueTransfer;
+    private final long[] srcInnerPositions;
+    private final long[] dstInnerPositions;
+    private final boolean blocked;
+    private final boolean filled;
+    private final long[] srcRowPositions;
+    private final long[] dstRowPositions;
+    private final long numRowBlocks;
+
+    private void copyRow(long srcBase, long dstBase, long from, long to) {
+      if (srcInnerPositions == null) {
+        Dimension srcInner = srcDimensions.get(innerIdx);
+        Dimension dstInner = dstDimensions.get(innerIdx);
+        for (long i = from; i < to; ++i) {
+          copyElement(srcBase + srcInner.positionOf(i), dstBase + dstInner.positionOf(i));
+        }
+      } else if (filled) {
+        long dstStart = dstBase + dstInnerPositions[(int)from];
+        dstBuffer.fill(srcBuffer.getObject(srcBase + srcInnerPositions[0]), dstStart, dstStart + to - from);
+      } else if (elementSize == 1) {
+        for (int i = (int)from; i < (int)to; ++i) {
+          valueTransfer.copy(srcBuffer, srcBase + srcInnerPositions[i], dstBuffer, dstBase + dstInnerPositions[i]);
+        }
+      } else {
+        for (int i = (int)from; i < (int)to; ++i) {
+          srcBuffer.offset(srcBase + srcInnerPositions[i]).copyTo(dstBuffer.offset(dstBase + dstInnerPositions[i]), elementSize);
+        }
       }
     }
+
+    private void copyElement(long srcPosition, long dstPosition) {
+      if (elementSize == 1) {
+        valueTransfer.copy(srcBuffer, srcPosition, dstBuffer, dstPosition);
+      } else {
+        srcBuffer.offset(srcPosition).copyTo(dstBuffer.offset(dstPosition), elementSize);
+      }
+    }
+
+    private static boolean isRepeated(long[] positions) {
+      for (int i = 1; i < positions.length; ++i) {
+        if (positions[i] != positions[0]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean isContiguous(long[] positions) {
+      for (int i = 1; i < positions.length; ++i) {
+        if (positions[i] != positions[0] + i) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static long[] positionsOf(Dimension dimension, int numElements) {
+      long[] positions = new long[numElements];
+      for (int i = 0; i < numElements; ++i) {
+        positions[i] = dimension.positionOf(i);
+      }
+      return positions;
+    }
   }
+
+  // minimum number of values to copy before splitting a copy across multiple threads
+  private static final long PARALLEL_THRESHOLD = 1L << 17;
+
+  // number of rows and columns of the blocks copied at once when copying by blocks
+  private static final int BLOCK_SIZE = 64;
+
+  // maximum number of elements in a dimension for which positions are computed in advance
+  private static final long MAX_PRECOMPUTED_POSITIONS = 1L << 16;
 }
@@ -16,12 +16,16 @@
  */
 package org.tensorflow.tools.ndarray.impl.dense;
 
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
 import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
 import org.tensorflow.tools.buffer.DoubleDataBuffer;
 import org.tensorflow.tools.ndarray.DoubleNdArray;
 import org.tensorflow.tools.ndarray.NdArray;
 import org.tensorflow.tools.ndarray.impl.dimension.DimensionalSpace;
+import org.tensorflow.tools.ndarray.impl.sequence.PositionSpliterator;
 
 public class DoubleDenseNdArray extends AbstractDenseNdArray<Double, DoubleNdArray>
     implements DoubleNdArray {
@@ -42,6 +46,12 @@ public class DoubleDenseNdArray extends AbstractDenseNdArray<Double, DoubleNdArr
     return this;
   }
 
+  @Override
+  public DoubleStream doubleStream() {
+    PositionSpliterator positions = PositionSpliterator.create(dimensions(), rank() - 1);
+    return StreamSupport.longStream(positions, false).mapToDouble(buffer::getDouble);
+  }
+
   @Override
   public DoubleNdArray copyTo(NdArray<Double> dst) {
     Validator.copyToNdArrayArgs(this, dst);
@@ -78,7 +88,12 @@ public class DoubleDenseNdArray extends AbstractDenseNdArray<Double, DoubleNdArr
   }
 
   @Override
-  protected DoubleDataBuffer buffer() {
+  DoubleDataBuffer allocateBuffer(long size) {
+    return DataBuffers.ofDoubles(size);
+  }
+
+  @Override
+  public DoubleDataBuffer buffer() {
     return buffer;
   }
 
@@ -16,12 +16,17 @@
  */
 package org.tensorflow.tools.ndarray.impl.dense;
 
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
 import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
 import org.tensorflow.tools.buffer.FloatDataBuffer;
 import org.tensorflow.tools.ndarray.FloatNdArray;
 import org.tensorflow.tools.ndarray.NdArray;
 import org.tensorflow.tools.ndarray.impl.dimension.DimensionalSpace;
+import org.tensorflow.tools.ndarray.impl.sequence.PositionIterator;
+import org.tensorflow.tools.ndarray.impl.sequence.PositionSpliterator;
 
 public class FloatDenseNdArray extends AbstractDenseNdArray<Float, FloatNdArray>
     implements FloatNdArray {
@@ -42,6 +47,45 @@ public class FloatDenseNdArray extends AbstractDenseNdArray<Float, FloatNdArray>
     return this;
   }
 
+  @Override
+  public FloatNdArray forEachFloat(FloatConsumer consumer) {
+    for (PositionIterator positions = PositionIterator.create(dimensions(), rank() - 1); positions.hasNext();) {
+      consumer.accept(buffer.getFloat(positions.nextLong()));
+    }
+    return this;
+  }
+
+  @Override
+  public FloatNdArray forEachFloatIndexed(IndexedFloatConsumer consumer) {
+    PositionIterator.createIndexed(dimensions(), rank() - 1).forEachIndexed((coords, position) ->
+        consumer.accept(coords, buffer.getFloat(position))
+    );
+    return this;
+  }
+
+  @Override
+  public FloatNdArray updateFloats(FloatUnaryOperator operator) {
+    for (PositionIterator positions = PositionIterator.create(dimensions(), rank() - 1); positions.hasNext();) {
+      long position = positions.nextLong();
+      buffer.setFloat(operator.applyAsFloat(buffer.getFloat(position)), position);
+    }
+    return this;
+  }
+
+  @Override
+  public FloatNdArray updateFloatsIndexed(IndexedFloatUnaryOperator operator) {
+    PositionIterator.createIndexed(dimensions(), rank() - 1).forEachIndexed((coords, position) ->
+        buffer.setFloat(operator.applyAsFloat(coords, buffer.getFloat(position)), position)
+    );
+    return this;
+  }
+
+  @Override
+  public DoubleStream floatStream() {
+    PositionSpliterator positions = PositionSpliterator.create(dimensions(), rank() - 1);
+    return StreamSupport.longStream(positions, false).mapToDouble(buffer::getFloat);
+  }
+
   @Override
   public FloatNdArray copyTo(NdArray<Float> dst) {
     Validator.copyToNdArrayArgs(this, dst);
@@ -77,6 +121,11 @@ public class FloatDenseNdArray extends AbstractDenseNdArray<Float, FloatNdArray>
     return new FloatDenseNdArray((FloatDataBuffer) buffer, dimensions);
   }
 
+  @Override
+  FloatDataBuffer allocateBuffer(long size) {
+    return DataBuffers.ofFloats(size);
+  }
+
   @Override
   public FloatDataBuffer buffer() {
     return buffer;
@@ -18,6 +18,7 @@ package org.tensorflow.tools.ndarray.impl.dense;
 
 import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
 import org.tensorflow.tools.buffer.IntDataBuffer;
 import org.tensorflow.tools.ndarray.IntNdArray;
 import org.tensorflow.tools.ndarray.NdArray;
@@ -78,7 +79,12 @@ public class IntDenseNdArray extends AbstractDenseNdArray<Integer, IntNdArray>
   }
 
   @Override
-  protected IntDataBuffer buffer() {
+  IntDataBuffer allocateBuffer(long size) {
+    return DataBuffers.ofInts(size);
+  }
+
+  @Override
+  public IntDataBuffer buffer() {
     return buffer;
   }
 
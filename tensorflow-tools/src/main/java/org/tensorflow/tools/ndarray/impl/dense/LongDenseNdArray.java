@@ -18,6 +18,7 @@ package org.tensorflow.tools.ndarray.impl.dense;
 
 import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
 import org.tensorflow.tools.buffer.LongDataBuffer;
 import org.tensorflow.tools.ndarray.LongNdArray;
 import org.tensorflow.tools.ndarray.NdArray;
@@ -77,6 +78,11 @@ public class LongDenseNdArray extends AbstractDenseNdArray<Long, LongNdArray>
     return new LongDenseNdArray((LongDataBuffer)buffer, dimensions);
   }
 
+  @Override
+  LongDataBuffer allocateBuffer(long size) {
+    return DataBuffers.ofLongs(size);
+  }
+
   @Override
   protected LongDataBuffer buffer() {
     return buffer;
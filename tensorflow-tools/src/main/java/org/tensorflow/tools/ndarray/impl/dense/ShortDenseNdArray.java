@@ -18,6 +18,7 @@ package org.tensorflow.tools.ndarray.impl.dense;
 
 import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
 import org.tensorflow.tools.buffer.ShortDataBuffer;
 import org.tensorflow.tools.ndarray.NdArray;
 import org.tensorflow.tools.ndarray.ShortNdArray;
@@ -77,6 +78,11 @@ public class ShortDenseNdArray extends AbstractDenseNdArray<Short, ShortNdArray>
     return new ShortDenseNdArray((ShortDataBuffer)buffer, dimensions);
   }
 
+  @Override
+  ShortDataBuffer allocateBuffer(long size) {
+    return DataBuffers.ofShorts(size);
+  }
+
   @Override
   protected ShortDataBuffer buffer() {
     return buffer;
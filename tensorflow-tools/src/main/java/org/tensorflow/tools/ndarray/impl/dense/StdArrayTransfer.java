@@ -0,0 +1,224 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl.dense;
+
+import java.lang.reflect.Array;
+import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.buffer.BooleanDataBuffer;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DoubleDataBuffer;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.IntDataBuffer;
+import org.tensorflow.tools.buffer.LongDataBuffer;
+import org.tensorflow.tools.buffer.ShortDataBuffer;
+import org.tensorflow.tools.buffer.impl.ConcurrentWrites;
+import org.tensorflow.tools.ndarray.NdArray;
+import org.tensorflow.tools.ndarray.impl.ParallelRanges;
+
+/**
+ * Copies multi-dimensional Java arrays of primitives into dense arrays.
+ *
+ * <p>Each innermost row of the Java array is written in bulk at its position in the buffer of the
+ * destination array, without creating any intermediate view. Large arrays are copied concurrently
+ * across their first dimension.
+ */
+public final class StdArrayTransfer {
+
+  /**
+   * Copies a multi-dimensional Java array of primitives into an array, if it is dense and not
+   * segmented.
+   *
+   * @param array source array, whose innermost rows are arrays of primitives
+   * @param rank number of dimensions of the source array
+   * @param dst destination array
+   * @return false if {@code dst} is not eligible to a bulk copy, in which case nothing has been
+   *         copied
+   * @throws IllegalArgumentException if the shape of {@code dst} is not compatible with the source
+   *                                  array
+   */
+  public static boolean execute(Object[] array, int rank, NdArray<?> dst) {
+    if (!(dst instanceof AbstractDenseNdArray) || ((AbstractDenseNdArray<?, ?>)dst).dimensions().isSegmented()) {
+      return false;
+    }
+    DataBuffer<?> buffer = ((AbstractDenseNdArray<?, ?>)dst).buffer();
+    RowWriter rowWriter = rowWriterOf(buffer);
+    if (rowWriter == null) {
+      return false;
+    }
+    Shape shape = dst.shape();
+    if (shape.numDimensions() != rank) {
+      throw new IllegalArgumentException("Cannot copy an array of rank " + rank + " into an array of shape " + shape);
+    }
+    long[] strides = new long[rank];
+    strides[rank - 1] = 1;
+    for (int i = rank - 2; i >= 0; --i) {
+      strides[i] = strides[i + 1] * shape.size(i + 1);
+    }
+    // Validate the whole array first, so nothing is written if it is ragged
+    rowsArgs(array, shape, 0);
+    boolean parallel = dst.size() >= PARALLEL_THRESHOLD && ConcurrentWrites.isSupportedBy(buffer);
+    long grainSize = Math.max(1, PARALLEL_THRESHOLD / Math.max(strides[0], 1));
+    ParallelRanges.execute(array.length, grainSize, parallel, (from, to) -> {
+      for (int i = (int)from; i < to; ++i) {
+        copyRows(array[i], shape, 1, i * strides[0], strides, rowWriter);
+      }
+    });
+    return true;
+  }
+
+  private static final long PARALLEL_THRESHOLD = 1L << 16;
+
+  /**
+   * Under this length, rows are written value by value instead of allocating a buffer window for a
+   * bulk write.
+   */
+  private static final int MIN_BULK_ROW_LENGTH = 16;
+
+  @FunctionalInterface
+  private interface RowWriter {
+    void write(Object row, long position);
+  }
+
+  private static void copyRows(Object array, Shape shape, int dimensionIdx, long position, long[] strides, RowWriter rowWriter) {
+    if (dimensionIdx == shape.numDimensions() - 1) {
+      rowWriter.write(array, position);
+      return;
+    }
+    Object[] subArrays = (Object[])array;
+    for (int i = 0; i < subArrays.length; ++i) {
+      copyRows(subArrays[i], shape, dimensionIdx + 1, position + i * strides[dimensionIdx], strides, rowWriter);
+    }
+  }
+
+  private static void rowsArgs(Object array, Shape shape, int dimensionIdx) {
+    dimensionArgs(array, shape, dimensionIdx);
+    if (dimensionIdx < shape.numDimensions() - 1) {
+      for (Object subArray : (Object[])array) {
+        rowsArgs(subArray, shape, dimensionIdx + 1);
+      }
+    }
+  }
+
+  private static void dimensionArgs(Object array, Shape shape, int dimensionIdx) {
+    if (array == null) {
+      throw new IllegalArgumentException("The array or one of its subarray is null");
+    }
+    int length = Array.getLength(array);
+    if (length != shape.size(dimensionIdx)) {
+      throw new IllegalArgumentException("Cannot copy an array with " + length + " elements in dimension " +
+          dimensionIdx + " into an array of shape " + shape);
+    }
+  }
+
+  private static RowWriter rowWriterOf(DataBuffer<?> buffer) {
+    if (buffer instanceof FloatDataBuffer) {
+      FloatDataBuffer floatBuffer = (FloatDataBuffer)buffer;
+      return (row, position) -> {
+        float[] values = (float[])row;
+        if (values.length < MIN_BULK_ROW_LENGTH) {
+          for (int i = 0; i < values.length; ++i) {
+            floatBuffer.setFloat(values[i], position + i);
+          }
+        } else {
+          floatBuffer.offset(position).write(values);
+        }
+      };
+    }
+    if (buffer instanceof DoubleDataBuffer) {
+      DoubleDataBuffer doubleBuffer = (DoubleDataBuffer)buffer;
+      return (row, position) -> {
+        double[] values = (double[])row;
+        if (values.length < MIN_BULK_ROW_LENGTH) {
+          for (int i = 0; i < values.length; ++i) {
+            doubleBuffer.setDouble(values[i], position + i);
+          }
+        } else {
+          doubleBuffer.offset(position).write(values);
+        }
+      };
+    }
+    if (buffer instanceof IntDataBuffer) {
+      IntDataBuffer intBuffer = (IntDataBuffer)buffer;
+      return (row, position) -> {
+        int[] values = (int[])row;
+        if (values.length < MIN_BULK_ROW_LENGTH) {
+          for (int i = 0; i < values.length; ++i) {
+            intBuffer.setInt(values[i], position + i);
+          }
+        } else {
+          intBuffer.offset(position).write(values);
+        }
+      };
+    }
+    if (buffer instanceof LongDataBuffer) {
+      LongDataBuffer longBuffer = (LongDataBuffer)buffer;
+      return (row, position) -> {
+        long[] values = (long[])row;
+        if (values.length < MIN_BULK_ROW_LENGTH) {
+          for (int i = 0; i < values.length; ++i) {
+            longBuffer.setLong(values[i], position + i);
+          }
+        } else {
+          longBuffer.offset(position).write(values);
+        }
+      };
+    }
+    if (buffer instanceof ByteDataBuffer) {
+      ByteDataBuffer byteBuffer = (ByteDataBuffer)buffer;
+      return (row, position) -> {
+        byte[] values = (byte[])row;
+        if (values.length < MIN_BULK_ROW_LENGTH) {
+          for (int i = 0; i < values.length; ++i) {
+            byteBuffer.setByte(values[i], position + i);
+          }
+        } else {
+          byteBuffer.offset(position).write(values);
+        }
+      };
+    }
+    if (buffer instanceof ShortDataBuffer) {
+      ShortDataBuffer shortBuffer = (ShortDataBuffer)buffer;
+      return (row, position) -> {
+        short[] values = (short[])row;
+        if (values.length < MIN_BULK_ROW_LENGTH) {
+          for (int i = 0; i < values.length; ++i) {
+            shortBuffer.setShort(values[i], position + i);
+          }
+        } else {
+          shortBuffer.offset(position).write(values);
+        }
+      };
+    }
+    if (buffer instanceof BooleanDataBuffer) {
+      BooleanDataBuffer booleanBuffer = (BooleanDataBuffer)buffer;
+      return (row, position) -> {
+        boolean[] values = (boolean[])row;
+        if (values.length < MIN_BULK_ROW_LENGTH) {
+          for (int i = 0; i < values.length; ++i) {
+            booleanBuffer.setBoolean(values[i], position + i);
+          }
+        } else {
+          booleanBuffer.offset(position).write(values);
+        }
+      };
+    }
+    return null;
+  }
+
+  private StdArrayTransfer() {}
+}
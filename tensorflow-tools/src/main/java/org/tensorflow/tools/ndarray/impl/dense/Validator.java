@@ -18,6 +18,7 @@ package org.tensorflow.tools.ndarray.impl.dense;
 
 import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.ndarray.NdArray;
 
 final class Validator extends org.tensorflow.tools.ndarray.impl.Validator {
 
@@ -33,5 +34,24 @@ final class Validator extends org.tensorflow.tools.ndarray.impl.Validator {
     };
   }
 
+  static void reshapeArgs(NdArray<?> ndArray, Shape shape) {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null");
+    }
+    if (shape.hasUnknownDimension()) {
+      throw new IllegalArgumentException("Dense arrays cannot have unknown dimension(s)");
+    }
+    if (shape.size() != ndArray.size()) {
+      throw new IllegalArgumentException("Cannot reshape an array of shape " + ndArray.shape() +
+          " to " + shape + " (" + ndArray.size() + " != " + shape.size() + ")");
+    }
+  }
+
+  static void expandDimsArgs(NdArray<?> ndArray, int axis) {
+    if (axis < 0 || axis > ndArray.rank()) {
+      throw new IllegalArgumentException("Axis " + axis + " is out of range for an array of rank " + ndArray.rank());
+    }
+  }
+
   private Validator() {}
 }
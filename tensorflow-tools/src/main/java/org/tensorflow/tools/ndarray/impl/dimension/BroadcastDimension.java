@@ -0,0 +1,66 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+ 
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl.dimension;
+
+/**
+ * A dimension whose elements all share the same position, as a result of a broadcast.
+ */
+final class BroadcastDimension extends AbstractDimension {
+
+  @Override
+  public long numElements() {
+    return numElements;
+  }
+
+  @Override
+  public long positionOf(long coord) {
+    if (coord >= numElements) {
+      throw new IndexOutOfBoundsException();
+    }
+    return 0L;  // all elements are repeating the same values
+  }
+
+  @Override
+  public boolean isSegmented() {
+    return true;  // elements are not stored one after the other
+  }
+
+  @Override
+  public long elementSize() {
+    return elementSize;
+  }
+
+  @Override
+  public long physicalSize() {
+    return physicalSize;  // all elements are overlapping
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(numElements);
+  }
+
+  BroadcastDimension(long numElements, long elementSize, long physicalSize) {
+    this.numElements = numElements;
+    this.elementSize = elementSize;
+    this.physicalSize = physicalSize;
+  }
+
+  private final long numElements;
+  private final long elementSize;
+  private final long physicalSize;
+}
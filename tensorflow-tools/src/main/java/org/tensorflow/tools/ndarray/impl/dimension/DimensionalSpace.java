@@ -93,12 +93,89 @@ public class DimensionalSpace {
       throw new IndexOutOfBoundsException();
     }
     Dimension[] newDimensions = Arrays.copyOfRange(dimensions, dimensionStart, dimensions.length);
-    if (segmentationIdx > dimensionStart) {
+    if (segmentationIdx >= dimensionStart) {
       return new DimensionalSpace(newDimensions, segmentationIdx - dimensionStart);
     }
     return new DimensionalSpace(newDimensions);
   }
 
+  public DimensionalSpace transpose(int... axes) {
+    if (axes == null || axes.length != dimensions.length) {
+      throw new IllegalArgumentException("Transposition requires exactly one axis per dimension");
+    }
+    boolean[] visited = new boolean[dimensions.length];
+    for (int axis : axes) {
+      if (axis < 0 || axis >= dimensions.length || visited[axis]) {
+        throw new IllegalArgumentException("Axes " + Arrays.toString(axes) + " are not a permutation of the dimensions");
+      }
+      visited[axis] = true;
+    }
+    // Dimensions that are not moved at the end of the space remain unchanged, as well as the
+    // size of the contiguous elements they form
+    int numMovedDimensions = dimensions.length;
+    while (numMovedDimensions > 0 && axes[numMovedDimensions - 1] == numMovedDimensions - 1) {
+      --numMovedDimensions;
+    }
+    if (numMovedDimensions == 0) {
+      return this;
+    }
+    Dimension[] newDimensions = new Dimension[dimensions.length];
+    int newSegmentationIdx = numMovedDimensions - 1;
+    for (int i = numMovedDimensions; i < dimensions.length; ++i) {
+      newDimensions[i] = dimensions[i];
+      if (dimensions[i].isSegmented()) {
+        newSegmentationIdx = i;
+      }
+    }
+    long elementSize = numMovedDimensions < dimensions.length ? dimensions[numMovedDimensions - 1].elementSize() : 1L;
+    long physicalSize = numMovedDimensions < dimensions.length ? dimensions[numMovedDimensions].physicalSize() : 1L;
+    for (int i = numMovedDimensions - 1; i >= 0; --i) {
+      Dimension dimension = dimensions[axes[i]];
+      physicalSize += maxPositionOf(dimension);
+      newDimensions[i] = new TransposedDimension(dimension, elementSize, physicalSize);
+    }
+    return new DimensionalSpace(newDimensions, newSegmentationIdx);
+  }
+
+  public DimensionalSpace broadcastTo(Shape shape) {
+    int numDimensions = shape.numDimensions();
+    if (numDimensions < dimensions.length) {
+      throw new IllegalArgumentException("Cannot broadcast " + shape() + " to a lower rank shape " + shape);
+    }
+    int numNewDimensions = numDimensions - dimensions.length;
+    int newSegmentationIdx = segmentationIdx >= 0 ? segmentationIdx + numNewDimensions : -1;
+    boolean broadcasted = false;
+    Dimension[] newDimensions = new Dimension[numDimensions];
+
+    // Start from the last dimension, so the size of the elements of a new dimension is known
+    for (int i = numDimensions - 1; i >= 0; --i) {
+      long numElements = shape.size(i);
+      if (numElements < 0) {
+        throw new IllegalArgumentException("Cannot broadcast to a shape of unknown size " + shape);
+      }
+      if (i < numNewDimensions) {
+        long elementSize = i < numDimensions - 1 ? newDimensions[i + 1].physicalSize() : 1L;
+        newDimensions[i] = new BroadcastDimension(numElements, elementSize, elementSize);
+      } else {
+        Dimension dimension = dimensions[i - numNewDimensions];
+        if (dimension.numElements() == numElements) {
+          newDimensions[i] = dimension;
+          continue;
+        }
+        if (dimension.numElements() != 1) {
+          throw new IllegalArgumentException("Cannot broadcast " + shape() + " to " + shape);
+        }
+        newDimensions[i] = new BroadcastDimension(numElements, dimension.elementSize(), dimension.physicalSize());
+      }
+      newSegmentationIdx = Math.max(newSegmentationIdx, i);
+      broadcasted = true;
+    }
+    if (!broadcasted) {
+      return this;
+    }
+    return new DimensionalSpace(newDimensions, newSegmentationIdx);
+  }
+
   public Shape shape() {
     if (shape == null) {
       shape = toShape(dimensions);
@@ -126,6 +203,19 @@ public class DimensionalSpace {
     return segmentationIdx >= 0;
   }
 
+  /**
+   * Returns true if elements of at least one dimension of this space share the same values, as a
+   * result of a broadcast.
+   */
+  public boolean isBroadcasted() {
+    for (Dimension dimension : dimensions) {
+      if (dimension instanceof BroadcastDimension) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public int segmentationIdx() {
     return segmentationIdx;
   }
@@ -162,6 +252,22 @@ public class DimensionalSpace {
   private final int segmentationIdx;
   private Shape shape;
 
+  private static long maxPositionOf(Dimension dimension) {
+    long numElements = dimension.numElements();
+    if (numElements == 0) {
+      return 0L;
+    }
+    if (dimension instanceof IndexedDimension) {
+      // indices may map coordinates in any order
+      long maxPosition = 0L;
+      for (long coord = 0; coord < numElements; ++coord) {
+        maxPosition = Math.max(maxPosition, dimension.positionOf(coord));
+      }
+      return maxPosition;
+    }
+    return Math.max(dimension.positionOf(0), dimension.positionOf(numElements - 1));
+  }
+
   private static Shape toShape(Dimension[] dimensions) {
     long[] shapeDimSizes = new long[dimensions.length];
     int i = 0;
@@ -0,0 +1,63 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ 
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+ 
+     http://www.apache.org/licenses/LICENSE-2.0
+ 
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl.dimension;
+
+/**
+ * A dimension moved to a different axis of its space, as a result of a transposition.
+ */
+final class TransposedDimension extends AbstractDimension {
+
+  @Override
+  public long numElements() {
+    return originalDimension.numElements();
+  }
+
+  @Override
+  public long positionOf(long coord) {
+    return originalDimension.positionOf(coord);
+  }
+
+  @Override
+  public boolean isSegmented() {
+    return true;  // elements are not stored in the order of this dimension anymore
+  }
+
+  @Override
+  public long elementSize() {
+    return elementSize;
+  }
+
+  @Override
+  public long physicalSize() {
+    return physicalSize;
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(numElements());
+  }
+
+  TransposedDimension(Dimension originalDimension, long elementSize, long physicalSize) {
+    this.originalDimension = originalDimension;
+    this.elementSize = elementSize;
+    this.physicalSize = physicalSize;
+  }
+
+  private final Dimension originalDimension;
+  private final long elementSize;
+  private final long physicalSize;
+}
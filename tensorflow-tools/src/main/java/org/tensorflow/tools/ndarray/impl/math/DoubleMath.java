@@ -0,0 +1,392 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl.math;
+
+import java.util.Arrays;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.DoubleDataBuffer;
+import org.tensorflow.tools.buffer.LongDataBuffer;
+import org.tensorflow.tools.buffer.impl.ConcurrentWrites;
+import org.tensorflow.tools.ndarray.DoubleNdArray;
+import org.tensorflow.tools.ndarray.LongNdArray;
+import org.tensorflow.tools.ndarray.impl.ParallelRanges;
+import org.tensorflow.tools.ndarray.impl.dense.DoubleDenseNdArray;
+
+/**
+ * Applies element-wise kernels and reductions to arrays of doubles.
+ *
+ * <p>Kernels are applied to chunks of values that are copied in bulk to and from the buffers of
+ * the arrays, so they can be written as simple loops over primitive arrays that the JIT compiler
+ * is able to vectorize. When the values of an array are not contiguous in its buffer, they are
+ * copied first to a temporary buffer.
+ */
+public final class DoubleMath {
+
+  /**
+   * A kernel computing {@code length} values of {@code z} from the values of {@code x} and,
+   * for binary operations, {@code y}.
+   */
+  @FunctionalInterface
+  public interface Kernel {
+
+    void apply(double[] x, double[] y, double[] z, int length);
+  }
+
+  /**
+   * Applies a kernel to all values of {@code x} and, if not null, {@code y}.
+   *
+   * @param x first operand
+   * @param y second operand, broadcasted to the shape of {@code x}, or null for unary kernels
+   * @param result array receiving the result, which may be one of the operands
+   * @param kernel kernel to apply
+   * @return {@code result}
+   * @throws IllegalArgumentException if the shapes of the operands and the result do not match
+   */
+  public static DoubleNdArray apply(DoubleNdArray x, DoubleNdArray y, DoubleNdArray result, Kernel kernel) {
+    Validator.elementWiseArgs(x, result);
+    DoubleDataBuffer xBuffer = readBuffer(x);
+    DoubleDataBuffer yBuffer = y != null ? readBuffer(Validator.isRepeatedAlongLeadingDimensions(y, x) ? y : y.broadcastTo(x.shape())) : null;
+    DoubleDataBuffer resultBuffer = contiguousBuffer(result);
+    DoubleDataBuffer zBuffer = resultBuffer != null ? resultBuffer : DataBuffers.ofDoubles(x.size());
+
+    ParallelRanges.execute(x.size(), PARALLEL_THRESHOLD, ConcurrentWrites.isSupportedBy(zBuffer), (from, to) -> {
+      double[] xChunk = new double[(int)Math.min(CHUNK_SIZE, to - from)];
+      double[] yChunk = yBuffer != null ? new double[xChunk.length] : null;
+      double[] zChunk = new double[xChunk.length];
+      for (long i = from; i < to; i += CHUNK_SIZE) {
+        int length = (int)Math.min(CHUNK_SIZE, to - i);
+        xBuffer.offset(i).read(xChunk, 0, length);
+        if (yBuffer != null) {
+          readRepeated(yBuffer, i, yChunk, length);
+        }
+        kernel.apply(xChunk, yChunk, zChunk, length);
+        zBuffer.offset(i).write(zChunk, 0, length);
+      }
+    });
+    if (resultBuffer == null) {
+      result.write(zBuffer);
+    }
+    return result;
+  }
+
+  /**
+   * Computes the softmax of {@code x} along its last dimension.
+   *
+   * @param x logits
+   * @param result array receiving the probabilities, which may be {@code x}
+   * @return {@code result}
+   * @throws IllegalArgumentException if the shapes of {@code x} and the result do not match
+   * @throws org.tensorflow.tools.ndarray.IllegalRankException if {@code x} is a scalar
+   */
+  public static DoubleNdArray softmax(DoubleNdArray x, DoubleNdArray result) {
+    Validator.rowWiseArgs(x, result);
+    int rowLength = Math.toIntExact(x.shape().size(x.rank() - 1));
+    if (rowLength == 0) {
+      return result;
+    }
+    DoubleDataBuffer xBuffer = readBuffer(x);
+    DoubleDataBuffer resultBuffer = contiguousBuffer(result);
+    DoubleDataBuffer zBuffer = resultBuffer != null ? resultBuffer : DataBuffers.ofDoubles(x.size());
+
+    long numRows = x.size() / rowLength;
+    ParallelRanges.execute(numRows, PARALLEL_THRESHOLD / rowLength, ConcurrentWrites.isSupportedBy(zBuffer), (from, to) -> {
+      double[] row = new double[rowLength];
+      for (long r = from; r < to; ++r) {
+        xBuffer.offset(r * rowLength).read(row);
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < rowLength; ++i) {
+          max = Math.max(max, row[i]);
+        }
+        double sum = 0.0;
+        for (int i = 0; i < rowLength; ++i) {
+          row[i] = Math.exp(row[i] - max);
+          sum += row[i];
+        }
+        double scale = 1.0 / sum;
+        for (int i = 0; i < rowLength; ++i) {
+          row[i] *= scale;
+        }
+        zBuffer.offset(r * rowLength).write(row);
+      }
+    });
+    if (resultBuffer == null) {
+      result.write(zBuffer);
+    }
+    return result;
+  }
+
+  /**
+   * A function combining {@code length} values of {@code values}, starting at {@code offset},
+   * into the values of {@code accumulators}, element-wise.
+   */
+  @FunctionalInterface
+  public interface Combiner {
+
+    void apply(double[] accumulators, double[] values, int offset, int length);
+  }
+
+  /**
+   * Reduces the values of {@code x} along one of its dimensions.
+   *
+   * <p>The array is viewed as a contiguous buffer of shape {@code [outer, n, inner]}, where
+   * {@code n} is the size of the reduced dimension. Values are read in bulk directly from this
+   * buffer and combined in place into accumulators, one per element of the result, so no array is
+   * allocated per row. The outer elements are processed concurrently if there are enough values.
+   *
+   * @param x array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param initialValue initial value of the accumulators
+   * @param combiner function combining values into the accumulators
+   * @param result array receiving the result, of the shape of {@code x} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range or if {@code result} does not
+   *                                  have the expected shape
+   */
+  public static DoubleNdArray reduce(DoubleNdArray x, int axis, double initialValue, Combiner combiner, DoubleNdArray result) {
+    int dimensionIdx = Validator.reductionArgs(x, axis, result);
+    DoubleDataBuffer xBuffer = readBuffer(x);
+    DoubleDataBuffer resultBuffer = contiguousBuffer(result);
+    DoubleDataBuffer zBuffer = resultBuffer != null ? resultBuffer : DataBuffers.ofDoubles(result.size());
+    long numElements = x.shape().size(dimensionIdx);
+    long innerSize = Validator.innerSize(x, dimensionIdx);
+    long outerSize = innerSize > 0 ? result.size() / innerSize : 0L;
+
+    long grainSize = Math.max(1L, PARALLEL_THRESHOLD / Math.max(1L, numElements * innerSize));
+    ParallelRanges.execute(outerSize, grainSize, ConcurrentWrites.isSupportedBy(zBuffer), (from, to) -> {
+      double[] accumulators = new double[(int)Math.min(innerSize, CHUNK_SIZE)];
+      double[] values = new double[CHUNK_SIZE];
+      for (long o = from; o < to; ++o) {
+        DoubleDataBuffer slice = xBuffer.offset(o * numElements * innerSize);
+        for (long j = 0; j < innerSize; j += accumulators.length) {
+          int length = (int)Math.min(accumulators.length, innerSize - j);
+          Arrays.fill(accumulators, 0, length, initialValue);
+          // read as many complete rows as possible at once
+          long rowsPerChunk = length == innerSize ? CHUNK_SIZE / length : 1L;
+          for (long i = 0; i < numElements; i += rowsPerChunk) {
+            int numRows = (int)Math.min(rowsPerChunk, numElements - i);
+            slice.offset(i * innerSize + j).read(values, 0, numRows * length);
+            for (int r = 0; r < numRows; ++r) {
+              combiner.apply(accumulators, values, r * length, length);
+            }
+          }
+          zBuffer.offset(o * innerSize + j).write(accumulators, 0, length);
+        }
+      }
+    });
+    if (resultBuffer == null) {
+      result.write(zBuffer);
+    }
+    return result;
+  }
+
+  /**
+   * Computes the indices of the maximum values of {@code x} along one of its dimensions.
+   *
+   * <p>If the maximum value is repeated, the smallest index is returned.
+   *
+   * @param x array to reduce
+   * @param axis dimension to reduce, negative values counting from the last dimension
+   * @param result array receiving the indices, of the shape of {@code x} without the reduced dimension
+   * @return {@code result}
+   * @throws IllegalArgumentException if {@code axis} is out of range, if the reduced dimension is
+   *                                  empty or if {@code result} does not have the expected shape
+   */
+  public static LongNdArray argMax(DoubleNdArray x, int axis, LongNdArray result) {
+    int dimensionIdx = Validator.reductionArgs(x, axis, result);
+    long numElements = x.shape().size(dimensionIdx);
+    if (numElements == 0) {
+      throw new IllegalArgumentException("Cannot compute the maximum of an empty dimension");
+    }
+    DoubleDataBuffer xBuffer = readBuffer(x);
+    LongDataBuffer zBuffer = DataBuffers.ofLongs(result.size());
+    long innerSize = Validator.innerSize(x, dimensionIdx);
+    long outerSize = innerSize > 0 ? result.size() / innerSize : 0L;
+
+    long grainSize = Math.max(1L, PARALLEL_THRESHOLD / (numElements * Math.max(1L, innerSize)));
+    ParallelRanges.execute(outerSize, grainSize, true, (from, to) -> {
+      double[] maxValues = new double[(int)Math.min(innerSize, CHUNK_SIZE)];
+      long[] maxIndices = new long[maxValues.length];
+      double[] values = new double[CHUNK_SIZE];
+      for (long o = from; o < to; ++o) {
+        DoubleDataBuffer slice = xBuffer.offset(o * numElements * innerSize);
+        for (long j = 0; j < innerSize; j += maxValues.length) {
+          int length = (int)Math.min(maxValues.length, innerSize - j);
+          Arrays.fill(maxValues, 0, length, Double.NEGATIVE_INFINITY);
+          Arrays.fill(maxIndices, 0, length, 0L);
+          // read as many complete rows as possible at once
+          long rowsPerChunk = length == innerSize ? CHUNK_SIZE / length : 1L;
+          for (long i = 0; i < numElements; i += rowsPerChunk) {
+            int numRows = (int)Math.min(rowsPerChunk, numElements - i);
+            slice.offset(i * innerSize + j).read(values, 0, numRows * length);
+            for (int r = 0; r < numRows; ++r) {
+              for (int k = 0, v = r * length; k < length; ++k, ++v) {
+                if (values[v] > maxValues[k]) {
+                  maxValues[k] = values[v];
+                  maxIndices[k] = i + r;
+                }
+              }
+            }
+          }
+          zBuffer.offset(o * innerSize + j).write(maxIndices, 0, length);
+        }
+      }
+    });
+    result.write(zBuffer);
+    return result;
+  }
+
+  /**
+   * Finds the {@code k} largest values of {@code x} along its last dimension.
+   *
+   * <p>Values are returned in decreasing order. If some values are equal, the ones with the
+   * smallest index come first.
+   *
+   * @param x array to search
+   * @param k number of values to find
+   * @param values array receiving the values, of the shape of {@code x} with {@code k} elements in
+   *               its last dimension, or null if only indices are required
+   * @param indices array receiving the indices of the values in the last dimension of {@code x},
+   *                of the same shape as {@code values}
+   * @return {@code indices}
+   * @throws IllegalArgumentException if {@code k} is negative or greater than the size of the last
+   *                                  dimension, or if the results do not have the expected shape
+   * @throws org.tensorflow.tools.ndarray.IllegalRankException if {@code x} is a scalar
+   */
+  public static LongNdArray topK(DoubleNdArray x, int k, DoubleNdArray values, LongNdArray indices) {
+    Validator.topKArgs(x, k, values, indices);
+    int rowLength = Math.toIntExact(x.shape().size(x.rank() - 1));
+    DoubleDataBuffer xBuffer = readBuffer(x);
+    DoubleDataBuffer valuesBuffer = values != null ? DataBuffers.ofDoubles(values.size()) : null;
+    LongDataBuffer indicesBuffer = DataBuffers.ofLongs(indices.size());
+    long numRows = rowLength > 0 ? x.size() / rowLength : 0L;
+
+    long grainSize = Math.max(1L, PARALLEL_THRESHOLD / Math.max(1, rowLength));
+    ParallelRanges.execute(k > 0 ? numRows : 0L, grainSize, true, (from, to) -> {
+      double[] row = new double[rowLength];
+      double[] topValues = new double[k];
+      long[] topIndices = new long[k];
+      for (long r = from; r < to; ++r) {
+        xBuffer.offset(r * rowLength).read(row);
+        // min-heap of the k best values found so far, with the worst one at the root
+        for (int i = 0; i < rowLength; ++i) {
+          if (i < k) {
+            int child = i;
+            while (child > 0 && isWorse(row[i], i, topValues[(child - 1) / 2], topIndices[(child - 1) / 2])) {
+              topValues[child] = topValues[(child - 1) / 2];
+              topIndices[child] = topIndices[(child - 1) / 2];
+              child = (child - 1) / 2;
+            }
+            topValues[child] = row[i];
+            topIndices[child] = i;
+          } else if (isWorse(topValues[0], topIndices[0], row[i], i)) {
+            siftDown(topValues, topIndices, k, row[i], i);
+          }
+        }
+        // pop the worst values first to sort them in decreasing order
+        for (int n = k - 1; n > 0; --n) {
+          double value = topValues[n];
+          long index = topIndices[n];
+          topValues[n] = topValues[0];
+          topIndices[n] = topIndices[0];
+          siftDown(topValues, topIndices, n, value, index);
+        }
+        if (valuesBuffer != null) {
+          valuesBuffer.offset(r * k).write(topValues);
+        }
+        indicesBuffer.offset(r * k).write(topIndices);
+      }
+    });
+    if (values != null) {
+      values.write(valuesBuffer);
+    }
+    indices.write(indicesBuffer);
+    return indices;
+  }
+
+  /**
+   * Returns a buffer with the values of an array stored contiguously, copying them if required.
+   */
+  static DoubleDataBuffer readBuffer(DoubleNdArray array) {
+    DoubleDataBuffer buffer = contiguousBuffer(array);
+    if (buffer == null) {
+      buffer = DataBuffers.ofDoubles(array.size());
+      array.read(buffer);
+    }
+    return buffer;
+  }
+
+  /**
+   * Reads {@code length} values starting at {@code index} of a sequence repeating the values of a
+   * buffer indefinitely.
+   */
+  private static void readRepeated(DoubleDataBuffer buffer, long index, double[] dst, int length) {
+    long size = buffer.size();
+    long position = index % size;
+    int n = (int)Math.min(length, size - position);
+    buffer.offset(position).read(dst, 0, n);
+    if (n < length) {
+      int wrapped = (int)Math.min(length - n, position);
+      buffer.read(dst, n, wrapped);
+      // dst now starts with a whole period of the sequence, replicate it to fill the rest
+      for (int filled = n + wrapped; filled < length; filled *= 2) {
+        System.arraycopy(dst, 0, dst, filled, Math.min(filled, length - filled));
+      }
+    }
+  }
+
+  /**
+   * Returns the buffer of an array if its values are stored contiguously, null otherwise.
+   */
+  static DoubleDataBuffer contiguousBuffer(DoubleNdArray array) {
+    if (array instanceof DoubleDenseNdArray) {
+      DoubleDenseNdArray denseArray = (DoubleDenseNdArray)array;
+      if (!denseArray.dimensions().isSegmented()) {
+        return denseArray.buffer();
+      }
+    }
+    return null;
+  }
+
+  private static boolean isWorse(double value, long index, double otherValue, long otherIndex) {
+    return value < otherValue || (value == otherValue && index > otherIndex);
+  }
+
+  private static void siftDown(double[] heapValues, long[] heapIndices, int heapSize, double value, long index) {
+    int parent = 0;
+    for (int child = 1; child < heapSize; child = 2 * parent + 1) {
+      if (child + 1 < heapSize && isWorse(heapValues[child + 1], heapIndices[child + 1], heapValues[child], heapIndices[child])) {
+        ++child;
+      }
+      if (!isWorse(heapValues[child], heapIndices[child], value, index)) {
+        break;
+      }
+      heapValues[parent] = heapValues[child];
+      heapIndices[parent] = heapIndices[child];
+      parent = child;
+    }
+    heapValues[parent] = value;
+    heapIndices[parent] = index;
+  }
+
+  // minimum number of values processed by a single thread
+  private static final long PARALLEL_THRESHOLD = 1L << 16;
+
+  // number of values processed at once by a kernel
+  private static final int CHUNK_SIZE = 1024;
+
+  private DoubleMath() {}
+}
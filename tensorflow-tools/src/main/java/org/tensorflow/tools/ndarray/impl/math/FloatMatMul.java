@@ -0,0 +1,137 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl.math;
+
+import java.util.Arrays;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.impl.ConcurrentWrites;
+import org.tensorflow.tools.buffer.impl.SharedStorage;
+import org.tensorflow.tools.ndarray.FloatNdArray;
+import org.tensorflow.tools.ndarray.impl.ParallelRanges;
+
+/**
+ * Multiplies matrices of floats.
+ *
+ * <p>The result is computed by blocks of {@code [BLOCK_M, BLOCK_N]} values, each accumulating the
+ * products of blocks of {@code [BLOCK_M, BLOCK_K]} values of the first matrix and
+ * {@code [BLOCK_K, BLOCK_N]} values of the second one. Blocks of the operands are packed in
+ * contiguous arrays that fit in the cache, and multiplied in loops over the columns of the result
+ * that the JIT compiler is able to vectorize. Blocks of the result are computed concurrently when
+ * the matrices are large enough.
+ *
+ * <p>The result can share its memory with the operands, in which case it is computed in a temporary
+ * buffer first.
+ */
+public final class FloatMatMul {
+
+  /**
+   * Multiplies two matrices, or two batches of matrices.
+   *
+   * @param a matrix of shape {@code [M, K]}, or batch of matrices of shape {@code [B, M, K]}
+   * @param b matrix of shape {@code [K, N]}, or batch of matrices of shape {@code [B, K, N]}
+   * @param result array receiving the product, of shape {@code [M, N]} or {@code [B, M, N]}
+   * @return {@code result}
+   * @throws IllegalArgumentException if the shapes of the operands and the result do not match
+   * @throws org.tensorflow.tools.ndarray.IllegalRankException if the operands are not matrices or
+   *                                                           batches of matrices
+   */
+  public static FloatNdArray apply(FloatNdArray a, FloatNdArray b, FloatNdArray result) {
+    Validator.matMulArgs(a, b, result);
+    int rank = a.rank();
+    long batchSize = rank == 3 ? a.shape().size(0) : 1L;
+    long m = a.shape().size(rank - 2);
+    long k = a.shape().size(rank - 1);
+    long n = b.shape().size(rank - 1);
+
+    FloatDataBuffer aBuffer = FloatMath.readBuffer(a);
+    FloatDataBuffer bBuffer = FloatMath.readBuffer(b);
+    FloatDataBuffer resultBuffer = FloatMath.contiguousBuffer(result);
+    if (resultBuffer != null && (SharedStorage.mayOverlap(resultBuffer, aBuffer)
+        || SharedStorage.mayOverlap(resultBuffer, bBuffer))) {
+      resultBuffer = null;  // do not overwrite values of the operands that are still to be read
+    }
+    FloatDataBuffer cBuffer = resultBuffer != null ? resultBuffer : DataBuffers.ofFloats(result.size());
+
+    long numRowBlocks = (m + BLOCK_M - 1) / BLOCK_M;
+    long numColumnBlocks = (n + BLOCK_N - 1) / BLOCK_N;
+    long numBlocks = batchSize * numRowBlocks * numColumnBlocks;
+    long grainSize = Math.max(1L, PARALLEL_THRESHOLD / ((long)BLOCK_M * BLOCK_N * Math.max(1L, k)));
+
+    ParallelRanges.execute(numBlocks, grainSize, ConcurrentWrites.isSupportedBy(cBuffer), (from, to) -> {
+      float[] aBlock = new float[BLOCK_M * BLOCK_K];
+      float[] bBlock = new float[BLOCK_K * BLOCK_N];
+      float[] cBlock = new float[BLOCK_M * BLOCK_N];
+      for (long block = from; block < to; ++block) {
+        long batch = block / (numRowBlocks * numColumnBlocks);
+        long i0 = ((block / numColumnBlocks) % numRowBlocks) * BLOCK_M;
+        long j0 = (block % numColumnBlocks) * BLOCK_N;
+        int mc = (int)Math.min(BLOCK_M, m - i0);
+        int nc = (int)Math.min(BLOCK_N, n - j0);
+        FloatDataBuffer aMatrix = aBuffer.offset(batch * m * k);
+        FloatDataBuffer bMatrix = bBuffer.offset(batch * k * n);
+
+        Arrays.fill(cBlock, 0, mc * nc, 0.0f);
+        for (long p0 = 0; p0 < k; p0 += BLOCK_K) {
+          int kc = (int)Math.min(BLOCK_K, k - p0);
+          for (int i = 0; i < mc; ++i) {
+            aMatrix.offset((i0 + i) * k + p0).read(aBlock, i * kc, kc);
+          }
+          for (int p = 0; p < kc; ++p) {
+            bMatrix.offset((p0 + p) * n + j0).read(bBlock, p * nc, nc);
+          }
+          multiplyBlocks(aBlock, bBlock, cBlock, mc, kc, nc);
+        }
+        FloatDataBuffer cMatrix = cBuffer.offset(batch * m * n);
+        for (int i = 0; i < mc; ++i) {
+          cMatrix.offset((i0 + i) * n + j0).write(cBlock, i * nc, nc);
+        }
+      }
+    });
+    if (resultBuffer == null) {
+      result.write(cBuffer);
+    }
+    return result;
+  }
+
+  private static void multiplyBlocks(float[] aBlock, float[] bBlock, float[] cBlock, int mc, int kc, int nc) {
+    for (int i = 0; i < mc; ++i) {
+      int cRow = i * nc;
+      for (int p = 0; p < kc; ++p) {
+        float aValue = aBlock[i * kc + p];
+        int bRow = p * nc;
+        for (int j = 0; j < nc; ++j) {
+          cBlock[cRow + j] += aValue * bBlock[bRow + j];
+        }
+      }
+    }
+  }
+
+  // number of rows of the first matrix in a block
+  private static final int BLOCK_M = 64;
+
+  // number of columns of the first matrix, and rows of the second matrix, in a block
+  private static final int BLOCK_K = 256;
+
+  // number of columns of the second matrix in a block
+  private static final int BLOCK_N = 256;
+
+  // minimum number of multiplications processed by a single thread
+  private static final long PARALLEL_THRESHOLD = 1L << 20;
+
+  private FloatMatMul() {}
+}
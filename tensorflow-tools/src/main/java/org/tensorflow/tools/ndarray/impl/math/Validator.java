@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl.math;
+
+import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.ndarray.IllegalRankException;
+import org.tensorflow.tools.ndarray.NdArray;
+
+final class Validator extends org.tensorflow.tools.ndarray.impl.Validator {
+
+  static void elementWiseArgs(NdArray<?> x, NdArray<?> result) {
+    if (!x.shape().equals(result.shape())) {
+      throw new IllegalArgumentException("Result must have the same shape as the operands (" +
+          x.shape() + " != " + result.shape() + ")");
+    }
+  }
+
+  static void rowWiseArgs(NdArray<?> x, NdArray<?> result) {
+    if (x.rank() == 0) {
+      throw new IllegalRankException("Operation requires an array of at least one dimension");
+    }
+    elementWiseArgs(x, result);
+  }
+
+  static int reductionArgs(NdArray<?> x, int axis, NdArray<?> result) {
+    int dimensionIdx = axis < 0 ? axis + x.rank() : axis;
+    if (dimensionIdx < 0 || dimensionIdx >= x.rank()) {
+      throw new IllegalArgumentException("Axis " + axis + " is out of range for an array of rank " + x.rank());
+    }
+    long[] dimensionSizes = new long[x.rank() - 1];
+    for (int i = 0, j = 0; i < x.rank(); ++i) {
+      if (i != dimensionIdx) {
+        dimensionSizes[j++] = x.shape().size(i);
+      }
+    }
+    Shape expectedShape = Shape.of(dimensionSizes);
+    if (!expectedShape.equals(result.shape())) {
+      throw new IllegalArgumentException("Result of the reduction must be of shape " + expectedShape +
+          " (got " + result.shape() + ")");
+    }
+    return dimensionIdx;
+  }
+
+  static void topKArgs(NdArray<?> x, int k, NdArray<?> values, NdArray<?> indices) {
+    if (x.rank() == 0) {
+      throw new IllegalRankException("Operation requires an array of at least one dimension");
+    }
+    if (k < 0 || k > x.shape().size(x.rank() - 1)) {
+      throw new IllegalArgumentException("Cannot find " + k + " values in dimensions of size " + x.shape().size(x.rank() - 1));
+    }
+    long[] dimensionSizes = x.shape().asArray().clone();
+    dimensionSizes[dimensionSizes.length - 1] = k;
+    Shape expectedShape = Shape.of(dimensionSizes);
+    if (!expectedShape.equals(indices.shape()) || (values != null && !expectedShape.equals(values.shape()))) {
+      throw new IllegalArgumentException("Results of top-k must be of shape " + expectedShape);
+    }
+  }
+
+  static void matMulArgs(NdArray<?> a, NdArray<?> b, NdArray<?> result) {
+    if (a.rank() != b.rank() || a.rank() < 2 || a.rank() > 3) {
+      throw new IllegalRankException("Operands must be both matrices or both batches of matrices (" +
+          a.shape() + ", " + b.shape() + ")");
+    }
+    int rank = a.rank();
+    if (rank == 3 && a.shape().size(0) != b.shape().size(0)) {
+      throw new IllegalArgumentException("Operands must have the same batch size (" +
+          a.shape() + ", " + b.shape() + ")");
+    }
+    if (a.shape().size(rank - 1) != b.shape().size(rank - 2)) {
+      throw new IllegalArgumentException("Cannot multiply matrices of shapes " + a.shape() + " and " + b.shape());
+    }
+    long[] dimensionSizes = a.shape().asArray().clone();
+    dimensionSizes[rank - 1] = b.shape().size(rank - 1);
+    Shape expectedShape = Shape.of(dimensionSizes);
+    if (!expectedShape.equals(result.shape())) {
+      throw new IllegalArgumentException("Result of the multiplication must be of shape " + expectedShape +
+          " (got " + result.shape() + ")");
+    }
+  }
+
+  /**
+   * Checks if broadcasting {@code y} to the shape of {@code x} only repeats all values of {@code y}
+   * along leading dimensions, so they can be read in sequence from its own buffer.
+   */
+  static boolean isRepeatedAlongLeadingDimensions(NdArray<?> y, NdArray<?> x) {
+    int offset = x.rank() - y.rank();
+    if (offset < 0) {
+      return false;
+    }
+    int i = 0;
+    while (i < y.rank() && y.shape().size(i) == 1) {
+      ++i;
+    }
+    for (; i < y.rank(); ++i) {
+      if (y.shape().size(i) != x.shape().size(i + offset)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of values stored after each element of the given dimension of an array.
+   */
+  static long innerSize(NdArray<?> array, int dimensionIdx) {
+    long innerSize = 1L;
+    for (int i = dimensionIdx + 1; i < array.rank(); ++i) {
+      innerSize *= array.shape().size(i);
+    }
+    return innerSize;
+  }
+
+  private Validator() {}
+}
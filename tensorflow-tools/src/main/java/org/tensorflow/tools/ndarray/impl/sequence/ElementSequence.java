@@ -18,7 +18,9 @@
 package org.tensorflow.tools.ndarray.impl.sequence;
 
 import java.util.Iterator;
+import java.util.Spliterator;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import org.tensorflow.tools.ndarray.NdArray;
 import org.tensorflow.tools.ndarray.NdArraySequence;
 import org.tensorflow.tools.ndarray.impl.AbstractNdArray;
@@ -59,6 +61,12 @@ public class ElementSequence<T, U extends NdArray<T>> implements NdArraySequence
     );
   }
 
+  @Override
+  public Spliterator<U> spliterator() {
+    DimensionalSpace elementDimensions = ndArray.dimensions().from(dimensionIdx + 1);
+    return new ElementSpliterator<>(ndArray, elementDimensions, PositionSpliterator.create(ndArray.dimensions(), dimensionIdx));
+  }
+
   private ElementSequence(AbstractNdArray<T, U> ndArray, int dimensionIdx) {
     this.ndArray = ndArray;
     this.dimensionIdx = dimensionIdx;
@@ -66,4 +74,43 @@ public class ElementSequence<T, U extends NdArray<T>> implements NdArraySequence
 
   private final AbstractNdArray<T, U> ndArray;
   private final int dimensionIdx;
+
+  private static class ElementSpliterator<T, U extends NdArray<T>> implements Spliterator<U> {
+
+    @Override
+    public boolean tryAdvance(Consumer<? super U> action) {
+      return positions.tryAdvance((long position) -> action.accept(ndArray.slice(position, elementDimensions)));
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super U> action) {
+      positions.forEachRemaining((long position) -> action.accept(ndArray.slice(position, elementDimensions)));
+    }
+
+    @Override
+    public Spliterator<U> trySplit() {
+      PositionSpliterator prefix = positions.trySplit();
+      return prefix != null ? new ElementSpliterator<>(ndArray, elementDimensions, prefix) : null;
+    }
+
+    @Override
+    public long estimateSize() {
+      return positions.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+      return positions.characteristics();
+    }
+
+    ElementSpliterator(AbstractNdArray<T, U> ndArray, DimensionalSpace elementDimensions, PositionSpliterator positions) {
+      this.ndArray = ndArray;
+      this.elementDimensions = elementDimensions;
+      this.positions = positions;
+    }
+
+    private final AbstractNdArray<T, U> ndArray;
+    private final DimensionalSpace elementDimensions;
+    private final PositionSpliterator positions;
+  }
 }
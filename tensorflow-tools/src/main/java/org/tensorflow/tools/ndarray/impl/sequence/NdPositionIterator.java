@@ -53,9 +53,10 @@ class NdPositionIterator implements IndexedPositionIterator {
 
   static boolean increment(long[] coords, DimensionalSpace dimensions) {
     for (int i = coords.length - 1; i >= 0; --i) {
-      if ((coords[i] = (coords[i] + 1) % dimensions.get(i).numElements()) > 0) {
+      if (++coords[i] < dimensions.get(i).numElements()) {
         return true;
       }
+      coords[i] = 0;
     }
     return false;
   }
@@ -23,6 +23,9 @@ import org.tensorflow.tools.ndarray.impl.dimension.DimensionalSpace;
 public interface PositionIterator extends PrimitiveIterator.OfLong {
 
   static PositionIterator create(DimensionalSpace dimensions, int dimensionIdx) {
+    if (dimensionIdx < 0) {  // iterating a scalar
+      return sequence(1, 1);
+    }
     if (dimensions.isSegmented()) {
       return new NdPositionIterator(dimensions, dimensionIdx);
     }
@@ -30,7 +33,7 @@ public interface PositionIterator extends PrimitiveIterator.OfLong {
   }
 
   static IndexedPositionIterator createIndexed(DimensionalSpace dimensions, int dimensionIdx) {
-    if (dimensions.isSegmented()) {
+    if (dimensionIdx < 0 || dimensions.isSegmented()) {
       return new NdPositionIterator(dimensions, dimensionIdx);
     }
     return new IndexedSequentialPositionIterator(dimensions, dimensionIdx);
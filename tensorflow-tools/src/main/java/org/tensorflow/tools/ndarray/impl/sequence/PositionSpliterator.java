@@ -0,0 +1,119 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.ndarray.impl.sequence;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import org.tensorflow.tools.ndarray.impl.dimension.DimensionalSpace;
+
+/**
+ * Splittable iteration over the positions of the elements found in a given dimension.
+ *
+ * <p>Elements are split by halving their range, so parallel streams distribute work evenly
+ * across threads without copying any data.
+ */
+public final class PositionSpliterator implements Spliterator.OfLong {
+
+  public static PositionSpliterator create(DimensionalSpace dimensions, int dimensionIdx) {
+    long numElements = 1;
+    for (int i = 0; i <= dimensionIdx; ++i) {
+      numElements *= dimensions.get(i).numElements();
+    }
+    return new PositionSpliterator(dimensions, dimensionIdx, 0, numElements);
+  }
+
+  @Override
+  public boolean tryAdvance(LongConsumer action) {
+    if (index >= end) {
+      return false;
+    }
+    action.accept(positionOf(index++));
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(LongConsumer action) {
+    if (index >= end) {
+      return;
+    }
+    if (dimensionIdx < 0 || !dimensions.isSegmented()) {
+      for (; index < end; ++index) {
+        action.accept(positionOf(index));
+      }
+    } else {
+      long[] coords = coordinatesOf(index);
+      for (; index < end; ++index) {
+        action.accept(dimensions.positionOf(coords));
+        NdPositionIterator.increment(coords, dimensions);
+      }
+    }
+  }
+
+  @Override
+  public PositionSpliterator trySplit() {
+    long mid = (index + end) >>> 1;
+    if (mid <= index) {
+      return null;
+    }
+    PositionSpliterator prefix = new PositionSpliterator(dimensions, dimensionIdx, index, mid);
+    index = mid;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return end - index;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+  }
+
+  private final DimensionalSpace dimensions;
+  private final int dimensionIdx;
+  private final long end;
+  private long index;
+
+  private PositionSpliterator(DimensionalSpace dimensions, int dimensionIdx, long index, long end) {
+    this.dimensions = dimensions;
+    this.dimensionIdx = dimensionIdx;
+    this.index = index;
+    this.end = end;
+  }
+
+  private long positionOf(long elementIdx) {
+    if (dimensionIdx < 0) {  // iterating a scalar
+      return 0;
+    }
+    if (!dimensions.isSegmented()) {
+      return elementIdx * dimensions.get(dimensionIdx).elementSize();
+    }
+    return dimensions.positionOf(coordinatesOf(elementIdx));
+  }
+
+  private long[] coordinatesOf(long elementIdx) {
+    long[] coords = new long[dimensionIdx + 1];
+    for (int i = dimensionIdx; i >= 0; --i) {
+      long numElements = dimensions.get(i).numElements();
+      coords[i] = elementIdx % numElements;
+      elementIdx /= numElements;
+    }
+    return coords;
+  }
+}
@@ -0,0 +1,728 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl.sparse;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.ndarray.FloatNdArray;
+import org.tensorflow.tools.ndarray.IllegalRankException;
+import org.tensorflow.tools.ndarray.LongNdArray;
+import org.tensorflow.tools.ndarray.NdArray;
+import org.tensorflow.tools.ndarray.NdArraySequence;
+import org.tensorflow.tools.ndarray.NdArrays;
+import org.tensorflow.tools.ndarray.SparseFloatNdArray;
+import org.tensorflow.tools.ndarray.impl.dimension.Dimension;
+import org.tensorflow.tools.ndarray.impl.dimension.DimensionalSpace;
+import org.tensorflow.tools.ndarray.index.Index;
+import org.tensorflow.tools.ndarray.index.Indices;
+
+/**
+ * Base class of sparse float arrays, independently of how the coordinates of their values are
+ * stored.
+ */
+public abstract class AbstractSparseFloatNdArray implements SparseFloatNdArray {
+
+  @Override
+  public Shape shape() {
+    return shape;
+  }
+
+  @Override
+  public FloatNdArray values() {
+    return values;
+  }
+
+  @Override
+  public LongNdArray denseShape() {
+    return NdArrays.vectorOf(shape.asArray().clone());
+  }
+
+  @Override
+  public long numValues() {
+    return values.size();
+  }
+
+  @Override
+  public FloatNdArray toDense() {
+    FloatNdArray dense = NdArrays.ofFloats(shape);
+    copyTo(dense);
+    return dense;
+  }
+
+  @Override
+  public float getFloat(long... coordinates) {
+    long index = indexOf(checkCoordinates(coordinates));
+    return index < 0 ? 0.0f : values.getFloat(index);
+  }
+
+  @Override
+  public FloatNdArray setFloat(float value, long... coordinates) {
+    long index = indexOf(checkCoordinates(coordinates));
+    if (index >= 0) {
+      values.setFloat(value, index);
+    } else if (value != 0.0f) {
+      throw new UnsupportedOperationException("Cannot add new values to a sparse array");
+    }
+    return this;
+  }
+
+  @Override
+  public NdArraySequence<FloatNdArray> scalars() {
+    return new ValueSequence();
+  }
+
+  @Override
+  public FloatNdArray copyTo(NdArray<Float> dst) {
+    Validator.copyToNdArrayArgs(this, dst);
+    dst.fill(0.0f);
+    long[] coords = new long[rank()];
+    if (dst instanceof FloatNdArray) {
+      FloatNdArray floatDst = (FloatNdArray)dst;
+      for (long i = 0; i < numValues(); ++i) {
+        floatDst.setFloat(values.getFloat(i), coordinatesOf(i, coords));
+      }
+    } else {
+      for (long i = 0; i < numValues(); ++i) {
+        dst.setObject(values.getFloat(i), coordinatesOf(i, coords));
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public FloatNdArray read(DataBuffer<Float> dst) {
+    if (dst instanceof FloatDataBuffer) {
+      return read((FloatDataBuffer)dst);
+    }
+    Validator.readToBufferArgs(this, dst);
+    dst.fill(0.0f, 0, size());
+    for (long i = 0; i < numValues(); ++i) {
+      dst.setObject(values.getFloat(i), positionOf(i));
+    }
+    return this;
+  }
+
+  @Override
+  public FloatNdArray read(FloatDataBuffer dst) {
+    Validator.readToBufferArgs(this, dst);
+    dst.fill(0.0f, 0, size());
+    for (long i = 0; i < numValues(); ++i) {
+      dst.setFloat(values.getFloat(i), positionOf(i));
+    }
+    return this;
+  }
+
+  @Override
+  public FloatNdArray write(DataBuffer<Float> src) {
+    Validator.writeFromBufferArgs(this, src);
+    return set(NdArrays.wrap(shape, src));
+  }
+
+  @Override
+  public FloatNdArray write(FloatDataBuffer src) {
+    Validator.writeFromBufferArgs(this, src);
+    return set(NdArrays.wrap(shape, src));
+  }
+
+  @Override
+  public FloatNdArray fill(Float value) {
+    if (value != 0.0f && numValues() < size()) {
+      throw new UnsupportedOperationException("Cannot add new values to a sparse array");
+    }
+    values.fill(value);
+    return this;
+  }
+
+  @Override
+  public FloatNdArray set(NdArray<Float> src, long... coordinates) {
+    long[] coords = Arrays.copyOf(checkElementCoordinates(coordinates), rank());
+    int elementIdx = coordinates.length;
+    Validator.setArgs(src, elementShape(coordinates));
+
+    // Check all values before writing any of them, so the array is left unchanged on failure
+    src.scalars().forEachIndexed((elementCoords, scalar) -> {
+      System.arraycopy(elementCoords, 0, coords, elementIdx, elementCoords.length);
+      if (scalar.getObject() != 0.0f && indexOf(coords) < 0) {
+        throw new UnsupportedOperationException("Cannot add new values to a sparse array");
+      }
+    });
+    // Scalars of sparse sources only visit their stored values, so reset first the element to zero
+    long[] valueCoords = new long[rank()];
+    for (long i = 0; i < numValues(); ++i) {
+      if (Arrays.equals(Arrays.copyOf(coordinatesOf(i, valueCoords), elementIdx), coordinates)) {
+        values.setFloat(0.0f, i);
+      }
+    }
+    src.scalars().forEachIndexed((elementCoords, scalar) -> {
+      System.arraycopy(elementCoords, 0, coords, elementIdx, elementCoords.length);
+      long index = indexOf(coords);
+      if (index >= 0) {
+        values.setFloat(scalar.getObject(), index);
+      }
+    });
+    return this;
+  }
+
+  @Override
+  public NdArraySequence<FloatNdArray> elements(int dimensionIdx) {
+    if (dimensionIdx >= rank()) {
+      throw new IllegalArgumentException("Cannot iterate elements in dimension '" + dimensionIdx +
+          "' of array with shape " + shape);
+    }
+    return new ElementSequence(dimensionIdx);
+  }
+
+  @Override
+  public FloatNdArray get(long... coordinates) {
+    checkElementCoordinates(coordinates);
+    if (coordinates.length == 0) {
+      return this;
+    }
+    // Values of an element are contiguous in row-major order, so only the bounds of their range
+    // need to be searched
+    long firstPosition = positionOf(Arrays.copyOf(coordinates, rank()));
+    long from = lowerBound(firstPosition);
+    long to = lowerBound(firstPosition + strides[coordinates.length - 1]);
+    long[] valueIndices = new long[(int)(to - from)];
+    long[] positions = new long[valueIndices.length];
+    for (int i = 0; i < valueIndices.length; ++i) {
+      valueIndices[i] = from + i;
+      positions[i] = positionOf(from + i) - firstPosition;
+    }
+    return view(valueIndices, positions, elementShape(coordinates));
+  }
+
+  @Override
+  public FloatNdArray slice(Index... indices) {
+    if (indices == null) {
+      throw new IllegalArgumentException("Slicing requires at least one index");
+    }
+    Shape sliceShape = DimensionalSpace.create(shape).mapTo(indices).shape();
+
+    // For each indexed dimension, list the coordinates of the slice sorted by the coordinates they
+    // are mapped to in this array, so the values to keep can be searched by their coordinates
+    long[][] sourceCoords = new long[indices.length][];
+    long[][] sliceCoords = new long[indices.length][];
+    for (int i = 0; i < indices.length; ++i) {
+      // an axis with elements of size 1 maps indices to coordinates instead of positions
+      Dimension axis = DimensionalSpace.create(Shape.of(shape.size(i))).get(0);
+      int numElements = Validator.numValues(indices[i].numElements(axis));
+      sourceCoords[i] = new long[numElements];
+      sliceCoords[i] = new long[numElements];
+      for (int j = 0; j < numElements; ++j) {
+        sourceCoords[i][j] = indices[i].mapCoordinate(j, axis);
+        sliceCoords[i][j] = j;
+      }
+      sortByKeys(sourceCoords[i], sliceCoords[i]);
+    }
+    // Values might appear more than once in the slice if some indices repeat the same coordinates,
+    // so count them first
+    long[] coords = new long[rank()];
+    long[] bounds = new long[indices.length * 2];
+    long numSliceValues = 0;
+    for (long i = 0; i < numValues(); ++i) {
+      numSliceValues += searchBounds(coordinatesOf(i, coords), sourceCoords, bounds);
+    }
+    long[] valueIndices = new long[Validator.numValues(numSliceValues)];
+    long[] positions = new long[valueIndices.length];
+    long[] sliceValueCoords = new long[sliceShape.numDimensions()];
+    long[] cursor = new long[indices.length];
+    for (int i = 0, n = 0; n < valueIndices.length; ++i) {
+      if (searchBounds(coordinatesOf(i, coords), sourceCoords, bounds) == 0) {
+        continue;
+      }
+      for (int j = 0; j < indices.length; ++j) {
+        cursor[j] = bounds[j * 2];
+      }
+      do {
+        int dimIdx = 0;
+        for (int j = 0; j < indices.length; ++j) {
+          if (!indices[j].isPoint()) {
+            sliceValueCoords[dimIdx++] = sliceCoords[j][(int)cursor[j]];
+          }
+        }
+        System.arraycopy(coords, indices.length, sliceValueCoords, dimIdx, coords.length - indices.length);
+        valueIndices[n] = i;
+        positions[n++] = positionIn(sliceShape, sliceValueCoords);
+      } while (increment(cursor, bounds));
+    }
+    return view(valueIndices, positions, sliceShape);
+  }
+
+  @Override
+  public FloatNdArray transpose(int... axes) {
+    Shape transposedShape = DimensionalSpace.create(shape).transpose(axes).shape();
+    long[] valueIndices = new long[(int)numValues()];
+    long[] positions = new long[valueIndices.length];
+    long[] coords = new long[rank()];
+    long[] transposedCoords = new long[rank()];
+    for (int i = 0; i < valueIndices.length; ++i) {
+      coordinatesOf(i, coords);
+      for (int j = 0; j < axes.length; ++j) {
+        transposedCoords[j] = coords[axes[j]];
+      }
+      valueIndices[i] = i;
+      positions[i] = positionIn(transposedShape, transposedCoords);
+    }
+    return view(valueIndices, positions, transposedShape);
+  }
+
+  @Override
+  public FloatNdArray broadcastTo(Shape shape) {
+    DimensionalSpace.create(this.shape).broadcastTo(shape);  // validates that shapes are compatible
+    int numNewDimensions = shape.numDimensions() - rank();
+
+    // Each value is repeated across the new dimensions and the dimensions broadcasted from size 1
+    boolean[] repeated = new boolean[shape.numDimensions()];
+    long[] bounds = new long[shape.numDimensions() * 2];
+    long numCopies = 1;
+    for (int i = 0; i < repeated.length; ++i) {
+      repeated[i] = i < numNewDimensions || this.shape.size(i - numNewDimensions) != shape.size(i);
+      bounds[i * 2 + 1] = repeated[i] ? shape.size(i) : 1;
+      numCopies *= bounds[i * 2 + 1];
+    }
+    long[] valueIndices = new long[Validator.numValues(numValues() * numCopies)];
+    long[] positions = new long[valueIndices.length];
+    long[] coords = new long[rank()];
+    long[] broadcastedCoords = new long[shape.numDimensions()];
+    long[] cursor = new long[shape.numDimensions()];
+    for (int i = 0, n = 0; n < valueIndices.length; ++i) {
+      coordinatesOf(i, coords);
+      Arrays.fill(cursor, 0L);
+      do {
+        for (int j = 0; j < cursor.length; ++j) {
+          broadcastedCoords[j] = repeated[j] ? cursor[j] : coords[j - numNewDimensions];
+        }
+        valueIndices[n] = i;
+        positions[n++] = positionIn(shape, broadcastedCoords);
+      } while (increment(cursor, bounds));
+    }
+    return view(valueIndices, positions, shape);
+  }
+
+  @Override
+  public FloatNdArray reshape(Shape shape) {
+    Validator.reshapeArgs(this, shape);
+    // Positions of the values in row-major order are the same in both shapes
+    long[] valueIndices = new long[(int)numValues()];
+    long[] positions = new long[valueIndices.length];
+    for (int i = 0; i < valueIndices.length; ++i) {
+      valueIndices[i] = i;
+      positions[i] = positionOf(i);
+    }
+    return view(valueIndices, positions, shape);
+  }
+
+  @Override
+  public FloatNdArray squeeze() {
+    long[] dimensionSizes = new long[rank()];
+    int numDimensions = 0;
+    for (int i = 0; i < dimensionSizes.length; ++i) {
+      long dimensionSize = shape.size(i);
+      if (dimensionSize != 1) {
+        dimensionSizes[numDimensions++] = dimensionSize;
+      }
+    }
+    return reshape(Shape.of(Arrays.copyOf(dimensionSizes, numDimensions)));
+  }
+
+  @Override
+  public FloatNdArray expandDims(int axis) {
+    Validator.expandDimsArgs(this, axis);
+    long[] dimensionSizes = new long[rank() + 1];
+    for (int i = 0, j = 0; i < dimensionSizes.length; ++i) {
+      dimensionSizes[i] = (i == axis) ? 1 : shape.size(j++);
+    }
+    return reshape(Shape.of(dimensionSizes));
+  }
+
+  @Override
+  public int hashCode() {
+    // Hash scalars in row-major order, like dense arrays do, where each run of missing values
+    // multiplies the hash by a power of the prime since the hash code of 0.0f is 0
+    final int prime = 31;
+    int valuesHash = 1;
+    long nextPosition = 0;
+    for (long i = 0; i < numValues(); ++i) {
+      long position = positionOf(i);
+      valuesHash = prime * valuesHash * power(prime, position - nextPosition) + Float.hashCode(values.getFloat(i));
+      nextPosition = position + 1;
+    }
+    valuesHash *= power(prime, size() - nextPosition);
+    int result = 1;
+    result = prime * result + valuesHash;
+    result = prime * result + shape.hashCode();
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof NdArray)) {
+      return false;
+    }
+    NdArray<?> other = (NdArray<?>)obj;
+    if (!shape.equals(other.shape())) {
+      return false;
+    }
+    if (other instanceof AbstractSparseFloatNdArray) {
+      AbstractSparseFloatNdArray sparseOther = (AbstractSparseFloatNdArray)other;
+      return containsValuesOf(sparseOther) && sparseOther.containsValuesOf(this);
+    }
+    boolean[] equal = { true };
+    other.scalars().forEachIndexed((coords, scalar) -> {
+      if (equal[0] && !Float.valueOf(getFloat(coords)).equals(scalar.getObject())) {
+        equal[0] = false;
+      }
+    });
+    return equal[0];
+  }
+
+  protected AbstractSparseFloatNdArray(FloatNdArray values, Shape shape) {
+    this.values = values;
+    this.shape = shape;
+    strides = new long[shape.numDimensions()];
+    long stride = 1;
+    for (int i = strides.length - 1; i >= 0; --i) {
+      strides[i] = stride;
+      stride *= shape.size(i);
+    }
+  }
+
+  /**
+   * Returns the index of the stored value found at the given coordinates.
+   *
+   * @param coords coordinates of a scalar, within the limits of the array
+   * @return index of the value, or -1 if there is no value stored at these coordinates
+   */
+  abstract long indexOf(long[] coords);
+
+  /**
+   * Computes the coordinates of the stored value at the given index.
+   *
+   * @param index index of a stored value
+   * @param coords array receiving the coordinates
+   * @return {@code coords}
+   */
+  abstract long[] coordinatesOf(long index, long[] coords);
+
+  /**
+   * Returns the position of the stored value at the given index in a dense buffer of this array.
+   *
+   * @param index index of a stored value
+   * @return position of that value in a dense row-major buffer
+   */
+  long positionOf(long index) {
+    return positionOf(coordinatesOf(index, new long[rank()]));
+  }
+
+  /**
+   * Returns the position of the scalar at the given coordinates in a dense buffer of this array.
+   *
+   * @param coords coordinates of a scalar
+   * @return position of that scalar in a dense row-major buffer
+   */
+  final long positionOf(long[] coords) {
+    long position = 0;
+    for (int i = 0; i < coords.length; ++i) {
+      position += coords[i] * strides[i];
+    }
+    return position;
+  }
+
+  private static final FloatDataBuffer ZERO = DataBuffers.of(new float[1], true, false);
+
+  private final FloatNdArray values;
+  private final Shape shape;
+  private final long[] strides;
+
+  private long[] checkCoordinates(long[] coords) {
+    if (coords == null || coords.length != shape.numDimensions()) {
+      throw new IllegalRankException("Not a scalar value");
+    }
+    for (int i = 0; i < coords.length; ++i) {
+      if (coords[i] < 0 || coords[i] >= shape.size(i)) {
+        throw new IndexOutOfBoundsException();
+      }
+    }
+    return coords;
+  }
+
+  private long[] checkElementCoordinates(long[] coords) {
+    if (coords.length > shape.numDimensions()) {
+      throw new IndexOutOfBoundsException();
+    }
+    for (int i = 0; i < coords.length; ++i) {
+      if (coords[i] < 0 || coords[i] >= shape.size(i)) {
+        throw new IndexOutOfBoundsException();
+      }
+    }
+    return coords;
+  }
+
+  private Shape elementShape(long[] coords) {
+    return Shape.of(Arrays.copyOfRange(shape.asArray(), coords.length, shape.numDimensions()));
+  }
+
+  /**
+   * Returns a sparse view of some of the values of this array.
+   *
+   * <p>Values of the view are backed by the values of this array, so changing them from either
+   * array is visible in the other. A value can appear more than once in the view.
+   *
+   * @param valueIndices indices of the values of this array found in the view
+   * @param positions position of each of these values in a dense row-major buffer of the view
+   * @param shape shape of the view
+   * @return sparse view, or a scalar if {@code shape} is of rank 0
+   */
+  private FloatNdArray view(long[] valueIndices, long[] positions, Shape shape) {
+    if (shape.numDimensions() == 0) {
+      return valueIndices.length > 0 ? values.get(valueIndices[0]) : NdArrays.wrap(shape, ZERO);
+    }
+    sortByKeys(positions, valueIndices);
+    LongNdArray indices = NdArrays.ofLongs(Shape.of(positions.length, shape.numDimensions()));
+    long[] coords = new long[shape.numDimensions()];
+    for (int i = 0; i < positions.length; ++i) {
+      coordinatesIn(shape, positions[i], coords);
+      for (int j = 0; j < coords.length; ++j) {
+        indices.setLong(coords[j], i, j);
+      }
+    }
+    return FloatCooNdArray.wrap(indices, values.slice(Indices.seq(NdArrays.vectorOf(valueIndices))), shape);
+  }
+
+  /**
+   * Returns the index of the first stored value at or after a given position.
+   */
+  private long lowerBound(long position) {
+    long low = 0;
+    long high = numValues();
+    while (low < high) {
+      long mid = (low + high) >>> 1;
+      if (positionOf(mid) < position) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Searches the range of sorted source coordinates matching each coordinate of a value.
+   *
+   * @param coords coordinates of the value
+   * @param sourceCoords sorted source coordinates of each indexed dimension
+   * @param bounds receives the start and end of the range found in each indexed dimension
+   * @return number of times the value appears in the slice, 0 if it is not part of it
+   */
+  private static long searchBounds(long[] coords, long[][] sourceCoords, long[] bounds) {
+    long count = 1;
+    for (int i = 0; i < sourceCoords.length; ++i) {
+      long[] keys = sourceCoords[i];
+      int low = 0;
+      int high = keys.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (keys[mid] < coords[i]) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      int end = low;
+      while (end < keys.length && keys[end] == coords[i]) {
+        ++end;
+      }
+      bounds[i * 2] = low;
+      bounds[i * 2 + 1] = end;
+      count *= end - low;
+    }
+    return count;
+  }
+
+  /**
+   * Moves a cursor to the next combination of values within the given bounds, in row-major order.
+   *
+   * @return false if the cursor was already at the last combination
+   */
+  private static boolean increment(long[] cursor, long[] bounds) {
+    for (int i = cursor.length - 1; i >= 0; --i) {
+      if (++cursor[i] < bounds[i * 2 + 1]) {
+        return true;
+      }
+      cursor[i] = bounds[i * 2];
+    }
+    return false;
+  }
+
+  /**
+   * Sorts keys in ascending order, moving the values at the same index along with them.
+   */
+  private static void sortByKeys(long[] keys, long[] values) {
+    boolean ascending = true;
+    boolean descending = true;
+    for (int i = 1; (ascending || descending) && i < keys.length; ++i) {
+      ascending &= keys[i - 1] <= keys[i];
+      descending &= keys[i - 1] >= keys[i];
+    }
+    if (ascending) {
+      return;
+    }
+    if (descending) {
+      for (int i = 0, j = keys.length - 1; i < j; ++i, --j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+      }
+      return;
+    }
+    Integer[] order = new Integer[keys.length];
+    for (int i = 0; i < order.length; ++i) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+    long[] sortedKeys = new long[keys.length];
+    long[] sortedValues = new long[values.length];
+    for (int i = 0; i < order.length; ++i) {
+      sortedKeys[i] = keys[order[i]];
+      sortedValues[i] = values[order[i]];
+    }
+    System.arraycopy(sortedKeys, 0, keys, 0, keys.length);
+    System.arraycopy(sortedValues, 0, values, 0, values.length);
+  }
+
+  private static long positionIn(Shape shape, long[] coords) {
+    long position = 0;
+    for (int i = 0; i < coords.length; ++i) {
+      position = position * shape.size(i) + coords[i];
+    }
+    return position;
+  }
+
+  private static long[] coordinatesIn(Shape shape, long position, long[] coords) {
+    for (int i = coords.length - 1; i >= 0; --i) {
+      coords[i] = position % shape.size(i);
+      position /= shape.size(i);
+    }
+    return coords;
+  }
+
+  private boolean containsValuesOf(AbstractSparseFloatNdArray other) {
+    long[] coords = new long[rank()];
+    for (long i = 0; i < other.numValues(); ++i) {
+      if (!Float.valueOf(getFloat(other.coordinatesOf(i, coords))).equals(other.values.getFloat(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int power(int value, long exponent) {
+    int result = 1;
+    for (int base = value; exponent > 0; exponent >>>= 1, base *= base) {
+      if ((exponent & 1) != 0) {
+        result *= base;
+      }
+    }
+    return result;
+  }
+
+  private class ElementSequence implements NdArraySequence<FloatNdArray> {
+
+    @Override
+    public Iterator<FloatNdArray> iterator() {
+      return new Iterator<FloatNdArray>() {
+
+        @Override
+        public boolean hasNext() {
+          return element < numElements;
+        }
+
+        @Override
+        public FloatNdArray next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return get(coordinatesIn(elementShape, element++, coords));
+        }
+
+        private final long[] coords = new long[elementShape.numDimensions()];
+        private long element = 0;
+      };
+    }
+
+    @Override
+    public void forEachIndexed(BiConsumer<long[], FloatNdArray> consumer) {
+      long[] coords = new long[elementShape.numDimensions()];
+      for (long element = 0; element < numElements; ++element) {
+        consumer.accept(coords, get(coordinatesIn(elementShape, element, coords)));
+      }
+    }
+
+    private ElementSequence(int dimensionIdx) {
+      elementShape = Shape.of(Arrays.copyOf(shape.asArray(), dimensionIdx + 1));
+      numElements = elementShape.size();
+    }
+
+    private final Shape elementShape;
+    private final long numElements;
+  }
+
+  private class ValueSequence implements NdArraySequence<FloatNdArray> {
+
+    @Override
+    public Iterator<FloatNdArray> iterator() {
+      return new Iterator<FloatNdArray>() {
+
+        @Override
+        public boolean hasNext() {
+          return index < numValues();
+        }
+
+        @Override
+        public FloatNdArray next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return values.get(index++);
+        }
+
+        private long index = 0;
+      };
+    }
+
+    @Override
+    public void forEachIndexed(BiConsumer<long[], FloatNdArray> consumer) {
+      long[] coords = new long[rank()];
+      for (long i = 0; i < numValues(); ++i) {
+        consumer.accept(coordinatesOf(i, coords), values.get(i));
+      }
+    }
+  }
+}
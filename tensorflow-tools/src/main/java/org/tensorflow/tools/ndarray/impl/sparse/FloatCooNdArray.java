@@ -0,0 +1,167 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl.sparse;
+
+import java.util.Arrays;
+import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.ndarray.FloatNdArray;
+import org.tensorflow.tools.ndarray.LongNdArray;
+import org.tensorflow.tools.ndarray.NdArrays;
+
+/**
+ * Sparse float array storing the coordinates of its values in coordinate list (COO) format.
+ *
+ * <p>Coordinates are kept sorted in row-major order, so the value at given coordinates is found by
+ * a binary search over their position in the dense space of the array.
+ */
+public class FloatCooNdArray extends AbstractSparseFloatNdArray {
+
+  /**
+   * Creates a sparse array from the coordinates and values of its non-zero scalars.
+   *
+   * <p>If the coordinates are already sorted in row-major order, the returned array keeps a
+   * reference to {@code indices} and {@code values}. Otherwise, they are copied in sorted order.
+   *
+   * @param indices coordinates of the values, as a matrix of shape {@code [N, rank]}
+   * @param values values, as a vector of shape {@code [N]}
+   * @param shape dense shape of the array
+   * @return sparse array
+   * @throws IllegalArgumentException if components are not compatible with each other, if some
+   *                                  coordinates are out of bounds or appear more than once
+   */
+  public static FloatCooNdArray create(LongNdArray indices, FloatNdArray values, Shape shape) {
+    Validator.sparseArgs(indices, values, shape);
+    FloatCooNdArray array = new FloatCooNdArray(indices, values, shape);
+    if (!array.isSorted()) {
+      array = array.sortedCopy();
+    }
+    for (int i = 1; i < array.positions.length; ++i) {
+      if (array.positions[i] == array.positions[i - 1]) {
+        throw new IllegalArgumentException("Coordinates " +
+            Arrays.toString(array.coordinatesOf(i, new long[shape.numDimensions()])) + " appear more than once");
+      }
+    }
+    return array;
+  }
+
+  /**
+   * Creates a sparse array from the non-zero scalars of a dense array.
+   *
+   * @param array dense array to copy
+   * @return sparse array
+   */
+  public static FloatCooNdArray copyOf(FloatNdArray array) {
+    Validator.sparseShape(array.shape());
+    long[] numValues = { 0 };
+    array.scalars().forEach(s -> {
+      if (Float.floatToIntBits(s.getFloat()) != 0) {
+        ++numValues[0];
+      }
+    });
+    LongNdArray indices = NdArrays.ofLongs(Shape.of(numValues[0], array.rank()));
+    FloatNdArray values = NdArrays.ofFloats(Shape.of(numValues[0]));
+    long[] index = { 0 };
+    array.scalars().forEachIndexed((coords, s) -> {
+      float value = s.getFloat();
+      if (Float.floatToIntBits(value) != 0) {
+        for (int i = 0; i < coords.length; ++i) {
+          indices.setLong(coords[i], index[0], i);
+        }
+        values.setFloat(value, index[0]++);
+      }
+    });
+    Validator.sparseArgs(indices, values, array.shape());
+    return new FloatCooNdArray(indices, values, array.shape());
+  }
+
+  /**
+   * Creates a sparse array from coordinates already sorted in row-major order, without copying
+   * them or their values.
+   *
+   * @param indices coordinates of the values, as a matrix of shape {@code [N, rank]}
+   * @param values values, as a vector of shape {@code [N]}
+   * @param shape dense shape of the array
+   * @return sparse array
+   */
+  static FloatCooNdArray wrap(LongNdArray indices, FloatNdArray values, Shape shape) {
+    Validator.sparseArgs(indices, values, shape);
+    return new FloatCooNdArray(indices, values, shape);
+  }
+
+  @Override
+  public LongNdArray indices() {
+    return indices;
+  }
+
+  @Override
+  long indexOf(long[] coords) {
+    int index = Arrays.binarySearch(positions, positionOf(coords));
+    return index < 0 ? -1 : index;
+  }
+
+  @Override
+  long[] coordinatesOf(long index, long[] coords) {
+    for (int i = 0; i < coords.length; ++i) {
+      coords[i] = indices.getLong(index, i);
+    }
+    return coords;
+  }
+
+  @Override
+  long positionOf(long index) {
+    return positions[(int)index];
+  }
+
+  private final LongNdArray indices;
+  private final long[] positions;
+
+  private FloatCooNdArray(LongNdArray indices, FloatNdArray values, Shape shape) {
+    super(values, shape);
+    this.indices = indices;
+    positions = new long[(int)values.size()];
+    long[] coords = new long[shape.numDimensions()];
+    for (int i = 0; i < positions.length; ++i) {
+      coordinatesOf(i, coords);
+      Validator.coordinatesArgs(coords, shape);
+      positions[i] = positionOf(coords);
+    }
+  }
+
+  private boolean isSorted() {
+    for (int i = 1; i < positions.length; ++i) {
+      if (positions[i] < positions[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private FloatCooNdArray sortedCopy() {
+    Integer[] order = new Integer[positions.length];
+    for (int i = 0; i < order.length; ++i) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(positions[a], positions[b]));
+    LongNdArray sortedIndices = NdArrays.ofLongs(indices.shape());
+    FloatNdArray sortedValues = NdArrays.ofFloats(values().shape());
+    for (int i = 0; i < order.length; ++i) {
+      sortedIndices.set(indices.get(order[i]), i);
+      sortedValues.setFloat(values().getFloat(order[i]), i);
+    }
+    return new FloatCooNdArray(sortedIndices, sortedValues, shape());
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl.sparse;
+
+import java.util.Arrays;
+import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.ndarray.FloatNdArray;
+import org.tensorflow.tools.ndarray.IllegalRankException;
+import org.tensorflow.tools.ndarray.LongNdArray;
+import org.tensorflow.tools.ndarray.NdArrays;
+
+/**
+ * Sparse float matrix storing the coordinates of its values in compressed sparse row (CSR) format.
+ *
+ * <p>Values of a row {@code r} are found between the offsets {@code rowOffsets[r]} (inclusive) and
+ * {@code rowOffsets[r + 1]} (exclusive), sorted by their column index. Accessing a value only
+ * requires a binary search over the columns of its row.
+ */
+public class FloatCsrNdArray extends AbstractSparseFloatNdArray {
+
+  /**
+   * Creates a sparse matrix from the coordinates and values of its non-zero scalars.
+   *
+   * @param indices coordinates of the values, as a matrix of shape {@code [N, 2]}
+   * @param values values, as a vector of shape {@code [N]}
+   * @param shape dense shape of the matrix
+   * @return sparse matrix
+   * @throws IllegalRankException if shape is not of rank 2
+   * @throws IllegalArgumentException if components are not compatible with each other, if some
+   *                                  coordinates are out of bounds or appear more than once
+   * @see FloatCooNdArray#create(LongNdArray, FloatNdArray, Shape)
+   */
+  public static FloatCsrNdArray create(LongNdArray indices, FloatNdArray values, Shape shape) {
+    Validator.csrShape(shape);
+    return new FloatCsrNdArray(FloatCooNdArray.create(indices, values, shape));
+  }
+
+  /**
+   * Creates a sparse matrix from the non-zero scalars of a dense matrix.
+   *
+   * @param array dense matrix to copy
+   * @return sparse matrix
+   * @throws IllegalRankException if array is not of rank 2
+   */
+  public static FloatCsrNdArray copyOf(FloatNdArray array) {
+    Validator.csrShape(array.shape());
+    return new FloatCsrNdArray(FloatCooNdArray.copyOf(array));
+  }
+
+  /**
+   * Returns the offsets of each row in the values of this matrix.
+   *
+   * @return vector of shape {@code [numRows + 1]}
+   */
+  public LongNdArray rowOffsets() {
+    return NdArrays.vectorOf(rowOffsets.clone());
+  }
+
+  /**
+   * Returns the column index of each value of this matrix.
+   *
+   * @return vector of shape {@code [numValues()]}
+   */
+  public LongNdArray columnIndices() {
+    return NdArrays.vectorOf(columnIndices.clone());
+  }
+
+  @Override
+  public LongNdArray indices() {
+    LongNdArray indices = NdArrays.ofLongs(Shape.of(columnIndices.length, 2));
+    for (int row = 0; row < rowOffsets.length - 1; ++row) {
+      for (int i = (int)rowOffsets[row]; i < rowOffsets[row + 1]; ++i) {
+        indices.setLong(row, i, 0);
+        indices.setLong(columnIndices[i], i, 1);
+      }
+    }
+    return indices;
+  }
+
+  @Override
+  long indexOf(long[] coords) {
+    int row = (int)coords[0];
+    int index = Arrays.binarySearch(columnIndices, (int)rowOffsets[row], (int)rowOffsets[row + 1], coords[1]);
+    return index < 0 ? -1 : index;
+  }
+
+  @Override
+  long[] coordinatesOf(long index, long[] coords) {
+    // Find the last row starting at or before this index, skipping empty rows
+    int low = 0;
+    int high = rowOffsets.length - 2;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (rowOffsets[mid] <= index) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    coords[0] = low;
+    coords[1] = columnIndices[(int)index];
+    return coords;
+  }
+
+  private final long[] rowOffsets;
+  private final long[] columnIndices;
+
+  private FloatCsrNdArray(FloatCooNdArray coo) {
+    super(coo.values(), coo.shape());
+    rowOffsets = new long[(int)coo.shape().size(0) + 1];
+    columnIndices = new long[(int)coo.numValues()];
+    LongNdArray indices = coo.indices();
+    for (int i = 0; i < columnIndices.length; ++i) {
+      ++rowOffsets[(int)indices.getLong(i, 0) + 1];
+      columnIndices[i] = indices.getLong(i, 1);
+    }
+    for (int row = 1; row < rowOffsets.length; ++row) {
+      rowOffsets[row] += rowOffsets[row - 1];
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl.sparse;
+
+import java.util.Arrays;
+import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.ndarray.IllegalRankException;
+import org.tensorflow.tools.ndarray.NdArray;
+
+final class Validator extends org.tensorflow.tools.ndarray.impl.Validator {
+
+  static void sparseShape(Shape shape) {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null");
+    }
+    if (shape.hasUnknownDimension()) {
+      throw new IllegalArgumentException("Sparse arrays cannot have unknown dimension(s)");
+    }
+    if (shape.numDimensions() == 0) {
+      throw new IllegalRankException("Sparse arrays must have at least one dimension");
+    }
+  }
+
+  static void sparseArgs(NdArray<?> indices, NdArray<?> values, Shape shape) {
+    sparseShape(shape);
+    if (indices.rank() != 2 || indices.shape().size(1) != shape.numDimensions()) {
+      throw new IllegalArgumentException("Indices must be a matrix of shape [N, " + shape.numDimensions() +
+          "] (got " + indices.shape() + ")");
+    }
+    if (values.rank() != 1 || values.shape().size(0) != indices.shape().size(0)) {
+      throw new IllegalArgumentException("Values must be a vector of shape [" + indices.shape().size(0) +
+          "] (got " + values.shape() + ")");
+    }
+    if (values.size() > MAX_VALUES) {
+      throw new IllegalArgumentException("Sparse arrays cannot store more than " + MAX_VALUES + " values");
+    }
+  }
+
+  static void csrShape(Shape shape) {
+    sparseShape(shape);
+    if (shape.numDimensions() != 2) {
+      throw new IllegalRankException("CSR sparse arrays must be matrices (got " + shape + ")");
+    }
+    if (shape.size(0) >= MAX_VALUES) {
+      throw new IllegalArgumentException("CSR sparse arrays cannot have more than " + (MAX_VALUES - 1) + " rows");
+    }
+  }
+
+  static void coordinatesArgs(long[] coords, Shape shape) {
+    for (int i = 0; i < coords.length; ++i) {
+      if (coords[i] < 0 || coords[i] >= shape.size(i)) {
+        throw new IllegalArgumentException("Coordinates " + Arrays.toString(coords) +
+            " are out of the bounds of shape " + shape);
+      }
+    }
+  }
+
+  static void setArgs(NdArray<?> src, Shape elementShape) {
+    if (!src.shape().equals(elementShape)) {
+      throw new IllegalArgumentException("Cannot set an element of shape " + elementShape + " from an array of shape " +
+          src.shape());
+    }
+  }
+
+  static void reshapeArgs(NdArray<?> ndArray, Shape shape) {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null");
+    }
+    if (shape.hasUnknownDimension()) {
+      throw new IllegalArgumentException("Sparse arrays cannot have unknown dimension(s)");
+    }
+    if (shape.size() != ndArray.size()) {
+      throw new IllegalArgumentException("Cannot reshape an array of shape " + ndArray.shape() +
+          " to " + shape + " (" + ndArray.size() + " != " + shape.size() + ")");
+    }
+  }
+
+  static void expandDimsArgs(NdArray<?> ndArray, int axis) {
+    if (axis < 0 || axis > ndArray.rank()) {
+      throw new IllegalArgumentException("Axis " + axis + " is out of range for an array of rank " + ndArray.rank());
+    }
+  }
+
+  static int numValues(long numValues) {
+    if (numValues > MAX_VALUES) {
+      throw new IllegalArgumentException("Sparse arrays cannot store more than " + MAX_VALUES + " values");
+    }
+    return (int)numValues;
+  }
+
+  private static final int MAX_VALUES = Integer.MAX_VALUE - 8;
+
+  private Validator() {}
+}
@@ -0,0 +1,102 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class CompressedBufferBenchmark {
+
+	public static void main(String[] args) throws IOException, RunnerException {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+	@Param({"0.01", "0.1", "0.5"})
+	public float density;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(1234);
+		values = new float[NUM_VALUES];
+		for (int i = 0; i < NUM_VALUES; ++i) {
+			if (random.nextFloat() < density) {
+				values[i] = random.nextFloat();
+			}
+		}
+		indices = new int[NUM_VALUES];
+		for (int i = 0; i < NUM_VALUES; ++i) {
+			indices[i] = random.nextInt(NUM_VALUES);
+		}
+		arrayBuffer = DataBuffers.of(values.clone(), false, false);
+		compressedBuffer = DataBuffers.compressedFloats(NUM_VALUES).write(values);
+	}
+
+	@Benchmark
+	public void readArrayInBulk() {
+		arrayBuffer.read(values);
+	}
+
+	@Benchmark
+	public void readCompressedInBulk() {
+		compressedBuffer.read(values);
+	}
+
+	@Benchmark
+	public void readArrayRandomly(Blackhole bh) {
+		for (int i = 0; i < NUM_VALUES; ++i) {
+			bh.consume(arrayBuffer.getFloat(indices[i]));
+		}
+	}
+
+	@Benchmark
+	public void readCompressedRandomly(Blackhole bh) {
+		for (int i = 0; i < NUM_VALUES; ++i) {
+			bh.consume(compressedBuffer.getFloat(indices[i]));
+		}
+	}
+
+	@Benchmark
+	public void writeCompressedInBulk() {
+		compressedBuffer.write(values);
+	}
+
+	private static final int NUM_VALUES = 1024 * 1024;
+
+	private float[] values;
+	private int[] indices;
+	private FloatDataBuffer arrayBuffer;
+	private FloatDataBuffer compressedBuffer;
+}
@@ -0,0 +1,113 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.benchmark;
+
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.ShortDataBuffer;
+import org.tensorflow.tools.buffer.layout.DataLayouts;
+
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class Float16Benchmark {
+
+	public static void main(String[] args) throws IOException, RunnerException {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+	@Setup
+	public void setUp() {
+		ShortDataBuffer halfs = DataBuffers.ofShorts(NUM_VALUES);
+		ShortDataBuffer bhalfs = DataBuffers.ofShorts(NUM_VALUES);
+		float16s = DataLayouts.FLOAT16.applyTo(halfs);
+		bfloat16s = DataLayouts.BFLOAT16.applyTo(bhalfs);
+		values = new float[NUM_VALUES];
+		for (int i = 0; i < NUM_VALUES; ++i) {
+			values[i] = (i - NUM_VALUES / 2) / 1000.0f;
+		}
+		float16s.write(values);
+		bfloat16s.write(values);
+		floats = DataBuffers.ofFloats(NUM_VALUES);
+	}
+
+	@Benchmark
+	public void readFloat16ByElement() {
+		for (int i = 0; i < NUM_VALUES; ++i) {
+			values[i] = float16s.getFloat(i);
+		}
+	}
+
+	@Benchmark
+	public void readFloat16InBulk() {
+		float16s.read(values);
+	}
+
+	@Benchmark
+	public void writeFloat16ByElement() {
+		for (int i = 0; i < NUM_VALUES; ++i) {
+			float16s.setFloat(values[i], i);
+		}
+	}
+
+	@Benchmark
+	public void writeFloat16InBulk() {
+		float16s.write(values);
+	}
+
+	@Benchmark
+	public void copyFloat16ToFloats() {
+		float16s.copyTo(floats, NUM_VALUES);
+	}
+
+	@Benchmark
+	public void readBfloat16ByElement() {
+		for (int i = 0; i < NUM_VALUES; ++i) {
+			values[i] = bfloat16s.getFloat(i);
+		}
+	}
+
+	@Benchmark
+	public void readBfloat16InBulk() {
+		bfloat16s.read(values);
+	}
+
+	@Benchmark
+	public void writeBfloat16InBulk() {
+		bfloat16s.write(values);
+	}
+
+	private static final int NUM_VALUES = 1024 * 1024;
+
+	private float[] values;
+	private FloatDataBuffer float16s;
+	private FloatDataBuffer bfloat16s;
+	private FloatDataBuffer floats;
+}
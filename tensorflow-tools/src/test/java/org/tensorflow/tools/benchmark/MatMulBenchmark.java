@@ -0,0 +1,102 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.ndarray.FloatNdArray;
+import org.tensorflow.tools.ndarray.NdArrayMath;
+import org.tensorflow.tools.ndarray.NdArrays;
+
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class MatMulBenchmark {
+
+	public static void main(String[] args) throws IOException, RunnerException {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+	@Param({"64", "256", "512"})
+	public int size;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(1234);
+		a = NdArrays.ofFloats(Shape.of(size, size));
+		b = NdArrays.ofFloats(Shape.of(size, size));
+		a.scalars().forEach(s -> s.setFloat(random.nextFloat()));
+		b.scalars().forEach(s -> s.setFloat(random.nextFloat()));
+		c = NdArrays.ofFloats(Shape.of(size, size));
+		batchA = NdArrays.ofFloats(Shape.of(BATCH_SIZE, size, size));
+		batchB = NdArrays.ofFloats(Shape.of(BATCH_SIZE, size, size));
+		batchA.scalars().forEach(s -> s.setFloat(random.nextFloat()));
+		batchB.scalars().forEach(s -> s.setFloat(random.nextFloat()));
+		batchC = NdArrays.ofFloats(Shape.of(BATCH_SIZE, size, size));
+	}
+
+	@Benchmark
+	public void naiveMatMul() {
+		for (long i = 0; i < size; ++i) {
+			for (long j = 0; j < size; ++j) {
+				float sum = 0.0f;
+				for (long p = 0; p < size; ++p) {
+					sum += a.getFloat(i, p) * b.getFloat(p, j);
+				}
+				c.setFloat(sum, i, j);
+			}
+		}
+	}
+
+	@Benchmark
+	public void matMul() {
+		NdArrayMath.matMul(a, b, c);
+	}
+
+	@Benchmark
+	public void matMulTransposed() {
+		NdArrayMath.matMul(a, b.transpose(1, 0), c);
+	}
+
+	@Benchmark
+	public void batchedMatMul() {
+		NdArrayMath.matMul(batchA, batchB, batchC);
+	}
+
+	private static final int BATCH_SIZE = 8;
+
+	private FloatNdArray a;
+	private FloatNdArray b;
+	private FloatNdArray c;
+	private FloatNdArray batchA;
+	private FloatNdArray batchB;
+	private FloatNdArray batchC;
+}
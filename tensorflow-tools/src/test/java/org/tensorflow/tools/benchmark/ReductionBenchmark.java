@@ -0,0 +1,104 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.ndarray.FloatNdArray;
+import org.tensorflow.tools.ndarray.LongNdArray;
+import org.tensorflow.tools.ndarray.NdArrayMath;
+import org.tensorflow.tools.ndarray.NdArrays;
+
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ReductionBenchmark {
+
+	public static void main(String[] args) throws IOException, RunnerException {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(1234);
+		logits = NdArrays.ofFloats(Shape.of(BATCH_SIZE, NUM_CLASSES));
+		logits.scalars().forEach(s -> s.setFloat(random.nextFloat()));
+		classes = NdArrays.ofLongs(Shape.of(BATCH_SIZE));
+		sums = NdArrays.ofFloats(Shape.of(NUM_CLASSES));
+		top5 = NdArrays.ofLongs(Shape.of(BATCH_SIZE, 5));
+	}
+
+	@Benchmark
+	public void argMaxByRows() {
+		logits.elements(0).forEachIndexed((coords, row) -> {
+			long maxIndex = 0;
+			for (long i = 1; i < NUM_CLASSES; ++i) {
+				if (row.getFloat(i) > row.getFloat(maxIndex)) {
+					maxIndex = i;
+				}
+			}
+			classes.setLong(maxIndex, coords[0]);
+		});
+	}
+
+	@Benchmark
+	public void argMax() {
+		NdArrayMath.argMax(logits, -1, classes);
+	}
+
+	@Benchmark
+	public void sumOfColumnsByIndex() {
+		for (long j = 0; j < NUM_CLASSES; ++j) {
+			float sum = 0.0f;
+			for (long i = 0; i < BATCH_SIZE; ++i) {
+				sum += logits.getFloat(i, j);
+			}
+			sums.setFloat(sum, j);
+		}
+	}
+
+	@Benchmark
+	public void sumOfColumns() {
+		NdArrayMath.sum(logits, 0, sums);
+	}
+
+	@Benchmark
+	public void topK() {
+		NdArrayMath.topK(logits, 5, null, top5);
+	}
+
+	private static final int BATCH_SIZE = 4096;
+	private static final int NUM_CLASSES = 1000;
+
+	private FloatNdArray logits;
+	private LongNdArray classes;
+	private FloatNdArray sums;
+	private LongNdArray top5;
+}
@@ -21,7 +21,9 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
 
+import java.nio.BufferUnderflowException;
 import java.util.Arrays;
 import java.util.BitSet;
 import org.junit.Test;
@@ -66,6 +68,116 @@ public abstract class BooleanDataBufferTestBase extends DataBufferTestBase<Boole
     assertFalse(read[3]);
   }
 
+  @Test
+  public void packAndUnpackBits() {
+    BooleanDataBuffer buffer = allocate(150L);
+    for (int i = 0; i < buffer.size(); ++i) {
+      buffer.setBoolean(i % 3 == 0 || i == 149, i);
+    }
+    assertEquals(51L, buffer.cardinality());
+    assertEquals(16L, buffer.slice(70, 50).cardinality());
+
+    long[] words = new long[3];
+    buffer.readBits(words);
+    for (int i = 0; i < buffer.size(); ++i) {
+      assertEquals(i % 3 == 0 || i == 149, (words[i / 64] & (1L << i)) != 0L);
+    }
+    assertEquals(0L, words[2] >>> 22);
+
+    buffer.offset(5).readBits(words);
+    assertEquals(buffer.getBoolean(5), (words[0] & 1L) != 0L);
+    assertEquals(buffer.getBoolean(69), (words[1] & 1L) != 0L);
+
+    BooleanDataBuffer copy = allocate(150L);
+    copy.offset(3).writeBits(new long[] { -1L, 0x5L, 0xFFL });
+    assertFalse(copy.getBoolean(2));
+    assertTrue(copy.getBoolean(3));
+    assertTrue(copy.getBoolean(66));
+    assertTrue(copy.getBoolean(67));
+    assertFalse(copy.getBoolean(68));
+    assertTrue(copy.getBoolean(69));
+    assertFalse(copy.getBoolean(70));
+    assertTrue(copy.getBoolean(131));
+    assertTrue(copy.getBoolean(138));
+    assertFalse(copy.getBoolean(139));
+    assertEquals(64L + 2L + 8L, copy.cardinality());
+    try {
+      copy.writeBits(new long[2]);
+      fail();
+    } catch (IndexOutOfBoundsException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void bitwiseOperations() {
+    boolean[] values = new boolean[100];
+    boolean[] otherValues = new boolean[100];
+    for (int i = 0; i < values.length; ++i) {
+      values[i] = i % 2 == 0;
+      otherValues[i] = i % 3 == 0;
+    }
+    BooleanDataBuffer[] others = new BooleanDataBuffer[] {
+        allocate(100L).write(otherValues),
+        MiscDataBufferFactory.create(otherValues, false),
+        MiscDataBufferFactory.create(bitSetOf(otherValues), otherValues.length, false)
+    };
+    for (BooleanDataBuffer other : others) {
+      BooleanDataBuffer buffer = allocate(101L).write(values);
+      buffer.setBoolean(true, 100);
+      buffer.narrow(100).and(other);
+      for (int i = 0; i < values.length; ++i) {
+        assertEquals(values[i] & otherValues[i], buffer.getBoolean(i));
+      }
+      assertTrue(buffer.getBoolean(100));
+
+      buffer = allocate(100L).write(values);
+      buffer.offset(7).or(other);
+      for (int i = 0; i < values.length; ++i) {
+        assertEquals(i < 7 ? values[i] : values[i] | otherValues[i - 7], buffer.getBoolean(i));
+      }
+
+      buffer = allocate(100L).write(values);
+      buffer.xor(other);
+      for (int i = 0; i < values.length; ++i) {
+        assertEquals(values[i] ^ otherValues[i], buffer.getBoolean(i));
+      }
+    }
+    try {
+      allocate(100L).and(allocate(99L));
+      fail();
+    } catch (BufferUnderflowException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void copyToOtherStorages() {
+    BooleanDataBuffer buffer = allocate(130L);
+    for (int i = 0; i < buffer.size(); ++i) {
+      buffer.setBoolean(i % 5 == 0, i);
+    }
+    BitSet bitSet = new BitSet();
+    bitSet.set(0, 200);
+    buffer.copyTo(MiscDataBufferFactory.create(bitSet, 200, false).offset(3), 130);
+    boolean[] array = new boolean[130];
+    buffer.copyTo(MiscDataBufferFactory.create(array, false), 130);
+    for (int i = 0; i < buffer.size(); ++i) {
+      assertEquals(i % 5 == 0, bitSet.get(i + 3));
+      assertEquals(i % 5 == 0, array[i]);
+    }
+    assertTrue(bitSet.get(2));
+    assertTrue(bitSet.get(133));
+  }
+
+  private static BitSet bitSetOf(boolean[] values) {
+    BitSet bitSet = new BitSet(values.length);
+    for (int i = 0; i < values.length; ++i) {
+      bitSet.set(i, values[i]);
+    }
+    return bitSet;
+  }
+
   @Test
   public void equalWithBitSetBuffer() {
     BitSet bitSet1 = BitSet.valueOf(new byte[] { 0x01, 0x01 });
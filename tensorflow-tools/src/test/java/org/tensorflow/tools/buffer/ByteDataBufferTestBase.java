@@ -22,8 +22,15 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
 import java.util.Arrays;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
 import org.junit.Test;
 import org.tensorflow.tools.buffer.impl.misc.MiscDataBufferFactory;
 import org.tensorflow.tools.buffer.impl.nio.NioDataBufferFactory;
@@ -68,6 +75,27 @@ public abstract class ByteDataBufferTestBase extends DataBufferTestBase<Byte> {
     assertEquals(0, read[3]);
   }
 
+  @Test
+  public void writeToAndReadFromChannel() throws IOException {
+    ByteDataBuffer buffer = allocate(10L);
+    for (int i = 0; i < buffer.size(); ++i) {
+      buffer.setByte((byte)(i + 1), i);
+    }
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    assertEquals(8L, buffer.offset(2).writeTo(Channels.newChannel(output)));
+    assertArrayEquals(new byte[] { 3, 4, 5, 6, 7, 8, 9, 10 }, output.toByteArray());
+
+    ByteDataBuffer copy = allocate(10L);
+    assertEquals(8L, copy.readFrom(Channels.newChannel(new ByteArrayInputStream(output.toByteArray()))));
+    assertEquals(3, copy.getByte(0));
+    assertEquals(10, copy.getByte(7));
+    assertEquals(0, copy.getByte(8));
+
+    assertEquals(4L, copy.narrow(4).readFrom(Channels.newChannel(new ByteArrayInputStream(output.toByteArray()))));
+    assertEquals(6, copy.getByte(3));
+    assertEquals(8, copy.getByte(5));
+  }
+
   @Test
   public void equalWithByteNioBuffer() {
     ByteDataBuffer nioBuffer1 = NioDataBufferFactory.create(ByteBuffer.wrap(new byte[] { 0x01, 0x10 }));
@@ -122,6 +150,68 @@ public abstract class ByteDataBufferTestBase extends DataBufferTestBase<Byte> {
     assertNotEquals(objBuffer2.hashCode(), buffer.hashCode());
   }
 
+  @Test
+  public void viewWithByteOrder() {
+    ByteDataBuffer buffer = allocate(16L);
+    buffer.write(new byte[] { 0x3F, (byte)0x80, 0x00, 0x00, 0x01, 0x02, 0x03, 0x04 });
+    assertEquals(0x3F800000, buffer.asInts(ByteOrder.BIG_ENDIAN).getInt(0));
+    assertEquals(0x04030201, buffer.asInts(ByteOrder.LITTLE_ENDIAN).getInt(1));
+    assertEquals(0x3F80, buffer.asShorts(ByteOrder.BIG_ENDIAN).getShort(0));
+    assertEquals(0x3F800000_01020304L, buffer.asLongs(ByteOrder.BIG_ENDIAN).getLong(0));
+    assertEquals(1.0f, buffer.asFloats(ByteOrder.BIG_ENDIAN).getFloat(0), 0.0f);
+
+    float[] floats = new float[2];
+    buffer.asFloats(ByteOrder.BIG_ENDIAN).read(floats);
+    assertEquals(1.0f, floats[0], 0.0f);
+
+    buffer.asDoubles(ByteOrder.BIG_ENDIAN).setDouble(2.0, 1);
+    assertEquals(0x40, buffer.getByte(8));
+    assertEquals(0x00, buffer.getByte(15));
+    assertEquals(2.0, buffer.asDoubles(ByteOrder.BIG_ENDIAN).getDouble(1), 0.0);
+
+    buffer.asInts(ByteOrder.LITTLE_ENDIAN).write(new int[] { 0x01020304 });
+    assertEquals(0x04, buffer.getByte(0));
+    assertEquals(0x01, buffer.getByte(3));
+
+    // views without explicit order share the same memory as well
+    buffer.asLongs().setLong(0x0102030405060708L, 1);
+    assertEquals(0x0102030405060708L, buffer.slice(8, 8).asLongs().getLong(0));
+    buffer.asLongs(ByteOrder.BIG_ENDIAN).setLong(0x0102030405060708L, 1);
+    assertEquals(0x01, buffer.getByte(8));
+    assertEquals(0x0506, buffer.slice(8, 8).asShorts(ByteOrder.BIG_ENDIAN).getShort(2));
+  }
+
+  @Test
+  public void checksumAndHash() {
+    byte[] values = new byte[1000];
+    for (int i = 0; i < values.length; ++i) {
+      values[i] = (byte)(i * 31 + 7);
+    }
+    ByteDataBuffer buffer = allocate(values.length).write(values);
+
+    CRC32 expectedCrc = new CRC32();
+    expectedCrc.update(values, 0, values.length);
+    assertEquals(expectedCrc.getValue(), DataBuffers.checksum(buffer, new CRC32()));
+
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(values.length);
+    directBuffer.put(values).flip();
+    assertEquals(expectedCrc.getValue(), DataBuffers.checksum(DataBuffers.of(directBuffer), new CRC32()));
+
+    Adler32 expectedAdler = new Adler32();
+    expectedAdler.update(values, 10, 500);
+    assertEquals(expectedAdler.getValue(), DataBuffers.checksum(buffer.slice(10, 500), new Adler32()));
+
+    long hash = DataBuffers.hash64(DataBuffers.of(values, true, false));
+    assertEquals(hash, DataBuffers.hash64(buffer));
+    assertEquals(hash, DataBuffers.hash64(DataBuffers.of(ByteBuffer.wrap(values).asReadOnlyBuffer())));
+    assertEquals(hash, DataBuffers.hash64(DataBuffers.of(directBuffer)));
+    assertNotEquals(hash, DataBuffers.hash64(buffer, 1L));
+    assertNotEquals(hash, DataBuffers.hash64(buffer.slice(1, values.length - 1)));
+
+    assertEquals(0xEF46DB3751D8E999L, DataBuffers.hash64(allocate(0)));
+    assertEquals(0x44BC2CF5AD770999L, DataBuffers.hash64(allocate(3).write(new byte[] { 'a', 'b', 'c' })));
+  }
+
   @Test
   public void notEqualWithOtherTypes() {
     ByteDataBuffer buffer = allocate(2)
@@ -132,14 +222,8 @@ public abstract class ByteDataBufferTestBase extends DataBufferTestBase<Byte> {
     assertFalse(buffer.equals(longBuffer));
     assertFalse(longBuffer.equals(buffer));
 
-    try {
-      IntDataBuffer intBuffer = buffer.asInts();
-
-      assertFalse(buffer.equals(intBuffer));
-      assertFalse(intBuffer.equals(buffer));
-
-    } catch (IllegalStateException e) {
-      // some byte buffers cannot be converted to ints, ignore the test in that case
-    }
+    IntDataBuffer intBuffer = buffer.asInts();
+    assertFalse(buffer.equals(intBuffer));
+    assertFalse(intBuffer.equals(buffer));
   }
 }
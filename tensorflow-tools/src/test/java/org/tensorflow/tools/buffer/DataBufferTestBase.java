@@ -181,6 +181,23 @@ public abstract class DataBufferTestBase<T> {
     }
   }
 
+  @Test
+  public void copyBetweenOffsetsAndSlices() {
+    DataBuffer<T> srcBuffer = allocate(11L);
+    for (long i = 0; i < srcBuffer.size(); ++i) {
+      srcBuffer.setObject(valueOf(i), i);
+    }
+    DataBuffer<T> dstBuffer = allocate(11L);
+    srcBuffer.slice(1, 9).copyTo(dstBuffer.offset(2), 9);
+    for (long i = 0; i < 9; ++i) {
+      assertEquals(valueOf(i + 1), dstBuffer.getObject(i + 2));
+    }
+    DataBuffer<T> objectBuffer = DataBuffers.ofObjects(srcBuffer.offset(3).getObject(0), valueOf(0L));
+    srcBuffer.offset(3).copyTo(objectBuffer, 2);
+    assertEquals(valueOf(3L), objectBuffer.getObject(0));
+    assertEquals(valueOf(4L), objectBuffer.getObject(1));
+  }
+
   @Test
   public void createFromVarargs() {
     DataBuffer<T> buffer = DataBuffers.ofObjects(valueOf(1L), valueOf(2L), valueOf(3L));
@@ -225,4 +242,37 @@ public abstract class DataBufferTestBase<T> {
     assertFalse(buffer1.equals(buffer5));
     assertNotEquals(buffer5.hashCode(), buffer1.hashCode());
   }
+
+  @Test
+  public void fillWithValue() {
+    DataBuffer<T> buffer = allocate(2000L).fill(valueOf(1L));
+    for (long i = 0; i < buffer.size(); ++i) {
+      assertEquals(valueOf(1L), buffer.getObject(i));
+    }
+    buffer.offset(10).fill(valueOf(0L), 5, 1500);
+    for (long i = 0; i < buffer.size(); ++i) {
+      assertEquals(valueOf(i >= 15 && i < 1510 ? 0L : 1L), buffer.getObject(i));
+    }
+    buffer.fill(valueOf(0L), 20, 20);
+    assertEquals(valueOf(1L), buffer.getObject(1510));
+
+    try {
+      buffer.fill(valueOf(1L), -1, 10);
+      fail();
+    } catch (IndexOutOfBoundsException e) {
+      // as expected
+    }
+    try {
+      buffer.fill(valueOf(1L), 10, 2001);
+      fail();
+    } catch (IndexOutOfBoundsException e) {
+      // as expected
+    }
+    try {
+      buffer.fill(valueOf(1L), 10, 9);
+      fail();
+    } catch (IndexOutOfBoundsException e) {
+      // as expected
+    }
+  }
 }
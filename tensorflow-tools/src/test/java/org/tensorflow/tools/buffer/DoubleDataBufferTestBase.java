@@ -21,6 +21,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.nio.DoubleBuffer;
 import java.util.Arrays;
@@ -132,4 +133,63 @@ public abstract class DoubleDataBufferTestBase extends DataBufferTestBase<Double
     assertFalse(buffer.equals(floatBuffer));
     assertFalse(floatBuffer.equals(buffer));
   }
+
+  @Test
+  public void atomicOperations() {
+    DoubleDataBuffer buffer = allocate(10L);
+    if (!buffer.supportsAtomicOperations()) {
+      try {
+        buffer.compareAndSet(0.0, 0.0, 0);
+        fail();
+      } catch (UnsupportedOperationException e) {
+        return;  // as expected
+      }
+    }
+    assertTrue(buffer.offset(4).supportsAtomicOperations());
+    buffer.setDouble(10.0, 5);
+    assertFalse(buffer.compareAndSet(1.0, 2.0, 5));
+    assertEquals(10.0, buffer.getDouble(5), 0.0);
+    assertTrue(buffer.compareAndSet(10.0, 2.0, 5));
+    assertEquals(2.0, buffer.getDouble(5), 0.0);
+
+    assertEquals(2.0, buffer.getAndAdd(3.0, 5), 0.0);
+    assertEquals(5.0, buffer.getDouble(5), 0.0);
+    buffer.offset(4).addDouble(1.0, 1);
+    assertEquals(6.0, buffer.getDouble(5), 0.0);
+
+    buffer.setDouble(Double.NaN, 2);
+    assertTrue(buffer.compareAndSet(Double.NaN, 1.0, 2));
+    assertEquals(1.0, buffer.getDouble(2), 0.0);
+
+    try {
+      buffer.getAndAdd(1.0, 10);
+      fail();
+    } catch (IndexOutOfBoundsException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void concurrentAdditions() throws InterruptedException {
+    DoubleDataBuffer buffer = allocate(10L);
+    try {
+      buffer.addDouble(0.0, 0);
+    } catch (UnsupportedOperationException e) {
+      return;  // atomic operations are not supported by this buffer
+    }
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; ++i) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < 10000; ++j) {
+          buffer.addDouble(1.0, 3);
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(40000.0, buffer.getDouble(3), 0.0);
+    assertEquals(0.0, buffer.getDouble(2), 0.0);
+  }
 }
@@ -21,7 +21,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.util.Arrays;
 import org.junit.Test;
@@ -132,4 +135,109 @@ public abstract class FloatDataBufferTestBase extends DataBufferTestBase<Float>
     assertFalse(buffer.equals(doubleBuffer));
     assertFalse(doubleBuffer.equals(buffer));
   }
+
+  @Test
+  public void atomicOperations() {
+    FloatDataBuffer buffer = allocate(10L);
+    if (!buffer.supportsAtomicOperations()) {
+      try {
+        buffer.compareAndSet(0.0f, 0.0f, 0);
+        fail();
+      } catch (UnsupportedOperationException e) {
+        return;  // as expected
+      }
+    }
+    assertTrue(buffer.offset(4).supportsAtomicOperations());
+    buffer.setFloat(10.0f, 5);
+    assertFalse(buffer.compareAndSet(1.0f, 2.0f, 5));
+    assertEquals(10.0f, buffer.getFloat(5), 0.0f);
+    assertTrue(buffer.compareAndSet(10.0f, 2.0f, 5));
+    assertEquals(2.0f, buffer.getFloat(5), 0.0f);
+
+    assertEquals(2.0f, buffer.getAndAdd(3.0f, 5), 0.0f);
+    assertEquals(5.0f, buffer.getFloat(5), 0.0f);
+    buffer.offset(4).addFloat(1.0f, 1);
+    assertEquals(6.0f, buffer.getFloat(5), 0.0f);
+
+    buffer.setFloat(Float.NaN, 2);
+    assertTrue(buffer.compareAndSet(Float.NaN, 1.0f, 2));
+    assertEquals(1.0f, buffer.getFloat(2), 0.0f);
+
+    try {
+      buffer.getAndAdd(1.0f, 10);
+      fail();
+    } catch (IndexOutOfBoundsException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void concurrentAdditions() throws InterruptedException {
+    FloatDataBuffer buffer = allocate(10L);
+    try {
+      buffer.addFloat(0.0f, 0);
+    } catch (UnsupportedOperationException e) {
+      return;  // atomic operations are not supported by this buffer
+    }
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; ++i) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < 10000; ++j) {
+          buffer.addFloat(1.0f, 3);
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(40000.0f, buffer.getFloat(3), 0.0f);
+    assertEquals(0.0f, buffer.getFloat(2), 0.0f);
+  }
+
+  @Test
+  public void copyToAndFromDirectBuffers() {
+    FloatDataBuffer buffer = allocate(100L);
+    for (int i = 0; i < buffer.size(); ++i) {
+      buffer.setFloat(i, i);
+    }
+    for (ByteOrder order : new ByteOrder[] { ByteOrder.nativeOrder(), ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+      FloatDataBuffer direct = NioDataBufferFactory.create(ByteBuffer.allocateDirect(400).order(order).asFloatBuffer());
+      buffer.copyTo(direct, buffer.size());
+      assertEquals(buffer, direct);
+
+      FloatDataBuffer copy = allocate(100L);
+      direct.copyTo(copy, direct.size());
+      assertEquals(buffer, copy);
+
+      try (DataBufferPool pool = DataBuffers.newPool(1024)) {
+        FloatDataBuffer nativeBuffer = pool.ofFloats(100).buffer();
+        direct.offset(10).copyTo(nativeBuffer, 50);
+        assertEquals(10.0f, nativeBuffer.getFloat(0), 0.0f);
+        assertEquals(59.0f, nativeBuffer.getFloat(49), 0.0f);
+        nativeBuffer.copyTo(buffer.offset(50), 50);
+        assertEquals(10.0f, buffer.getFloat(50), 0.0f);
+        assertEquals(59.0f, buffer.getFloat(99), 0.0f);
+      } catch (IllegalStateException e) {
+        // native memory cannot be accessed on this platform
+      }
+      for (int i = 0; i < buffer.size(); ++i) {
+        buffer.setFloat(i, i);
+      }
+    }
+  }
+
+  @Test
+  public void copyToSlicedHeapBuffer() {
+    FloatDataBuffer buffer = allocate(4L)
+        .setFloat(1.0f, 0)
+        .setFloat(2.0f, 1)
+        .setFloat(3.0f, 2)
+        .setFloat(4.0f, 3);
+    FloatBuffer array = FloatBuffer.wrap(new float[6]);
+    array.position(2);
+    FloatDataBuffer slice = NioDataBufferFactory.create(array.slice());
+    buffer.copyTo(slice, 4);
+    assertArrayEquals(new float[] { 0.0f, 0.0f, 1.0f, 2.0f, 3.0f, 4.0f }, array.array(), 0.0f);
+  }
 }
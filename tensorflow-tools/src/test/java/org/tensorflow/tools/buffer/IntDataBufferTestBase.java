@@ -21,6 +21,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.nio.IntBuffer;
 import java.util.Arrays;
@@ -132,4 +133,59 @@ public abstract class IntDataBufferTestBase extends DataBufferTestBase<Integer>
     assertFalse(buffer.equals(longBuffer));
     assertFalse(longBuffer.equals(buffer));
   }
+
+  @Test
+  public void atomicOperations() {
+    IntDataBuffer buffer = allocate(10L);
+    if (!buffer.supportsAtomicOperations()) {
+      try {
+        buffer.compareAndSet(0, 0, 0);
+        fail();
+      } catch (UnsupportedOperationException e) {
+        return;  // as expected
+      }
+    }
+    assertTrue(buffer.offset(4).supportsAtomicOperations());
+    buffer.setInt(10, 5);
+    assertFalse(buffer.compareAndSet(1, 2, 5));
+    assertEquals(10, buffer.getInt(5));
+    assertTrue(buffer.compareAndSet(10, 2, 5));
+    assertEquals(2, buffer.getInt(5));
+
+    assertEquals(2, buffer.getAndAdd(3, 5));
+    assertEquals(5, buffer.getInt(5));
+    buffer.offset(4).addInt(1, 1);
+    assertEquals(6, buffer.getInt(5));
+
+    try {
+      buffer.getAndAdd(1, 10);
+      fail();
+    } catch (IndexOutOfBoundsException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void concurrentAdditions() throws InterruptedException {
+    IntDataBuffer buffer = allocate(10L);
+    try {
+      buffer.addInt(0, 0);
+    } catch (UnsupportedOperationException e) {
+      return;  // atomic operations are not supported by this buffer
+    }
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; ++i) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < 10000; ++j) {
+          buffer.addInt(1, 3);
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(40000, buffer.getInt(3));
+    assertEquals(0, buffer.getInt(2));
+  }
 }
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.nio.LongBuffer;
 import java.util.Arrays;
@@ -132,4 +133,59 @@ public abstract class LongDataBufferTestBase extends DataBufferTestBase<Long> {
     assertFalse(buffer.equals(intBuffer));
     assertFalse(intBuffer.equals(buffer));
   }
+
+  @Test
+  public void atomicOperations() {
+    LongDataBuffer buffer = allocate(10L);
+    if (!buffer.supportsAtomicOperations()) {
+      try {
+        buffer.compareAndSet(0L, 0L, 0);
+        fail();
+      } catch (UnsupportedOperationException e) {
+        return;  // as expected
+      }
+    }
+    assertTrue(buffer.offset(4).supportsAtomicOperations());
+    buffer.setLong(10L, 5);
+    assertFalse(buffer.compareAndSet(1L, 2L, 5));
+    assertEquals(10L, buffer.getLong(5));
+    assertTrue(buffer.compareAndSet(10L, 2L, 5));
+    assertEquals(2L, buffer.getLong(5));
+
+    assertEquals(2L, buffer.getAndAdd(3L, 5));
+    assertEquals(5L, buffer.getLong(5));
+    buffer.offset(4).addLong(1L, 1);
+    assertEquals(6L, buffer.getLong(5));
+
+    try {
+      buffer.getAndAdd(1L, 10);
+      fail();
+    } catch (IndexOutOfBoundsException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void concurrentAdditions() throws InterruptedException {
+    LongDataBuffer buffer = allocate(10L);
+    try {
+      buffer.addLong(0L, 0);
+    } catch (UnsupportedOperationException e) {
+      return;  // atomic operations are not supported by this buffer
+    }
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; ++i) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < 10000; ++j) {
+          buffer.addLong(1L, 3);
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(40000L, buffer.getLong(3));
+    assertEquals(0L, buffer.getLong(2));
+  }
 }
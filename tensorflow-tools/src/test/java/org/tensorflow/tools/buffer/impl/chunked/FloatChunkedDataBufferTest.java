@@ -0,0 +1,60 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl.chunked;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.FloatDataBufferTestBase;
+
+public class FloatChunkedDataBufferTest extends FloatDataBufferTestBase {
+
+  @Override
+  protected FloatDataBuffer allocate(long size) {
+    return ChunkedDataBufferFactory.createFloats(size, 2);
+  }
+
+  @Test
+  public void copyAcrossChunkBoundaries() {
+    float[] values = new float[] { 0.0f, 1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f };
+    FloatDataBuffer buffer = ChunkedDataBufferFactory.createFloats(values.length, 2).write(values);
+
+    // chunks of the destination are twice as large as the ones of the source
+    FloatDataBuffer chunkedDst = ChunkedDataBufferFactory.createFloats(values.length, 3);
+    buffer.slice(1, 9).copyTo(chunkedDst.offset(2), 9);
+    for (int i = 0; i < 9; ++i) {
+      assertEquals(values[i + 1], chunkedDst.getFloat(i + 2), 0.0f);
+    }
+    // and the other way around, with chunks of the source starting in the middle of the destination
+    FloatDataBuffer smallChunkedDst = ChunkedDataBufferFactory.createFloats(values.length, 2);
+    chunkedDst.slice(3, 8).copyTo(smallChunkedDst.offset(1), 8);
+    for (int i = 0; i < 8; ++i) {
+      assertEquals(values[i + 2], smallChunkedDst.getFloat(i + 1), 0.0f);
+    }
+    FloatDataBuffer arrayDst = DataBuffers.ofFloats(values.length);
+    buffer.offset(3).copyTo(arrayDst, 8);
+    for (int i = 0; i < 8; ++i) {
+      assertEquals(values[i + 3], arrayDst.getFloat(i), 0.0f);
+    }
+    float[] dst = new float[7];
+    buffer.offset(2).read(dst);
+    assertEquals(2.0f, dst[0], 0.0f);
+    assertEquals(8.0f, dst[6], 0.0f);
+  }
+}
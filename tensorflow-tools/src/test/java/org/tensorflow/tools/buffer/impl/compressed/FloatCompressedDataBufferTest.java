@@ -0,0 +1,80 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl.compressed;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.FloatDataBufferTestBase;
+
+public class FloatCompressedDataBufferTest extends FloatDataBufferTestBase {
+
+  @Override
+  protected FloatDataBuffer allocate(long size) {
+    return CompressedDataBufferFactory.createFloats(size);
+  }
+
+  @Test
+  public void readAndWriteAcrossBlocks() {
+    float[] values = new float[1000];
+    values[3] = 1.0f;
+    values[255] = -0.0f;
+    values[256] = Float.NaN;
+    for (int i = 300; i < 700; ++i) {
+      values[i] = i;  // dense blocks
+    }
+    values[999] = 2.0f;
+    FloatDataBuffer buffer = allocate(values.length).write(values);
+
+    float[] dst = new float[values.length];
+    buffer.read(dst);
+    assertArrayEquals(values, dst, 0.0f);
+    assertEquals(Float.floatToRawIntBits(-0.0f), Float.floatToRawIntBits(buffer.getFloat(255)));
+    assertEquals(Float.NaN, buffer.getFloat(256), 0.0f);
+
+    float[] sliceDst = new float[20];
+    buffer.slice(250, 20).read(sliceDst);
+    for (int i = 0; i < sliceDst.length; ++i) {
+      assertEquals(values[250 + i], sliceDst[i], 0.0f);
+    }
+
+    buffer.setFloat(5.0f, 4).setFloat(0.0f, 3).setFloat(0.0f, 400);
+    assertEquals(5.0f, buffer.getFloat(4), 0.0f);
+    assertEquals(0.0f, buffer.getFloat(3), 0.0f);
+    assertEquals(0.0f, buffer.getFloat(400), 0.0f);
+    assertEquals(401.0f, buffer.getFloat(401), 0.0f);
+
+    buffer.offset(290).write(new float[] { 0.0f, 7.0f, 0.0f });
+    assertEquals(7.0f, buffer.getFloat(291), 0.0f);
+    assertEquals(0.0f, buffer.getFloat(292), 0.0f);
+
+    FloatDataBuffer copy = DataBuffers.ofFloats(values.length);
+    buffer.copyTo(copy, values.length);
+    float[] copyDst = new float[values.length];
+    buffer.read(dst);
+    copy.read(copyDst);
+    assertArrayEquals(dst, copyDst, 0.0f);
+
+    buffer.fill(0.0f, 0, values.length);
+    for (long i = 0; i < values.length; ++i) {
+      assertEquals(0.0f, buffer.getFloat(i), 0.0f);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl.compressed;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import org.tensorflow.tools.buffer.IntDataBuffer;
+import org.tensorflow.tools.buffer.IntDataBufferTestBase;
+
+public class IntCompressedDataBufferTest extends IntDataBufferTestBase {
+
+  @Override
+  protected IntDataBuffer allocate(long size) {
+    return CompressedDataBufferFactory.createInts(size);
+  }
+
+  @Test
+  public void sparseUpdates() {
+    IntDataBuffer buffer = allocate(600);
+    int[] expected = new int[600];
+    for (int i = 0; i < expected.length; i += 7) {
+      buffer.setInt(i + 1, i);
+      expected[i] = i + 1;
+    }
+    for (int i = 0; i < expected.length; i += 14) {
+      buffer.setInt(0, i);
+      expected[i] = 0;
+    }
+    buffer.fill(9, 250, 270);
+    for (int i = 250; i < 270; ++i) {
+      expected[i] = 9;
+    }
+    int[] dst = new int[expected.length];
+    buffer.read(dst);
+    assertArrayEquals(expected, dst);
+    for (int i = 0; i < expected.length; ++i) {
+      assertEquals(expected[i], buffer.getInt(i));
+    }
+  }
+
+  @Test
+  public void readWhileEncodingAgain() throws InterruptedException {
+    IntDataBuffer buffer = allocate(256);
+    int[] dense = new int[256];
+    Arrays.fill(dense, 3);
+    int[] sparse = new int[256];
+    sparse[200] = 7;
+    buffer.write(sparse);
+
+    // Switch the block between its zero-suppressed and dense encodings while reading it
+    AtomicBoolean done = new AtomicBoolean();
+    Thread writer = new Thread(() -> {
+      for (int i = 0; i < 1000000; ++i) {
+        buffer.write((i & 1) == 0 ? dense : sparse);
+      }
+      done.set(true);
+    });
+    writer.start();
+    int[] dst = new int[256];
+    while (!done.get()) {
+      int value = buffer.getInt(200);
+      assertTrue(value == 3 || value == 7);
+      buffer.read(dst);
+      assertTrue(dst[200] == 3 || dst[200] == 7);
+    }
+    writer.join();
+  }
+}
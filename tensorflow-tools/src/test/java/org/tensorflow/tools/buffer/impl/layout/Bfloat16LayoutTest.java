@@ -20,6 +20,8 @@ package org.tensorflow.tools.buffer.impl.layout;
 import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.ShortDataBuffer;
 
 public class Bfloat16LayoutTest {
 
@@ -81,4 +83,23 @@ public class Bfloat16LayoutTest {
     assertEquals(1.6171875f, Bfloat16Layout.float16to32((short)0x3FCF), 0);
     assertEquals(65536.0, Bfloat16Layout.float16to32((short)0x4780), 0);
   }
+
+  @Test
+  public void testBulkConversion() {
+    Bfloat16Layout layout = new Bfloat16Layout();
+    ShortDataBuffer buffer = DataBuffers.ofShorts(1 << 16);
+    for (int i = 0; i < buffer.size(); ++i) {
+      buffer.setShort((short)i, i);
+    }
+    float[] values = new float[(int)buffer.size() + 2];
+    layout.readFloats(buffer, values, 2, (int)buffer.size());
+    for (int i = 0; i < buffer.size(); ++i) {
+      assertEquals(Bfloat16Layout.float16to32((short)i), values[i + 2], 0);
+    }
+    ShortDataBuffer copy = DataBuffers.ofShorts(buffer.size() - 3);
+    layout.writeFloats(copy, values, 5, (int)copy.size());
+    for (int i = 0; i < copy.size(); ++i) {
+      assertEquals(Bfloat16Layout.float32to16(values[i + 5]), copy.getShort(i));
+    }
+  }
 }
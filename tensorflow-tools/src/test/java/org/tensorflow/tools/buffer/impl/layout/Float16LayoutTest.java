@@ -20,6 +20,10 @@ package org.tensorflow.tools.buffer.impl.layout;
 import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.ShortDataBuffer;
+import org.tensorflow.tools.buffer.layout.DataLayouts;
 
 public class Float16LayoutTest {
 
@@ -87,4 +91,36 @@ public class Float16LayoutTest {
     assertEquals(1.123f, Float16Layout.float16to32((short)0x3C7E), 1e-3f);
     assertEquals(-62.34f, Float16Layout.float16to32((short)0xD3CB), 1e-2f);
   }
+
+  @Test
+  public void testBulkConversion() {
+    Float16Layout layout = new Float16Layout();
+    ShortDataBuffer buffer = DataBuffers.ofShorts(1 << 16);
+    for (int i = 0; i < buffer.size(); ++i) {
+      buffer.setShort((short)i, i);
+    }
+    float[] values = new float[(int)buffer.size() + 2];
+    layout.readFloats(buffer, values, 2, (int)buffer.size());
+    for (int i = 0; i < buffer.size(); ++i) {
+      assertEquals(Float16Layout.float16to32((short)i), values[i + 2], 0);
+    }
+    ShortDataBuffer copy = DataBuffers.ofShorts(buffer.size() - 3);
+    layout.writeFloats(copy, values, 5, (int)copy.size());
+    for (int i = 0; i < copy.size(); ++i) {
+      assertEquals(Float16Layout.float32to16(values[i + 5]), copy.getShort(i));
+    }
+  }
+
+  @Test
+  public void testCopyToFloats() {
+    FloatDataBuffer halfs = DataLayouts.FLOAT16.applyTo(DataBuffers.ofShorts(2000));
+    for (int i = 0; i < halfs.size(); ++i) {
+      halfs.setFloat(i / 4.0f, i);
+    }
+    FloatDataBuffer floats = DataBuffers.ofFloats(halfs.size());
+    halfs.copyTo(floats, halfs.size());
+    for (int i = 0; i < floats.size(); ++i) {
+      assertEquals(i / 4.0f, floats.getFloat(i), 0);
+    }
+  }
 }
@@ -0,0 +1,189 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl.layout;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+
+public class QuantizedLayoutTest {
+
+  @Test
+  public void testSignedConversion() {
+    QuantizedLayout layout = QuantizedLayout.create(0.5f, -10, false);
+    ByteDataBuffer buffer = DataBuffers.ofBytes(1);
+
+    layout.writeFloat(buffer, 0.0f, 0);
+    assertEquals(-10, buffer.getByte(0));
+    assertEquals(0.0f, layout.readFloat(buffer, 0), 0);
+
+    layout.writeFloat(buffer, 10.2f, 0);
+    assertEquals(10, buffer.getByte(0));
+    assertEquals(10.0f, layout.readFloat(buffer, 0), 0);
+
+    layout.writeFloat(buffer, -1000.0f, 0);
+    assertEquals(Byte.MIN_VALUE, buffer.getByte(0));
+    assertEquals(-59.0f, layout.readFloat(buffer, 0), 0);
+
+    layout.writeFloat(buffer, 1000.0f, 0);
+    assertEquals(Byte.MAX_VALUE, buffer.getByte(0));
+    assertEquals(68.5f, layout.readFloat(buffer, 0), 0);
+  }
+
+  @Test
+  public void testUnsignedConversion() {
+    QuantizedLayout layout = QuantizedLayout.create(0.1f, 128, true);
+    ByteDataBuffer buffer = DataBuffers.ofBytes(1);
+
+    layout.writeFloat(buffer, 0.0f, 0);
+    assertEquals((byte)128, buffer.getByte(0));
+    assertEquals(0.0f, layout.readFloat(buffer, 0), 0);
+
+    layout.writeFloat(buffer, 12.7f, 0);
+    assertEquals((byte)255, buffer.getByte(0));
+    assertEquals(12.7f, layout.readFloat(buffer, 0), 1e-5f);
+
+    layout.writeFloat(buffer, -100.0f, 0);
+    assertEquals(0, buffer.getByte(0));
+    assertEquals(-12.8f, layout.readFloat(buffer, 0), 1e-5f);
+  }
+
+  @Test
+  public void testSaturation() {
+    QuantizedLayout signed = QuantizedLayout.create(0.05f, 10, false);
+    float[] values = new float[] { 1e10f, Float.POSITIVE_INFINITY, -1e10f, Float.NEGATIVE_INFINITY, Float.NaN, Float.MAX_VALUE };
+    float[] expected = new float[] { 5.85f, 5.85f, -6.9f, -6.9f, 0.0f, 5.85f };
+    assertQuantized(signed, values, expected);
+
+    QuantizedLayout unsigned = QuantizedLayout.create(0.05f, 200, true);
+    expected = new float[] { 2.75f, 2.75f, -10.0f, -10.0f, 0.0f, 2.75f };
+    assertQuantized(unsigned, values, expected);
+  }
+
+  @Test
+  public void testInvalidParameters() {
+    try {
+      QuantizedLayout.create(0.0f, 0, false);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      QuantizedLayout.create(Float.NaN, 0, false);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      QuantizedLayout.create(1.0f, 200, false);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      QuantizedLayout.create(1.0f, -1, true);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      QuantizedLayout.create(new float[] { 1.0f, 2.0f }, new int[] { 0 }, 1, false);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      QuantizedLayout.create(new float[] { 1.0f }, new int[] { 0 }, 0, false);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void testBulkConversion() {
+    QuantizedLayout layout = QuantizedLayout.create(0.25f, 3, false);
+    ByteDataBuffer buffer = DataBuffers.ofBytes(3000);
+    for (int i = 0; i < buffer.size(); ++i) {
+      buffer.setByte((byte)i, i);
+    }
+    float[] values = new float[(int)buffer.size() + 2];
+    layout.readFloats(buffer, values, 2, (int)buffer.size());
+    for (int i = 0; i < buffer.size(); ++i) {
+      assertEquals(layout.readFloat(buffer, i), values[i + 2], 0);
+    }
+    ByteDataBuffer copy = DataBuffers.ofBytes(buffer.size() - 3);
+    layout.writeFloats(copy, values, 5, (int)copy.size());
+    for (int i = 0; i < copy.size(); ++i) {
+      assertEquals(buffer.getByte(i + 3), copy.getByte(i));
+    }
+  }
+
+  @Test
+  public void testPerAxisConversion() {
+    // shape [3, 2, 700], quantized along the first axis
+    float[] scales = new float[] { 1.0f, 0.5f, 0.25f };
+    int[] zeroPoints = new int[] { 0, 10, 20 };
+    QuantizedLayout layout = QuantizedLayout.create(scales, zeroPoints, 1400, true);
+    ByteDataBuffer buffer = DataBuffers.ofBytes(3 * 1400);
+    for (int i = 0; i < buffer.size(); ++i) {
+      buffer.setByte((byte)(i % 200), i);
+    }
+    FloatDataBuffer values = layout.applyTo(buffer);
+    for (int i = 0; i < values.size(); ++i) {
+      int axis = i / 1400;
+      assertEquals(((i % 200) - zeroPoints[axis]) * scales[axis], values.getFloat(i), 0);
+    }
+
+    float[] array = new float[(int)values.size()];
+    values.read(array);
+    for (int i = 0; i < array.length; ++i) {
+      assertEquals(values.getFloat(i), array[i], 0);
+    }
+
+    // a slice keeps the quantization parameters of its values in the original buffer
+    FloatDataBuffer slice = values.slice(1000, 1500);
+    for (int i = 0; i < slice.size(); ++i) {
+      assertEquals(array[i + 1000], slice.getFloat(i), 0);
+    }
+    float[] sliceArray = new float[(int)slice.size()];
+    slice.read(sliceArray);
+    for (int i = 0; i < sliceArray.length; ++i) {
+      assertEquals(array[i + 1000], sliceArray[i], 0);
+    }
+    assertEquals(array[2500], values.offset(2000).slice(500, 10).getFloat(0), 0);
+
+    ByteDataBuffer copy = DataBuffers.ofBytes(buffer.size());
+    layout.applyTo(copy).write(array);
+    assertEquals(buffer, copy);
+  }
+
+  private static void assertQuantized(QuantizedLayout layout, float[] values, float[] expected) {
+    ByteDataBuffer buffer = DataBuffers.ofBytes(values.length);
+    for (int i = 0; i < values.length; ++i) {
+      layout.writeFloat(buffer, values[i], i);
+      assertEquals(expected[i], layout.readFloat(buffer, i), 1e-5f);
+    }
+    ByteDataBuffer bulk = DataBuffers.ofBytes(values.length);
+    layout.writeFloats(bulk, values, 0, values.length);
+    assertEquals(buffer, bulk);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+
+package org.tensorflow.tools.buffer.impl.layout;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.tensorflow.tools.buffer.DataBuffer;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.layout.DataLayouts;
+
+public class StringLayoutTest {
+
+  private static final String[] VALUES = new String[] {
+      "", "TensorFlow", "caf\u00e9", "\u4f60\u597d", "\ud83d\ude00 emoji", "a\u0000b"
+  };
+
+  @Test
+  public void encodeAndDecodeLikeStrings() {
+    Charset[] charsets = new Charset[] {
+        StandardCharsets.UTF_8,
+        StandardCharsets.UTF_16,
+        StandardCharsets.US_ASCII,
+        StandardCharsets.ISO_8859_1
+    };
+    for (Charset charset : charsets) {
+      StringLayout layout = StringLayout.of(charset);
+      for (String value : VALUES) {
+        byte[] bytes = value.getBytes(charset);
+        assertArrayEquals(bytes, layout.encode(value));
+        assertEquals(new String(bytes, charset), layout.decode(bytes));
+      }
+    }
+  }
+
+  @Test
+  public void reuseLayoutOfSameCharset() {
+    assertSame(StringLayout.of(StandardCharsets.UTF_8), StringLayout.of(StandardCharsets.UTF_8));
+    assertSame(StringLayout.of(StandardCharsets.UTF_16), DataLayouts.ofStrings(StandardCharsets.UTF_16));
+  }
+
+  @Test
+  public void decodeMalformedInput() {
+    StringLayout layout = StringLayout.of(StandardCharsets.UTF_8);
+    byte[] bytes = new byte[] { 'a', (byte)0xC3, 'b', (byte)0xFF };
+    assertEquals(new String(bytes, StandardCharsets.UTF_8), layout.decode(bytes));
+  }
+
+  @Test
+  public void readAndWriteInBulk() {
+    String[] values = new String[3000];
+    for (int i = 0; i < values.length; ++i) {
+      values[i] = VALUES[i % VALUES.length] + i;
+    }
+    DataBuffer<byte[]> bytes = DataBuffers.ofObjects(byte[].class, values.length);
+    DataBuffer<String> strings = DataLayouts.ofStrings(StandardCharsets.UTF_8).applyTo(bytes);
+    strings.write(values);
+    for (int i = 0; i < values.length; ++i) {
+      assertArrayEquals(values[i].getBytes(StandardCharsets.UTF_8), bytes.getObject(i));
+    }
+    String[] dst = new String[values.length - 10];
+    strings.offset(10).read(dst);
+    for (int i = 0; i < dst.length; ++i) {
+      assertEquals(values[i + 10], dst[i]);
+    }
+  }
+}
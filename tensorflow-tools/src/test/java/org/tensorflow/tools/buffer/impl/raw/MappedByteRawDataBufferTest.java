@@ -0,0 +1,110 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl.raw;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Test;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+import org.tensorflow.tools.buffer.ByteDataBufferTestBase;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+
+public class MappedByteRawDataBufferTest extends ByteDataBufferTestBase {
+
+  @Override
+  protected ByteDataBuffer allocate(long size) {
+    try {
+      return DataBuffers.map(createFile(new byte[(int)size]), MapMode.READ_WRITE, 0L, size);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Test
+  public void mapFileRegion() throws IOException {
+    ByteBuffer content = ByteBuffer.allocate(16).order(ByteOrder.nativeOrder());
+    content.putFloat(1.0f).putFloat(2.0f).putFloat(3.0f).putFloat(4.0f);
+    Path file = createFile(content.array());
+
+    FloatDataBuffer buffer = DataBuffers.map(file, MapMode.READ_ONLY, Float.BYTES, 2 * Float.BYTES).asFloats();
+    assertEquals(2, buffer.size());
+    assertEquals(2.0f, buffer.getFloat(0), 0.0f);
+    assertEquals(3.0f, buffer.getFloat(1), 0.0f);
+    assertTrue(buffer.isReadOnly());
+  }
+
+  @Test
+  public void writeToMappedFile() throws IOException {
+    Path file = createFile(new byte[8]);
+
+    ByteDataBuffer buffer = DataBuffers.map(file, MapMode.READ_WRITE, 0L, 8L);
+    assertFalse(buffer.isReadOnly());
+    buffer.setByte((byte)10, 2);
+    buffer.asInts().setInt(100, 1);
+
+    ByteDataBuffer otherBuffer = DataBuffers.map(file, MapMode.READ_ONLY, 0L, 8L);
+    assertEquals(10, otherBuffer.getByte(2));
+    assertEquals(100, otherBuffer.asInts().getInt(1));
+  }
+
+  @Test
+  public void rejectRegionsLargerThan32Bits() throws IOException {
+    // the size of the region is validated before mapping, so the file does not need to be that large
+    Path file = createFile(new byte[8]);
+    try {
+      DataBuffers.map(file, MapMode.READ_ONLY, 0L, Integer.MAX_VALUE + 1L);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void mapRegionsOfLargeFiles() throws IOException {
+    if (!enableLargeBufferTests) {
+      return;  // creates a sparse file of several GB, which not all file systems support
+    }
+    Path file = createFile(new byte[0]);
+    long largeSize = 3L * Integer.MAX_VALUE;
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      raf.setLength(largeSize);  // sparse file, no disk space is actually used
+      raf.seek(largeSize - 4);
+      raf.write(new byte[] { 1, 2, 3, 4 });
+    }
+    ByteDataBuffer lastRegion = DataBuffers.map(file, MapMode.READ_ONLY, largeSize - 8, 8L);
+    assertEquals(0, lastRegion.getByte(0));
+    assertEquals(4, lastRegion.getByte(7));
+  }
+
+  private static Path createFile(byte[] content) throws IOException {
+    Path file = Files.createTempFile("tensorflow-tools-", ".bin");
+    file.toFile().deleteOnExit();
+    return Files.write(file, content);
+  }
+}
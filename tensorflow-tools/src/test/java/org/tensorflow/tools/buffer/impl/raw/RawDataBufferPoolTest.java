@@ -0,0 +1,211 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl.raw;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import org.junit.Test;
+import org.tensorflow.tools.buffer.ByteDataBuffer;
+import org.tensorflow.tools.buffer.DataBufferPool;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.IntDataBuffer;
+import org.tensorflow.tools.buffer.PooledDataBuffer;
+
+public class RawDataBufferPoolTest {
+
+  @Test
+  public void leaseAndReuse() {
+    try (DataBufferPool pool = new RawDataBufferPool(1024L)) {
+      try (PooledDataBuffer<FloatDataBuffer> pooled = pool.ofFloats(10)) {
+        FloatDataBuffer buffer = pooled.buffer();
+        assertEquals(10L, buffer.size());
+        assertFalse(buffer.isReadOnly());
+        buffer.setFloat(1.5f, 9);
+        assertEquals(1.5f, buffer.getFloat(9), 0.0f);
+        assertEquals(64L, pool.bytesInUse());
+        assertEquals(0L, pool.bytesHeld());
+      }
+      assertEquals(0L, pool.bytesInUse());
+      assertEquals(64L, pool.bytesHeld());
+      assertEquals(0L, pool.hitCount());
+      assertEquals(1L, pool.missCount());
+
+      // Same size class, the memory is reused
+      try (PooledDataBuffer<IntDataBuffer> pooled = pool.ofInts(12)) {
+        assertEquals(12L, pooled.buffer().size());
+        assertEquals(0L, pool.bytesHeld());
+      }
+      assertEquals(1L, pool.hitCount());
+      assertEquals(1L, pool.missCount());
+
+      // Different size class, new memory is allocated
+      try (PooledDataBuffer<IntDataBuffer> pooled = pool.ofInts(17)) {
+        assertEquals(17L, pooled.buffer().size());
+        assertEquals(128L, pool.bytesInUse());
+      }
+      assertEquals(1L, pool.hitCount());
+      assertEquals(2L, pool.missCount());
+      assertEquals(192L, pool.bytesHeld());
+    }
+  }
+
+  @Test
+  public void releaseBeyondMaxBytesHeld() {
+    try (DataBufferPool pool = new RawDataBufferPool(100L)) {
+      PooledDataBuffer<FloatDataBuffer> first = pool.ofFloats(16);
+      PooledDataBuffer<FloatDataBuffer> second = pool.ofFloats(16);
+      assertEquals(128L, pool.bytesInUse());
+      first.close();
+      second.close();
+      assertEquals(0L, pool.bytesInUse());
+      assertEquals(64L, pool.bytesHeld());
+    }
+  }
+
+  @Test
+  public void closeIsIdempotent() {
+    try (DataBufferPool pool = new RawDataBufferPool(1024L)) {
+      PooledDataBuffer<FloatDataBuffer> pooled = pool.ofFloats(16);
+      pooled.close();
+      pooled.close();
+      assertEquals(64L, pool.bytesHeld());
+      assertEquals(0L, pool.bytesInUse());
+    }
+  }
+
+  @Test
+  public void cannotAccessReleasedBuffer() {
+    try (DataBufferPool pool = new RawDataBufferPool(1024L)) {
+      PooledDataBuffer<FloatDataBuffer> pooled = pool.ofFloats(16);
+      pooled.close();
+      try {
+        pooled.buffer();
+        fail();
+      } catch (IllegalStateException e) {
+        // as expected
+      }
+    }
+  }
+
+  @Test
+  public void cannotAccessEscapedBuffers() {
+    try (DataBufferPool pool = new RawDataBufferPool(1024L)) {
+      PooledDataBuffer<FloatDataBuffer> pooled = pool.ofFloats(16);
+      FloatDataBuffer buffer = pooled.buffer();
+      FloatDataBuffer slice = buffer.slice(4, 8);
+      pooled.close();
+      try {
+        buffer.getFloat(0);
+        fail();
+      } catch (IllegalStateException e) {
+        // as expected
+      }
+      try {
+        slice.setFloat(1.0f, 0);
+        fail();
+      } catch (IllegalStateException e) {
+        // as expected
+      }
+      try {
+        slice.read(new float[8]);
+        fail();
+      } catch (IllegalStateException e) {
+        // as expected
+      }
+      // Leasing the same block again must not be affected by the released buffers
+      try (PooledDataBuffer<FloatDataBuffer> reused = pool.ofFloats(16)) {
+        reused.buffer().setFloat(1.0f, 4);
+        assertEquals(1L, pool.hitCount());
+        assertEquals(1.0f, reused.buffer().getFloat(4), 0.0f);
+      }
+    }
+  }
+
+  @Test
+  public void reclaimAbandonedLeases() throws InterruptedException {
+    try (DataBufferPool pool = new RawDataBufferPool(1024L)) {
+      abandonLease(pool);
+      assertEquals(64L, pool.bytesInUse());
+      for (int i = 0; i < 100 && pool.bytesInUse() > 0; ++i) {
+        System.gc();
+        Thread.sleep(10);
+        pool.ofFloats(1).close();  // abandoned leases are reclaimed when leasing new buffers
+      }
+      assertEquals(0L, pool.bytesInUse());
+    }
+  }
+
+  private static void abandonLease(DataBufferPool pool) {
+    pool.ofFloats(16).buffer().slice(0, 8).setFloat(1.0f, 0);
+  }
+
+  @Test
+  public void transferNativeMemoryThroughChannels() throws IOException {
+    try (DataBufferPool pool = new RawDataBufferPool(1024L);
+        PooledDataBuffer<ByteDataBuffer> pooled = pool.ofBytes(100)) {
+      ByteDataBuffer buffer = pooled.buffer();
+      for (int i = 0; i < buffer.size(); ++i) {
+        buffer.setByte((byte)i, i);
+      }
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      assertEquals(90L, buffer.offset(10).writeTo(Channels.newChannel(output)));
+      assertEquals(90, output.size());
+      assertEquals(10, output.toByteArray()[0]);
+
+      assertEquals(90L, buffer.readFrom(Channels.newChannel(new ByteArrayInputStream(output.toByteArray()))));
+      assertEquals(10, buffer.getByte(0));
+      assertEquals(99, buffer.getByte(89));
+      assertEquals(90, buffer.getByte(90));
+    }
+  }
+
+  @Test
+  public void closePool() {
+    DataBufferPool pool = new RawDataBufferPool(1024L);
+    PooledDataBuffer<FloatDataBuffer> leased = pool.ofFloats(16);
+    pool.ofFloats(16).close();
+    assertEquals(64L, pool.bytesHeld());
+    pool.close();
+    assertEquals(0L, pool.bytesHeld());
+
+    leased.close();
+    assertEquals(0L, pool.bytesHeld());
+    assertEquals(0L, pool.bytesInUse());
+    try {
+      pool.ofFloats(16);
+      fail();
+    } catch (IllegalStateException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void invalidSize() {
+    try (DataBufferPool pool = new RawDataBufferPool(1024L)) {
+      pool.ofFloats(-1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+     http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+ =======================================================================
+ */
+package org.tensorflow.tools.buffer.impl.striped;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.buffer.FloatDataBufferTestBase;
+
+public class FloatStripedDataBufferTest extends FloatDataBufferTestBase {
+
+  @Override
+  protected FloatDataBuffer allocate(long size) {
+    return StripedDataBufferFactory.createFloats(size, 4);
+  }
+
+  @Test
+  public void numberOfStripesIsAPowerOfTwo() {
+    assertEquals(1, ((FloatStripedDataBuffer)StripedDataBufferFactory.createFloats(10, 1)).numStripes());
+    assertEquals(4, ((FloatStripedDataBuffer)StripedDataBufferFactory.createFloats(10, 3)).numStripes());
+    assertEquals(8, ((FloatStripedDataBuffer)StripedDataBufferFactory.createFloats(10, 8)).numStripes());
+    try {
+      StripedDataBufferFactory.createFloats(10, 0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void readMergesAllStripes() {
+    FloatStripedDataBuffer buffer = (FloatStripedDataBuffer)allocate(2000);
+    for (int i = 0; i < buffer.numStripes(); ++i) {
+      buffer.stripes[i].setFloat(i + 1, 1500);
+    }
+    assertEquals(10.0f, buffer.getFloat(1500), 0.0f);
+
+    float[] values = new float[2000];
+    buffer.read(values);
+    assertEquals(10.0f, values[1500], 0.0f);
+    assertEquals(0.0f, values[1499], 0.0f);
+
+    buffer.write(values);
+    assertEquals(10.0f, buffer.stripes[0].getFloat(1500), 0.0f);
+    assertEquals(0.0f, buffer.stripes[1].getFloat(1500), 0.0f);
+    assertEquals(10.0f, buffer.getFloat(1500), 0.0f);
+
+    FloatDataBuffer copy = allocate(2000);
+    buffer.copyTo(copy, 2000);
+    assertEquals(10.0f, copy.getFloat(1500), 0.0f);
+  }
+}
@@ -16,6 +16,7 @@
  */
 package org.tensorflow.tools.ndarray;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
@@ -53,4 +54,22 @@ public abstract class DoubleNdArrayTestBase extends NdArrayTestBase<Double> {
         assertEquals(9, matrix3d.getDouble(0, 0, 4), 0.0);
         assertEquals(7, matrix3d.getDouble(0, 1, 2), 0.0);
     }
+
+    @Test
+    public void streamDoubles() {
+        DoubleNdArray matrix3d = allocate(Shape.of(10, 20, 30));
+        matrix3d.scalars().forEachIndexed((coords, scalar) ->
+            scalar.setDouble((double)(coords[0] * 100 + coords[1] * 10 + coords[2]))
+        );
+        assertEquals(6000, matrix3d.doubleStream().count());
+        assertEquals(matrix3d.doubleStream().sum(), matrix3d.doubleStream().parallel().sum(), 0.0);
+        assertEquals(0.0, matrix3d.doubleStream().findFirst().getAsDouble(), 0.0);
+
+        DoubleNdArray view = matrix3d.transpose(2, 1, 0);
+        double[] expected = new double[(int)view.size()];
+        int[] i = { 0 };
+        view.scalars().forEach(s -> expected[i[0]++] = s.getDouble());
+        assertArrayEquals(expected, view.doubleStream().parallel().toArray(), 0.0);
+        assertArrayEquals(new double[] { 123.0 }, matrix3d.get(1, 2, 3).doubleStream().toArray(), 0.0);
+    }
 }
@@ -16,10 +16,12 @@
  */
 package org.tensorflow.tools.ndarray;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
 import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.ndarray.index.Indices;
 
 public abstract class FloatNdArrayTestBase extends NdArrayTestBase<Float> {
 
@@ -53,4 +55,68 @@ public abstract class FloatNdArrayTestBase extends NdArrayTestBase<Float> {
         assertEquals(9, matrix3d.getFloat(0, 0, 4), 0.0f);
         assertEquals(7, matrix3d.getFloat(0, 1, 2), 0.0f);
     }
+
+    @Test
+    public void visitPrimitiveValues() {
+        FloatNdArray matrix3d = allocate(Shape.of(3, 4, 5));
+
+        matrix3d.updateFloatsIndexed((coords, value) -> coords[0] * 100 + coords[1] * 10 + coords[2]);
+        assertEquals(0.0f, matrix3d.getFloat(0, 0, 0), 0.0f);
+        assertEquals(123.0f, matrix3d.getFloat(1, 2, 3), 0.0f);
+        assertEquals(234.0f, matrix3d.getFloat(2, 3, 4), 0.0f);
+
+        matrix3d.updateFloats(value -> value + 1.0f);
+        assertEquals(1.0f, matrix3d.getFloat(0, 0, 0), 0.0f);
+        assertEquals(124.0f, matrix3d.getFloat(1, 2, 3), 0.0f);
+
+        float[] sum = { 0.0f };
+        long[] count = { 0 };
+        matrix3d.forEachFloat(value -> {
+            sum[0] += value;
+            ++count[0];
+        });
+        assertEquals(60, count[0]);
+        assertEquals(7080.0f, sum[0], 0.0f);
+
+        // visits scalars in the same order as scalars(), also on views
+        FloatNdArray view = matrix3d.transpose(2, 0, 1).slice(Indices.all(), Indices.at(1), Indices.range(1, 3));
+        float[] expected = new float[(int)view.size()];
+        int[] i = { 0 };
+        view.scalars().forEach(s -> expected[i[0]++] = s.getFloat());
+        i[0] = 0;
+        view.forEachFloatIndexed((coords, value) -> {
+            assertEquals(expected[i[0]++], value, 0.0f);
+            assertEquals(view.getFloat(coords), value, 0.0f);
+        });
+        assertEquals(expected.length, i[0]);
+
+        view.updateFloats(value -> -value);
+        assertEquals(-expected[0], view.getFloat(0, 0), 0.0f);
+        assertEquals(-expected[0], matrix3d.getFloat(1, 1, 0), 0.0f);
+
+        FloatNdArray scalar = matrix3d.get(2, 3, 4);
+        scalar.updateFloatsIndexed((coords, value) -> {
+            assertEquals(0, coords.length);
+            return value * 2;
+        });
+        scalar.forEachFloat(value -> assertEquals(470.0f, value, 0.0f));
+    }
+
+    @Test
+    public void streamFloats() {
+        FloatNdArray matrix3d = allocate(Shape.of(10, 20, 30));
+        matrix3d.scalars().forEachIndexed((coords, scalar) ->
+            scalar.setFloat((float)(coords[0] * 100 + coords[1] * 10 + coords[2]))
+        );
+        assertEquals(6000, matrix3d.floatStream().count());
+        assertEquals(matrix3d.floatStream().sum(), matrix3d.floatStream().parallel().sum(), 0.0);
+        assertEquals(0.0, matrix3d.floatStream().findFirst().getAsDouble(), 0.0);
+
+        FloatNdArray view = matrix3d.transpose(2, 1, 0);
+        double[] expected = new double[(int)view.size()];
+        int[] i = { 0 };
+        view.scalars().forEach(s -> expected[i[0]++] = s.getFloat());
+        assertArrayEquals(expected, view.floatStream().parallel().toArray(), 0.0);
+        assertArrayEquals(new double[] { 123.0 }, matrix3d.get(1, 2, 3).floatStream().toArray(), 0.0);
+    }
 }
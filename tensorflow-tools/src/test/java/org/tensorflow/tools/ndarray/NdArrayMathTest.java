@@ -0,0 +1,367 @@
+package org.tensorflow.tools.ndarray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.tensorflow.tools.ndarray.index.Indices.all;
+import static org.tensorflow.tools.ndarray.index.Indices.at;
+
+import java.util.Random;
+import org.junit.Test;
+import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.DoubleDataBuffer;
+
+public class NdArrayMathTest {
+
+  @Test
+  public void floatOperations() {
+    FloatNdArray a = NdArrays.vectorOf(1.0f, -2.0f, 3.0f, -4.0f);
+    FloatNdArray b = NdArrays.vectorOf(2.0f, 2.0f, 4.0f, 8.0f);
+
+    assertEquals(NdArrays.vectorOf(3.0f, 0.0f, 7.0f, 4.0f), NdArrayMath.add(a, b));
+    assertEquals(NdArrays.vectorOf(-1.0f, -4.0f, -1.0f, -12.0f), NdArrayMath.sub(a, b));
+    assertEquals(NdArrays.vectorOf(2.0f, -4.0f, 12.0f, -32.0f), NdArrayMath.mul(a, b));
+    assertEquals(NdArrays.vectorOf(0.5f, -1.0f, 0.75f, -0.5f), NdArrayMath.div(a, b));
+    assertEquals(NdArrays.vectorOf(2.0f, -1.0f, 4.0f, -3.0f), NdArrayMath.add(a, 1.0f));
+    assertEquals(NdArrays.vectorOf(3.0f, -6.0f, 9.0f, -12.0f), NdArrayMath.mul(a, 3.0f));
+    assertEquals(NdArrays.vectorOf(-1.0f, 2.0f, -3.0f, 4.0f), NdArrayMath.neg(a));
+    assertEquals(NdArrays.vectorOf(1.0f, 2.0f, 3.0f, 4.0f), NdArrayMath.abs(a));
+    assertEquals(NdArrays.vectorOf(1.0f, -2.0f, 2.5f, -2.0f), NdArrayMath.clip(a, -2.0f, 2.5f));
+    assertEquals(NdArrays.vectorOf(3.0f, -3.0f, 7.0f, -7.0f), NdArrayMath.scale(a, 2.0f, 1.0f));
+    assertEquals(NdArrays.vectorOf(1.0f, 2.0f, 3.0f, 4.0f), NdArrayMath.sqrt(NdArrays.vectorOf(1.0f, 4.0f, 9.0f, 16.0f)));
+    assertEquals((float)Math.E, NdArrayMath.exp(a).getFloat(0), 1e-6f);
+    assertEquals(0.0f, NdArrayMath.log(a).getFloat(0), 0.0f);
+
+    // in place
+    assertSame(a, NdArrayMath.mul(a, b, a));
+    assertEquals(NdArrays.vectorOf(2.0f, -4.0f, 12.0f, -32.0f), a);
+  }
+
+  @Test
+  public void doubleOperations() {
+    DoubleNdArray a = NdArrays.vectorOf(1.0, -2.0, 3.0);
+    DoubleNdArray b = NdArrays.vectorOf(2.0, 4.0, 6.0);
+
+    assertEquals(NdArrays.vectorOf(3.0, 2.0, 9.0), NdArrayMath.add(a, b));
+    assertEquals(NdArrays.vectorOf(0.5, -0.5, 0.5), NdArrayMath.div(a, b));
+    assertEquals(NdArrays.vectorOf(0.0, -3.0, 2.0), NdArrayMath.sub(a, 1.0));
+    assertEquals(NdArrays.vectorOf(1.0, 0.0, 1.0), NdArrayMath.clip(a, 0.0, 1.0));
+    assertEquals(Math.log(3.0), NdArrayMath.log(a).getDouble(2), 0.0);
+  }
+
+  @Test
+  public void intOperations() {
+    IntNdArray a = NdArrays.vectorOf(7, -8, 9);
+    IntNdArray b = NdArrays.vectorOf(2, 3, -4);
+
+    assertEquals(NdArrays.vectorOf(9, -5, 5), NdArrayMath.add(a, b));
+    assertEquals(NdArrays.vectorOf(5, -11, 13), NdArrayMath.sub(a, b));
+    assertEquals(NdArrays.vectorOf(14, -24, -36), NdArrayMath.mul(a, b));
+    assertEquals(NdArrays.vectorOf(3, -2, -2), NdArrayMath.div(a, b));
+    assertEquals(NdArrays.vectorOf(3, -4, 4), NdArrayMath.div(a, 2));
+    assertEquals(NdArrays.vectorOf(7, 8, 9), NdArrayMath.abs(a));
+    assertEquals(NdArrays.vectorOf(5, -5, 5), NdArrayMath.clip(a, -5, 5));
+    try {
+      NdArrayMath.div(a, 0);
+      fail();
+    } catch (ArithmeticException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void broadcastedOperands() {
+    FloatNdArray batch = NdArrays.ofFloats(Shape.of(2, 3));
+    FloatNdArray biases = NdArrays.vectorOf(1.0f, 2.0f, 3.0f);
+    NdArrayMath.add(batch, biases, batch);
+    NdArrayMath.add(batch, biases, batch);
+    for (long i = 0; i < 2; ++i) {
+      assertEquals(NdArrays.vectorOf(2.0f, 4.0f, 6.0f), batch.get(i));
+    }
+    try {
+      NdArrayMath.add(batch, NdArrays.vectorOf(1.0f, 2.0f));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      NdArrayMath.add(batch, biases, NdArrays.ofFloats(Shape.of(3, 2)));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void broadcastedOperandsOfLargeArrays() {
+    FloatNdArray batch = NdArrays.ofFloats(Shape.of(3000, 5));
+    FloatNdArray row = NdArrays.vectorOf(1.0f, 2.0f, 3.0f, 4.0f, 5.0f);
+    FloatNdArray column = NdArrays.ofFloats(Shape.of(3000, 1));
+    for (long i = 0; i < 3000; ++i) {
+      column.setFloat(i, i, 0);
+    }
+    FloatNdArray sums = NdArrayMath.add(batch, row);
+    sums = NdArrayMath.add(sums, NdArrays.ofFloats(Shape.of(1, 5)).fill(1.0f));
+    sums = NdArrayMath.add(sums, NdArrays.scalarOf(0.5f));
+    sums = NdArrayMath.add(sums, column);
+    for (long i = 0; i < 3000; i += 7) {
+      for (long j = 0; j < 5; ++j) {
+        assertEquals(i + j + 2.5f, sums.getFloat(i, j), 0.0f);
+      }
+    }
+  }
+
+  @Test
+  public void segmentedOperands() {
+    FloatNdArray matrix = NdArrays.ofFloats(Shape.of(3, 2));
+    for (long i = 0; i < 3; ++i) {
+      matrix.setFloat(i, i, 0);
+      matrix.setFloat(10.0f * i, i, 1);
+    }
+    FloatNdArray column = matrix.slice(all(), at(1));
+    NdArrayMath.add(column, 1.0f, column);
+    assertEquals(NdArrays.vectorOf(1.0f, 11.0f, 21.0f), column);
+    assertEquals(NdArrays.vectorOf(0.0f, 1.0f, 2.0f), matrix.slice(all(), at(0)));
+    assertEquals(NdArrays.vectorOf(1.0f, 12.0f, 23.0f), NdArrayMath.add(matrix.slice(all(), at(0)), column));
+  }
+
+  @Test
+  public void softmax() {
+    FloatNdArray logits = NdArrays.ofFloats(Shape.of(2, 3));
+    logits.set(NdArrays.vectorOf(1.0f, 2.0f, 3.0f), 0);
+    logits.set(NdArrays.vectorOf(1000.0f, 1000.0f, 1000.0f), 1);
+    FloatNdArray probabilities = NdArrayMath.softmax(logits);
+    assertEquals(0.09003057f, probabilities.getFloat(0, 0), 1e-6f);
+    assertEquals(0.24472847f, probabilities.getFloat(0, 1), 1e-6f);
+    assertEquals(0.66524096f, probabilities.getFloat(0, 2), 1e-6f);
+    for (long i = 0; i < 3; ++i) {
+      assertEquals(1.0f / 3.0f, probabilities.getFloat(1, i), 1e-6f);
+    }
+    DoubleNdArray doubleProbabilities = NdArrayMath.softmax(NdArrays.vectorOf(0.0, Math.log(3.0)));
+    assertEquals(0.25, doubleProbabilities.getDouble(0), 1e-12);
+    assertEquals(0.75, doubleProbabilities.getDouble(1), 1e-12);
+    try {
+      NdArrayMath.softmax(NdArrays.scalarOf(1.0f));
+      fail();
+    } catch (IllegalRankException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void largeArrays() {
+    int size = 300000;  // large enough to split the operation across multiple threads
+    FloatNdArray a = NdArrays.ofFloats(Shape.of(size));
+    IntNdArray b = NdArrays.ofInts(Shape.of(size));
+    for (int i = 0; i < size; ++i) {
+      a.setFloat(i, i);
+      b.setInt(i, i);
+    }
+    FloatNdArray sums = NdArrayMath.add(a, a);
+    NdArrayMath.mul(b, 3, b);
+    for (int i = 0; i < size; i += 101) {
+      assertEquals(2.0f * i, sums.getFloat(i), 0.0f);
+      assertEquals(3 * i, b.getInt(i));
+    }
+    assertEquals(2.0f * (size - 1), sums.getFloat(size - 1), 0.0f);
+  }
+
+  @Test
+  public void reductions() {
+    FloatNdArray array = NdArrays.ofFloats(Shape.of(2, 3, 4));
+    for (long i = 0; i < 24; ++i) {
+      array.setFloat(i, i / 12, (i / 4) % 3, i % 4);
+    }
+    FloatNdArray sums = NdArrayMath.sum(array, 1);
+    assertEquals(Shape.of(2, 4), sums.shape());
+    assertEquals(0.0f + 4.0f + 8.0f, sums.getFloat(0, 0), 0.0f);
+    assertEquals(15.0f + 19.0f + 23.0f, sums.getFloat(1, 3), 0.0f);
+    assertEquals(NdArrays.vectorOf(6.0f, 22.0f, 38.0f), NdArrayMath.sum(array, -1).get(0));
+    assertEquals(NdArrays.vectorOf(1.5f, 5.5f, 9.5f), NdArrayMath.mean(array, 2).get(0));
+    assertEquals(NdArrays.vectorOf(12.0f, 13.0f, 14.0f, 15.0f), NdArrayMath.max(array, 0).get(0));
+    assertEquals(NdArrays.vectorOf(0.0f, 4.0f, 8.0f), NdArrayMath.min(array, -1).get(0));
+    assertEquals(Shape.scalar(), NdArrayMath.sum(NdArrays.vectorOf(1.0f, 2.0f), 0).shape());
+    assertEquals(3.0f, NdArrayMath.sum(NdArrays.vectorOf(1.0f, 2.0f), 0).getFloat(), 0.0f);
+
+    IntNdArray ints = NdArrays.ofInts(Shape.of(3, 2));
+    ints.set(NdArrays.vectorOf(1, 5), 0).set(NdArrays.vectorOf(7, -2), 1).set(NdArrays.vectorOf(3, 9), 2);
+    assertEquals(NdArrays.vectorOf(11, 12), NdArrayMath.sum(ints, 0));
+    assertEquals(NdArrays.vectorOf(7, 9), NdArrayMath.max(ints, 0));
+    assertEquals(NdArrays.vectorOf(1, -2), NdArrayMath.min(ints, 0));
+
+    DoubleNdArray doubles = NdArrays.vectorOf(1.0, 2.0, 6.0);
+    assertEquals(3.0, NdArrayMath.mean(doubles, 0).getDouble(), 0.0);
+
+    try {
+      NdArrayMath.sum(array, 3);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      NdArrayMath.sum(array, 0, NdArrays.ofFloats(Shape.of(2, 4)));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void argMaxAndTopK() {
+    FloatNdArray scores = NdArrays.ofFloats(Shape.of(3, 5));
+    scores.set(NdArrays.vectorOf(0.1f, 0.5f, 0.2f, 0.5f, 0.0f), 0);
+    scores.set(NdArrays.vectorOf(0.9f, 0.1f, 0.3f, 0.2f, 0.8f), 1);
+    scores.set(NdArrays.vectorOf(-1.0f, -2.0f, -0.5f, -3.0f, -0.7f), 2);
+
+    assertEquals(NdArrays.vectorOf(1L, 0L, 2L), NdArrayMath.argMax(scores, -1));
+    assertEquals(NdArrays.vectorOf(1L, 0L, 1L, 0L, 1L), NdArrayMath.argMax(scores, 0));
+
+    FloatNdArray values = NdArrays.ofFloats(Shape.of(3, 3));
+    LongNdArray indices = NdArrayMath.topK(scores, 3, values, NdArrays.ofLongs(Shape.of(3, 3)));
+    assertEquals(NdArrays.vectorOf(1L, 3L, 2L), indices.get(0));
+    assertEquals(NdArrays.vectorOf(0L, 4L, 2L), indices.get(1));
+    assertEquals(NdArrays.vectorOf(2L, 4L, 0L), indices.get(2));
+    assertEquals(NdArrays.vectorOf(0.9f, 0.8f, 0.3f), values.get(1));
+    assertEquals(NdArrays.vectorOf(4L, 2L, 0L, 3L, 1L), NdArrayMath.topK(NdArrays.vectorOf(3, 1, 5, 2, 7), 5));
+    assertEquals(Shape.of(3, 0), NdArrayMath.topK(scores, 0).shape());
+
+    try {
+      NdArrayMath.topK(scores, 6);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      NdArrayMath.argMax(NdArrays.ofFloats(Shape.of(0, 2)), 0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void largeReductions() {
+    int numRows = 50000, numClasses = 10;  // large enough to split the reductions across threads
+    FloatNdArray logits = NdArrays.ofFloats(Shape.of(numRows, numClasses));
+    for (int i = 0; i < numRows; ++i) {
+      for (int j = 0; j < numClasses; ++j) {
+        logits.setFloat((j * 7 + i) % numClasses, i, j);
+      }
+    }
+    LongNdArray classes = NdArrayMath.argMax(logits, 1);
+    LongNdArray top2 = NdArrayMath.topK(logits, 2);
+    FloatNdArray sums = NdArrayMath.sum(logits, 0);
+    for (int i = 0; i < numRows; i += 97) {
+      long best = -1;
+      for (int j = 0; j < numClasses; ++j) {
+        if ((j * 7 + i) % numClasses == numClasses - 1) {
+          best = j;
+        }
+      }
+      assertEquals(best, classes.getLong(i));
+      assertEquals(best, top2.getLong(i, 0));
+    }
+    assertEquals(numRows * 4.5f, sums.getFloat(3), 0.0f);
+  }
+
+  @Test
+  public void matrixMultiplications() {
+    FloatNdArray a = NdArrays.ofFloats(Shape.of(2, 3));
+    a.set(NdArrays.vectorOf(1.0f, 2.0f, 3.0f), 0).set(NdArrays.vectorOf(4.0f, 5.0f, 6.0f), 1);
+    FloatNdArray b = NdArrays.ofFloats(Shape.of(3, 2));
+    b.set(NdArrays.vectorOf(7.0f, 8.0f), 0).set(NdArrays.vectorOf(9.0f, 10.0f), 1).set(NdArrays.vectorOf(11.0f, 12.0f), 2);
+
+    FloatNdArray c = NdArrayMath.matMul(a, b);
+    assertEquals(Shape.of(2, 2), c.shape());
+    assertEquals(NdArrays.vectorOf(58.0f, 64.0f), c.get(0));
+    assertEquals(NdArrays.vectorOf(139.0f, 154.0f), c.get(1));
+
+    FloatNdArray gram = NdArrayMath.matMul(a, a.transpose(1, 0));
+    assertEquals(NdArrays.vectorOf(14.0f, 32.0f), gram.get(0));
+    assertEquals(NdArrays.vectorOf(32.0f, 77.0f), gram.get(1));
+
+    DoubleNdArray batch = NdArrays.ofDoubles(Shape.of(2, 2, 2));
+    batch.set(NdArrays.vectorOf(1.0, 2.0), 0, 0).set(NdArrays.vectorOf(3.0, 4.0), 0, 1);
+    batch.set(NdArrays.vectorOf(0.0, 1.0), 1, 0).set(NdArrays.vectorOf(1.0, 0.0), 1, 1);
+    DoubleNdArray squares = NdArrayMath.matMul(batch, batch);
+    assertEquals(NdArrays.vectorOf(7.0, 10.0), squares.get(0, 0));
+    assertEquals(NdArrays.vectorOf(15.0, 22.0), squares.get(0, 1));
+    assertEquals(NdArrays.vectorOf(1.0, 0.0), squares.get(1, 0));
+    assertEquals(NdArrays.vectorOf(0.0, 1.0), squares.get(1, 1));
+
+    assertEquals(NdArrays.ofFloats(Shape.of(2, 2)), NdArrayMath.matMul(NdArrays.ofFloats(Shape.of(2, 0)), NdArrays.ofFloats(Shape.of(0, 2))));
+
+    try {
+      NdArrayMath.matMul(a, a);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      NdArrayMath.matMul(a, NdArrays.vectorOf(1.0f, 2.0f, 3.0f));
+      fail();
+    } catch (IllegalRankException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void matrixMultiplicationsOfAliasedOperands() {
+    FloatNdArray square = NdArrays.ofFloats(Shape.of(2, 2));
+    square.set(NdArrays.vectorOf(1.0f, 2.0f), 0).set(NdArrays.vectorOf(3.0f, 4.0f), 1);
+    NdArrayMath.matMul(square, square, square);
+    assertEquals(NdArrays.vectorOf(7.0f, 10.0f), square.get(0));
+    assertEquals(NdArrays.vectorOf(15.0f, 22.0f), square.get(1));
+
+    // Result is a strided view of the first operand
+    FloatNdArray a = NdArrays.ofFloats(Shape.of(2, 2));
+    a.set(NdArrays.vectorOf(1.0f, 2.0f), 0).set(NdArrays.vectorOf(3.0f, 4.0f), 1);
+    FloatNdArray identity = NdArrays.ofFloats(Shape.of(2, 2));
+    identity.setFloat(1.0f, 0, 0).setFloat(1.0f, 1, 1);
+    NdArrayMath.matMul(a, identity, a.transpose(1, 0));
+    assertEquals(NdArrays.vectorOf(1.0f, 3.0f), a.get(0));
+    assertEquals(NdArrays.vectorOf(2.0f, 4.0f), a.get(1));
+
+    // Result and operand are arrays overlapping in the same buffer, with more rows than a block so
+    // rows written first would be read again if computed in place
+    int m = 100;
+    DoubleDataBuffer buffer = DataBuffers.ofDoubles(2 * (m + 1));
+    DoubleNdArray rows = NdArrays.wrap(Shape.of(m + 1, 2), buffer);
+    for (int i = 0; i <= m; ++i) {
+      rows.set(NdArrays.vectorOf((double)i, -i), i);
+    }
+    DoubleNdArray swap = NdArrays.ofDoubles(Shape.of(2, 2));
+    swap.setDouble(1.0, 0, 1).setDouble(1.0, 1, 0);
+    NdArrayMath.matMul(NdArrays.wrap(Shape.of(m, 2), buffer), swap, NdArrays.wrap(Shape.of(m, 2), buffer.offset(2)));
+    assertEquals(NdArrays.vectorOf(0.0, 0.0), rows.get(0));
+    for (int i = 1; i <= m; ++i) {
+      assertEquals(NdArrays.vectorOf(-(i - 1.0), i - 1.0), rows.get(i));
+    }
+  }
+
+  @Test
+  public void largeMatrixMultiplications() {
+    int m = 130, k = 300, n = 270;  // larger than a block in each dimension
+    Random random = new Random(1234);
+    FloatNdArray a = NdArrays.ofFloats(Shape.of(2, m, k));
+    FloatNdArray b = NdArrays.ofFloats(Shape.of(2, n, k));
+    a.scalars().forEach(s -> s.setFloat(random.nextInt(10)));
+    b.scalars().forEach(s -> s.setFloat(random.nextInt(10)));
+
+    FloatNdArray c = NdArrayMath.matMul(a, b.transpose(0, 2, 1));
+    assertEquals(Shape.of(2, m, n), c.shape());
+    for (int batch = 0; batch < 2; ++batch) {
+      for (int i = 0; i < m; i += 7) {
+        for (int j = 0; j < n; j += 11) {
+          float expected = 0.0f;
+          for (int p = 0; p < k; ++p) {
+            expected += a.getFloat(batch, i, p) * b.getFloat(batch, j, p);
+          }
+          assertEquals(expected, c.getFloat(batch, i, j), 0.0f);
+        }
+      }
+    }
+    assertEquals(c.get(1), NdArrayMath.matMul(a.get(1), b.get(1).transpose(1, 0)));
+  }
+}
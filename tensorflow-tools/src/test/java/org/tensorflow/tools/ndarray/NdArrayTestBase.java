@@ -335,5 +335,279 @@ public abstract class NdArrayTestBase<T> {
     assertNotEquals(array1.hashCode(), array3.hashCode());
     assertNotEquals(array1, array4);
     assertNotEquals(array1.hashCode(), array4.hashCode());
+    // segmented views hash their values like contiguous arrays
+    NdArray<T> transposed = allocate(Shape.of(2, 2)).transpose(1, 0);
+    array1.copyTo(transposed);
+    assertEquals(array1, transposed);
+    assertEquals(array1.hashCode(), transposed.hashCode());
+  }
+
+  @Test
+  public void fillArrayAndSlices() {
+    NdArray<T> matrix3d = allocate(Shape.of(5, 4, 5));
+    matrix3d.fill(valueOf(1L));
+    matrix3d.scalars().forEach(s -> assertEquals(valueOf(1L), s.getObject()));
+
+    matrix3d.get(2).fill(valueOf(2L));
+    matrix3d.slice(all(), at(1), odd()).fill(valueOf(3L));
+    matrix3d.scalars().forEachIndexed((coords, s) -> {
+      long expected = coords[1] == 1 && coords[2] % 2 == 1 ? 3L : (coords[0] == 2 ? 2L : 1L);
+      assertEquals(valueOf(expected), s.getObject());
+    });
+
+    NdArray<T> scalar = matrix3d.get(4, 3, 2).fill(valueOf(4L));
+    assertEquals(valueOf(4L), scalar.getObject());
+    assertEquals(valueOf(4L), matrix3d.getObject(4, 3, 2));
+  }
+
+  @Test
+  public void copyLargeStridedSlices() {
+    int numRows = 150000;  // large enough to split the copy across multiple threads
+    NdArray<T> matrix = allocate(Shape.of(numRows, 3));
+    T initialValue = matrix.getObject(0, 0);
+    DataBuffer<T> buffer = allocateBuffer(numRows);
+    for (long i = 0; i < numRows; ++i) {
+      buffer.setObject(valueOf(i), i);
+    }
+    matrix.slice(all(), at(1)).write(buffer);
+
+    NdArray<T> vector = allocate(Shape.of(numRows));
+    matrix.slice(all(), at(1)).copyTo(vector);
+    DataBuffer<T> readBuffer = allocateBuffer(numRows);
+    matrix.slice(all(), at(1)).read(readBuffer);
+
+    for (long i = 0; i < numRows; i += 997) {
+      assertEquals(initialValue, matrix.getObject(i, 0));
+      assertEquals(valueOf(i), matrix.getObject(i, 1));
+      assertEquals(initialValue, matrix.getObject(i, 2));
+      assertEquals(valueOf(i), vector.getObject(i));
+      assertEquals(valueOf(i), readBuffer.getObject(i));
+    }
+    assertEquals(valueOf(numRows - 1L), vector.getObject(numRows - 1));
+  }
+
+  @Test
+  public void transposeViews() {
+    NdArray<T> matrix = allocate(Shape.of(2, 3));
+    for (long i = 0; i < 2; ++i) {
+      for (long j = 0; j < 3; ++j) {
+        matrix.setObject(valueOf(i * 3 + j), i, j);
+      }
+    }
+    NdArray<T> transposed = matrix.transpose(1, 0);
+    assertEquals(Shape.of(3, 2), transposed.shape());
+    for (long i = 0; i < 2; ++i) {
+      for (long j = 0; j < 3; ++j) {
+        assertEquals(valueOf(i * 3 + j), transposed.getObject(j, i));
+      }
+    }
+    assertEquals(valueOf(4L), transposed.get(1).getObject(1));
+    assertEquals(matrix, matrix.transpose(0, 1));
+
+    transposed.setObject(valueOf(10L), 2, 0);
+    assertEquals(valueOf(10L), matrix.getObject(0, 2));
+
+    NdArray<T> copy = allocate(Shape.of(3, 2));
+    transposed.copyTo(copy);
+    DataBuffer<T> buffer = allocateBuffer(6);
+    copy.read(buffer);
+    assertEquals(valueOf(0L), buffer.getObject(0));
+    assertEquals(valueOf(3L), buffer.getObject(1));
+    assertEquals(valueOf(1L), buffer.getObject(2));
+    assertEquals(valueOf(4L), buffer.getObject(3));
+    assertEquals(valueOf(10L), buffer.getObject(4));
+    assertEquals(valueOf(5L), buffer.getObject(5));
+
+    try {
+      matrix.transpose(0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      matrix.transpose(1, 1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void copyLargeTransposedViews() {
+    long n = 4, h = 70, w = 130, c = 3;  // larger than a block in two dimensions
+    NdArray<T> nhwc = allocate(Shape.of(n, h, w, c));
+    DataBuffer<T> buffer = allocateBuffer(nhwc.size());
+    for (long i = 0; i < nhwc.size(); ++i) {
+      buffer.setObject(valueOf(i), i);
+    }
+    nhwc.write(buffer);
+
+    NdArray<T> nchw = allocate(Shape.of(n, c, h, w));
+    nhwc.transpose(0, 3, 1, 2).copyTo(nchw);
+    for (long b = 0; b < n; ++b) {
+      for (long y = 0; y < h; y += 3) {
+        for (long x = 0; x < w; x += 7) {
+          for (long z = 0; z < c; ++z) {
+            assertEquals(valueOf(((b * h + y) * w + x) * c + z), nchw.getObject(b, z, y, x));
+          }
+        }
+      }
+    }
+    assertEquals(nhwc.getObject(n - 1, h - 1, w - 1, c - 1), nchw.getObject(n - 1, c - 1, h - 1, w - 1));
+
+    NdArray<T> matrix = allocate(Shape.of(w, h));
+    nhwc.slice(at(1), all(), all(), at(2)).transpose(1, 0).copyTo(matrix);
+    for (long x = 0; x < w; ++x) {
+      assertEquals(valueOf(((h + 5) * w + x) * c + 2), matrix.getObject(x, 5));
+    }
+
+    DataBuffer<T> readBuffer = allocateBuffer(h * w);
+    nhwc.slice(all(), all(), all(), at(0)).get(1).read(readBuffer);
+    assertEquals(valueOf(h * w * c + 2 * c), readBuffer.getObject(2));
+  }
+
+  @Test
+  public void broadcastViews() {
+    NdArray<T> vector = allocate(Shape.of(3));
+    for (long i = 0; i < 3; ++i) {
+      vector.setObject(valueOf(i + 1), i);
+    }
+    NdArray<T> broadcasted = vector.broadcastTo(Shape.of(2, 4, 3));
+    assertEquals(Shape.of(2, 4, 3), broadcasted.shape());
+    assertEquals(valueOf(2L), broadcasted.getObject(1, 3, 1));
+    assertEquals(valueOf(3L), broadcasted.get(0, 2).getObject(2));
+    assertEquals(vector, broadcasted.get(1, 1));
+    assertEquals(vector, vector.broadcastTo(Shape.of(3)));
+
+    NdArray<T> copy = allocate(Shape.of(2, 4, 3));
+    broadcasted.copyTo(copy);
+    DataBuffer<T> buffer = allocateBuffer(24);
+    broadcasted.read(buffer);
+    for (long i = 0; i < 24; ++i) {
+      assertEquals(valueOf(i % 3 + 1), buffer.getObject(i));
+      assertEquals(valueOf(i % 3 + 1), copy.getObject(i / 12, (i / 3) % 4, i % 3));
+    }
+
+    NdArray<T> column = allocate(Shape.of(3, 1));
+    vector.copyTo(column.slice(all(), at(0)));
+    NdArray<T> matrix = allocate(Shape.of(3, 5));
+    column.broadcastTo(Shape.of(3, 5)).copyTo(matrix);
+    for (long i = 0; i < 3; ++i) {
+      for (long j = 0; j < 5; ++j) {
+        assertEquals(valueOf(i + 1), matrix.getObject(i, j));
+      }
+    }
+    NdArray<T> scalar = allocate(Shape.scalar()).setObject(valueOf(7L));
+    NdArray<T> filled = allocate(Shape.of(4, 5));
+    scalar.broadcastTo(Shape.of(4, 5)).copyTo(filled);
+    assertEquals(valueOf(7L), filled.getObject(3, 4));
+
+    try {
+      vector.broadcastTo(Shape.of(2, 4));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      matrix.broadcastTo(Shape.of(5));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void copyLargeBroadcastedViews() {
+    long n = 8, h = 64, w = 64, c = 5;
+    NdArray<T> perChannel = allocate(Shape.of(1, 1, c));
+    for (long i = 0; i < c; ++i) {
+      perChannel.setObject(valueOf(i), 0, 0, i);
+    }
+    NdArray<T> batch = allocate(Shape.of(n, h, w, c));
+    perChannel.broadcastTo(batch.shape()).copyTo(batch);
+    for (long i = 0; i < batch.size(); i += 37) {
+      assertEquals(valueOf(i % c), batch.getObject(i / (h * w * c), (i / (w * c)) % h, (i / c) % w, i % c));
+    }
+
+    NdArray<T> perRow = allocate(Shape.of(n, h, 1, 1));
+    for (long i = 0; i < n * h; ++i) {
+      perRow.setObject(valueOf(i), i / h, i % h, 0, 0);
+    }
+    perRow.broadcastTo(batch.shape()).copyTo(batch);
+    for (long i = 0; i < batch.size(); i += 37) {
+      assertEquals(valueOf(i / (w * c)), batch.getObject(i / (h * w * c), (i / (w * c)) % h, (i / c) % w, i % c));
+    }
+  }
+
+  @Test
+  public void copyToLargeBroadcastedViews() {
+    NdArray<T> rows = allocate(Shape.of(1024, 1));
+    for (long i = 0; i < 1024; ++i) {
+      rows.setObject(valueOf(i), i, 0);
+    }
+    NdArray<T> src = allocate(Shape.of(1024, 256));
+    rows.broadcastTo(src.shape()).copyTo(src);
+
+    // all rows are written to the same position, in order
+    NdArray<T> row = allocate(Shape.of(1, 256));
+    src.copyTo(row.broadcastTo(src.shape()));
+    for (long j = 0; j < 256; ++j) {
+      assertEquals(valueOf(1023L), row.getObject(0, j));
+    }
+  }
+
+  @Test
+  public void reshapeViews() {
+    NdArray<T> array = allocate(Shape.of(2, 3, 4));
+    DataBuffer<T> buffer = allocateBuffer(24);
+    for (long i = 0; i < 24; ++i) {
+      buffer.setObject(valueOf(i), i);
+    }
+    array.write(buffer);
+
+    NdArray<T> matrix = array.reshape(Shape.of(6, 4));
+    assertEquals(Shape.of(6, 4), matrix.shape());
+    assertEquals(valueOf(13L), matrix.getObject(3, 1));
+    matrix.setObject(valueOf(100L), 3, 1);
+    assertEquals(valueOf(100L), array.getObject(1, 0, 1));  // same data
+
+    NdArray<T> row = array.get(1, 2).reshape(Shape.of(2, 2));
+    assertEquals(valueOf(22L), row.getObject(1, 0));
+    row.setObject(valueOf(200L), 1, 0);
+    assertEquals(valueOf(200L), array.getObject(1, 2, 2));  // contiguous slice, same data
+
+    NdArray<T> column = array.slice(all(), all(), at(1)).reshape(Shape.of(6));
+    assertEquals(valueOf(5L), column.getObject(1));
+    assertEquals(valueOf(21L), column.getObject(5));
+    column.setObject(valueOf(300L), 1);
+    assertEquals(valueOf(5L), array.getObject(0, 1, 1));  // segmented slice, copied data
+
+    NdArray<T> expanded = array.get(0).expandDims(1);
+    assertEquals(Shape.of(3, 1, 4), expanded.shape());
+    assertEquals(valueOf(6L), expanded.getObject(1, 0, 2));
+    assertEquals(Shape.of(1, 3, 4), array.get(0).expandDims(0).shape());
+    assertEquals(Shape.of(3, 4, 1), array.get(0).expandDims(2).shape());
+    assertEquals(Shape.of(3, 4), expanded.squeeze().shape());
+    assertEquals(array.get(0), expanded.squeeze());
+    assertEquals(Shape.scalar(), allocate(Shape.of(1, 1)).squeeze().shape());
+
+    try {
+      array.reshape(Shape.of(5, 5));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      array.reshape(Shape.of(-1, 4));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      array.expandDims(4);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
   }
 }
@@ -121,4 +121,71 @@ public class StdArraysTest {
     assertEquals(NdArrays.vectorOfObjects("a", "b"), ndArray.get(0));
     assertEquals(NdArrays.vectorOfObjects("c", "d"), ndArray.get(1));
   }
+
+  @Test
+  public void copyLargeArraysInBulk() {
+    float[][][][] images = new float[4][64][64][3];
+    for (int b = 0; b < images.length; ++b) {
+      for (int h = 0; h < 64; ++h) {
+        for (int w = 0; w < 64; ++w) {
+          for (int c = 0; c < 3; ++c) {
+            images[b][h][w][c] = b * 1000 + h * 10 + w + c * 0.1f;
+          }
+        }
+      }
+    }
+    FloatNdArray ndImages = StdArrays.ndCopyOf(images);
+    assertEquals(Shape.of(4, 64, 64, 3), ndImages.shape());
+    ndImages.scalars().forEachIndexed((idx, s) ->
+        assertEquals(images[(int)idx[0]][(int)idx[1]][(int)idx[2]][(int)idx[3]], s.getFloat(), 0.0f)
+    );
+
+    long[][] rows = new long[3][100];
+    for (int i = 0; i < 3; ++i) {
+      for (int j = 0; j < 100; ++j) {
+        rows[i][j] = i * 100 + j;
+      }
+    }
+    LongNdArray ndRows = StdArrays.ndCopyOf(rows);
+    assertEquals(0L, ndRows.getLong(0, 0));
+    assertEquals(199L, ndRows.getLong(1, 99));
+    assertEquals(299L, ndRows.getLong(2, 99));
+
+    // copying into views that are not contiguous falls back to element-wise copies
+    DoubleNdArray transposed = NdArrays.ofDoubles(Shape.of(3, 2)).transpose(1, 0);
+    StdArrays.copyTo(transposed, new double[][] {{1.0, 2.0, 3.0}, {4.0, 5.0, 6.0}});
+    assertEquals(6.0, transposed.getDouble(1, 2), 0.0);
+    assertEquals(2.0, transposed.getDouble(0, 1), 0.0);
+
+    try {
+      StdArrays.copyTo(NdArrays.ofFloats(Shape.of(4, 64, 64, 3)), new float[4][64][63][3]);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      StdArrays.copyTo(NdArrays.ofFloats(Shape.of(4, 64, 64, 3)), new float[4][64][64][4]);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      StdArrays.copyTo(NdArrays.ofFloats(Shape.of(64, 64, 3)), images);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+
+    // ragged arrays are rejected before anything is written
+    images[3][63][63] = new float[2];
+    FloatNdArray dst = NdArrays.ofFloats(Shape.of(4, 64, 64, 3));
+    try {
+      StdArrays.copyTo(dst, images);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    assertEquals(0.0f, dst.getFloat(0, 0, 0, 1), 0.0f);
+    assertEquals(0.0f, dst.getFloat(3, 63, 62, 2), 0.0f);
+  }
 }
@@ -19,10 +19,13 @@ package org.tensorflow.tools.ndarray.impl.sequence;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 import org.junit.Test;
 import org.tensorflow.tools.Shape;
 import org.tensorflow.tools.ndarray.IntNdArray;
@@ -74,4 +77,33 @@ public class ElementSequenceTest {
     assertArrayEquals(new long[] {1, 2, 0}, coords.get(10));
     assertArrayEquals(new long[] {1, 2, 1}, coords.get(11));
   }
+
+  @Test
+  public void splitElements() {
+    IntNdArray array = NdArrays.ofInts(Shape.of(8, 3, 2));
+    array.scalars().forEachIndexed((c, e) -> e.setInt((int)(c[0] * 100 + c[1] * 10 + c[2])));
+
+    Spliterator<IntNdArray> spliterator = array.elements(0).spliterator();
+    assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+    assertEquals(8, spliterator.getExactSizeIfKnown());
+
+    Spliterator<IntNdArray> prefix = spliterator.trySplit();
+    assertEquals(4, prefix.getExactSizeIfKnown());
+    assertEquals(4, spliterator.getExactSizeIfKnown());
+    assertTrue(prefix.tryAdvance(e -> assertEquals(0, e.getInt(0, 0))));
+    assertTrue(spliterator.tryAdvance(e -> assertEquals(400, e.getInt(0, 0))));
+    assertEquals(3, prefix.getExactSizeIfKnown());
+
+    // parallel streams preserve the order of the elements, including on segmented views
+    List<Integer> values = array.elements(0).parallelStream().map(e -> e.getInt(2, 1)).collect(Collectors.toList());
+    assertEquals(Arrays.asList(21, 121, 221, 321, 421, 521, 621, 721), values);
+
+    IntNdArray view = array.transpose(2, 0, 1);
+    List<Integer> viewValues = view.elements(1).parallelStream().map(e -> e.getInt(2)).collect(Collectors.toList());
+    List<Integer> expected = new ArrayList<>();
+    view.elements(1).forEach(e -> expected.add(e.getInt(2)));
+    assertEquals(16, viewValues.size());
+    assertEquals(expected, viewValues);
+    assertEquals(Integer.valueOf(721), viewValues.get(15));
+  }
 }
@@ -0,0 +1,365 @@
+/*
+ *  Copyright 2020 The TensorFlow Authors. All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *  =======================================================================
+ */
+package org.tensorflow.tools.ndarray.impl.sparse;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.tensorflow.tools.Shape;
+import org.tensorflow.tools.buffer.DataBuffers;
+import org.tensorflow.tools.buffer.FloatDataBuffer;
+import org.tensorflow.tools.ndarray.FloatNdArray;
+import org.tensorflow.tools.ndarray.IllegalRankException;
+import org.tensorflow.tools.ndarray.NdArrays;
+import org.tensorflow.tools.ndarray.SparseFloatNdArray;
+import org.tensorflow.tools.ndarray.StdArrays;
+import org.tensorflow.tools.ndarray.index.Indices;
+
+public class FloatSparseNdArrayTest {
+
+  @Test
+  public void cooArrays() {
+    SparseFloatNdArray array = NdArrays.sparseOf(
+        StdArrays.ndCopyOf(new long[][] {{1, 2, 0}, {0, 1, 1}, {1, 0, 3}}),
+        NdArrays.vectorOf(1.0f, 2.0f, 3.0f),
+        Shape.of(2, 3, 4)
+    );
+    assertEquals(Shape.of(2, 3, 4), array.shape());
+    assertEquals(3, array.numValues());
+    assertEquals(2.0f, array.getFloat(0, 1, 1), 0.0f);
+    assertEquals(3.0f, array.getFloat(1, 0, 3), 0.0f);
+    assertEquals(1.0f, array.getFloat(1, 2, 0), 0.0f);
+    assertEquals(0.0f, array.getFloat(1, 1, 1), 0.0f);
+    assertEquals(Float.valueOf(0.0f), array.getObject(0, 0, 0));
+
+    // coordinates are sorted in row-major order
+    assertEquals(StdArrays.ndCopyOf(new long[][] {{0, 1, 1}, {1, 0, 3}, {1, 2, 0}}), array.indices());
+    assertEquals(NdArrays.vectorOf(2.0f, 3.0f, 1.0f), array.values());
+    assertEquals(NdArrays.vectorOf(2L, 3L, 4L), array.denseShape());
+
+    testViews(array);
+    testSparseArray(array);
+  }
+
+  @Test
+  public void csrMatrices() {
+    SparseFloatNdArray matrix = NdArrays.sparseMatrixOf(
+        StdArrays.ndCopyOf(new long[][] {{3, 1}, {0, 2}, {0, 0}, {3, 3}}),
+        NdArrays.vectorOf(1.0f, 2.0f, 3.0f, 4.0f),
+        Shape.of(5, 4)
+    );
+    assertEquals(4, matrix.numValues());
+    assertEquals(3.0f, matrix.getFloat(0, 0), 0.0f);
+    assertEquals(2.0f, matrix.getFloat(0, 2), 0.0f);
+    assertEquals(1.0f, matrix.getFloat(3, 1), 0.0f);
+    assertEquals(4.0f, matrix.getFloat(3, 3), 0.0f);
+    assertEquals(0.0f, matrix.getFloat(2, 1), 0.0f);
+    assertEquals(0.0f, matrix.getFloat(4, 3), 0.0f);
+
+    assertEquals(StdArrays.ndCopyOf(new long[][] {{0, 0}, {0, 2}, {3, 1}, {3, 3}}), matrix.indices());
+    assertEquals(NdArrays.vectorOf(3.0f, 2.0f, 1.0f, 4.0f), matrix.values());
+    assertEquals(NdArrays.vectorOf(0L, 2L, 2L, 2L, 4L, 4L), ((FloatCsrNdArray)matrix).rowOffsets());
+    assertEquals(NdArrays.vectorOf(0L, 2L, 1L, 3L), ((FloatCsrNdArray)matrix).columnIndices());
+
+    testViews(matrix);
+    testSparseArray(matrix);
+
+    try {
+      NdArrays.sparseMatrixOf(StdArrays.ndCopyOf(new long[][] {{0, 0, 0}}), NdArrays.vectorOf(1.0f), Shape.of(2, 2, 2));
+      fail();
+    } catch (IllegalRankException e) {
+      // as expected
+    }
+  }
+
+  @Test
+  public void viewsOfLargeArrays() {
+    SparseFloatNdArray array = NdArrays.sparseOf(
+        StdArrays.ndCopyOf(new long[][] {{999, 3}, {999, 999_999}}),
+        NdArrays.vectorOf(1.0f, 2.0f),
+        Shape.of(1000, 1_000_000)
+    );
+    FloatNdArray row = array.get(999);
+    assertEquals(Shape.of(1_000_000), row.shape());
+    assertEquals(2.0f, row.getFloat(999_999), 0.0f);
+    FloatNdArray flipped = array.slice(Indices.all(), Indices.flip()).get(999).slice(Indices.range(0, 999_997));
+    assertEquals(NdArrays.vectorOf(2.0f, 1.0f), ((SparseFloatNdArray)flipped).values());
+    assertEquals(0, ((SparseFloatNdArray)array.get(0)).numValues());
+    assertEquals(1.0f, array.transpose(1, 0).getFloat(3, 999), 0.0f);
+    assertEquals(1.0f, array.reshape(Shape.of(1_000_000_000L)).getFloat(999_000_003L), 0.0f);
+
+    long[] numValues = { 0 };
+    array.elements(0).forEach(e -> numValues[0] += ((SparseFloatNdArray)e).numValues());
+    assertEquals(2, numValues[0]);
+  }
+
+  @Test
+  public void denseConversions() {
+    FloatNdArray dense = StdArrays.ndCopyOf(new float[][] {{0.0f, 1.0f, 0.0f}, {-0.0f, 0.0f, 2.0f}});
+
+    SparseFloatNdArray coo = NdArrays.sparseCopyOf(dense);
+    assertEquals(StdArrays.ndCopyOf(new long[][] {{0, 1}, {1, 0}, {1, 2}}), coo.indices());
+    assertEquals(NdArrays.vectorOf(1.0f, -0.0f, 2.0f), coo.values());
+    assertEquals(dense, coo.toDense());
+    assertEquals(dense, coo);
+    assertEquals(coo, dense);
+
+    SparseFloatNdArray csr = FloatCsrNdArray.copyOf(dense);
+    assertEquals(coo, csr);
+    assertEquals(csr, coo);
+    assertEquals(coo.hashCode(), csr.hashCode());
+    assertEquals(dense, csr.toDense());
+
+    FloatDataBuffer buffer = DataBuffers.ofFloats(dense.size()).fill(5.0f);
+    csr.read(buffer);
+    assertEquals(NdArrays.wrap(dense.shape(), buffer), dense);
+
+    SparseFloatNdArray empty = NdArrays.sparseCopyOf(NdArrays.ofFloats(Shape.of(3, 3)));
+    assertEquals(0, empty.numValues());
+    assertEquals(Shape.of(0, 2), empty.indices().shape());
+    assertEquals(NdArrays.ofFloats(Shape.of(3, 3)), empty);
+    assertNotEquals(empty, coo);
+  }
+
+  @Test
+  public void invalidComponents() {
+    try {
+      NdArrays.sparseOf(StdArrays.ndCopyOf(new long[][] {{0, 1}}), NdArrays.vectorOf(1.0f), Shape.of(2, 3, 4));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      NdArrays.sparseOf(StdArrays.ndCopyOf(new long[][] {{0, 1}}), NdArrays.vectorOf(1.0f, 2.0f), Shape.of(2, 2));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      NdArrays.sparseOf(StdArrays.ndCopyOf(new long[][] {{0, 2}}), NdArrays.vectorOf(1.0f), Shape.of(2, 2));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      NdArrays.sparseOf(StdArrays.ndCopyOf(new long[][] {{1, 1}, {0, 0}, {1, 1}}), NdArrays.vectorOf(1.0f, 2.0f, 3.0f), Shape.of(2, 2));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+    try {
+      NdArrays.sparseOf(StdArrays.ndCopyOf(new long[][] {{0}}), NdArrays.vectorOf(1.0f), Shape.of(Shape.UNKNOWN_SIZE));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // as expected
+    }
+  }
+
+  private static void testSparseArray(SparseFloatNdArray array) {
+    // only stored values are iterated
+    List<Float> values = new ArrayList<>();
+    array.scalars().forEach(s -> values.add(s.getFloat()));
+    assertEquals(array.numValues(), values.size());
+
+    List<long[]> coordinates = new ArrayList<>();
+    array.scalars().forEachIndexed((coords, s) -> {
+      coordinates.add(coords.clone());
+      assertEquals(s.getFloat(), array.getFloat(coords), 0.0f);
+    });
+    for (int i = 0; i < coordinates.size(); ++i) {
+      long[] expected = new long[array.rank()];
+      for (int j = 0; j < expected.length; ++j) {
+        expected[j] = array.indices().getLong(i, j);
+      }
+      assertArrayEquals(expected, coordinates.get(i));
+    }
+
+    // copy to dense arrays
+    FloatNdArray dense = NdArrays.ofFloats(array.shape());
+    dense.scalars().forEach(s -> s.setFloat(-1.0f));
+    array.copyTo(dense);
+    dense.scalars().forEachIndexed((coords, s) -> assertEquals(array.getFloat(coords), s.getFloat(), 0.0f));
+    assertEquals(dense, array);
+    assertEquals(array, dense);
+
+    // update stored values
+    long[] first = coordinates.get(0);
+    array.setFloat(10.0f, first);
+    assertEquals(10.0f, array.getFloat(first), 0.0f);
+    assertEquals(10.0f, array.values().getFloat(0), 0.0f);
+    assertNotEquals(dense, array);
+    array.scalars().iterator().next().setFloat(20.0f);
+    assertEquals(20.0f, array.getFloat(first), 0.0f);
+
+    try {
+      array.getFloat(new long[array.rank() - 1]);
+      fail();
+    } catch (IllegalRankException e) {
+      // as expected
+    }
+    try {
+      long[] coords = new long[array.rank()];
+      coords[0] = array.shape().size(0);
+      array.getFloat(coords);
+      fail();
+    } catch (IndexOutOfBoundsException e) {
+      // as expected
+    }
+    List<long[]> zeros = new ArrayList<>();
+    dense.scalars().forEachIndexed((coords, s) -> {
+      if (s.getFloat() == 0.0f) {
+        zeros.add(coords.clone());
+      }
+    });
+    long[] missing = zeros.get(0);
+    array.setFloat(0.0f, missing);  // no-op
+    try {
+      array.setFloat(1.0f, missing);
+      fail();
+    } catch (UnsupportedOperationException e) {
+      // as expected
+    }
+
+    // new values cannot be written, and the array is left unchanged on failure
+    FloatNdArray before = array.toDense();
+    FloatNdArray src = array.toDense();
+    src.setFloat(1.0f, missing);
+    src.setFloat(5.0f, first);
+    try {
+      array.set(src);
+      fail();
+    } catch (UnsupportedOperationException e) {
+      // as expected
+    }
+    FloatDataBuffer buffer = DataBuffers.ofFloats(array.size());
+    src.read(buffer);
+    try {
+      array.write(buffer);
+      fail();
+    } catch (UnsupportedOperationException e) {
+      // as expected
+    }
+    try {
+      array.fill(1.0f);
+      fail();
+    } catch (UnsupportedOperationException e) {
+      // as expected
+    }
+    assertEquals(before, array);
+
+    // stored values can be rewritten, from dense or sparse arrays
+    src.setFloat(0.0f, missing);
+    array.set(src);
+    assertEquals(5.0f, array.getFloat(first), 0.0f);
+    assertEquals(src, array);
+    array.set(NdArrays.sparseCopyOf(before));
+    assertEquals(before, array);
+    array.get(first[0]).copyTo(src.get(first[0]));
+    array.set(NdArrays.ofFloats(src.get(first[0]).shape()), first[0]);
+    assertEquals(0.0f, array.getFloat(first), 0.0f);
+    array.fill(0.0f);
+    assertEquals(NdArrays.ofFloats(array.shape()), array);
+  }
+
+  private static void testViews(SparseFloatNdArray array) {
+    FloatNdArray dense = array.toDense();
+    int rank = array.rank();
+    assertViewEquals(dense.get(1), array.get(1));
+    assertViewEquals(dense.get(0, 0), array.get(0, 0));
+    assertViewEquals(dense.slice(Indices.all(), Indices.at(0)), array.slice(Indices.all(), Indices.at(0)));
+    assertViewEquals(dense.slice(Indices.flip(), Indices.range(1, 3)), array.slice(Indices.flip(), Indices.range(1, 3)));
+    assertViewEquals(dense.slice(Indices.seq(1, 0, 1), Indices.odd()), array.slice(Indices.seq(1, 0, 1), Indices.odd()));
+    assertViewEquals(dense.reshape(Shape.of(dense.size())), array.reshape(Shape.of(array.size())));
+    assertViewEquals(dense.expandDims(0), array.expandDims(0));
+    assertViewEquals(dense.expandDims(0).squeeze(), array.expandDims(0).squeeze());
+    long[] broadcastedShape = new long[rank + 1];
+    broadcastedShape[0] = 2;
+    System.arraycopy(array.shape().asArray(), 0, broadcastedShape, 1, rank);
+    assertViewEquals(dense.broadcastTo(Shape.of(broadcastedShape)), array.broadcastTo(Shape.of(broadcastedShape)));
+    int[] axes = new int[rank];
+    for (int i = 0; i < rank; ++i) {
+      axes[i] = rank - i - 1;
+    }
+    assertViewEquals(dense.transpose(axes), array.transpose(axes));
+    List<FloatNdArray> elements = new ArrayList<>();
+    array.elements(0).forEachIndexed((coords, e) -> {
+      assertViewEquals(dense.get(coords), e);
+      elements.add(e);
+    });
+    assertEquals(dense.shape().size(0), elements.size());
+
+    // views share the values stored in the array
+    long[] first = new long[rank];
+    for (int i = 0; i < rank; ++i) {
+      first[i] = array.indices().getLong(0, i);
+    }
+    float value = array.getFloat(first);
+    array.get(first[0]).setFloat(30.0f, Arrays.copyOfRange(first, 1, rank));
+    assertEquals(30.0f, array.getFloat(first), 0.0f);
+    long[] transposedFirst = new long[rank];
+    for (int i = 0; i < rank; ++i) {
+      transposedFirst[i] = first[axes[i]];
+    }
+    array.transpose(axes).setFloat(40.0f, transposedFirst);
+    assertEquals(40.0f, array.getFloat(first), 0.0f);
+    assertEquals(40.0f, array.get(first).getFloat(), 0.0f);
+    array.setFloat(value, first);
+    assertEquals(value, array.elements(0).iterator().next().getObject(Arrays.copyOfRange(first, 1, rank)), 0.0f);
+    long[] missing = new long[rank];
+    while (array.getFloat(missing) != 0.0f) {
+      ++missing[rank - 1];
+    }
+    try {
+      array.get(missing[0]).setFloat(1.0f, Arrays.copyOfRange(missing, 1, rank));
+      fail();
+    } catch (UnsupportedOperationException e) {
+      // as expected
+    }
+    try {
+      array.get(missing).setFloat(1.0f);  // missing scalars are read-only
+      fail();
+    } catch (ReadOnlyBufferException e) {
+      // as expected
+    }
+    assertEquals(dense, array);
+
+    // hash codes are the same as dense arrays, whether their values are contiguous or not
+    assertEquals(dense.hashCode(), array.hashCode());
+    long[] reversedShape = new long[rank];
+    for (int i = 0; i < rank; ++i) {
+      reversedShape[i] = array.shape().size(axes[i]);
+    }
+    FloatNdArray transposed = NdArrays.ofFloats(Shape.of(reversedShape)).transpose(axes);
+    array.copyTo(transposed);
+    assertEquals(transposed, array);
+    assertEquals(array, transposed);
+    assertEquals(transposed.hashCode(), array.hashCode());
+  }
+
+  private static void assertViewEquals(FloatNdArray expected, FloatNdArray actual) {
+    assertEquals(expected, actual);
+    assertEquals(actual, expected);
+    assertEquals(expected.hashCode(), actual.hashCode());
+  }
+}